@@ -91,6 +91,9 @@ public class IntAuthResponse implements ApiCallReactive
                 false
             );
             stltConfig = msgAuthResponse.getStltConfig();
+
+            // satellites that do not support message compression leave the threshold at 0
+            peer.setCompressionThreshold(msgAuthResponse.getCompressionThreshold());
         }
         else
         {
@@ -2,17 +2,12 @@ package com.linbit.linstor.api.rest;
 
 import com.linbit.linstor.LinStorRuntimeException;
 import com.linbit.linstor.api.rest.v1.RequestHelper;
-import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlErrorListApiCallHandler;
-import com.linbit.linstor.core.apicallhandler.controller.CtrlStorPoolListApiCallHandler;
-import com.linbit.linstor.core.apicallhandler.controller.CtrlVlmListApiCallHandler;
-import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceList;
-import com.linbit.linstor.core.apis.NodeApi;
-import com.linbit.linstor.core.apis.ResourceDefinitionApi;
-import com.linbit.linstor.core.apis.StorPoolApi;
-import com.linbit.linstor.logging.ErrorReport;
+import com.linbit.linstor.logging.ErrorReportStats;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.prometheus.PrometheusBuilder;
+import com.linbit.linstor.prometheus.PrometheusRegistry;
+import com.linbit.locks.LockStatistics;
 
 import javax.inject.Inject;
 import javax.ws.rs.DefaultValue;
@@ -23,8 +18,8 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.io.IOException;
 import java.time.Duration;
-import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -35,11 +30,10 @@ import reactor.core.publisher.Flux;
 public class Metrics {
     private final ErrorReporter errorReporter;
     private final RequestHelper requestHelper;
-    private final CtrlApiCallHandler ctrlApiCallHandler;
-    private final CtrlVlmListApiCallHandler ctrlVlmListApiCallHandler;
-    private final CtrlStorPoolListApiCallHandler ctrlStorPoolListApiCallHandler;
     private final CtrlErrorListApiCallHandler ctrlErrorListApiCallHandler;
     private final PrometheusBuilder prometheusBuilder;
+    private final PrometheusRegistry prometheusRegistry;
+    private final LockStatistics lockStatistics;
 
     private static final AtomicLong scrape_requests = new AtomicLong();
     private static final int BLOCK_TIMEOUT = 10;
@@ -48,19 +42,17 @@ public class Metrics {
     public Metrics(
         ErrorReporter errorReporterRef,
         RequestHelper requestHelperRef,
-        CtrlApiCallHandler ctrlApiCallHandlerRef,
-        CtrlVlmListApiCallHandler ctrlVlmListApiCallHandlerRef,
-        CtrlStorPoolListApiCallHandler ctrlStorPoolListApiCallHandlerRef,
         CtrlErrorListApiCallHandler ctrlErrorListApiCallHandlerRef,
-        PrometheusBuilder prometheusBuilderRef)
+        PrometheusBuilder prometheusBuilderRef,
+        PrometheusRegistry prometheusRegistryRef,
+        LockStatistics lockStatisticsRef)
     {
         errorReporter = errorReporterRef;
         requestHelper = requestHelperRef;
-        ctrlApiCallHandler = ctrlApiCallHandlerRef;
-        ctrlVlmListApiCallHandler = ctrlVlmListApiCallHandlerRef;
-        ctrlStorPoolListApiCallHandler = ctrlStorPoolListApiCallHandlerRef;
         ctrlErrorListApiCallHandler = ctrlErrorListApiCallHandlerRef;
         prometheusBuilder = prometheusBuilderRef;
+        prometheusRegistry = prometheusRegistryRef;
+        lockStatistics = lockStatisticsRef;
     }
 
     @GET
@@ -69,60 +61,50 @@ public class Metrics {
         @Context Request request,
         @DefaultValue("true") @QueryParam("resource") boolean resources,
         @DefaultValue("true") @QueryParam("storage_pools") boolean storagePools,
-        @DefaultValue("true") @QueryParam("error_reports") boolean withErrorReports
+        @DefaultValue("true") @QueryParam("error_reports") boolean withErrorReports,
+        @DefaultValue("true") @QueryParam("locks") boolean withLocks
     )
     {
         scrape_requests.incrementAndGet();
         long scrape_start = System.currentTimeMillis();
 
-        List<ErrorReport> errorReportsTmp = null;
+        // also checks the authentication of the request
+        final reactor.util.context.Context context = requestHelper.createContext("metrics", request);
+
+        List<ErrorReportStats.Entry> errorReportStatsTmp = null;
         if (withErrorReports) {
-            Flux<List<ErrorReport>> fluxErrorReports = ctrlErrorListApiCallHandler.listErrorReports(
-                Collections.emptySet(), false, null, null, Collections.emptySet())
-                .subscriberContext(requestHelper.createContext("metrics", request));
+            // only the counters kept by the error reporters are collected, not the reports themselves
+            Flux<List<ErrorReportStats.Entry>> fluxErrorReportStats = ctrlErrorListApiCallHandler
+                .listErrorReportStats()
+                .subscriberContext(context);
 
             try {
                 long start = System.currentTimeMillis();
-                errorReportsTmp = fluxErrorReports.next().block(Duration.ofSeconds(BLOCK_TIMEOUT));
-                errorReporter.logTrace("Metric/ListErrorReports: %dms", System.currentTimeMillis() - start);
+                errorReportStatsTmp = fluxErrorReportStats.next().block(Duration.ofSeconds(BLOCK_TIMEOUT));
+                errorReporter.logTrace("Metric/ErrorReportStats: %dms", System.currentTimeMillis() - start);
             } catch (RuntimeException timeoutExc) {
                 errorReporter.reportError(
                     new LinStorRuntimeException(
-                        String.format("Gathering error reports took longer than %d seconds", BLOCK_TIMEOUT),
+                        String.format("Gathering error report statistics took longer than %d seconds", BLOCK_TIMEOUT),
                         timeoutExc));
             }
         }
 
-        final List<ErrorReport> errorReports = errorReportsTmp;
-        return requestHelper.doInScope(requestHelper.createContext("metrics", request), () ->
-            {
-                final ResourceList rl = resources ? ctrlVlmListApiCallHandler.listVlmsCached(
-                    Collections.emptyList(),
-                    Collections.emptyList(),
-                    Collections.emptyList(),
-                    Collections.emptyList()) : null;
-
-                final List<StorPoolApi> storagePoolList = storagePools ?
-                    ctrlStorPoolListApiCallHandler.listStorPoolsCached(
-                        Collections.emptyList(),
-                        Collections.emptyList(),
-                        Collections.emptyList()) : null;
-
-                final List<NodeApi> nodeApiList = ctrlApiCallHandler.listNodes(
-                    Collections.emptyList(), Collections.emptyList());
-                final List<ResourceDefinitionApi> rscDfns = ctrlApiCallHandler.listResourceDefinitions();
-                final String promText = prometheusBuilder.build(
-                    nodeApiList,
-                    rscDfns,
-                    rl,
-                    storagePoolList,
-                    errorReports,
-                    scrape_requests.getAndIncrement(),
-                    scrape_start
-                );
-
-                return Response.status(Response.Status.OK).entity(promText).build();
-            },
-            false);
+        Response response;
+        try {
+            // the object metrics are kept up to date by the registry, so no locks are required here
+            final String promText = prometheusBuilder.build(
+                prometheusRegistry.getObjectMetrics(resources, storagePools),
+                errorReportStatsTmp,
+                withLocks ? lockStatistics : null,
+                scrape_requests.getAndIncrement(),
+                scrape_start
+            );
+            response = Response.status(Response.Status.OK).entity(promText).build();
+        } catch (IOException ioExc) {
+            errorReporter.reportError(ioExc);
+            response = Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+        }
+        return response;
     }
 }
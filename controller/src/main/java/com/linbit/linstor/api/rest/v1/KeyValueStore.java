@@ -5,6 +5,7 @@ import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
+import com.linbit.linstor.core.apis.KvsApi;
 
 import javax.inject.Inject;
 import javax.ws.rs.DELETE;
@@ -61,13 +62,12 @@ public class KeyValueStore
     {
         return requestHelper.doInScope(ApiConsts.API_LST_KVS, request, () ->
         {
-            List<JsonGenTypes.KeyValueStore> keyValueStoreList = ctrlApiCallHandler.listKvs().stream()
+            List<KvsApi> kvsApiList = ctrlApiCallHandler.listKvs().stream()
                 .filter(kvsApi -> instanceName == null || kvsApi.getName().equalsIgnoreCase(instanceName))
-                .map(Json::apiToKeyValueStore)
                 .collect(Collectors.toList());
 
             Response resp;
-            if (instanceName != null && keyValueStoreList.isEmpty())
+            if (instanceName != null && kvsApiList.isEmpty())
             {
                 resp = RequestHelper.notFoundResponse(
                     ApiConsts.FAIL_NOT_FOUND_KVS,
@@ -76,10 +76,10 @@ public class KeyValueStore
             }
             else
             {
-                resp = Response
-                    .status(Response.Status.OK)
-                    .entity(objectMapper.writeValueAsString(keyValueStoreList))
-                    .build();
+                resp = RequestHelper.jsonArrayResponse(
+                    objectMapper,
+                    kvsApiList.stream().map(Json::apiToKeyValueStore)
+                );
             }
 
             return resp;
@@ -7,7 +7,6 @@ import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.prop.LinStorObject;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
-import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes.Node;
 import com.linbit.linstor.api.rest.v1.utils.ApiCallRcRestUtils;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlNodeApiCallHandler;
@@ -125,21 +124,44 @@ public class Nodes
         int offset
     )
     {
-        return requestHelper.doInScope(requestHelper.createContext(ApiConsts.API_LST_NODE, request), () ->
+        Response response;
+        if (searchNodeName == null)
         {
-            Stream<NodeApi> nodeApiStream = ctrlApiCallHandler.listNodes(nodeNames, propFilters).stream();
-            if (limit > 0)
-            {
-                nodeApiStream = nodeApiStream.skip(offset).limit(limit);
-            }
-            List<Node> nodeDataList = nodeApiStream
-                .map(Json::apiToNode)
-                .collect(Collectors.toList());
-
-            return RequestHelper.queryRequestResponse(
-                objectMapper, ApiConsts.FAIL_NOT_FOUND_NODE, "Node", searchNodeName, nodeDataList
+            // the nodes are only collected chunk by chunk while the response is written
+            response = requestHelper.listChunkedConditional(
+                ApiConsts.API_LST_NODE,
+                request,
+                objectMapper,
+                (NodeApi lastNode, int maxCount) -> ctrlApiCallHandler.listNodes(
+                    nodeNames,
+                    propFilters,
+                    lastNode == null ? null : lastNode.getName(),
+                    maxCount
+                ),
+                Json::apiToNode,
+                limit,
+                offset
             );
-        }, false);
+        }
+        else
+        {
+            response = requestHelper.doInScopeConditional(ApiConsts.API_LST_NODE, request, () ->
+            {
+                Stream<NodeApi> nodeApiStream = ctrlApiCallHandler.listNodes(nodeNames, propFilters).stream();
+                if (limit > 0)
+                {
+                    nodeApiStream = nodeApiStream.skip(offset).limit(limit);
+                }
+                return RequestHelper.queryRequestResponse(
+                    objectMapper,
+                    ApiConsts.FAIL_NOT_FOUND_NODE,
+                    "Node",
+                    searchNodeName,
+                    nodeApiStream.map(Json::apiToNode)
+                );
+            });
+        }
+        return response;
     }
 
     @POST
@@ -23,25 +23,39 @@ import com.linbit.linstor.security.CtrlAuthentication;
 import com.linbit.linstor.security.IdentityName;
 import com.linbit.linstor.security.Privilege;
 import com.linbit.linstor.security.SignInException;
+import com.linbit.linstor.transaction.ChangeGeneration;
 import com.linbit.linstor.transaction.TransactionException;
 import com.linbit.linstor.transaction.manager.TransactionMgr;
 import com.linbit.linstor.transaction.manager.TransactionMgrGenerator;
 import com.linbit.linstor.transaction.manager.TransactionMgrUtil;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.inject.Key;
 import org.slf4j.event.Level;
 import reactor.core.publisher.Mono;
@@ -51,6 +65,11 @@ import reactor.util.function.Tuples;
 
 public class RequestHelper
 {
+    /**
+     * Number of elements fetched at once for responses listing the elements of a {@link ChunkSource}
+     */
+    static final int RESPONSE_CHUNK_SIZE = 500;
+
     protected final ErrorReporter errorReporter;
     private final LinStorScope apiCallScope;
     private final AccessContext sysContext;
@@ -58,6 +77,7 @@ public class RequestHelper
     private final TransactionMgrGenerator transactionMgrGenerator;
     private final CtrlAuthentication authentication;
     private final CtrlConfig linstorConfig;
+    private final ChangeGeneration changeGeneration;
 
     @Inject
     public RequestHelper(
@@ -67,7 +87,8 @@ public class RequestHelper
         @PublicContext AccessContext accessContextRef,
         TransactionMgrGenerator transactionMgrGeneratorRef,
         CtrlAuthentication authenticationRef,
-        CtrlConfig linstorConfigRef
+        CtrlConfig linstorConfigRef,
+        ChangeGeneration changeGenerationRef
     )
     {
         errorReporter = errorReporterRef;
@@ -77,6 +98,7 @@ public class RequestHelper
         transactionMgrGenerator = transactionMgrGeneratorRef;
         authentication = authenticationRef;
         linstorConfig = linstorConfigRef;
+        changeGeneration = changeGenerationRef;
     }
 
     private Tuple2<String, String> parseBasicAuthHeader(String authorization)
@@ -219,9 +241,7 @@ public class RequestHelper
         apiCallScope.enter();
         try
         {
-            apiCallScope.seed(Key.get(AccessContext.class, PeerContext.class), accCtx);
-            apiCallScope.seed(Key.get(AccessContext.class, ErrorReporterContext.class), accCtx);
-            apiCallScope.seed(Peer.class, peer);
+            seedScope(accCtx, peer);
 
             if (transMgr != null)
             {
@@ -295,6 +315,188 @@ public class RequestHelper
         return ret;
     }
 
+    private void seedScope(AccessContext accCtx, @Nullable Peer peer)
+    {
+        apiCallScope.seed(Key.get(AccessContext.class, PeerContext.class), accCtx);
+        apiCallScope.seed(Key.get(AccessContext.class, ErrorReporterContext.class), accCtx);
+        apiCallScope.seed(Peer.class, peer);
+    }
+
+    /**
+     * Calls the given callable within the api call scope, but unlike {@link #doInScope(Context, Callable, boolean)}
+     * without a transaction and without converting exceptions to responses
+     */
+    private <T> T callInScope(Context subscriberContext, Callable<T> callable)
+        throws Exception
+    {
+        T ret;
+        apiCallScope.enter();
+        try
+        {
+            seedScope(subscriberContext.get(AccessContext.class), subscriberContext.getOrDefault(Peer.class, null));
+            ret = callable.call();
+        }
+        finally
+        {
+            apiCallScope.exit();
+        }
+        return ret;
+    }
+
+    /**
+     * Like {@link #doInScope(Context, Callable, boolean)}, but answers conditional requests of read-only calls.
+     *
+     * The response is tagged with an ETag based on the current {@link ChangeGeneration}. If the request's
+     * If-None-Match header matches that ETag, nothing changed since the client's last request and
+     * "304 Not Modified" is returned without calling the callable.
+     */
+    Response doInScopeConditional(
+        String apiCall,
+        org.glassfish.grizzly.http.server.Request request,
+        Callable<Response> callable
+    )
+    {
+        Context context = createContext(apiCall, request);
+        // the generation has to be read before the data is collected, so that the ETag is never newer than the data
+        EntityTag entityTag = buildEntityTag(context, request);
+
+        Response ret;
+        if (isNotModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), entityTag))
+        {
+            ret = Response.notModified(entityTag).build();
+        }
+        else
+        {
+            ret = withEntityTag(doInScope(context, callable, false), entityTag);
+        }
+        return ret;
+    }
+
+    /**
+     * Lists the elements of the given source like {@link #doInScopeConditional(String,
+     * org.glassfish.grizzly.http.server.Request, Callable)} would, but without ever collecting the whole list.
+     *
+     * The first chunk is fetched right away, so that errors can still be answered with an error response. All
+     * further chunks are only fetched while the response is written, each one within its own api call scope.
+     * If limit is greater than 0, the first offset elements are skipped and at most limit elements are listed.
+     */
+    <T> Response listChunkedConditional(
+        String apiCall,
+        org.glassfish.grizzly.http.server.Request request,
+        ObjectMapper objectMapper,
+        ChunkSource<T> source,
+        Function<? super T, ?> converter,
+        int limit,
+        int offset
+    )
+    {
+        Context context = createContext(apiCall, request);
+        EntityTag entityTag = buildEntityTag(context, request);
+
+        Response ret;
+        if (isNotModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), entityTag))
+        {
+            ret = Response.notModified(entityTag).build();
+        }
+        else
+        {
+            ChunkSource<T> scopedSource = (lastElement, maxCount) ->
+                callInScope(context, () -> source.nextChunk(lastElement, maxCount));
+            ret = withEntityTag(
+                doInScope(
+                    context,
+                    () -> jsonArrayResponse(objectMapper, scopedSource, converter, limit, offset, RESPONSE_CHUNK_SIZE),
+                    false
+                ),
+                entityTag
+            );
+        }
+        return ret;
+    }
+
+    /**
+     * Asynchronous variant of {@link #doInScopeConditional(String, org.glassfish.grizzly.http.server.Request,
+     * Callable)}. The response function is only called (with the subscriber context to use) if the client's data
+     * is not up to date.
+     */
+    void doFluxConditional(
+        final AsyncResponse asyncResponse,
+        String apiCall,
+        org.glassfish.grizzly.http.server.Request request,
+        Function<Context, Mono<Response>> monoResponseFunc
+    )
+    {
+        Context context = createContext(apiCall, request);
+        EntityTag entityTag = buildEntityTag(context, request);
+        if (isNotModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), entityTag))
+        {
+            asyncResponse.resume(Response.notModified(entityTag).build());
+        }
+        else
+        {
+            doFlux(asyncResponse, monoResponseFunc.apply(context).map(response -> withEntityTag(response, entityTag)));
+        }
+    }
+
+    /**
+     * The ETag is weak, as the same generation may still yield different values fetched from the satellites
+     * (e.g. allocated sizes). Besides the generation, it depends on the requested URI (including the filters)
+     * and the identity and role of the client, since the latter determine which objects are visible.
+     */
+    private EntityTag buildEntityTag(Context context, org.glassfish.grizzly.http.server.Request request)
+    {
+        AccessContext accCtx = context.get(AccessContext.class);
+        int requestHash = Objects.hash(
+            request.getRequestURI(),
+            request.getQueryString(),
+            accCtx.getIdentity().name.value,
+            accCtx.getRole().name.value
+        );
+        return new EntityTag(
+            Long.toHexString(changeGeneration.getEpoch()) + "-" +
+                Long.toHexString(changeGeneration.get()) + "-" +
+                Integer.toHexString(requestHash),
+            true
+        );
+    }
+
+    /**
+     * Checks whether the given If-None-Match header matches the given ETag, using the weak comparison
+     * as required by RFC 7232
+     */
+    static boolean isNotModified(@Nullable String ifNoneMatch, EntityTag entityTag)
+    {
+        boolean match = false;
+        if (ifNoneMatch != null)
+        {
+            String opaqueTag = "\"" + entityTag.getValue() + "\"";
+            for (String tag : ifNoneMatch.split(","))
+            {
+                String trimmedTag = tag.trim();
+                if (trimmedTag.startsWith("W/"))
+                {
+                    trimmedTag = trimmedTag.substring(2);
+                }
+                if (trimmedTag.equals("*") || trimmedTag.equals(opaqueTag))
+                {
+                    match = true;
+                    break;
+                }
+            }
+        }
+        return match;
+    }
+
+    private static Response withEntityTag(Response response, EntityTag entityTag)
+    {
+        Response ret = response;
+        if (response.getStatus() == Response.Status.OK.getStatusCode())
+        {
+            ret = Response.fromResponse(response).tag(entityTag).build();
+        }
+        return ret;
+    }
+
     void doFlux(final AsyncResponse asyncResponse, Mono<Response> monoResponse)
     {
         monoResponse
@@ -365,12 +567,191 @@ public class RequestHelper
             );
         }
         else
+        if (searchObject != null)
         {
             response = Response
                 .status(Response.Status.OK)
-                .entity(objectMapper.writeValueAsString(searchObject != null ? resultList.get(0) : resultList))
+                .entity(objectMapper.writeValueAsString(resultList.get(0)))
                 .build();
         }
+        else
+        {
+            response = jsonArrayResponse(objectMapper, resultList.stream());
+        }
+        return response;
+    }
+
+    /**
+     * Same as {@link #queryRequestResponse(ObjectMapper, long, String, String, List)}, but if no single object
+     * is searched, the elements of the stream are only converted while the response is written
+     */
+    static Response queryRequestResponse(
+        ObjectMapper objectMapper,
+        long retCode,
+        String objectType,
+        @Nullable String searchObject,
+        Stream<?> resultStream
+    )
+        throws JsonProcessingException
+    {
+        Response response;
+        if (searchObject != null)
+        {
+            response = queryRequestResponse(
+                objectMapper,
+                retCode,
+                objectType,
+                searchObject,
+                resultStream.collect(Collectors.toList())
+            );
+        }
+        else
+        {
+            response = jsonArrayResponse(objectMapper, resultStream);
+        }
         return response;
     }
+
+    /**
+     * Builds an OK response that writes the elements of the given stream as JSON array directly to the
+     * response's output stream, so the serialized form of the whole list never has to be kept in memory.
+     *
+     * The stream is consumed after the api call's scope was left, so it must only map already collected
+     * api data. As the status is already sent once the elements are written, errors while writing can only
+     * be reported by aborting the response.
+     */
+    static Response jsonArrayResponse(ObjectMapper objectMapper, Stream<?> elements)
+    {
+        Iterator<?> elementIt = elements.iterator();
+        return jsonArrayResponse(objectMapper, generator ->
+            {
+                ObjectWriter writer = elementWriter(objectMapper);
+                while (elementIt.hasNext())
+                {
+                    writer.writeValue(generator, elementIt.next());
+                }
+            }
+        );
+    }
+
+    /**
+     * Same as {@link #jsonArrayResponse(ObjectMapper, Stream)}, but the elements are fetched from the given source
+     * one chunk after another, so at most one chunk of elements is kept in memory.
+     *
+     * The first chunk is fetched before this method returns, all further chunks while the response is written.
+     * If limit is greater than 0, the first offset elements are skipped and at most limit elements are written.
+     */
+    static <T> Response jsonArrayResponse(
+        ObjectMapper objectMapper,
+        ChunkSource<T> source,
+        Function<? super T, ?> converter,
+        int limit,
+        int offset,
+        int chunkSize
+    )
+        throws Exception
+    {
+        int skipCount = limit > 0 ? Math.max(offset, 0) : 0;
+        long maxWriteCount = limit > 0 ? limit : Long.MAX_VALUE;
+        int firstChunkSize = (int) Math.min(chunkSize, skipCount + maxWriteCount);
+        List<T> firstChunk = source.nextChunk(null, firstChunkSize);
+        return jsonArrayResponse(objectMapper, generator ->
+            {
+                ObjectWriter writer = elementWriter(objectMapper);
+                List<T> chunk = firstChunk;
+                int requestedCount = firstChunkSize;
+                int toSkip = skipCount;
+                long toWrite = maxWriteCount;
+                boolean more = true;
+                while (more)
+                {
+                    T lastElement = null;
+                    for (T element : chunk)
+                    {
+                        lastElement = element;
+                        if (toSkip > 0)
+                        {
+                            --toSkip;
+                        }
+                        else
+                        if (toWrite > 0)
+                        {
+                            writer.writeValue(generator, converter.apply(element));
+                            --toWrite;
+                        }
+                    }
+                    more = chunk.size() >= requestedCount && toWrite > 0;
+                    if (more)
+                    {
+                        requestedCount = (int) Math.min(chunkSize, toSkip + toWrite);
+                        chunk = fetchChunk(source, lastElement, requestedCount);
+                    }
+                }
+            }
+        );
+    }
+
+    private static <T> List<T> fetchChunk(ChunkSource<T> source, T lastElement, int maxCount) throws IOException
+    {
+        List<T> chunk;
+        try
+        {
+            chunk = source.nextChunk(lastElement, maxCount);
+        }
+        catch (IOException | RuntimeException exc)
+        {
+            throw exc;
+        }
+        catch (Exception exc)
+        {
+            // the status was already sent, so the response can only be aborted
+            throw new IOException("Failed to fetch the next elements of the response", exc);
+        }
+        return chunk;
+    }
+
+    private static ObjectWriter elementWriter(ObjectMapper objectMapper)
+    {
+        // flushing after each element would defeat the buffering of the output stream
+        return objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    private static Response jsonArrayResponse(ObjectMapper objectMapper, ElementWriter elementWriter)
+    {
+        StreamingOutput output = outputStream ->
+        {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream))
+            {
+                // the output stream belongs to the container
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                elementWriter.writeElements(generator);
+                generator.writeEndArray();
+            }
+        };
+        return Response
+            .status(Response.Status.OK)
+            .entity(output)
+            .type(MediaType.APPLICATION_JSON)
+            .build();
+    }
+
+    /**
+     * Source of list elements that are fetched in chunks, in a stable order
+     */
+    @FunctionalInterface
+    interface ChunkSource<T>
+    {
+        /**
+         * Returns at most maxCount elements following the given element, or the first elements if the given
+         * element is null. Returning less than maxCount elements marks the end of the list.
+         */
+        List<T> nextChunk(@Nullable T lastElement, int maxCount) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface ElementWriter
+    {
+        void writeElements(JsonGenerator generator) throws IOException;
+    }
 }
@@ -104,22 +104,49 @@ public class ResourceDefinitions
         int offset
     )
     {
-        return requestHelper.doInScope(requestHelper.createContext(ApiConsts.API_LST_RSC_DFN, request), () ->
+        Response response;
+        if (singleRscDfn == null)
         {
-            Stream<ResourceDefinitionApi> rscDfnApiStream =
-                ctrlApiCallHandler.listResourceDefinitions(rscDfnNames, propFilters).stream();
-            if (limit > 0)
-            {
-                rscDfnApiStream = rscDfnApiStream.skip(offset).limit(limit);
-            }
-            List<ResourceDefinition> rscDfnDataList = rscDfnApiStream
-                .map(rscDfnApi -> Json.apiToResourceDefinition(rscDfnApi, withVlmDfn))
-                .collect(Collectors.toList());
-
-            return RequestHelper.queryRequestResponse(
-                objectMapper, ApiConsts.FAIL_NOT_FOUND_RSC_DFN, "Resource definition", singleRscDfn, rscDfnDataList
+            // the resource definitions are only collected chunk by chunk while the response is written
+            response = requestHelper.listChunkedConditional(
+                ApiConsts.API_LST_RSC_DFN,
+                request,
+                objectMapper,
+                (ResourceDefinitionApi lastRscDfn, int maxCount) -> ctrlApiCallHandler.listResourceDefinitions(
+                    rscDfnNames,
+                    propFilters,
+                    lastRscDfn == null ? null : lastRscDfn.getResourceName(),
+                    maxCount
+                ),
+                rscDfnApi -> Json.apiToResourceDefinition(rscDfnApi, withVlmDfn),
+                limit,
+                offset
             );
-        }, false);
+        }
+        else
+        {
+            response = requestHelper.doInScopeConditional(ApiConsts.API_LST_RSC_DFN, request, () ->
+            {
+                Stream<ResourceDefinitionApi> rscDfnApiStream =
+                    ctrlApiCallHandler.listResourceDefinitions(rscDfnNames, propFilters).stream();
+                if (limit > 0)
+                {
+                    rscDfnApiStream = rscDfnApiStream.skip(offset).limit(limit);
+                }
+                List<ResourceDefinition> rscDfnDataList = rscDfnApiStream
+                    .map(rscDfnApi -> Json.apiToResourceDefinition(rscDfnApi, withVlmDfn))
+                    .collect(Collectors.toList());
+
+                return RequestHelper.queryRequestResponse(
+                    objectMapper,
+                    ApiConsts.FAIL_NOT_FOUND_RSC_DFN,
+                    "Resource definition",
+                    singleRscDfn,
+                    rscDfnDataList
+                );
+            });
+        }
+        return response;
     }
 
     @POST
@@ -7,6 +7,7 @@ import com.linbit.linstor.api.interfaces.AutoSelectFilterApi;
 import com.linbit.linstor.api.pojo.AutoSelectFilterPojo;
 import com.linbit.linstor.api.pojo.MaxVlmSizeCandidatePojo;
 import com.linbit.linstor.api.pojo.RscGrpPojo;
+import com.linbit.linstor.api.pojo.RscGrpSpawnPojo;
 import com.linbit.linstor.api.prop.LinStorObject;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
@@ -38,6 +39,7 @@ import javax.ws.rs.core.Response;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -281,6 +283,51 @@ public class ResourceGroups
         }
     }
 
+    @POST
+    @Path("{rscGrpName}/spawn-bulk")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public void spawnResourceDefinitionsBulk(
+        @Context Request request,
+        @Suspended final AsyncResponse asyncResponse,
+        @PathParam("rscGrpName") String rscGrpName,
+        String jsonData
+    )
+    {
+        try
+        {
+            JsonGenTypes.ResourceGroupSpawn[] rscGrpSpwnList = objectMapper.readValue(
+                jsonData,
+                JsonGenTypes.ResourceGroupSpawn[].class
+            );
+            List<RscGrpSpawnPojo> spawnList = new ArrayList<>();
+            for (JsonGenTypes.ResourceGroupSpawn rscGrpSpwn : rscGrpSpwnList)
+            {
+                byte[] rscDfnExtName = rscGrpSpwn.resource_definition_external_name != null ?
+                    rscGrpSpwn.resource_definition_external_name.getBytes(StandardCharsets.UTF_8) :
+                    null;
+                spawnList.add(
+                    new RscGrpSpawnPojo(
+                        rscGrpSpwn.resource_definition_name,
+                        rscDfnExtName,
+                        rscGrpSpwn.volume_sizes,
+                        selectFilterToApi(rscGrpSpwn.select_filter),
+                        rscGrpSpwn.partial,
+                        rscGrpSpwn.definitions_only
+                    )
+                );
+            }
+
+            Flux<ApiCallRc> flux = ctrlRscGrpApiCallHandler.spawnBulk(rscGrpName, spawnList)
+                .subscriberContext(requestHelper.createContext(ApiConsts.API_SPAWN_RSC_DFN, request));
+
+            requestHelper.doFlux(asyncResponse, ApiCallRcRestUtils.mapToMonoResponse(flux, Response.Status.CREATED));
+        }
+        catch (IOException ioExc)
+        {
+            ApiCallRcRestUtils.handleJsonParseException(ioExc, asyncResponse);
+        }
+    }
+
     @GET
     @Path("{rscGrpName}/query-max-volume-size")
     public void queryMaxVolumeSize(
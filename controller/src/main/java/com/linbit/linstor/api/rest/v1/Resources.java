@@ -116,16 +116,12 @@ public class Resources
                 rscApiStream = rscApiStream.skip(offset).limit(limit);
             }
 
-            final List<JsonGenTypes.Resource> rscs = rscApiStream
-                .map(rscApi -> Json.apiToResource(rscApi, resourceList.getSatelliteStates()))
-                .collect(Collectors.toList());
-
             return RequestHelper.queryRequestResponse(
                 objectMapper,
                 ApiConsts.FAIL_NOT_FOUND_RSC,
                 String.format("Resource '%s' on", rscName),
                 nodeName,
-                rscs
+                rscApiStream.map(rscApi -> Json.apiToResource(rscApi, resourceList.getSatelliteStates()))
             );
         }, false);
     }
@@ -83,9 +83,7 @@ public class Snapshots
     {
         return requestHelper.doInScope(ApiConsts.API_LST_SNAPSHOT_DFN, request, () ->
         {
-            boolean rscDfnExists = ctrlApiCallHandler.listResourceDefinitions()
-                .parallelStream()
-                .anyMatch(rscDfnApi -> rscDfnApi.getResourceName().equalsIgnoreCase(rscName));
+            boolean rscDfnExists = ctrlApiCallHandler.getResourceDefinition(rscName).isPresent();
 
             Response response;
 
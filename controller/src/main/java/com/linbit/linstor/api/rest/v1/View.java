@@ -1,11 +1,13 @@
 package com.linbit.linstor.api.rest.v1;
 
+import com.linbit.linstor.LinstorParsingUtils;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.rest.v1.serializer.Json;
 import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlStorPoolListApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlVlmListApiCallHandler;
+import com.linbit.linstor.core.apicallhandler.controller.helpers.ListCursor;
 import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceList;
 import com.linbit.linstor.core.apis.ResourceApi;
 import com.linbit.linstor.core.apis.SnapshotDefinitionListItemApi;
@@ -29,7 +31,6 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.glassfish.grizzly.http.server.Request;
 import reactor.core.publisher.Flux;
@@ -39,6 +40,11 @@ import reactor.core.publisher.Mono;
 @Produces(MediaType.APPLICATION_JSON)
 public class View
 {
+    /**
+     * Sent if a page is full. Passing its value as "cursor" query parameter requests the following page.
+     */
+    static final String HEADER_NEXT_CURSOR = "X-Linstor-Next-Cursor";
+
     private final RequestHelper requestHelper;
     private final CtrlApiCallHandler ctrlApiCallHandler;
     private final CtrlVlmListApiCallHandler ctrlVlmListApiCallHandler;
@@ -71,7 +77,8 @@ public class View
         @QueryParam("storage_pools") List<String> storagePools,
         @QueryParam("props") List<String> propFilters,
         @DefaultValue("0") @QueryParam("limit") int limit,
-        @DefaultValue("0") @QueryParam("offset") int offset
+        @DefaultValue("0") @QueryParam("offset") int offset,
+        @QueryParam("cursor") String cursor
     )
     {
         List<String> nodesFilter = nodes != null ? nodes : Collections.emptyList();
@@ -80,14 +87,14 @@ public class View
 
         RequestHelper.safeAsyncResponse(asyncResponse, () ->
         {
-            Flux<ResourceList> flux = ctrlVlmListApiCallHandler.listVlms(
-                nodesFilter, storagePoolsFilter, resourcesFilter, propFilters)
-                .subscriberContext(requestHelper.createContext(ApiConsts.API_LST_VLM, request));
+            requestHelper.doFluxConditional(asyncResponse, ApiConsts.API_LST_VLM, request, context ->
+            {
+                Flux<ResourceList> flux = ctrlVlmListApiCallHandler.listVlms(
+                    nodesFilter, storagePoolsFilter, resourcesFilter, propFilters, cursor, pageEnd(limit, offset))
+                    .subscriberContext(context);
 
-            requestHelper.doFlux(
-                asyncResponse,
-                listVolumesApiCallRcWithToResponse(flux, limit, offset)
-            );
+                return listVolumesApiCallRcWithToResponse(flux, limit, offset);
+            });
         });
     }
 
@@ -99,8 +106,6 @@ public class View
     {
         return resourceListFlux.flatMap(resourceList ->
         {
-            Response resp;
-
             Stream<ResourceApi> rscApiStream = resourceList.getResources().stream();
 
             if (limit > 0)
@@ -108,22 +113,25 @@ public class View
                 rscApiStream = rscApiStream.skip(offset).limit(limit);
             }
 
-            final List<JsonGenTypes.Resource> rscs = rscApiStream
-                .map(rscApi -> Json.apiToResourceWithVolumes(rscApi, resourceList.getSatelliteStates(), true))
-                .collect(Collectors.toList());
-
-            try
+            final List<ResourceApi> rscApiList = rscApiStream.collect(Collectors.toList());
+            Response resp = RequestHelper.jsonArrayResponse(
+                objectMapper,
+                rscApiList.stream()
+                    .map(rscApi -> Json.apiToResourceWithVolumes(rscApi, resourceList.getSatelliteStates(), true))
+            );
+            if (limit > 0 && rscApiList.size() == limit)
             {
-                resp = Response
-                    .status(Response.Status.OK)
-                    .entity(objectMapper.writeValueAsString(rscs))
+                ResourceApi lastRscApi = rscApiList.get(limit - 1);
+                resp = Response.fromResponse(resp)
+                    .header(
+                        HEADER_NEXT_CURSOR,
+                        ListCursor.format(
+                            LinstorParsingUtils.asRscName(lastRscApi.getName()),
+                            LinstorParsingUtils.asNodeName(lastRscApi.getNodeName())
+                        )
+                    )
                     .build();
             }
-            catch (JsonProcessingException exc)
-            {
-                exc.printStackTrace();
-                resp = Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
-            }
 
             return Mono.just(resp);
         }).next();
@@ -138,7 +146,8 @@ public class View
         @QueryParam("storage_pools") List<String> storagePools,
         @QueryParam("props") List<String> propFilters,
         @DefaultValue("0") @QueryParam("limit") int limit,
-        @DefaultValue("0") @QueryParam("offset") int offset
+        @DefaultValue("0") @QueryParam("offset") int offset,
+        @QueryParam("cursor") String cursor
     )
     {
         List<String> nodesFilter = nodes != null ? nodes : Collections.emptyList();
@@ -146,11 +155,14 @@ public class View
 
         RequestHelper.safeAsyncResponse(asyncResponse, () ->
         {
-            Flux<List<StorPoolApi>> flux = ctrlStorPoolListApiCallHandler
-                .listStorPools(nodesFilter, storagePoolsFilter, propFilters)
-                .subscriberContext(requestHelper.createContext(ApiConsts.API_LST_STOR_POOL, request));
+            requestHelper.doFluxConditional(asyncResponse, ApiConsts.API_LST_STOR_POOL, request, context ->
+            {
+                Flux<List<StorPoolApi>> flux = ctrlStorPoolListApiCallHandler
+                    .listStorPools(nodesFilter, storagePoolsFilter, propFilters, cursor, pageEnd(limit, offset))
+                    .subscriberContext(context);
 
-            requestHelper.doFlux(asyncResponse, storPoolListToResponse(flux, limit, offset));
+                return storPoolListToResponse(flux, limit, offset);
+            });
         });
     }
 
@@ -162,34 +174,42 @@ public class View
     {
         return storPoolListFlux.flatMap(storPoolList ->
         {
-            Response resp;
             Stream<StorPoolApi> storPoolApiStream = storPoolList.stream();
             if (limit > 0)
             {
                 storPoolApiStream = storPoolApiStream.skip(offset).limit(limit);
             }
-            List<JsonGenTypes.StoragePool> storPoolDataList = storPoolApiStream
-                .map(Json::storPoolApiToStoragePool)
-                .collect(Collectors.toList());
-
-            try
+            final List<StorPoolApi> storPoolApiList = storPoolApiStream.collect(Collectors.toList());
+            Response resp = RequestHelper.jsonArrayResponse(
+                objectMapper,
+                storPoolApiList.stream().map(Json::storPoolApiToStoragePool)
+            );
+            if (limit > 0 && storPoolApiList.size() == limit)
             {
-                resp = Response
-                    .status(Response.Status.OK)
-                    .entity(objectMapper.writeValueAsString(storPoolDataList))
-                    .type(MediaType.APPLICATION_JSON)
+                StorPoolApi lastStorPoolApi = storPoolApiList.get(limit - 1);
+                resp = Response.fromResponse(resp)
+                    .header(
+                        HEADER_NEXT_CURSOR,
+                        ListCursor.format(
+                            LinstorParsingUtils.asStorPoolName(lastStorPoolApi.getStorPoolName()),
+                            LinstorParsingUtils.asNodeName(lastStorPoolApi.getNodeName())
+                        )
+                    )
                     .build();
             }
-            catch (JsonProcessingException exc)
-            {
-                exc.printStackTrace();
-                resp = Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
-            }
 
             return Mono.just(resp);
         }).next();
     }
 
+    /**
+     * Number of entries that have to be assembled for the requested page, or 0 if everything is requested
+     */
+    private static int pageEnd(int limit, int offset)
+    {
+        return limit > 0 ? offset + limit : 0;
+    }
+
     @GET
     @Path("snapshots")
     public Response listSnapshots(
@@ -89,12 +89,7 @@ public class VolumeDefinitions
     {
         return requestHelper.doInScope(requestHelper.createContext(ApiConsts.API_LST_RSC_DFN, request), () ->
         {
-            Optional<ResourceDefinitionApi> foundRscDfn = ctrlApiCallHandler.listResourceDefinitions().stream()
-                .filter(rscDfnApi -> rscDfnApi.getResourceName().equalsIgnoreCase(rscName))
-                .findFirst();
-            // TODO: instead of building a list of ALL rscDfns(Api) and filtering the one we are interested in
-            // move this method into a new ctlrApiCallHandler.listVlmDfns(rscName) (which takes the readlock of rscDfnMap
-            // and makes that one rscDfnMap.get(rscName) lookup
+            Optional<ResourceDefinitionApi> foundRscDfn = ctrlApiCallHandler.getResourceDefinition(rscName);
 
             Response response;
             if (foundRscDfn.isPresent())
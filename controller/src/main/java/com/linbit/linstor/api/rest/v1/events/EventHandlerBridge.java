@@ -5,6 +5,9 @@ import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceList;
 import com.linbit.linstor.core.apis.ResourceApi;
+import com.linbit.linstor.event.LinstorEvent;
+import com.linbit.linstor.event.ObjectIdentifier;
+import com.linbit.linstor.event.ObjectSignal;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.storage.kinds.DeviceLayerKind;
 
@@ -13,28 +16,54 @@ import javax.inject.Singleton;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.glassfish.jersey.media.sse.EventOutput;
 import org.glassfish.jersey.media.sse.OutboundEvent;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 @Singleton
 public class EventHandlerBridge {
+    /**
+     * Number of signals that may be pending for a single client of {@link #registerEventClient}. Registering with
+     * the global filter replays the current state of every object, so this has to be well above the number of objects
+     * of a large cluster.
+     */
+    static final int MAX_PENDING_EVENTS = 100_000;
+
     private final ErrorReporter errorReporter;
     private final ArrayList<EventOutput> rscClients = new ArrayList<>();
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final CtrlApiCallHandler ctrlApiCallHandler;
+    private final Scheduler writeScheduler;
 
     @Inject
     public EventHandlerBridge(
         ErrorReporter errorReporterRef,
         CtrlApiCallHandler ctrlApiCallHandlerRef
     )
+    {
+        this(errorReporterRef, ctrlApiCallHandlerRef, Schedulers.boundedElastic());
+    }
+
+    EventHandlerBridge(
+        ErrorReporter errorReporterRef,
+        CtrlApiCallHandler ctrlApiCallHandlerRef,
+        Scheduler writeSchedulerRef
+    )
     {
         errorReporter = errorReporterRef;
         ctrlApiCallHandler = ctrlApiCallHandlerRef;
+        writeScheduler = writeSchedulerRef;
     }
 
     public void registerResourceClient(EventOutput eventOut, boolean sendInitialState)
@@ -79,6 +108,108 @@ public class EventHandlerBridge {
         }
     }
 
+    /**
+     * Streams all signals of the given event to the given client until the client disconnects.
+     * <p>
+     * The client only receives the signals of the event streams that are descendants of at least one of the given
+     * filters. As the event streams replay their last value, the client also receives the current state of every
+     * matching object right after registering.
+     * <p>
+     * The events are written on a separate scheduler, as writing blocks until the client received them and the signals
+     * are emitted on the main worker threads. A client that falls more than {@link #MAX_PENDING_EVENTS} signals
+     * behind is disconnected.
+     *
+     * @param eventName name of the server sent events
+     * @param dataBuilder builds the JSON data of a server sent event from a signal of the event
+     */
+    public <T> void registerEventClient(
+        EventOutput eventOut,
+        LinstorEvent<T> event,
+        Collection<ObjectIdentifier> filters,
+        String eventName,
+        Function<ObjectSignal<T>, Object> dataBuilder
+    )
+    {
+        List<Flux<ObjectSignal<T>>> watches = new ArrayList<>();
+        for (ObjectIdentifier filter : filters)
+        {
+            watches.add(event.watchForStreams(filter));
+        }
+
+        AtomicBoolean overflow = new AtomicBoolean();
+        Flux.merge(watches)
+            .onBackpressureBuffer(
+                MAX_PENDING_EVENTS,
+                ignored ->
+                {
+                    errorReporter.logWarning(
+                        "Disconnecting a client that does not keep up with the %s events",
+                        eventName
+                    );
+                    overflow.set(true);
+                },
+                BufferOverflowStrategy.ERROR
+            )
+            .publishOn(writeScheduler, 1)
+            // the overflow error would only be delivered after all pending signals were written
+            .takeWhile(ignored -> !overflow.get())
+            .map(objectSignal -> writeEvent(eventOut, eventName, dataBuilder.apply(objectSignal)))
+            // cancelling the watches once the client is gone also removes them from the event
+            .takeWhile(written -> written)
+            .subscribe(
+                ignored ->
+                {
+                },
+                exc ->
+                {
+                    errorReporter.reportError(exc, null, null, "Uncaught exception sending " + eventName + " event");
+                    closeQuietly(eventOut);
+                },
+                () -> closeQuietly(eventOut)
+            );
+    }
+
+    private boolean writeEvent(EventOutput eventOut, String eventName, Object data)
+    {
+        boolean written = false;
+        if (!eventOut.isClosed())
+        {
+            try
+            {
+                eventOut.write(
+                    new OutboundEvent.Builder()
+                        .name(eventName)
+                        .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                        .data(objectMapper.writeValueAsString(data))
+                        .build()
+                );
+                written = true;
+            }
+            catch (JsonProcessingException exc)
+            {
+                errorReporter.reportError(exc);
+                // skip this event, but keep the client
+                written = true;
+            }
+            catch (IOException ignored)
+            {
+                // client disconnected
+            }
+        }
+        return written;
+    }
+
+    private static void closeQuietly(EventOutput eventOut)
+    {
+        try
+        {
+            eventOut.close();
+        }
+        catch (IOException ignored)
+        {
+        }
+    }
+
     private void sendRscEvent(final OutboundEvent event)
     {
         ArrayList<EventOutput> closeEvents = new ArrayList<>();
@@ -1,16 +1,32 @@
 package com.linbit.linstor.api.rest.v1.events;
 
+import com.linbit.linstor.LinstorParsingUtils;
 import com.linbit.linstor.api.rest.v1.RequestHelper;
+import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.event.LinstorEvent;
+import com.linbit.linstor.event.ObjectIdentifier;
+import com.linbit.linstor.event.ObjectSignal;
+import com.linbit.linstor.event.common.ConnectionStateEvent;
+import com.linbit.linstor.event.common.ResourceState;
+import com.linbit.linstor.event.common.ResourceStateEvent;
+import com.linbit.linstor.event.common.VolumeDiskStateEvent;
 
 import javax.inject.Inject;
 import javax.ws.rs.GET;
 import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.glassfish.grizzly.http.server.Request;
 import org.glassfish.jersey.media.sse.EventOutput;
@@ -21,15 +37,24 @@ import org.glassfish.jersey.media.sse.SseFeature;
 public class Events {
     private final RequestHelper requestHelper;
     private final EventHandlerBridge eventHandlerBridge;
+    private final ResourceStateEvent resourceStateEvent;
+    private final VolumeDiskStateEvent volumeDiskStateEvent;
+    private final ConnectionStateEvent connectionStateEvent;
 
     @Inject
     public Events(
         RequestHelper requestHelperRef,
-        EventHandlerBridge eventHandlerBridgeRef
+        EventHandlerBridge eventHandlerBridgeRef,
+        ResourceStateEvent resourceStateEventRef,
+        VolumeDiskStateEvent volumeDiskStateEventRef,
+        ConnectionStateEvent connectionStateEventRef
     )
     {
         requestHelper = requestHelperRef;
         eventHandlerBridge = eventHandlerBridgeRef;
+        resourceStateEvent = resourceStateEventRef;
+        volumeDiskStateEvent = volumeDiskStateEventRef;
+        connectionStateEvent = connectionStateEventRef;
     }
 
     @GET
@@ -58,4 +83,185 @@ public class Events {
         }
         return eventOutput;
     }
+
+    @GET
+    @Produces(SseFeature.SERVER_SENT_EVENTS)
+    @Path("resource-state")
+    public EventOutput resourceStateEvents(
+        @Context Request request,
+        @QueryParam("nodes") List<String> nodeNames,
+        @QueryParam("resources") List<String> rscNames
+    )
+        throws IOException
+    {
+        return registerEventClient(
+            request,
+            "Events-resource-state",
+            nodeNames,
+            rscNames,
+            resourceStateEvent.get(),
+            "resource-state",
+            Events::toEventResourceState
+        );
+    }
+
+    @GET
+    @Produces(SseFeature.SERVER_SENT_EVENTS)
+    @Path("volume-disk-state")
+    public EventOutput volumeDiskStateEvents(
+        @Context Request request,
+        @QueryParam("nodes") List<String> nodeNames,
+        @QueryParam("resources") List<String> rscNames
+    )
+        throws IOException
+    {
+        return registerEventClient(
+            request,
+            "Events-volume-disk-state",
+            nodeNames,
+            rscNames,
+            volumeDiskStateEvent.get(),
+            "volume-disk-state",
+            Events::toEventVolumeDiskState
+        );
+    }
+
+    @GET
+    @Produces(SseFeature.SERVER_SENT_EVENTS)
+    @Path("connection-state")
+    public EventOutput connectionStateEvents(
+        @Context Request request,
+        @QueryParam("nodes") List<String> nodeNames,
+        @QueryParam("resources") List<String> rscNames
+    )
+        throws IOException
+    {
+        return registerEventClient(
+            request,
+            "Events-connection-state",
+            nodeNames,
+            rscNames,
+            connectionStateEvent.get(),
+            "connection-state",
+            Events::toEventConnectionState
+        );
+    }
+
+    private <T> EventOutput registerEventClient(
+        Request request,
+        String apiCallName,
+        List<String> nodeNames,
+        List<String> rscNames,
+        LinstorEvent<T> event,
+        String eventName,
+        Function<ObjectSignal<T>, Object> dataBuilder
+    )
+        throws IOException
+    {
+        final EventOutput eventOutput = new EventOutput();
+        Response resp = requestHelper.doInScope(requestHelper.createContext(apiCallName, request), () ->
+        {
+            eventHandlerBridge.registerEventClient(
+                eventOutput,
+                event,
+                buildFilters(nodeNames, rscNames),
+                eventName,
+                dataBuilder
+            );
+            return null;
+        }, false);
+
+        if (resp != null)
+        {
+            eventOutput.write(
+                new OutboundEvent.Builder()
+                    .name("error")
+                    .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                    .data(resp.getEntity()).build());
+            eventOutput.close();
+        }
+        return eventOutput;
+    }
+
+    /**
+     * Event streams are watched by their ancestors, so one watch is needed for every combination of the given node
+     * and resource names
+     */
+    private static List<ObjectIdentifier> buildFilters(List<String> nodeNameStrs, List<String> rscNameStrs)
+    {
+        List<ObjectIdentifier> filters = new ArrayList<>();
+        List<NodeName> nodeNames = nodeNameStrs.stream()
+            .map(LinstorParsingUtils::asNodeName)
+            .collect(Collectors.toList());
+        List<ResourceName> rscNames = rscNameStrs.stream()
+            .map(LinstorParsingUtils::asRscName)
+            .collect(Collectors.toList());
+
+        if (nodeNames.isEmpty() && rscNames.isEmpty())
+        {
+            filters.add(ObjectIdentifier.global());
+        }
+        else
+        if (rscNames.isEmpty())
+        {
+            nodeNames.forEach(nodeName -> filters.add(ObjectIdentifier.node(nodeName)));
+        }
+        else
+        if (nodeNames.isEmpty())
+        {
+            rscNames.forEach(rscName -> filters.add(ObjectIdentifier.resourceDefinition(rscName)));
+        }
+        else
+        {
+            for (NodeName nodeName : nodeNames)
+            {
+                for (ResourceName rscName : rscNames)
+                {
+                    filters.add(ObjectIdentifier.resource(nodeName, rscName));
+                }
+            }
+        }
+        return filters;
+    }
+
+    private static JsonGenTypes.EventResourceState toEventResourceState(ObjectSignal<ResourceState> objectSignal)
+    {
+        ObjectIdentifier objId = objectSignal.getObjectIdentifier();
+        JsonGenTypes.EventResourceState eventRscState = new JsonGenTypes.EventResourceState();
+        eventRscState.node_name = objId.getNodeName().displayValue;
+        eventRscState.resource_name = objId.getResourceName().displayValue;
+
+        ResourceState rscState = objectSignal.getSignal().get();
+        if (rscState != null)
+        {
+            eventRscState.ready = rscState.getResourceReady();
+            eventRscState.in_use = rscState.getInUse();
+            eventRscState.up_to_date = rscState.getUpToDate();
+            eventRscState.promotion_score = rscState.getPromotionScore();
+            eventRscState.may_promote = rscState.mayPromote();
+        }
+        return eventRscState;
+    }
+
+    private static JsonGenTypes.EventVolumeDiskState toEventVolumeDiskState(ObjectSignal<String> objectSignal)
+    {
+        ObjectIdentifier objId = objectSignal.getObjectIdentifier();
+        JsonGenTypes.EventVolumeDiskState eventVlmDiskState = new JsonGenTypes.EventVolumeDiskState();
+        eventVlmDiskState.node_name = objId.getNodeName().displayValue;
+        eventVlmDiskState.resource_name = objId.getResourceName().displayValue;
+        eventVlmDiskState.volume_number = objId.getVolumeNumber().value;
+        eventVlmDiskState.disk_state = objectSignal.getSignal().get();
+        return eventVlmDiskState;
+    }
+
+    private static JsonGenTypes.EventConnectionState toEventConnectionState(ObjectSignal<String> objectSignal)
+    {
+        ObjectIdentifier objId = objectSignal.getObjectIdentifier();
+        JsonGenTypes.EventConnectionState eventConnState = new JsonGenTypes.EventConnectionState();
+        eventConnState.node_name = objId.getNodeName().displayValue;
+        eventConnState.peer_node_name = objId.getPeerNodeName().displayValue;
+        eventConnState.resource_name = objId.getResourceName().displayValue;
+        eventConnState.connection_state = objectSignal.getSignal().get();
+        return eventConnState;
+    }
 }
@@ -12,7 +12,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 
 public class JsonGenTypes
 {
-    public static final String REST_API_VERSION = "1.6.0";
+    public static final String REST_API_VERSION = "1.8.0";
 
     /**
      * Common api reply structure
@@ -1221,6 +1221,45 @@ public class JsonGenTypes
         public Boolean may_promote;
     }
 
+    /**
+     * resource-state, the state properties are not set if the resource state is no longer known
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class EventResourceState
+    {
+        public String node_name;
+        public String resource_name;
+        public Boolean ready;
+        public Boolean in_use;
+        public Boolean up_to_date;
+        public Integer promotion_score;
+        public Boolean may_promote;
+    }
+
+    /**
+     * volume-disk-state, disk_state is not set if the disk state is no longer known
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class EventVolumeDiskState
+    {
+        public String node_name;
+        public String resource_name;
+        public Integer volume_number;
+        public String disk_state;
+    }
+
+    /**
+     * connection-state, connection_state is not set if the connection state is no longer known
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class EventConnectionState
+    {
+        public String node_name;
+        public String peer_node_name;
+        public String resource_name;
+        public String connection_state;
+    }
+
     private JsonGenTypes()
     {
     }
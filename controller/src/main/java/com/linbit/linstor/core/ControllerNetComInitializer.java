@@ -535,6 +535,10 @@ public final class ControllerNetComInitializer implements StartupInitializer
         if (netComSvc != null)
         {
             netComSvc.setServiceInstanceName(serviceName);
+            if (netComSvc instanceof TcpConnectorService)
+            {
+                ((TcpConnectorService) netComSvc).setIoThreadCount(ctrlCfg.getNetcomIoThreads());
+            }
             netComContainer.putNetComContainer(serviceName, netComSvc);
             systemServicesMap.put(serviceName, netComSvc);
             netComSvc.start();
@@ -10,6 +10,7 @@ import com.linbit.linstor.api.ApiModule;
 import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
 import com.linbit.linstor.api.protobuf.internal.IntAuthResponse;
 import com.linbit.linstor.core.apicallhandler.ScopeRunner;
+import com.linbit.linstor.core.cfg.CtrlConfig;
 import com.linbit.linstor.core.apicallhandler.response.ApiAccessDeniedException;
 import com.linbit.linstor.core.objects.Node;
 import com.linbit.linstor.logging.ErrorReporter;
@@ -42,6 +43,7 @@ public class CtrlAuthenticator
     private final AccessContext apiCtx;
     private final IntAuthResponse intAuthResponse;
     private final ReconnectorTask reconnectorTask;
+    private final CtrlConfig ctrlCfg;
 
     @Inject
     CtrlAuthenticator(
@@ -52,7 +54,8 @@ public class CtrlAuthenticator
         @PeerContext Provider<AccessContext> peerAccCtxRef,
         @SystemContext AccessContext apiCtxRef,
         IntAuthResponse intAuthResponseRef,
-        ReconnectorTask reconnectorTaskRef
+        ReconnectorTask reconnectorTaskRef,
+        CtrlConfig ctrlCfgRef
     )
     {
         errorReporter = errorReporterRef;
@@ -63,6 +66,7 @@ public class CtrlAuthenticator
         apiCtx = apiCtxRef;
         intAuthResponse = intAuthResponseRef;
         reconnectorTask = reconnectorTaskRef;
+        ctrlCfg = ctrlCfgRef;
     }
 
     public void sendAuthentication(Peer peer)
@@ -119,7 +123,8 @@ public class CtrlAuthenticator
                             .authMessage(
                                 node.getUuid(),
                                 node.getName().getDisplayName(),
-                                "Hello, LinStor!".getBytes()
+                                "Hello, LinStor!".getBytes(),
+                                ctrlCfg.getNetcomCompressionThreshold()
                             )
                             .build(),
                         false,
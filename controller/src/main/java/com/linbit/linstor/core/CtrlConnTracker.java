@@ -8,6 +8,7 @@ import com.linbit.linstor.event.EventProcessor;
 import com.linbit.linstor.netcom.ConnectionObserver;
 import com.linbit.linstor.netcom.Peer;
 import com.linbit.linstor.tasks.ReconnectorTask;
+import com.linbit.linstor.transaction.ChangeGeneration;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -19,19 +20,22 @@ class CtrlConnTracker implements ConnectionObserver
     private final ReconnectorTask reconnectorTask;
     private final EventBroker eventBroker;
     private final EventProcessor eventProcessor;
+    private final ChangeGeneration changeGeneration;
 
     @Inject
     CtrlConnTracker(
         CoreModule.PeerMap peerMapRef,
         ReconnectorTask reconnectorTaskRef,
         EventBroker eventBrokerRef,
-        EventProcessor eventProcessorRef
+        EventProcessor eventProcessorRef,
+        ChangeGeneration changeGenerationRef
     )
     {
         peerMap = peerMapRef;
         reconnectorTask = reconnectorTaskRef;
         eventBroker = eventBrokerRef;
         eventProcessor = eventProcessorRef;
+        changeGeneration = changeGenerationRef;
     }
 
     @Override
@@ -61,6 +65,7 @@ class CtrlConnTracker implements ConnectionObserver
             {
                 peerMap.put(connPeer.getId(), connPeer);
             }
+            changeGeneration.increment(ChangeGeneration.Kind.NODES, ChangeGeneration.Kind.SATELLITE_STATES);
         }
     }
 
@@ -75,6 +80,7 @@ class CtrlConnTracker implements ConnectionObserver
             {
                 peerMap.put(connPeer.getId(), connPeer);
             }
+            changeGeneration.increment(ChangeGeneration.Kind.NODES, ChangeGeneration.Kind.SATELLITE_STATES);
         }
     }
 
@@ -98,6 +104,7 @@ class CtrlConnTracker implements ConnectionObserver
                     reconnectorTask.removePeer(connPeer);
                 }
             }
+            changeGeneration.increment(ChangeGeneration.Kind.NODES, ChangeGeneration.Kind.SATELLITE_STATES);
         }
     }
 }
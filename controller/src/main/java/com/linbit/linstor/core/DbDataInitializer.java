@@ -9,6 +9,7 @@ import com.linbit.linstor.core.objects.StorPoolDefinition;
 import com.linbit.linstor.core.repository.NodeRepository;
 import com.linbit.linstor.core.repository.ResourceDefinitionRepository;
 import com.linbit.linstor.core.repository.StorPoolDefinitionRepository;
+import com.linbit.linstor.dbdrivers.DatabaseCheckpoint;
 import com.linbit.linstor.dbdrivers.DatabaseDriver;
 import com.linbit.linstor.dbdrivers.DatabaseException;
 import com.linbit.linstor.dbdrivers.interfaces.StorPoolDefinitionDatabaseDriver;
@@ -45,6 +46,7 @@ public class DbDataInitializer implements StartupInitializer
     private final DatabaseDriver databaseDriver;
     private final StorPoolDefinitionDatabaseDriver storPoolDfnDbDriver;
     private final TransactionMgrGenerator transactionMgrGenerator;
+    private final DatabaseCheckpoint dbCheckpoint;
 
     @Inject
     public DbDataInitializer(
@@ -59,7 +61,8 @@ public class DbDataInitializer implements StartupInitializer
         @Named(CoreModule.RECONFIGURATION_LOCK) ReadWriteLock reconfigurationLockRef,
         DatabaseDriver databaseDriverRef,
         StorPoolDefinitionDatabaseDriver storPoolDfnDbDriverRef,
-        TransactionMgrGenerator transactionMgrGeneratorRef
+        TransactionMgrGenerator transactionMgrGeneratorRef,
+        DatabaseCheckpoint dbCheckpointRef
     )
     {
         errorReporter = errorReporterRef;
@@ -74,6 +77,7 @@ public class DbDataInitializer implements StartupInitializer
         databaseDriver = databaseDriverRef;
         storPoolDfnDbDriver = storPoolDfnDbDriverRef;
         transactionMgrGenerator = transactionMgrGeneratorRef;
+        dbCheckpoint = dbCheckpointRef;
     }
 
     @Override
@@ -157,6 +161,16 @@ public class DbDataInitializer implements StartupInitializer
         }
     }
 
+    /**
+     * Writes the database checkpoint, if enabled. Services are shut down while the reconfiguration lock is
+     * held, so the database cannot be changed anymore.
+     */
+    @Override
+    public void shutdown()
+    {
+        dbCheckpoint.write();
+    }
+
     private void loadCoreConf()
         throws DatabaseException, AccessDeniedException
     {
@@ -173,6 +187,7 @@ public class DbDataInitializer implements StartupInitializer
         resourceDefinitionRepository.requireAccess(initCtx, AccessType.CONTROL);
         storPoolDefinitionRepository.requireAccess(initCtx, AccessType.CONTROL);
 
+        dbCheckpoint.restore();
         databaseDriver.loadAll();
 
         errorReporter.logInfo("Core objects load from database completed");
@@ -1,5 +1,7 @@
 package com.linbit.linstor.core.apicallhandler.controller;
 
+import com.linbit.InvalidNameException;
+import com.linbit.linstor.LinstorParsingUtils;
 import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiCallRcImpl;
 import com.linbit.linstor.api.pojo.RscGrpPojo;
@@ -15,6 +17,8 @@ import com.linbit.linstor.core.apis.SnapshotShippingListItemApi;
 import com.linbit.linstor.core.apis.StorPoolDefinitionApi;
 import com.linbit.linstor.core.apis.VolumeDefinitionWtihCreationPayload;
 import com.linbit.linstor.core.apis.VolumeGroupApi;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.ResourceName;
 import com.linbit.linstor.core.objects.ResourceConnection;
 import com.linbit.linstor.core.objects.StorPool;
 import com.linbit.linstor.security.AccessDeniedException;
@@ -39,6 +43,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -67,6 +72,7 @@ public class CtrlApiCallHandler
     private final CtrlKvsApiCallHandler kvsApiCallHandler;
     private final CtrlRscGrpApiCallHandler rscGrpApiCallHandler;
     private final CtrlVlmGrpApiCallHandler vlmGrpApiCallHandler;
+    private final CtrlApiSnapshotCache apiSnapshotCache;
 
     private final LockGuardFactory lockGuardFactory;
 
@@ -92,6 +98,7 @@ public class CtrlApiCallHandler
         CtrlKvsApiCallHandler kvsApiCallHandlerRef,
         CtrlRscGrpApiCallHandler rscGrpApiCallHandlerRef,
         CtrlVlmGrpApiCallHandler vlmGrpApiCallHandlerRef,
+        CtrlApiSnapshotCache apiSnapshotCacheRef,
         LockGuardFactory lockGuardFactoryRef
     )
     {
@@ -115,6 +122,7 @@ public class CtrlApiCallHandler
         kvsApiCallHandler = kvsApiCallHandlerRef;
         rscGrpApiCallHandler = rscGrpApiCallHandlerRef;
         vlmGrpApiCallHandler = vlmGrpApiCallHandlerRef;
+        apiSnapshotCache = apiSnapshotCacheRef;
         lockGuardFactory = lockGuardFactoryRef;
     }
 
@@ -173,14 +181,51 @@ public class CtrlApiCallHandler
         return apiCallRc;
     }
 
+    /**
+     * Unfiltered lists are served from the {@link CtrlApiSnapshotCache}. Name-filtered lists only look up and lock
+     * the requested nodes, prop-filtered lists are assembled from the
+     * {@link com.linbit.linstor.propscon.PropsIndex} instead, which only requires looking at the matching nodes.
+     */
     public ArrayList<NodeApi> listNodes(List<String> nodeNames, List<String> propFilters)
     {
-        ArrayList<NodeApi> nodeList;
-        try (LockGuard lg = lockGuardFactory.build(READ, NODES_MAP))
+        return listNodes(nodeNames, propFilters, null, 0);
+    }
+
+    /**
+     * Same as {@link #listNodes(List, List)}, but only lists at most maxCount nodes (if greater than 0) whose names
+     * are sorted after the given node name. This allows to list all nodes in chunks, each one only holding the
+     * locks while its own nodes are collected.
+     */
+    public ArrayList<NodeApi> listNodes(
+        List<String> nodeNames,
+        List<String> propFilters,
+        @Nullable String afterNodeNameStr,
+        int maxCount
+    )
+    {
+        NodeName afterNodeName = afterNodeNameStr == null ? null : LinstorParsingUtils.asNodeName(afterNodeNameStr);
+        ArrayList<NodeApi> nodes;
+        if (nodeNames.isEmpty() && propFilters.isEmpty())
         {
-            nodeList = nodeApiCallHandler.listNodes(nodeNames, propFilters);
+            nodes = apiSnapshotCache.get().listNodes(nodeNames, propFilters, afterNodeName, maxCount);
         }
-        return nodeList;
+        else
+        if (propFilters.isEmpty())
+        {
+            NodeName[] names = nodeNames.stream().map(LinstorParsingUtils::asNodeName).toArray(NodeName[]::new);
+            try (LockGuard lg = lockGuardFactory.create().readNode(names).build())
+            {
+                nodes = nodeApiCallHandler.listNodes(nodeNames, propFilters, afterNodeName, maxCount);
+            }
+        }
+        else
+        {
+            try (LockGuard lg = lockGuardFactory.build(READ, NODES_MAP))
+            {
+                nodes = nodeApiCallHandler.listNodes(nodeNames, propFilters, afterNodeName, maxCount);
+            }
+        }
+        return nodes;
     }
 
     /**
@@ -286,15 +331,93 @@ public class CtrlApiCallHandler
         return listResourceDefinitions(Collections.emptyList(), Collections.emptyList());
     }
 
+    /**
+     * Same as {@link #listNodes(List, List)}, name-filtered lists only look up the requested resource definitions,
+     * prop-filtered lists are assembled from the {@link com.linbit.linstor.propscon.PropsIndex}
+     */
     public ArrayList<ResourceDefinitionApi> listResourceDefinitions(
             List<String> filterRscDfnNames, List<String> propFilters)
     {
-        ArrayList<ResourceDefinitionApi> resourceDefinitionList;
-        try (LockGuard lg = lockGuardFactory.build(READ, RSC_DFN_MAP))
+        return listResourceDefinitions(filterRscDfnNames, propFilters, null, 0);
+    }
+
+    /**
+     * Same as {@link #listResourceDefinitions(List, List)}, but only lists at most maxCount resource definitions
+     * (if greater than 0) whose names are sorted after the given resource name
+     */
+    public ArrayList<ResourceDefinitionApi> listResourceDefinitions(
+        List<String> filterRscDfnNames,
+        List<String> propFilters,
+        @Nullable String afterRscNameStr,
+        int maxCount
+    )
+    {
+        ResourceName afterRscName = afterRscNameStr == null ? null : LinstorParsingUtils.asRscName(afterRscNameStr);
+        ArrayList<ResourceDefinitionApi> rscDfns;
+        if (filterRscDfnNames.isEmpty() && propFilters.isEmpty())
+        {
+            rscDfns = apiSnapshotCache.get().listResourceDefinitions(
+                filterRscDfnNames,
+                propFilters,
+                afterRscName,
+                maxCount
+            );
+        }
+        else
+        if (propFilters.isEmpty())
+        {
+            ResourceName[] names = filterRscDfnNames.stream()
+                .map(LinstorParsingUtils::asRscName)
+                .toArray(ResourceName[]::new);
+            try (LockGuard lg = lockGuardFactory.create().readRscDfn(names).build())
+            {
+                rscDfns = rscDfnApiCallHandler.listResourceDefinitions(
+                    filterRscDfnNames,
+                    propFilters,
+                    afterRscName,
+                    maxCount
+                );
+            }
+        }
+        else
+        {
+            try (LockGuard lg = lockGuardFactory.build(READ, RSC_DFN_MAP))
+            {
+                rscDfns = rscDfnApiCallHandler.listResourceDefinitions(
+                    filterRscDfnNames,
+                    propFilters,
+                    afterRscName,
+                    maxCount
+                );
+            }
+        }
+        return rscDfns;
+    }
+
+    /**
+     * Looks up a single resource definition without assembling the list of all resource definitions
+     *
+     * @return the resource definition, or an empty optional if it does not exist or the name is invalid
+     */
+    public Optional<ResourceDefinitionApi> getResourceDefinition(String rscNameStr)
+    {
+        Optional<ResourceDefinitionApi> rscDfn = Optional.empty();
+        try
+        {
+            ResourceName rscName = new ResourceName(rscNameStr);
+            try (LockGuard lg = lockGuardFactory.create().readRscDfn(rscName).build())
+            {
+                rscDfn = rscDfnApiCallHandler.listResourceDefinitions(
+                    Collections.singletonList(rscNameStr),
+                    Collections.emptyList()
+                ).stream().findFirst();
+            }
+        }
+        catch (InvalidNameException ignored)
         {
-            resourceDefinitionList = rscDfnApiCallHandler.listResourceDefinitions(filterRscDfnNames, propFilters);
+            // no resource definition can have an invalid name
         }
-        return resourceDefinitionList;
+        return rscDfn;
     }
 
     /**
@@ -0,0 +1,390 @@
+package com.linbit.linstor.core.apicallhandler.controller;
+
+import com.linbit.GenericName;
+import com.linbit.linstor.LinstorParsingUtils;
+import com.linbit.linstor.api.interfaces.RscLayerDataApi;
+import com.linbit.linstor.api.interfaces.VlmLayerDataApi;
+import com.linbit.linstor.api.pojo.RscPojo;
+import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceList;
+import com.linbit.linstor.core.apis.NodeApi;
+import com.linbit.linstor.core.apis.ResourceApi;
+import com.linbit.linstor.core.apis.ResourceDefinitionApi;
+import com.linbit.linstor.core.apis.StorPoolApi;
+import com.linbit.linstor.core.apis.VolumeApi;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.core.identifier.StorPoolName;
+import com.linbit.linstor.satellitestate.SatelliteState;
+import com.linbit.linstor.storage.kinds.DeviceLayerKind;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable API level copy of the nodes, resource definitions, resources and storage pools
+ *
+ * A snapshot is created by {@link CtrlApiSnapshotCache} for a given change generation and contains only the
+ * objects that were visible to the access context it was created for. Every kind of data is only copied once it
+ * is first accessed, so that e.g. listing the nodes does not require the resources to be up to date.
+ * All list methods apply their filters on the copied API data, so no locks are required to use a snapshot.
+ * The returned API objects are shared between callers and must not be modified.
+ */
+public final class CtrlApiSnapshot
+{
+    private final long generation;
+    private final Supplier<List<NodeApi>> nodes;
+    private final Supplier<List<ResourceDefinitionApi>> rscDfns;
+    private final Supplier<List<ResourceApi>> rscs;
+    private final Supplier<Map<NodeName, SatelliteState>> satelliteStates;
+    private final Supplier<List<StorPoolApi>> storPools;
+
+    CtrlApiSnapshot(
+        long generationRef,
+        Supplier<List<NodeApi>> nodesRef,
+        Supplier<List<ResourceDefinitionApi>> rscDfnsRef,
+        Supplier<List<ResourceApi>> rscsRef,
+        Supplier<Map<NodeName, SatelliteState>> satelliteStatesRef,
+        Supplier<List<StorPoolApi>> storPoolsRef
+    )
+    {
+        generation = generationRef;
+        nodes = memoize(nodesRef);
+        rscDfns = memoize(rscDfnsRef);
+        rscs = memoize(rscsRef);
+        satelliteStates = memoize(satelliteStatesRef);
+        storPools = memoize(storPoolsRef);
+    }
+
+    /**
+     * Returns the overall {@link com.linbit.linstor.transaction.ChangeGeneration} this snapshot was created for
+     */
+    public long getGeneration()
+    {
+        return generation;
+    }
+
+    public ArrayList<NodeApi> listNodes(List<String> nodeNames, List<String> propFilters)
+    {
+        return listNodes(nodeNames, propFilters, null, 0);
+    }
+
+    /**
+     * Same as {@link #listNodes(List, List)}, but only lists at most maxCount nodes (if greater than 0) whose
+     * names are sorted after the given node name
+     */
+    public ArrayList<NodeApi> listNodes(
+        List<String> nodeNames,
+        List<String> propFilters,
+        @Nullable NodeName afterNodeName,
+        int maxCount
+    )
+    {
+        final Set<NodeName> nodesFilter = toFilter(nodeNames, LinstorParsingUtils::asNodeName);
+
+        List<NodeApi> allNodes = nodes.get();
+        ArrayList<NodeApi> ret = new ArrayList<>();
+        int idx = indexAfter(allNodes, nodeApi -> LinstorParsingUtils.asNodeName(nodeApi.getName()), afterNodeName);
+        while (idx < allNodes.size() && (maxCount <= 0 || ret.size() < maxCount))
+        {
+            NodeApi nodeApi = allNodes.get(idx);
+            if (matches(nodesFilter, nodeApi.getName(), LinstorParsingUtils::asNodeName) &&
+                matchesPropFilters(nodeApi.getProps(), propFilters))
+            {
+                ret.add(nodeApi);
+            }
+            ++idx;
+        }
+        return ret;
+    }
+
+    public ArrayList<ResourceDefinitionApi> listResourceDefinitions(
+        List<String> rscDfnNames,
+        List<String> propFilters
+    )
+    {
+        return listResourceDefinitions(rscDfnNames, propFilters, null, 0);
+    }
+
+    /**
+     * Same as {@link #listResourceDefinitions(List, List)}, but only lists at most maxCount resource definitions
+     * (if greater than 0) whose names are sorted after the given resource name
+     */
+    public ArrayList<ResourceDefinitionApi> listResourceDefinitions(
+        List<String> rscDfnNames,
+        List<String> propFilters,
+        @Nullable ResourceName afterRscName,
+        int maxCount
+    )
+    {
+        final Set<ResourceName> rscDfnsFilter = toFilter(rscDfnNames, LinstorParsingUtils::asRscName);
+
+        List<ResourceDefinitionApi> allRscDfns = rscDfns.get();
+        ArrayList<ResourceDefinitionApi> ret = new ArrayList<>();
+        int idx = indexAfter(
+            allRscDfns,
+            rscDfnApi -> LinstorParsingUtils.asRscName(rscDfnApi.getResourceName()),
+            afterRscName
+        );
+        while (idx < allRscDfns.size() && (maxCount <= 0 || ret.size() < maxCount))
+        {
+            ResourceDefinitionApi rscDfnApi = allRscDfns.get(idx);
+            if (matches(rscDfnsFilter, rscDfnApi.getResourceName(), LinstorParsingUtils::asRscName) &&
+                matchesPropFilters(rscDfnApi.getProps(), propFilters))
+            {
+                ret.add(rscDfnApi);
+            }
+            ++idx;
+        }
+        return ret;
+    }
+
+    public ResourceList listVlms(
+        List<String> nodeNames,
+        List<String> storPoolNames,
+        List<String> rscNames,
+        List<String> propFilters
+    )
+    {
+        final Set<NodeName> nodesFilter = toFilter(nodeNames, LinstorParsingUtils::asNodeName);
+        final Set<StorPoolName> storPoolsFilter = toFilter(storPoolNames, LinstorParsingUtils::asStorPoolName);
+        final Set<ResourceName> rscFilter = toFilter(rscNames, LinstorParsingUtils::asRscName);
+
+        ResourceList rscList = new ResourceList();
+        for (ResourceApi rscApi : rscs.get())
+        {
+            if (matches(rscFilter, rscApi.getName(), LinstorParsingUtils::asRscName) &&
+                matches(nodesFilter, rscApi.getNodeName(), LinstorParsingUtils::asNodeName) &&
+                matchesPropFilters(rscApi.getProps(), propFilters))
+            {
+                if (storPoolsFilter.isEmpty())
+                {
+                    rscList.addResource(rscApi);
+                }
+                else
+                {
+                    ResourceApi filteredRscApi = filterVolumesByStorPool((RscPojo) rscApi, storPoolsFilter);
+                    if (filteredRscApi != null)
+                    {
+                        rscList.addResource(filteredRscApi);
+                    }
+                }
+            }
+        }
+        for (Map.Entry<NodeName, SatelliteState> entry : satelliteStates.get().entrySet())
+        {
+            if (nodesFilter.isEmpty() || nodesFilter.contains(entry.getKey()))
+            {
+                rscList.putSatelliteState(entry.getKey(), entry.getValue());
+            }
+        }
+        return rscList;
+    }
+
+    public List<StorPoolApi> listStorPools(
+        List<String> nodeNames,
+        List<String> storPoolNames,
+        List<String> propFilters
+    )
+    {
+        final Set<NodeName> nodesFilter = toFilter(nodeNames, LinstorParsingUtils::asNodeName);
+        final Set<StorPoolName> storPoolsFilter = toFilter(storPoolNames, LinstorParsingUtils::asStorPoolName);
+
+        List<StorPoolApi> ret = new ArrayList<>();
+        for (StorPoolApi storPoolApi : storPools.get())
+        {
+            if (matches(storPoolsFilter, storPoolApi.getStorPoolName(), LinstorParsingUtils::asStorPoolName) &&
+                matches(nodesFilter, storPoolApi.getNodeName(), LinstorParsingUtils::asNodeName) &&
+                matchesPropFilters(storPoolApi.getStorPoolProps(), propFilters))
+            {
+                ret.add(storPoolApi);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Same semantics as {@link com.linbit.linstor.propscon.Props#contains(List)}, but for an already
+     * copied property map of a root properties container
+     */
+    static boolean matchesPropFilters(Map<String, String> props, List<String> propFilters)
+    {
+        boolean match = true;
+        for (String propFilter : propFilters)
+        {
+            String[] split = propFilter.split("=", 2);
+            String value = props.get(normalizeKey(split[0]));
+            if (value == null || split.length > 1 && !value.equals(split[1]))
+            {
+                match = false;
+                break;
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Normalizes the key the same way {@link com.linbit.linstor.propscon.Props#getProp(String)} does, i.e. a
+     * leading path separator and empty path elements are ignored
+     */
+    private static String normalizeKey(String key)
+    {
+        StringBuilder normalized = new StringBuilder();
+        StringTokenizer tokens = new StringTokenizer(key, "/");
+        while (tokens.hasMoreTokens())
+        {
+            if (normalized.length() > 0)
+            {
+                normalized.append('/');
+            }
+            normalized.append(tokens.nextToken());
+        }
+        return normalized.toString();
+    }
+
+    private static <T> Supplier<T> memoize(Supplier<T> supplier)
+    {
+        return new Supplier<T>()
+        {
+            private volatile T value;
+
+            @Override
+            public T get()
+            {
+                T ret = value;
+                if (ret == null)
+                {
+                    synchronized (this)
+                    {
+                        ret = value;
+                        if (ret == null)
+                        {
+                            ret = supplier.get();
+                            value = ret;
+                        }
+                    }
+                }
+                return ret;
+            }
+        };
+    }
+
+    /**
+     * Returns the index of the first element of the given list (which is sorted by name, as it was copied from
+     * one of the core maps) whose name is sorted after the given name
+     */
+    private static <T> int indexAfter(
+        List<T> sortedList,
+        Function<T, ? extends GenericName> nameFunc,
+        @Nullable GenericName afterName
+    )
+    {
+        int low = 0;
+        if (afterName != null)
+        {
+            int high = sortedList.size();
+            while (low < high)
+            {
+                int mid = (low + high) >>> 1;
+                if (nameFunc.apply(sortedList.get(mid)).compareTo(afterName) <= 0)
+                {
+                    low = mid + 1;
+                }
+                else
+                {
+                    high = mid;
+                }
+            }
+        }
+        return low;
+    }
+
+    private static <T> Set<T> toFilter(List<String> names, Function<String, T> parser)
+    {
+        return names.stream().map(parser).collect(Collectors.toSet());
+    }
+
+    private static <T> boolean matches(Set<T> filter, String name, Function<String, T> parser)
+    {
+        return filter.isEmpty() || filter.contains(parser.apply(name));
+    }
+
+    /**
+     * Returns a copy of the given resource that only contains the volumes having a storage pool matching the
+     * filter in their storage layer, or null if no volume matches
+     */
+    private static ResourceApi filterVolumesByStorPool(RscPojo rscPojo, Set<StorPoolName> storPoolsFilter)
+    {
+        List<RscLayerDataApi> storageRscList = new ArrayList<>();
+        LinkedList<RscLayerDataApi> rscDataToExplore = new LinkedList<>();
+        if (rscPojo.getLayerData() != null)
+        {
+            rscDataToExplore.add(rscPojo.getLayerData());
+        }
+        while (!rscDataToExplore.isEmpty())
+        {
+            RscLayerDataApi rscData = rscDataToExplore.removeFirst();
+            if (rscData.getLayerKind().equals(DeviceLayerKind.STORAGE))
+            {
+                storageRscList.add(rscData);
+            }
+            else
+            {
+                rscDataToExplore.addAll(rscData.getChildren());
+            }
+        }
+
+        List<VolumeApi> volumes = new ArrayList<>();
+        for (VolumeApi vlmApi : rscPojo.getLocalVlms())
+        {
+            boolean addToList = false;
+            for (RscLayerDataApi storageRsc : storageRscList)
+            {
+                VlmLayerDataApi vlmData = storageRsc.<VlmLayerDataApi>getVolumeMap().get(vlmApi.getVlmNr());
+                if (vlmData != null && vlmData.getStorPoolApi() != null &&
+                    storPoolsFilter.contains(
+                        LinstorParsingUtils.asStorPoolName(vlmData.getStorPoolApi().getStorPoolName())
+                    )
+                )
+                {
+                    addToList = true;
+                    break;
+                }
+            }
+            if (addToList)
+            {
+                volumes.add(vlmApi);
+            }
+        }
+
+        ResourceApi filteredRscApi = null;
+        if (!volumes.isEmpty())
+        {
+            filteredRscApi = new RscPojo(
+                rscPojo.getName(),
+                rscPojo.getNodeName(),
+                rscPojo.getNodeUuid(),
+                rscPojo.getRscDfnApi(),
+                rscPojo.getUuid(),
+                rscPojo.getLocalRscFlags(),
+                rscPojo.getLocalRscProps(),
+                volumes,
+                null,
+                rscPojo.getRscConnections(),
+                null,
+                null,
+                rscPojo.getLayerData(),
+                rscPojo.getCreateTimestamp().orElse(null)
+            );
+        }
+        return filteredRscApi;
+    }
+}
@@ -0,0 +1,260 @@
+package com.linbit.linstor.core.apicallhandler.controller;
+
+import com.linbit.linstor.annotation.PeerContext;
+import com.linbit.linstor.core.apis.NodeApi;
+import com.linbit.linstor.core.apis.ResourceApi;
+import com.linbit.linstor.core.apis.ResourceDefinitionApi;
+import com.linbit.linstor.core.apis.StorPoolApi;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.satellitestate.SatelliteState;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.security.Identity;
+import com.linbit.linstor.security.Privilege;
+import com.linbit.linstor.security.Role;
+import com.linbit.linstor.security.SecurityType;
+import com.linbit.linstor.transaction.ChangeGeneration;
+import com.linbit.locks.LockGuard;
+import com.linbit.locks.LockGuardFactory;
+import com.linbit.locks.LockGuardFactory.LockObj;
+
+import static com.linbit.linstor.transaction.ChangeGeneration.Kind.NODES;
+import static com.linbit.linstor.transaction.ChangeGeneration.Kind.RSCS;
+import static com.linbit.linstor.transaction.ChangeGeneration.Kind.RSC_DFNS;
+import static com.linbit.linstor.transaction.ChangeGeneration.Kind.SATELLITE_STATES;
+import static com.linbit.linstor.transaction.ChangeGeneration.Kind.STOR_POOLS;
+import static com.linbit.locks.LockGuardFactory.LockObj.NODES_MAP;
+import static com.linbit.locks.LockGuardFactory.LockObj.RSC_DFN_MAP;
+import static com.linbit.locks.LockGuardFactory.LockObj.STOR_POOL_DFN_MAP;
+import static com.linbit.locks.LockGuardFactory.LockType.READ;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Provides {@link CtrlApiSnapshot}s for the read-only list API calls
+ *
+ * Nodes, resource definitions, resources, satellite states and storage pools are cached separately per access
+ * context. Every part is only assembled again (under the read locks it requires) if the {@link ChangeGeneration}
+ * of one of the {@link ChangeGeneration.Kind}s it depends on changed since it was last assembled. As long as
+ * nothing relevant changed, the list API calls are served from the existing copies without taking any locks.
+ *
+ * Must not be called while holding any of the locks of the {@link LockGuardFactory}.
+ */
+@Singleton
+public class CtrlApiSnapshotCache
+{
+    /**
+     * Upper limit of distinct access contexts for which snapshots are kept. If exceeded, all snapshots are dropped
+     */
+    private static final int MAX_CACHED_CONTEXTS = 16;
+
+    private final ChangeGeneration changeGeneration;
+    private final LockGuardFactory lockGuardFactory;
+    private final CtrlNodeApiCallHandler nodeApiCallHandler;
+    private final CtrlRscDfnApiCallHandler rscDfnApiCallHandler;
+    private final CtrlVlmListApiCallHandler vlmListApiCallHandler;
+    private final CtrlStorPoolListApiCallHandler storPoolListApiCallHandler;
+    private final Provider<AccessContext> peerAccCtx;
+
+    private final Map<ContextKey, ContextCache> contextCaches;
+
+    @Inject
+    public CtrlApiSnapshotCache(
+        ChangeGeneration changeGenerationRef,
+        LockGuardFactory lockGuardFactoryRef,
+        CtrlNodeApiCallHandler nodeApiCallHandlerRef,
+        CtrlRscDfnApiCallHandler rscDfnApiCallHandlerRef,
+        CtrlVlmListApiCallHandler vlmListApiCallHandlerRef,
+        CtrlStorPoolListApiCallHandler storPoolListApiCallHandlerRef,
+        @PeerContext Provider<AccessContext> peerAccCtxRef
+    )
+    {
+        changeGeneration = changeGenerationRef;
+        lockGuardFactory = lockGuardFactoryRef;
+        nodeApiCallHandler = nodeApiCallHandlerRef;
+        rscDfnApiCallHandler = rscDfnApiCallHandlerRef;
+        vlmListApiCallHandler = vlmListApiCallHandlerRef;
+        storPoolListApiCallHandler = storPoolListApiCallHandlerRef;
+        peerAccCtx = peerAccCtxRef;
+
+        contextCaches = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns a snapshot that only contains the objects visible to the current peer's access context. The parts
+     * of the snapshot are brought up to date with the current {@link ChangeGeneration} once they are accessed.
+     */
+    public CtrlApiSnapshot get()
+    {
+        ContextKey key = new ContextKey(peerAccCtx.get());
+        ContextCache ctxCache = contextCaches.get(key);
+        if (ctxCache == null)
+        {
+            if (contextCaches.size() >= MAX_CACHED_CONTEXTS)
+            {
+                contextCaches.clear();
+            }
+            ctxCache = contextCaches.computeIfAbsent(key, ignored -> new ContextCache());
+        }
+        return ctxCache.getSnapshot();
+    }
+
+    /**
+     * The cached parts of a single access context
+     */
+    private class ContextCache
+    {
+        private final Part<List<NodeApi>> nodes = new Part<>(
+            new ChangeGeneration.Kind[] {NODES},
+            new LockObj[] {NODES_MAP},
+            () -> nodeApiCallHandler.listNodes(Collections.emptyList(), Collections.emptyList())
+        );
+        private final Part<List<ResourceDefinitionApi>> rscDfns = new Part<>(
+            new ChangeGeneration.Kind[] {RSC_DFNS},
+            new LockObj[] {RSC_DFN_MAP},
+            () -> rscDfnApiCallHandler.listResourceDefinitions(Collections.emptyList(), Collections.emptyList())
+        );
+        private final Part<List<ResourceApi>> rscs = new Part<>(
+            // the resources also contain data of their nodes, resource definitions and storage pools
+            new ChangeGeneration.Kind[] {NODES, RSC_DFNS, RSCS, STOR_POOLS},
+            new LockObj[] {NODES_MAP, RSC_DFN_MAP},
+            vlmListApiCallHandler::assembleCachedResources
+        );
+        private final Part<Map<NodeName, SatelliteState>> satelliteStates = new Part<>(
+            new ChangeGeneration.Kind[] {SATELLITE_STATES},
+            new LockObj[] {NODES_MAP},
+            vlmListApiCallHandler::assembleCachedSatelliteStates
+        );
+        private final Part<List<StorPoolApi>> storPools = new Part<>(
+            // the storage pools are listed with the peers and the data of their nodes
+            new ChangeGeneration.Kind[] {NODES, STOR_POOLS},
+            new LockObj[] {NODES_MAP, STOR_POOL_DFN_MAP},
+            storPoolListApiCallHandler::assembleCachedList
+        );
+
+        private volatile @Nullable CtrlApiSnapshot snapshot;
+
+        CtrlApiSnapshot getSnapshot()
+        {
+            long generation = changeGeneration.get();
+            CtrlApiSnapshot ret = snapshot;
+            if (ret == null || ret.getGeneration() != generation)
+            {
+                // the parts are only assembled once they are accessed through the snapshot
+                ret = new CtrlApiSnapshot(
+                    generation,
+                    nodes::get,
+                    rscDfns::get,
+                    rscs::get,
+                    satelliteStates::get,
+                    storPools::get
+                );
+                snapshot = ret;
+            }
+            return ret;
+        }
+    }
+
+    /**
+     * A single kind of data, assembled again once the generation of any of the kinds it depends on changed
+     */
+    private class Part<T>
+    {
+        private final ChangeGeneration.Kind[] kinds;
+        private final LockObj[] lockObjs;
+        private final Supplier<T> assembler;
+
+        private volatile @Nullable Tagged<T> current;
+
+        Part(ChangeGeneration.Kind[] kindsRef, LockObj[] lockObjsRef, Supplier<T> assemblerRef)
+        {
+            kinds = kindsRef;
+            lockObjs = lockObjsRef;
+            assembler = assemblerRef;
+        }
+
+        T get()
+        {
+            Tagged<T> tagged = current;
+            if (tagged == null || tagged.generation != changeGeneration.get(kinds))
+            {
+                // only one copy of a part is assembled at a time, concurrent callers wait for and reuse its result
+                synchronized (this)
+                {
+                    // the generation has to be read before the data is assembled. If a change happens concurrently,
+                    // the part is tagged with an outdated generation and will simply be assembled again
+                    long generation = changeGeneration.get(kinds);
+                    tagged = current;
+                    if (tagged == null || tagged.generation != generation)
+                    {
+                        try (LockGuard ignored = lockGuardFactory.build(READ, lockObjs))
+                        {
+                            tagged = new Tagged<>(generation, assembler.get());
+                        }
+                        current = tagged;
+                    }
+                }
+            }
+            return tagged.data;
+        }
+    }
+
+    private static class Tagged<T>
+    {
+        private final long generation;
+        private final T data;
+
+        Tagged(long generationRef, T dataRef)
+        {
+            generation = generationRef;
+            data = dataRef;
+        }
+    }
+
+    /**
+     * Everything of an {@link AccessContext} that influences which objects are visible to it
+     */
+    private static class ContextKey
+    {
+        private final Identity identity;
+        private final Role role;
+        private final SecurityType domain;
+        private final List<Privilege> privileges;
+
+        ContextKey(AccessContext accCtx)
+        {
+            identity = accCtx.getIdentity();
+            role = accCtx.getRole();
+            domain = accCtx.getDomain();
+            privileges = accCtx.getEffectivePrivs().getEnabledPrivileges();
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(identity, role, domain, privileges);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            boolean eq = obj instanceof ContextKey;
+            if (eq)
+            {
+                ContextKey other = (ContextKey) obj;
+                eq = identity.equals(other.identity) && role.equals(other.role) && domain.equals(other.domain) &&
+                    privileges.equals(other.privileges);
+            }
+            return eq;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.linbit.linstor.core.apicallhandler.controller;
 
+import com.linbit.ImplementationError;
+import com.linbit.linstor.InternalApiConsts;
 import com.linbit.linstor.annotation.PeerContext;
 import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiCallRcImpl;
@@ -13,10 +15,13 @@ import com.linbit.linstor.core.identifier.NodeName;
 import com.linbit.linstor.core.objects.Node;
 import com.linbit.linstor.core.repository.NodeRepository;
 import com.linbit.linstor.logging.ErrorReport;
+import com.linbit.linstor.logging.ErrorReportStats;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.logging.LinstorFile;
 import com.linbit.linstor.netcom.Peer;
 import com.linbit.linstor.netcom.PeerNotConnectedException;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntErrorReportStatsOuterClass.ErrorReportStat;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntErrorReportStatsOuterClass.MsgIntErrorReportStats;
 import com.linbit.linstor.proto.responses.MsgErrorReportOuterClass;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
@@ -207,6 +212,67 @@ public class CtrlErrorListApiCallHandler
             );
     }
 
+    /**
+     * Collects the number of stored error reports per node and module from the controller and all connected
+     * satellites. Only the counters are transferred, the error reports themselves are not listed.
+     */
+    public Flux<List<ErrorReportStats.Entry>> listErrorReportStats()
+    {
+        return scopeRunner
+            .fluxInTransactionlessScope(
+                "Collect error report statistics",
+                lockGuardFactory.buildDeferred(LockType.READ, LockObj.NODES_MAP),
+                this::assembleStatsRequests
+            )
+            .collectList()
+            .map(this::assembleStatsList)
+            .flux();
+    }
+
+    private Flux<ByteArrayInputStream> assembleStatsRequests()
+        throws AccessDeniedException
+    {
+        List<Flux<ByteArrayInputStream>> requests = new ArrayList<>();
+        for (Node node : nodeRepository.getMapForView(peerAccCtx.get()).values())
+        {
+            Peer peer = getPeer(node);
+            if (peer != null)
+            {
+                requests.add(
+                    peer.apiCall(InternalApiConsts.API_REQUEST_ERROR_REPORT_STATS, new byte[] {})
+                        .onErrorResume(PeerNotConnectedException.class, ignored -> Flux.empty())
+                );
+            }
+        }
+        return Flux.merge(requests);
+    }
+
+    private List<ErrorReportStats.Entry> assembleStatsList(List<ByteArrayInputStream> statsAnswers)
+    {
+        List<ErrorReportStats.Entry> stats = new ArrayList<>(errorReporter.getErrorReportStats());
+        for (ByteArrayInputStream statsAnswer : statsAnswers)
+        {
+            try
+            {
+                MsgIntErrorReportStats msgStats = MsgIntErrorReportStats.parseDelimitedFrom(statsAnswer);
+                for (ErrorReportStat stat : msgStats.getStatsList())
+                {
+                    stats.add(new ErrorReportStats.Entry(
+                        stat.getNodeName(),
+                        Node.Type.getByValue(stat.getModule()),
+                        stat.getCount(),
+                        new Date(stat.getLastReportTime())
+                    ));
+                }
+            }
+            catch (IOException exc)
+            {
+                throw new ImplementationError(exc);
+            }
+        }
+        return stats;
+    }
+
     private Flux<Tuple2<NodeName, ByteArrayInputStream>> assembleRequests(
         Set<String> nodesToRequest,
         boolean withContent,
@@ -55,6 +55,7 @@ import com.linbit.linstor.netcom.PeerNotConnectedException;
 import com.linbit.linstor.numberpool.DynamicNumberPool;
 import com.linbit.linstor.numberpool.NumberPoolModule;
 import com.linbit.linstor.propscon.Props;
+import com.linbit.linstor.propscon.PropsIndex;
 import com.linbit.linstor.proto.javainternal.s2c.MsgIntApplyConfigResponseOuterClass.MsgIntApplyConfigResponse;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
@@ -75,6 +76,7 @@ import static com.linbit.linstor.core.apicallhandler.controller.internal.CtrlSat
 import static com.linbit.locks.LockGuardFactory.LockObj.NODES_MAP;
 import static com.linbit.locks.LockGuardFactory.LockType.WRITE;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
@@ -82,12 +84,15 @@ import javax.inject.Singleton;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -121,6 +126,7 @@ public class CtrlNodeApiCallHandler
     private final AutoDiskfulTask autoDiskfulTask;
     private final CtrlRscAutoRePlaceRscHelper autoRePlaceRscHelper;
     private final ErrorReporter errorReporter;
+    private final PropsIndex propsIndex;
 
     @Inject
     public CtrlNodeApiCallHandler(
@@ -146,7 +152,8 @@ public class CtrlNodeApiCallHandler
         CtrlStltSerializer stltComSerializerRef,
         AutoDiskfulTask autoDiskfulTaskRef,
         CtrlRscAutoRePlaceRscHelper autoRePlaceRscHelperRef,
-        ErrorReporter errorReporterRef
+        ErrorReporter errorReporterRef,
+        PropsIndex propsIndexRef
     )
     {
         apiCtx = apiCtxRef;
@@ -172,6 +179,7 @@ public class CtrlNodeApiCallHandler
         autoDiskfulTask = autoDiskfulTaskRef;
         autoRePlaceRscHelper = autoRePlaceRscHelperRef;
         errorReporter = errorReporterRef;
+        propsIndex = propsIndexRef;
     }
 
     Node createNodeImpl(
@@ -561,6 +569,19 @@ public class CtrlNodeApiCallHandler
     }
 
     ArrayList<NodeApi> listNodes(List<String> nodeNames, List<String> propFilters)
+    {
+        return listNodes(nodeNames, propFilters, null, 0);
+    }
+
+    /**
+     * Lists at most maxCount nodes (if greater than 0) sorted by name, starting after the given node name
+     */
+    ArrayList<NodeApi> listNodes(
+        List<String> nodeNames,
+        List<String> propFilters,
+        @Nullable NodeName afterNodeName,
+        int maxCount
+    )
     {
         ArrayList<NodeApi> nodes = new ArrayList<>();
         final Set<NodeName> nodesFilter =
@@ -568,29 +589,60 @@ public class CtrlNodeApiCallHandler
 
         try
         {
-            nodeRepository.getMapForView(peerAccCtx.get()).values().stream()
-                .filter(node ->
-                    (
-                        nodesFilter.isEmpty() ||
-                        nodesFilter.contains(node.getName())
-                    )
-                )
-                .forEach(node ->
+            Collection<Node> candidates;
+            if (!nodesFilter.isEmpty())
+            {
+                // only look up the requested nodes instead of iterating over every one
+                candidates = new ArrayList<>();
+                for (NodeName nodeName : new TreeSet<>(nodesFilter))
+                {
+                    Node node = nodeRepository.get(peerAccCtx.get(), nodeName);
+                    if (node != null)
                     {
-                        try
-                        {
-                            final Props props = node.getProps(peerAccCtx.get());
-                            if (props.contains(propFilters))
-                            {
-                                nodes.add(node.getApiData(peerAccCtx.get(), null, null));
-                            }
-                        }
-                        catch (AccessDeniedException accDeniedExc)
+                        candidates.add(node);
+                    }
+                }
+            }
+            else
+            if (propFilters.isEmpty())
+            {
+                candidates = nodeRepository.getMapForView(peerAccCtx.get()).values();
+            }
+            else
+            {
+                // only look at the nodes having the filtered properties instead of at every node
+                candidates = new ArrayList<>();
+                for (NodeName nodeName : propsIndex.findNodes(propFilters))
+                {
+                    Node node = nodeRepository.get(peerAccCtx.get(), nodeName);
+                    if (node != null)
+                    {
+                        candidates.add(node);
+                    }
+                }
+            }
+            // all candidates are sorted by name
+            Iterator<Node> nodeIt = candidates.iterator();
+            while (nodeIt.hasNext() && (maxCount <= 0 || nodes.size() < maxCount))
+            {
+                Node node = nodeIt.next();
+                if ((nodesFilter.isEmpty() || nodesFilter.contains(node.getName())) &&
+                    (afterNodeName == null || node.getName().compareTo(afterNodeName) > 0))
+                {
+                    try
+                    {
+                        final Props props = node.getProps(peerAccCtx.get());
+                        if (props.contains(propFilters))
                         {
-                            // don't add node without access
+                            nodes.add(node.getApiData(peerAccCtx.get(), null, null));
                         }
                     }
-                );
+                    catch (AccessDeniedException accDeniedExc)
+                    {
+                        // don't add node without access
+                    }
+                }
+            }
         }
         catch (AccessDeniedException accDeniedExc)
         {
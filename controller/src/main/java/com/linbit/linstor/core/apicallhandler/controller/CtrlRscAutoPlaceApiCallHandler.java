@@ -157,6 +157,78 @@ public class CtrlRscAutoPlaceApiCallHandler
     {
         ApiCallRcImpl responses = new ApiCallRcImpl();
 
+        AutoPlaceResult placement = placeInTransaction(rscNameStr, selectFilterRef, context, responses);
+
+        Flux<ApiCallRc> deploymentResponses;
+        if (placement == null)
+        {
+            deploymentResponses = Flux.empty();
+        }
+        else
+        {
+            ctrlTransactionHelper.commit();
+
+            deploymentResponses = placement.resources.isEmpty() ? Flux.empty()
+                : ctrlRscCrtApiHelper.deployResources(context, placement.resources);
+            deploymentResponses = Flux.merge(placement.createResponses)
+                .concatWith(deploymentResponses)
+                .concatWith(placement.autoFlux);
+        }
+        return handleDeploymentErrors(
+            Flux.<ApiCallRc>just(responses).concatWith(deploymentResponses),
+            context
+        );
+    }
+
+    /**
+     * Commits the current transaction and deploys the resources of all given placements. The satellites receive the
+     * new resources of all placements together, i.e. only a single update message per satellite.
+     */
+    Flux<ApiCallRc> commitAndDeployBulk(ResponseContext context, List<AutoPlaceResult> placements)
+    {
+        ctrlTransactionHelper.commit();
+
+        List<Flux<ApiCallRc>> createResponses = new ArrayList<>();
+        Set<Resource> resources = new TreeSet<>();
+        List<Flux<ApiCallRc>> autoFluxes = new ArrayList<>();
+        for (AutoPlaceResult placement : placements)
+        {
+            createResponses.addAll(placement.createResponses);
+            resources.addAll(placement.resources);
+            autoFluxes.add(placement.autoFlux);
+        }
+
+        Flux<ApiCallRc> deploymentResponses = resources.isEmpty() ? Flux.empty()
+            : ctrlRscCrtApiHelper.deployResourcesBulk(context, resources);
+        return Flux.merge(createResponses)
+            .concatWith(deploymentResponses)
+            .concatWith(Flux.merge(autoFluxes));
+    }
+
+    Flux<ApiCallRc> handleDeploymentErrors(Flux<ApiCallRc> responses, ResponseContext context)
+    {
+        return responses
+            .onErrorResume(CtrlResponseUtils.DelayedApiRcException.class, ignored -> Flux.empty())
+            .onErrorResume(EventStreamTimeoutException.class,
+                ignored -> Flux.just(ctrlRscCrtApiHelper.makeResourceDidNotAppearMessage(context)))
+            .onErrorResume(EventStreamClosedException.class,
+                ignored -> Flux.just(ctrlRscCrtApiHelper.makeEventStreamDisappearedUnexpectedlyMessage(context)));
+    }
+
+    /**
+     * Selects the storage pools for the given resource definition and creates the resources in the current
+     * transaction, without committing it.
+     *
+     * @return null if no additional resources need to be placed
+     */
+    @Nullable
+    AutoPlaceResult placeInTransaction(
+        String rscNameStr,
+        AutoSelectFilterApi selectFilterRef,
+        ResponseContext context,
+        ApiCallRcImpl responses
+    )
+    {
         ResourceDefinition rscDfn = ctrlApiDataLoader.loadRscDfn(rscNameStr, true);
         AutoSelectorConfig rscGrpSelectConfig = rscDfn.getResourceGroup().getAutoPlaceConfig();
 
@@ -243,8 +315,7 @@ public class CtrlRscAutoPlaceApiCallHandler
             additionalPlaceCount
         );
 
-        Flux<ApiCallRc> deploymentResponses;
-        Flux<ApiCallRc> autoFlux;
+        AutoPlaceResult placement;
         if (
             additionalPlaceCount == 0 &&
                 (mergedSelectFilter.getDisklessOnRemaining() == null || !mergedSelectFilter.getDisklessOnRemaining())
@@ -266,7 +337,7 @@ public class CtrlRscAutoPlaceApiCallHandler
                 )
             );
 
-            deploymentResponses = Flux.empty();
+            placement = null;
         }
         else
         {
@@ -317,34 +388,21 @@ public class CtrlRscAutoPlaceApiCallHandler
                     mergedSelectFilter.getLayerStackList()
                 );
 
-                autoFlux = autoHelperProvider.get()
+                Flux<ApiCallRc> autoFlux = autoHelperProvider.get()
                     .manage(
                         new AutoHelperContext(responses, context, rscDfn)
                             .withSelectFilter(mergedSelectFilter)
                     )
                     .getFlux();
 
-                ctrlTransactionHelper.commit();
-
-                deploymentResponses = deployedResources.objB.isEmpty() ? Flux.empty()
-                    : ctrlRscCrtApiHelper.deployResources(context, deployedResources.objB);
-                deploymentResponses = Flux.merge(deployedResources.objA)
-                    .concatWith(deploymentResponses)
-                    .concatWith(autoFlux);
+                placement = new AutoPlaceResult(deployedResources.objA, deployedResources.objB, autoFlux);
             }
             else
             {
                 throw failNotEnoughCandidates(storPoolNameList, rscSize, autoStorConfig);
             }
         }
-        return Flux
-            .<ApiCallRc>just(responses)
-            .concatWith(deploymentResponses)
-            .onErrorResume(CtrlResponseUtils.DelayedApiRcException.class, ignored -> Flux.empty())
-            .onErrorResume(EventStreamTimeoutException.class,
-                ignored -> Flux.just(ctrlRscCrtApiHelper.makeResourceDidNotAppearMessage(context)))
-            .onErrorResume(EventStreamClosedException.class,
-                ignored -> Flux.just(ctrlRscCrtApiHelper.makeEventStreamDisappearedUnexpectedlyMessage(context)));
+        return placement;
     }
 
     private Optional<Set<StorPool>> findBestCandidate(
@@ -656,4 +714,26 @@ public class CtrlRscAutoPlaceApiCallHandler
     {
         return "auto-placing resource: '" + rscNameStr + "'";
     }
+
+    /**
+     * Resources created by {@link #placeInTransaction} which still need to be deployed once the transaction is
+     * committed
+     */
+    static class AutoPlaceResult
+    {
+        final List<Flux<ApiCallRc>> createResponses;
+        final Set<Resource> resources;
+        final Flux<ApiCallRc> autoFlux;
+
+        AutoPlaceResult(
+            List<Flux<ApiCallRc>> createResponsesRef,
+            Set<Resource> resourcesRef,
+            Flux<ApiCallRc> autoFluxRef
+        )
+        {
+            createResponses = createResponsesRef;
+            resources = resourcesRef;
+            autoFlux = autoFluxRef;
+        }
+    }
 }
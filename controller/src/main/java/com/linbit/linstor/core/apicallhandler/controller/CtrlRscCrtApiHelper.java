@@ -80,6 +80,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
@@ -546,6 +548,68 @@ public class CtrlRscCrtApiHelper
             .map(displayName -> "''" + displayName + "''")
             .collect(Collectors.joining(", "));
 
+        Publisher<ApiCallRc> readyResponses = waitForResourcesReady(context, rscDfn, deployedResources);
+
+        return ctrlSatelliteUpdateCaller.updateSatellites(
+            rscDfn,
+            Flux.empty() // if failed, there is no need for the retry-task to wait for readyState
+            // this is only true as long as there is no other flux concatenated after readyResponses
+        )
+            .transform(updateResponses -> CtrlResponseUtils.combineResponses(
+                updateResponses,
+                rscName,
+                nodeNames,
+                "Created resource {1} on {0}",
+                "Added peer(s) " + nodeNamesStr + " to resource {1} on {0}"
+                )
+            )
+            .concatWith(readyResponses);
+    }
+
+    /**
+     * Deploy the resources of multiple resource definitions to the satellites and wait for them to be ready.
+     * Unlike {@link #deployResources(ResponseContext, Set)}, every satellite only receives a single update message
+     * for all of its changed resources.
+     */
+    public Flux<ApiCallRc> deployResourcesBulk(ResponseContext context, Set<Resource> deployedResources)
+    {
+        Map<ResourceDefinition, Set<Resource>> rscsByRscDfn = new TreeMap<>();
+        Map<NodeName, Set<ResourceName>> rscNamesByNode = new TreeMap<>();
+        for (Resource rsc : deployedResources)
+        {
+            rscsByRscDfn.computeIfAbsent(rsc.getDefinition(), ignored -> new TreeSet<>()).add(rsc);
+            rscNamesByNode.computeIfAbsent(rsc.getNode().getName(), ignored -> new TreeSet<>())
+                .add(rsc.getDefinition().getName());
+        }
+
+        List<Publisher<ApiCallRc>> readyResponses = new ArrayList<>();
+        for (Map.Entry<ResourceDefinition, Set<Resource>> entry : rscsByRscDfn.entrySet())
+        {
+            readyResponses.add(waitForResourcesReady(context, entry.getKey(), entry.getValue()));
+        }
+
+        return ctrlSatelliteUpdateCaller.updateSatellites(
+            rscsByRscDfn.keySet(),
+            CtrlSatelliteUpdateCaller.notConnectedWarn(),
+            Flux.empty() // see deployResources
+        )
+            .transform(updateResponses -> CtrlResponseUtils.combineBulkResponses(
+                updateResponses,
+                rscNamesByNode,
+                "Created resource(s) {1} on {0}"
+                )
+            )
+            .concatWith(Flux.merge(readyResponses));
+    }
+
+    private Publisher<ApiCallRc> waitForResourcesReady(
+        ResponseContext context,
+        ResourceDefinition rscDfn,
+        Set<Resource> deployedResources
+    )
+    {
+        ResourceName rscName = rscDfn.getName();
+
         Publisher<ApiCallRc> readyResponses;
         if (getVolumeDfnCountPrivileged(rscDfn) == 0)
         {
@@ -596,20 +660,7 @@ public class CtrlRscCrtApiHelper
             readyResponses = Flux.merge(resourceReadyResponses);
         }
 
-        return ctrlSatelliteUpdateCaller.updateSatellites(
-            rscDfn,
-            Flux.empty() // if failed, there is no need for the retry-task to wait for readyState
-            // this is only true as long as there is no other flux concatenated after readyResponses
-        )
-            .transform(updateResponses -> CtrlResponseUtils.combineResponses(
-                updateResponses,
-                rscName,
-                nodeNames,
-                "Created resource {1} on {0}",
-                "Added peer(s) " + nodeNamesStr + " to resource {1} on {0}"
-                )
-            )
-            .concatWith(readyResponses);
+        return readyResponses;
     }
 
     private Mono<ApiCallRc> makeRdyTimeoutApiRc(NodeName nodeName)
@@ -52,6 +52,7 @@ import com.linbit.linstor.layer.resource.CtrlRscLayerDataFactory;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.netcom.Peer;
 import com.linbit.linstor.propscon.Props;
+import com.linbit.linstor.propscon.PropsIndex;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
 import com.linbit.linstor.security.AccessType;
@@ -59,6 +60,7 @@ import com.linbit.linstor.storage.interfaces.layers.drbd.DrbdRscDfnObject.Transp
 import com.linbit.linstor.storage.kinds.DeviceLayerKind;
 import com.linbit.linstor.tasks.AutoDiskfulTask;
 import com.linbit.linstor.tasks.AutoSnapshotTask;
+import com.linbit.locks.LockGuard;
 import com.linbit.locks.LockGuardFactory;
 
 import static com.linbit.linstor.core.apicallhandler.controller.helpers.ExternalNameConverter.createResourceName;
@@ -73,11 +75,14 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -110,6 +115,7 @@ public class CtrlRscDfnApiCallHandler
     private final AutoSnapshotTask autoSnapshotTask;
     private final AutoDiskfulTask autoDiskfulTask;
     private final CtrlSnapshotDeleteApiCallHandler ctrlSnapDeleteHandler;
+    private final PropsIndex propsIndex;
 
     @Inject
     public CtrlRscDfnApiCallHandler(
@@ -135,7 +141,8 @@ public class CtrlRscDfnApiCallHandler
         EncryptionHelper encHelperRef,
         AutoSnapshotTask autoSnapshotTaskRef,
         AutoDiskfulTask autoDiskfulTaskRef,
-        CtrlSnapshotDeleteApiCallHandler ctrlSnapDeleteHandlerRef
+        CtrlSnapshotDeleteApiCallHandler ctrlSnapDeleteHandlerRef,
+        PropsIndex propsIndexRef
     )
     {
         errorReporter = errorReporterRef;
@@ -161,6 +168,7 @@ public class CtrlRscDfnApiCallHandler
         autoSnapshotTask = autoSnapshotTaskRef;
         autoDiskfulTask = autoDiskfulTaskRef;
         ctrlSnapDeleteHandler = ctrlSnapDeleteHandlerRef;
+        propsIndex = propsIndexRef;
     }
 
     public ResourceDefinition createResourceDefinition(
@@ -338,13 +346,15 @@ public class CtrlRscDfnApiCallHandler
             rscNameStr
         );
 
+        LockGuard lockGuard = createModifyLockGuard(
+            rscNameStr,
+            portInt == null && newRscPeerSlots == null && layerStackStrList.isEmpty() && rscGroupName == null
+        );
+
         return scopeRunner
             .fluxInTransactionalScope(
                 "Modify resource-definition",
-                lockGuardFactory.buildDeferred(
-                    WRITE,
-                    NODES_MAP, RSC_DFN_MAP, STOR_POOL_DFN_MAP, RSC_DFN_MAP
-                ),
+                lockGuard,
                 () -> modifyInTransaction(
                     rscDfnUuid,
                     rscNameStr,
@@ -361,6 +371,46 @@ public class CtrlRscDfnApiCallHandler
             .transform(responses -> responseConverter.reportingExceptions(context, responses));
     }
 
+    private LockGuard createModifyLockGuard(String rscNameStr, boolean propsOnly)
+    {
+        LockGuard lockGuard = null;
+        if (propsOnly)
+        {
+            try
+            {
+                lockGuard = createModifyPropsLockGuard(lockGuardFactory, LinstorParsingUtils.asRscName(rscNameStr));
+            }
+            catch (ApiRcException ignored)
+            {
+                // the invalid resource name is reported by modifyInTransaction
+            }
+        }
+        if (lockGuard == null)
+        {
+            lockGuard = lockGuardFactory.buildDeferred(
+                WRITE,
+                NODES_MAP, RSC_DFN_MAP, STOR_POOL_DFN_MAP
+            );
+        }
+        return lockGuard;
+    }
+
+    /**
+     * Changing only the properties of a resource definition does not affect any other resource definition,
+     * therefore unrelated resource definitions can be modified concurrently.
+     *
+     * Reading the nodes is enough: this path only reads the nodes of the resource definition's resources to find
+     * the satellites that have to be notified. Every change of a node takes the whole
+     * {@link LockGuardFactory.LockObj#NODES_MAP} for writing, which this read lock excludes.
+     */
+    static LockGuard createModifyPropsLockGuard(LockGuardFactory lockGuardFactoryRef, ResourceName rscName)
+    {
+        return lockGuardFactoryRef.createDeferred()
+            .read(NODES_MAP, STOR_POOL_DFN_MAP)
+            .writeRscDfn(rscName)
+            .build();
+    }
+
     private Flux<ApiCallRc> modifyInTransaction(
         UUID rscDfnUuid,
         String rscNameStr,
@@ -544,6 +594,20 @@ public class CtrlRscDfnApiCallHandler
     }
 
     ArrayList<ResourceDefinitionApi> listResourceDefinitions(List<String> rscDfnNames, List<String> propFilters)
+    {
+        return listResourceDefinitions(rscDfnNames, propFilters, null, 0);
+    }
+
+    /**
+     * Lists at most maxCount resource definitions (if greater than 0) sorted by name, starting after the given
+     * resource name
+     */
+    ArrayList<ResourceDefinitionApi> listResourceDefinitions(
+        List<String> rscDfnNames,
+        List<String> propFilters,
+        @Nullable ResourceName afterRscName,
+        int maxCount
+    )
     {
         ArrayList<ResourceDefinitionApi> rscdfns = new ArrayList<>();
         final Set<ResourceName> rscDfnsFilter =
@@ -551,29 +615,60 @@ public class CtrlRscDfnApiCallHandler
 
         try
         {
-            resourceDefinitionRepository.getMapForView(peerAccCtx.get()).values().stream()
-                .filter(rscDfn ->
-                    (
-                        rscDfnsFilter.isEmpty() ||
-                        rscDfnsFilter.contains(rscDfn.getName())
-                    )
-                )
-                .forEach(rscDfn ->
+            Collection<ResourceDefinition> candidates;
+            if (!rscDfnsFilter.isEmpty())
+            {
+                // only look up the requested resource definitions instead of iterating over every one
+                candidates = new ArrayList<>();
+                for (ResourceName rscName : new TreeSet<>(rscDfnsFilter))
+                {
+                    ResourceDefinition rscDfn = resourceDefinitionRepository.get(peerAccCtx.get(), rscName);
+                    if (rscDfn != null)
                     {
-                        try
-                        {
-                            final Props props = rscDfn.getProps(peerAccCtx.get());
-                            if (props.contains(propFilters))
-                            {
-                                rscdfns.add(rscDfn.getApiData(peerAccCtx.get()));
-                            }
-                        }
-                        catch (AccessDeniedException accDeniedExc)
+                        candidates.add(rscDfn);
+                    }
+                }
+            }
+            else
+            if (propFilters.isEmpty())
+            {
+                candidates = resourceDefinitionRepository.getMapForView(peerAccCtx.get()).values();
+            }
+            else
+            {
+                // only look at the resource definitions having the filtered properties instead of at every one
+                candidates = new ArrayList<>();
+                for (ResourceName rscName : propsIndex.findResourceDefinitions(propFilters))
+                {
+                    ResourceDefinition rscDfn = resourceDefinitionRepository.get(peerAccCtx.get(), rscName);
+                    if (rscDfn != null)
+                    {
+                        candidates.add(rscDfn);
+                    }
+                }
+            }
+            // all candidates are sorted by name
+            Iterator<ResourceDefinition> rscDfnIt = candidates.iterator();
+            while (rscDfnIt.hasNext() && (maxCount <= 0 || rscdfns.size() < maxCount))
+            {
+                ResourceDefinition rscDfn = rscDfnIt.next();
+                if ((rscDfnsFilter.isEmpty() || rscDfnsFilter.contains(rscDfn.getName())) &&
+                    (afterRscName == null || rscDfn.getName().compareTo(afterRscName) > 0))
+                {
+                    try
+                    {
+                        final Props props = rscDfn.getProps(peerAccCtx.get());
+                        if (props.contains(propFilters))
                         {
-                            // don't add resource definition without access
+                            rscdfns.add(rscDfn.getApiData(peerAccCtx.get()));
                         }
                     }
-                );
+                    catch (AccessDeniedException accDeniedExc)
+                    {
+                        // don't add resource definition without access
+                    }
+                }
+            }
         }
         catch (AccessDeniedException accDeniedExc)
         {
@@ -18,10 +18,12 @@ import com.linbit.linstor.api.interfaces.AutoSelectFilterApi;
 import com.linbit.linstor.api.pojo.AutoSelectFilterPojo;
 import com.linbit.linstor.api.pojo.MaxVlmSizeCandidatePojo;
 import com.linbit.linstor.api.pojo.RscGrpPojo;
+import com.linbit.linstor.api.pojo.RscGrpSpawnPojo;
 import com.linbit.linstor.api.pojo.VlmDfnPojo;
 import com.linbit.linstor.api.pojo.VlmDfnWithCreationPayloadPojo;
 import com.linbit.linstor.api.prop.LinStorObject;
 import com.linbit.linstor.core.apicallhandler.ScopeRunner;
+import com.linbit.linstor.core.apicallhandler.controller.CtrlRscAutoPlaceApiCallHandler.AutoPlaceResult;
 import com.linbit.linstor.core.apicallhandler.controller.internal.CtrlSatelliteUpdater;
 import com.linbit.linstor.core.apicallhandler.response.ApiAccessDeniedException;
 import com.linbit.linstor.core.apicallhandler.response.ApiDatabaseException;
@@ -65,6 +67,7 @@ import static com.linbit.locks.LockGuardFactory.LockObj.RSC_GRP_MAP;
 import static com.linbit.locks.LockGuardFactory.LockObj.STOR_POOL_DFN_MAP;
 import static com.linbit.locks.LockGuardFactory.LockType.WRITE;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -73,6 +76,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
@@ -689,7 +693,7 @@ public class CtrlRscGrpApiCallHandler
                     WRITE,
                     NODES_MAP, RSC_DFN_MAP, STOR_POOL_DFN_MAP, RSC_GRP_MAP
                 ),
-                () -> spawnInTransaction(
+                () -> spawnAndAutoPlaceInTransaction(
                     rscGrpNameRef,
                     rscDfnNameRef,
                     rscDfnExtNameRef,
@@ -703,7 +707,42 @@ public class CtrlRscGrpApiCallHandler
             .transform(responses -> responseConverter.reportingExceptions(context, responses));
     }
 
-    private Flux<ApiCallRc> spawnInTransaction(
+    /**
+     * Spawns multiple resource definitions from the same resource group within a single transaction.
+     * <p>
+     * Either all resource definitions are created and placed or, if any of them fails, none of them. The new
+     * resources of all resource definitions are deployed together, i.e. every satellite only receives a single
+     * update message for all of its new resources.
+     */
+    public Flux<ApiCallRc> spawnBulk(
+        String rscGrpNameRef,
+        List<RscGrpSpawnPojo> spawnListRef
+    )
+    {
+        Map<String, String> objRefs = new TreeMap<>();
+        objRefs.put(ApiConsts.KEY_RSC_GRP, rscGrpNameRef);
+
+        ResponseContext context = new ResponseContext(
+            ApiOperation.makeRegisterOperation(),
+            getRscGrpDescription(rscGrpNameRef),
+            getRscGrpDescriptionInline(rscGrpNameRef),
+            ApiConsts.MASK_RSC_GRP,
+            objRefs
+        );
+
+        return scopeRunner
+            .fluxInTransactionalScope(
+                "Spawn resource-definitions",
+                lockGuardFactory.buildDeferred(
+                    WRITE,
+                    NODES_MAP, RSC_DFN_MAP, STOR_POOL_DFN_MAP, RSC_GRP_MAP
+                ),
+                () -> spawnBulkInTransaction(rscGrpNameRef, spawnListRef, context)
+            )
+            .transform(responses -> responseConverter.reportingExceptions(context, responses));
+    }
+
+    private Flux<ApiCallRc> spawnAndAutoPlaceInTransaction(
         String rscGrpNameRef,
         String rscDfnNameRef,
         byte[] rscDfnExtNameRef,
@@ -714,7 +753,117 @@ public class CtrlRscGrpApiCallHandler
         ResponseContext contextRef
     )
     {
-        Flux<ApiCallRc> deployedResources;
+        SpawnedRscDfn spawned = spawnInTransaction(
+            rscGrpNameRef,
+            rscDfnNameRef,
+            rscDfnExtNameRef,
+            vlmSizesRef,
+            spawnAutoSelectFilterRef,
+            partialRef,
+            definitionsOnlyRef,
+            definitionsOnlyRef
+        );
+        Flux<ApiCallRc> responses = spawned.responses;
+        if (spawned.autoSelectFilter != null)
+        {
+            responses = responses.concatWith(
+                ctrlRscAutoPlaceApiCallHandler.autoPlaceInTransaction(
+                    /*
+                     * do not use rscDfnNameRef here as the actual name of the rscDfn might have been
+                     * generated based on the rscDfnExtNameRef
+                     */
+                    spawned.rscDfn.getName().displayValue,
+                    spawned.autoSelectFilter,
+                    contextRef
+                )
+            );
+        }
+        return responses;
+    }
+
+    private Flux<ApiCallRc> spawnBulkInTransaction(
+        String rscGrpNameRef,
+        List<RscGrpSpawnPojo> spawnListRef,
+        ResponseContext contextRef
+    )
+    {
+        /*
+         * The resource definitions are created and placed right here, while the scope still holds the locks and the
+         * transaction. Only the returned responses are evaluated once the scope was left.
+         */
+        List<BulkSpawnResult> spawnResults = spawnListRef.stream()
+            .map(spawn -> spawnAndPlaceInTransaction(rscGrpNameRef, spawn, contextRef))
+            .collect(Collectors.toList());
+
+        Flux<ApiCallRc> deploymentResponses = ctrlRscAutoPlaceApiCallHandler.commitAndDeployBulk(
+            contextRef,
+            spawnResults.stream()
+                .map(spawnResult -> spawnResult.placement)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList())
+        );
+        return ctrlRscAutoPlaceApiCallHandler.handleDeploymentErrors(
+            Flux.fromIterable(spawnResults)
+                .concatMap(spawnResult -> spawnResult.responses)
+                .concatWith(deploymentResponses),
+            contextRef
+        );
+    }
+
+    /**
+     * Spawns a single resource definition of a bulk spawn and places its resources without committing the
+     * transaction
+     */
+    private BulkSpawnResult spawnAndPlaceInTransaction(
+        String rscGrpNameRef,
+        RscGrpSpawnPojo spawnRef,
+        ResponseContext contextRef
+    )
+    {
+        SpawnedRscDfn spawned = spawnInTransaction(
+            rscGrpNameRef,
+            spawnRef.getRscDfnName(),
+            spawnRef.getRscDfnExtName(),
+            spawnRef.getVlmSizes(),
+            spawnRef.getAutoSelectFilter(),
+            spawnRef.isPartial(),
+            spawnRef.isDefinitionsOnly(),
+            false
+        );
+        Flux<ApiCallRc> responses = spawned.responses;
+        AutoPlaceResult placement = null;
+        if (spawned.autoSelectFilter != null)
+        {
+            ApiCallRcImpl placeResponses = new ApiCallRcImpl();
+            placement = ctrlRscAutoPlaceApiCallHandler.placeInTransaction(
+                spawned.rscDfn.getName().displayValue,
+                spawned.autoSelectFilter,
+                contextRef,
+                placeResponses
+            );
+            responses = responses.concatWith(Flux.just(placeResponses));
+        }
+        return new BulkSpawnResult(responses, placement);
+    }
+
+    /**
+     * Creates the resource definition and its volume definitions. The resources are not placed, the returned
+     * auto-select filter is null if no resources should be placed.
+     */
+    private SpawnedRscDfn spawnInTransaction(
+        String rscGrpNameRef,
+        String rscDfnNameRef,
+        byte[] rscDfnExtNameRef,
+        List<Long> vlmSizesRef,
+        AutoSelectFilterApi spawnAutoSelectFilterRef,
+        boolean partialRef,
+        boolean definitionsOnlyRef,
+        boolean commitDefinitionsRef
+    )
+    {
+        ResourceDefinition rscDfn;
+        AutoSelectFilterApi autoSelectFilterPojo = null;
+        Flux<ApiCallRc> notPlacedResponses = Flux.empty();
         ApiCallRcImpl apiCallRc = new ApiCallRcImpl();
         try
         {
@@ -789,7 +938,7 @@ public class CtrlRscGrpApiCallHandler
                 );
             }
 
-            ResourceDefinition rscDfn = ctrlRscDfnApiCallHandler.createResourceDefinition(
+            rscDfn = ctrlRscDfnApiCallHandler.createResourceDefinition(
                 rscDfnNameRef,
                 rscDfnExtNameRef,
                 null,
@@ -802,12 +951,12 @@ public class CtrlRscGrpApiCallHandler
                 rscGrpNameRef,
                 true,
                 apiCallRc,
-                definitionsOnlyRef
+                commitDefinitionsRef
             );
 
             if (autoPlaceConfig != null && autoPlaceConfig.getReplicaCount() != null && !definitionsOnlyRef)
             {
-                AutoSelectFilterApi autoSelectFilterPojo = new AutoSelectFilterPojo(
+                autoSelectFilterPojo = new AutoSelectFilterPojo(
                     autoPlaceConfig.getReplicaCount(),
                     autoPlaceConfig.getAdditionalReplicaCount(),
                     autoPlaceConfig.getNodeNameList(),
@@ -822,15 +971,6 @@ public class CtrlRscGrpApiCallHandler
                     autoPlaceConfig.skipAlreadyPlacedOnNodeNamesCheck(),
                     autoPlaceConfig.getDisklessType()
                 );
-                deployedResources = ctrlRscAutoPlaceApiCallHandler.autoPlaceInTransaction(
-                    /*
-                     * do not use rscDfnNameRef here as the actual name of the rscDfn might have been
-                     * generated based on the rscDfnExtNameRef
-                     */
-                    rscDfn.getName().displayValue,
-                    autoSelectFilterPojo,
-                    contextRef
-                );
             }
             else
             {
@@ -854,7 +994,7 @@ public class CtrlRscGrpApiCallHandler
                     actualRscDfnName += "(" + new String(rscDfnExtNameRef) + ")";
                 }
 
-                deployedResources = Flux.<ApiCallRc>just(
+                notPlacedResponses = Flux.<ApiCallRc>just(
                     new ApiCallRcImpl(
                         ApiCallRcImpl.simpleEntry(
                             ApiConsts.INFO_NO_RSC_SPAWNED,
@@ -876,10 +1016,11 @@ public class CtrlRscGrpApiCallHandler
                 ApiConsts.FAIL_ACC_DENIED_RSC_GRP
             );
         }
-        return Flux
-            .<ApiCallRc>just(apiCallRc)
-            .concatWith(deployedResources);
-
+        return new SpawnedRscDfn(
+            rscDfn,
+            Flux.<ApiCallRc>just(apiCallRc).concatWith(notPlacedResponses),
+            autoSelectFilterPojo
+        );
     }
 
     private VolumeDefinitionWtihCreationPayload createVlmDfnWithCreationPayload(
@@ -1038,4 +1179,34 @@ public class CtrlRscGrpApiCallHandler
     {
         return "resource group '" + rscGrpNameStr + "'";
     }
+
+    private static class SpawnedRscDfn
+    {
+        final ResourceDefinition rscDfn;
+        final Flux<ApiCallRc> responses;
+        final @Nullable AutoSelectFilterApi autoSelectFilter;
+
+        SpawnedRscDfn(
+            ResourceDefinition rscDfnRef,
+            Flux<ApiCallRc> responsesRef,
+            @Nullable AutoSelectFilterApi autoSelectFilterRef
+        )
+        {
+            rscDfn = rscDfnRef;
+            responses = responsesRef;
+            autoSelectFilter = autoSelectFilterRef;
+        }
+    }
+
+    private static class BulkSpawnResult
+    {
+        final Flux<ApiCallRc> responses;
+        final @Nullable AutoPlaceResult placement;
+
+        BulkSpawnResult(Flux<ApiCallRc> responsesRef, @Nullable AutoPlaceResult placementRef)
+        {
+            responses = responsesRef;
+            placement = placementRef;
+        }
+    }
 }
@@ -7,32 +7,33 @@ import com.linbit.linstor.api.ApiCallRcImpl;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.SpaceInfo;
 import com.linbit.linstor.core.apicallhandler.ScopeRunner;
+import com.linbit.linstor.core.apicallhandler.controller.helpers.ListCursor;
 import com.linbit.linstor.core.apicallhandler.response.ApiAccessDeniedException;
 import com.linbit.linstor.core.apicallhandler.response.ResponseUtils;
 import com.linbit.linstor.core.apis.StorPoolApi;
 import com.linbit.linstor.core.identifier.NodeName;
 import com.linbit.linstor.core.identifier.StorPoolName;
 import com.linbit.linstor.core.objects.StorPool;
+import com.linbit.linstor.core.objects.StorPoolDefinition;
 import com.linbit.linstor.core.repository.StorPoolDefinitionRepository;
 import com.linbit.linstor.netcom.Peer;
 import com.linbit.linstor.propscon.Props;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
-import com.linbit.locks.LockGuard;
+import com.linbit.linstor.transaction.ChangeGeneration;
 import com.linbit.locks.LockGuardFactory;
 import com.linbit.locks.LockGuardFactory.LockObj;
 import com.linbit.locks.LockGuardFactory.LockType;
 
 import static com.linbit.locks.LockGuardFactory.LockObj.NODES_MAP;
 import static com.linbit.locks.LockGuardFactory.LockObj.RSC_DFN_MAP;
-import static com.linbit.locks.LockGuardFactory.LockObj.STOR_POOL_DFN_MAP;
-import static com.linbit.locks.LockGuardFactory.LockType.READ;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -51,6 +52,7 @@ public class CtrlStorPoolListApiCallHandler
     private final FreeCapacityFetcher freeCapacityFetcher;
     private final StorPoolDefinitionRepository storPoolDefinitionRepository;
     private final Provider<AccessContext> peerAccCtx;
+    private final ChangeGeneration changeGeneration;
 
     @Inject
     public CtrlStorPoolListApiCallHandler(
@@ -58,7 +60,8 @@ public class CtrlStorPoolListApiCallHandler
         LockGuardFactory lockGuardFactoryRef,
         FreeCapacityFetcher freeCapacityFetcherRef,
         StorPoolDefinitionRepository storPoolDefinitionRepositoryRef,
-        @PeerContext Provider<AccessContext> peerAccCtxRef
+        @PeerContext Provider<AccessContext> peerAccCtxRef,
+        ChangeGeneration changeGenerationRef
     )
     {
         scopeRunner = scopeRunnerRef;
@@ -66,6 +69,7 @@ public class CtrlStorPoolListApiCallHandler
         freeCapacityFetcher = freeCapacityFetcherRef;
         storPoolDefinitionRepository = storPoolDefinitionRepositoryRef;
         peerAccCtx = peerAccCtxRef;
+        changeGeneration = changeGenerationRef;
     }
 
     public Flux<List<StorPoolApi>> listStorPools(
@@ -73,125 +77,269 @@ public class CtrlStorPoolListApiCallHandler
         List<String> storPoolNames,
         List<String> propFilters
     )
+    {
+        return listStorPools(nodeNames, storPoolNames, propFilters, null, 0);
+    }
+
+    /**
+     * Lists the storage pools sorted by storage pool name and node name
+     *
+     * @param cursor if not null, only storage pools sorted after the given {@link ListCursor} of the form
+     *     "&lt;storage pool&gt;:&lt;node&gt;" are listed
+     * @param limit if greater than 0, the list is not assembled any further once it contains that many storage pools
+     */
+    public Flux<List<StorPoolApi>> listStorPools(
+        List<String> nodeNames,
+        List<String> storPoolNames,
+        List<String> propFilters,
+        @Nullable String cursor,
+        int limit
+    )
     {
         Flux<List<StorPoolApi>> flux;
+        final ListCursor<StorPoolName, NodeName> listCursor =
+            ListCursor.parse(cursor, LinstorParsingUtils::asStorPoolName, LinstorParsingUtils::asNodeName);
         final Set<StorPoolName> storPoolsFilter =
             storPoolNames.stream().map(LinstorParsingUtils::asStorPoolName).collect(Collectors.toSet());
         final Set<NodeName> nodesFilter =
             nodeNames.stream().map(LinstorParsingUtils::asNodeName).collect(Collectors.toSet());
 
-        flux = freeCapacityFetcher.fetchThinFreeSpaceInfo(nodesFilter)
+        if (limit > 0)
+        {
+            // select the storage pools of the requested page first, so only the satellites of that page are queried
+            flux = scopeRunner.fluxInTransactionlessScope(
+                "Select storage pool page",
+                lockGuardFactory.buildDeferred(LockType.READ, LockObj.STOR_POOL_DFN_MAP),
+                () -> Flux.just(selectPage(nodesFilter, storPoolsFilter, propFilters, listCursor, limit))
+            )
+                .flatMap(page ->
+                {
+                    Flux<List<StorPoolApi>> pageFlux;
+                    if (page.isEmpty())
+                    {
+                        pageFlux = Flux.just(Collections.emptyList());
+                    }
+                    else
+                    {
+                        pageFlux = fetchAndAssemble(
+                            page.stream().map(StorPool.Key::getNodeName).collect(Collectors.toSet()),
+                            page.stream().map(StorPool.Key::getStorPoolName).collect(Collectors.toSet()),
+                            propFilters,
+                            listCursor,
+                            limit
+                        );
+                    }
+                    return pageFlux;
+                });
+        }
+        else
+        {
+            flux = fetchAndAssemble(nodesFilter, storPoolsFilter, propFilters, listCursor, limit);
+        }
+
+        return flux;
+    }
+
+    private Flux<List<StorPoolApi>> fetchAndAssemble(
+        Set<NodeName> nodesFilter,
+        Set<StorPoolName> storPoolsFilter,
+        List<String> propFilters,
+        @Nullable ListCursor<StorPoolName, NodeName> listCursor,
+        int limit
+    )
+    {
+        return freeCapacityFetcher.fetchThinFreeSpaceInfo(nodesFilter)
             .flatMapMany(freeCapacityAnswers ->
                 scopeRunner.fluxInTransactionlessScope(
                     "Assemble storage pool list",
                     lockGuardFactory.buildDeferred(LockType.WRITE, LockObj.STOR_POOL_DFN_MAP),
-                    () -> Flux.just(assembleList(nodesFilter, storPoolsFilter, propFilters, freeCapacityAnswers))
+                    () -> Flux.just(assembleList(
+                        nodesFilter,
+                        storPoolsFilter,
+                        propFilters,
+                        freeCapacityAnswers,
+                        listCursor,
+                        limit
+                    ))
                 )
             );
-
-        return flux;
     }
 
-    public List<StorPoolApi> listStorPoolsCached(
-        List<String> nodeNames,
-        List<String> storPoolNames,
-        List<String> propFilters
+    /**
+     * Returns the keys of the storage pools of a single page, without querying the satellites.
+     * As the page is a prefix of the storage pools after the cursor, assembling the list again with the nodes and
+     * storage pool names of the page as filters results in the same page.
+     */
+    private List<StorPool.Key> selectPage(
+        Set<NodeName> nodesFilter,
+        Set<StorPoolName> storPoolsFilter,
+        List<String> propFilters,
+        @Nullable ListCursor<StorPoolName, NodeName> cursor,
+        int limit
     )
     {
-        final Set<StorPoolName> storPoolsFilter =
-            storPoolNames.stream().map(LinstorParsingUtils::asStorPoolName).collect(Collectors.toSet());
-        final Set<NodeName> nodesFilter =
-            nodeNames.stream().map(LinstorParsingUtils::asNodeName).collect(Collectors.toSet());
-
-        try (LockGuard ignored = lockGuardFactory.build(READ, STOR_POOL_DFN_MAP))
+        List<StorPool.Key> page = new ArrayList<>();
+        for (StorPool storPool : selectStorPools(nodesFilter, storPoolsFilter, propFilters, cursor, limit))
         {
-            return assembleList(nodesFilter, storPoolsFilter, propFilters, null);
+            page.add(new StorPool.Key(storPool));
         }
+        return page;
+    }
+
+    /**
+     * Assembles the unfiltered storage pool list without querying the satellites.
+     * The caller has to hold at least a read lock of the storage pool definition map.
+     */
+    List<StorPoolApi> assembleCachedList()
+    {
+        return assembleList(
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Collections.emptyList(),
+            null,
+            null,
+            0
+        );
     }
 
     private List<StorPoolApi> assembleList(
         Set<NodeName> nodesFilter,
         Set<StorPoolName> storPoolsFilter,
         List<String> propFilters,
-        @Nullable Map<StorPool.Key, Tuple2<SpaceInfo, List<ApiCallRc>>> freeCapacityAnswers
+        @Nullable Map<StorPool.Key, Tuple2<SpaceInfo, List<ApiCallRc>>> freeCapacityAnswers,
+        @Nullable ListCursor<StorPoolName, NodeName> cursor,
+        int limit
     )
     {
         ArrayList<StorPoolApi> storPools = new ArrayList<>();
+        boolean reportsChanged = false;
+        for (StorPool storPool : selectStorPools(nodesFilter, storPoolsFilter, propFilters, cursor, limit))
+        {
+            try
+            {
+                Long freeCapacity;
+                Long totalCapacity;
+
+                final Tuple2<SpaceInfo, List<ApiCallRc>> storageInfo = freeCapacityAnswers != null ?
+                    freeCapacityAnswers.get(new StorPool.Key(storPool)) : null;
+
+                Peer peer = storPool.getNode().getPeer(peerAccCtx.get());
+                if (peer == null || !peer.isConnected())
+                {
+                    freeCapacity = null;
+                    totalCapacity = null;
+                    if (updateReports(
+                        storPool,
+                        new ApiCallRcImpl(
+                            ResponseUtils.makeNotConnectedWarning(storPool.getNode().getName())
+                        )
+                    ))
+                    {
+                        reportsChanged = true;
+                    }
+                }
+                else
+                if (storageInfo == null)
+                {
+                    freeCapacity = storPool.getFreeSpaceTracker()
+                        .getFreeCapacityLastUpdated(peerAccCtx.get()).orElse(null);
+                    totalCapacity = storPool.getFreeSpaceTracker()
+                        .getTotalCapacity(peerAccCtx.get()).orElse(null);
+                }
+                else
+                {
+                    SpaceInfo spaceInfo = storageInfo.getT1();
+                    ApiCallRcImpl reports = new ApiCallRcImpl();
+                    for (ApiCallRc apiCallRc : storageInfo.getT2())
+                    {
+                        reports.addEntries(apiCallRc);
+                    }
+                    if (updateReports(storPool, reports))
+                    {
+                        reportsChanged = true;
+                    }
+
+                    freeCapacity = spaceInfo.freeCapacity;
+                    totalCapacity = spaceInfo.totalCapacity;
+                }
+
+                // fullSyncId and updateId null, as they are not going to be serialized anyway
+                storPools.add(storPool.getApiData(
+                    totalCapacity,
+                    freeCapacity,
+                    peerAccCtx.get(),
+                    null,
+                    null
+                ));
+            }
+            catch (AccessDeniedException accDeniedExc)
+            {
+                // don't add storage pool without access
+            }
+        }
+
+        if (reportsChanged)
+        {
+            // reports are not persisted, so no transaction would announce their change
+            changeGeneration.increment(ChangeGeneration.Kind.STOR_POOLS);
+        }
+        return storPools;
+    }
+
+    /**
+     * Returns the storage pools matching the filters, sorted by storage pool name and node name
+     *
+     * @param cursor if not null, only storage pools sorted after the cursor are returned
+     * @param limit if greater than 0, at most that many storage pools are returned
+     */
+    private List<StorPool> selectStorPools(
+        Set<NodeName> nodesFilter,
+        Set<StorPoolName> storPoolsFilter,
+        List<String> propFilters,
+        @Nullable ListCursor<StorPoolName, NodeName> cursor,
+        int limit
+    )
+    {
+        List<StorPool> selected = new ArrayList<>();
         try
         {
-            storPoolDefinitionRepository.getMapForView(peerAccCtx.get()).values().stream()
-                .filter(
-                    storPoolDfn -> storPoolsFilter.isEmpty() ||
-                    storPoolsFilter.contains(storPoolDfn.getName())
-                )
-                .forEach(storPoolDfn ->
+            // the storage pool definitions as well as their storage pools are sorted by name
+            for (StorPoolDefinition storPoolDfn : storPoolDefinitionRepository.getMapForView(peerAccCtx.get()).values())
+            {
+                if (limit > 0 && selected.size() >= limit)
+                {
+                    break;
+                }
+                if ((storPoolsFilter.isEmpty() || storPoolsFilter.contains(storPoolDfn.getName())) &&
+                    (cursor == null || !cursor.isBefore(storPoolDfn.getName())))
+                {
+                    try
                     {
-                        try
+                        for (StorPool storPool : storPoolDfn.streamStorPools(peerAccCtx.get())
+                            .filter(storPool -> nodesFilter.isEmpty() ||
+                                nodesFilter.contains(storPool.getNode().getName()))
+                            .filter(storPool -> cursor == null ||
+                                !cursor.isAtOrBefore(storPoolDfn.getName(), storPool.getNode().getName()))
+                            .collect(toList()))
                         {
-                            for (StorPool storPool : storPoolDfn.streamStorPools(peerAccCtx.get())
-                                .filter(storPool -> nodesFilter.isEmpty() ||
-                                    nodesFilter.contains(storPool.getNode().getName()))
-                                .collect(toList()))
+                            if (limit > 0 && selected.size() >= limit)
                             {
-                                Props props = storPool.getProps(peerAccCtx.get());
-                                if (!props.contains(propFilters))
-                                    continue;
-
-                                Long freeCapacity;
-                                Long totalCapacity;
-
-                                final Tuple2<SpaceInfo, List<ApiCallRc>> storageInfo = freeCapacityAnswers != null ?
-                                    freeCapacityAnswers.get(new StorPool.Key(storPool)) : null;
-
-                                Peer peer = storPool.getNode().getPeer(peerAccCtx.get());
-                                if (peer == null || !peer.isConnected())
-                                {
-                                    freeCapacity = null;
-                                    totalCapacity = null;
-                                    storPool.clearReports();
-                                    storPool.addReports(
-                                        new ApiCallRcImpl(
-                                            ResponseUtils.makeNotConnectedWarning(storPool.getNode().getName())
-                                        )
-                                    );
-                                }
-                                else
-                                if (storageInfo == null)
-                                {
-                                    freeCapacity = storPool.getFreeSpaceTracker()
-                                        .getFreeCapacityLastUpdated(peerAccCtx.get()).orElse(null);
-                                    totalCapacity = storPool.getFreeSpaceTracker()
-                                        .getTotalCapacity(peerAccCtx.get()).orElse(null);
-                                }
-                                else
-                                {
-                                    SpaceInfo spaceInfo = storageInfo.getT1();
-                                    storPool.clearReports();
-                                    for (ApiCallRc apiCallRc : storageInfo.getT2())
-                                    {
-                                        storPool.addReports(apiCallRc);
-                                    }
-
-                                    freeCapacity = spaceInfo.freeCapacity;
-                                    totalCapacity = spaceInfo.totalCapacity;
-                                }
-
-                                // fullSyncId and updateId null, as they are not going to be serialized anyway
-                                storPools.add(storPool.getApiData(
-                                    totalCapacity,
-                                    freeCapacity,
-                                    peerAccCtx.get(),
-                                    null,
-                                    null
-                                ));
+                                break;
+                            }
+
+                            Props props = storPool.getProps(peerAccCtx.get());
+                            if (props.contains(propFilters))
+                            {
+                                selected.add(storPool);
                             }
-                        }
-                        catch (AccessDeniedException accDeniedExc)
-                        {
-                            // don't add storpooldfn without access
                         }
                     }
-                );
+                    catch (AccessDeniedException accDeniedExc)
+                    {
+                        // don't add storpooldfn without access
+                    }
+                }
+            }
         }
         catch (AccessDeniedException accDeniedExc)
         {
@@ -201,7 +349,22 @@ public class CtrlStorPoolListApiCallHandler
                 ApiConsts.FAIL_ACC_DENIED_STOR_POOL_DFN
             );
         }
+        return selected;
+    }
 
-        return storPools;
+    /**
+     * Replaces the reports of the storage pool, unless it already has the same reports
+     *
+     * @return true if the reports were replaced
+     */
+    private boolean updateReports(StorPool storPool, ApiCallRc reports)
+    {
+        boolean changed = !ApiCallRcImpl.hasSameEntries(storPool.getReports(), reports);
+        if (changed)
+        {
+            storPool.clearReports();
+            storPool.addReports(reports);
+        }
+        return changed;
     }
 }
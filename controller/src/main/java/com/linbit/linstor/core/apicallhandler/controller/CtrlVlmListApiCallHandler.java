@@ -2,9 +2,12 @@ package com.linbit.linstor.core.apicallhandler.controller;
 
 import com.linbit.linstor.LinstorParsingUtils;
 import com.linbit.linstor.annotation.PeerContext;
+import com.linbit.linstor.api.ApiCallRcImpl;
 import com.linbit.linstor.api.pojo.RscPojo;
 import com.linbit.linstor.core.apicallhandler.ScopeRunner;
+import com.linbit.linstor.core.apicallhandler.controller.helpers.ListCursor;
 import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceList;
+import com.linbit.linstor.core.apis.ResourceApi;
 import com.linbit.linstor.core.apis.ResourceConnectionApi;
 import com.linbit.linstor.core.apis.VolumeApi;
 import com.linbit.linstor.core.identifier.NodeName;
@@ -14,6 +17,7 @@ import com.linbit.linstor.core.identifier.VolumeNumber;
 import com.linbit.linstor.core.objects.Node;
 import com.linbit.linstor.core.objects.Resource;
 import com.linbit.linstor.core.objects.ResourceConnection;
+import com.linbit.linstor.core.objects.ResourceDefinition;
 import com.linbit.linstor.core.objects.Volume;
 import com.linbit.linstor.core.objects.VolumeDefinition;
 import com.linbit.linstor.core.repository.NodeRepository;
@@ -21,13 +25,14 @@ import com.linbit.linstor.core.repository.ResourceDefinitionRepository;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.netcom.Peer;
 import com.linbit.linstor.propscon.Props;
+import com.linbit.linstor.propscon.PropsIndex;
 import com.linbit.linstor.satellitestate.SatelliteState;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
 import com.linbit.linstor.storage.interfaces.categories.resource.AbsRscLayerObject;
 import com.linbit.linstor.storage.kinds.DeviceLayerKind;
 import com.linbit.linstor.storage.utils.LayerUtils;
-import com.linbit.locks.LockGuard;
+import com.linbit.linstor.transaction.ChangeGeneration;
 import com.linbit.locks.LockGuardFactory;
 
 import static com.linbit.locks.LockGuardFactory.LockObj.NODES_MAP;
@@ -39,11 +44,16 @@ import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import reactor.core.publisher.Flux;
@@ -60,6 +70,8 @@ public class CtrlVlmListApiCallHandler
     private final NodeRepository nodeRepository;
     private final LockGuardFactory lockGuardFactory;
     private final Provider<AccessContext> peerAccCtx;
+    private final ChangeGeneration changeGeneration;
+    private final PropsIndex propsIndex;
 
     @Inject
     public CtrlVlmListApiCallHandler(
@@ -69,7 +81,9 @@ public class CtrlVlmListApiCallHandler
         ResourceDefinitionRepository resourceDefinitionRepositoryRef,
         NodeRepository nodeRepositoryRef,
         LockGuardFactory lockGuardFactoryRef,
-        @PeerContext Provider<AccessContext> peerAccCtxRef
+        @PeerContext Provider<AccessContext> peerAccCtxRef,
+        ChangeGeneration changeGenerationRef,
+        PropsIndex propsIndexRef
     )
     {
         errorReporter = errorReporterRef;
@@ -79,6 +93,8 @@ public class CtrlVlmListApiCallHandler
         nodeRepository = nodeRepositoryRef;
         lockGuardFactory = lockGuardFactoryRef;
         peerAccCtx = peerAccCtxRef;
+        changeGeneration = changeGenerationRef;
+        propsIndex = propsIndexRef;
     }
 
     public Flux<ResourceList> listVlms(
@@ -88,6 +104,27 @@ public class CtrlVlmListApiCallHandler
         List<String> propFilters
     )
     {
+        return listVlms(nodeNames, storPools, resources, propFilters, null, 0);
+    }
+
+    /**
+     * Lists the resources sorted by resource name and node name
+     *
+     * @param cursor if not null, only resources sorted after the given {@link ListCursor} of the form
+     *     "&lt;resource&gt;:&lt;node&gt;" are listed
+     * @param limit if greater than 0, the list is not assembled any further once it contains that many resources
+     */
+    public Flux<ResourceList> listVlms(
+        List<String> nodeNames,
+        List<String> storPools,
+        List<String> resources,
+        List<String> propFilters,
+        @Nullable String cursor,
+        int limit
+    )
+    {
+        final ListCursor<ResourceName, NodeName> listCursor =
+            ListCursor.parse(cursor, LinstorParsingUtils::asRscName, LinstorParsingUtils::asNodeName);
         final Set<NodeName> nodesFilter =
             nodeNames.stream().map(LinstorParsingUtils::asNodeName).collect(Collectors.toSet());
         final Set<StorPoolName> storPoolsFilter =
@@ -95,17 +132,174 @@ public class CtrlVlmListApiCallHandler
         final Set<ResourceName> resourceFilter =
             resources.stream().map(LinstorParsingUtils::asRscName).collect(Collectors.toSet());
 
+        Flux<ResourceList> flux;
+        if (limit > 0)
+        {
+            // select the resources of the requested page first, so only the satellites of that page are queried
+            flux = scopeRunner.fluxInTransactionlessScope(
+                "Select volume list page",
+                lockGuardFactory.buildDeferred(READ, NODES_MAP, RSC_DFN_MAP),
+                () -> Flux.just(
+                    selectPage(nodesFilter, storPoolsFilter, resourceFilter, propFilters, listCursor, limit)
+                )
+            )
+                .flatMap(page ->
+                {
+                    Flux<ResourceList> pageFlux;
+                    if (page.isEmpty())
+                    {
+                        pageFlux = Flux.just(new ResourceList());
+                    }
+                    else
+                    {
+                        pageFlux = fetchAndAssemble(
+                            page.stream().map(Resource.ResourceKey::getNodeName).collect(Collectors.toSet()),
+                            storPoolsFilter,
+                            page.stream().map(Resource.ResourceKey::getResourceName).collect(Collectors.toSet()),
+                            propFilters,
+                            listCursor,
+                            limit
+                        );
+                    }
+                    return pageFlux;
+                });
+        }
+        else
+        {
+            flux = fetchAndAssemble(nodesFilter, storPoolsFilter, resourceFilter, propFilters, listCursor, limit);
+        }
+        return flux;
+    }
+
+    private Flux<ResourceList> fetchAndAssemble(
+        Set<NodeName> nodesFilter,
+        Set<StorPoolName> storPoolsFilter,
+        Set<ResourceName> resourceFilter,
+        List<String> propFilters,
+        @Nullable ListCursor<ResourceName, NodeName> listCursor,
+        int limit
+    )
+    {
         return vlmAllocatedFetcher.fetchVlmAllocated(nodesFilter, storPoolsFilter, resourceFilter)
             .flatMapMany(vlmAllocatedAnswers ->
                 scopeRunner.fluxInTransactionlessScope(
                     "Assemble volume list",
                     lockGuardFactory.buildDeferred(READ, NODES_MAP, RSC_DFN_MAP),
-                    () -> Flux.just(
-                        assembleList(nodesFilter, storPoolsFilter, resourceFilter, propFilters, vlmAllocatedAnswers))
+                    () -> Flux.just(assembleList(
+                        nodesFilter,
+                        storPoolsFilter,
+                        resourceFilter,
+                        propFilters,
+                        vlmAllocatedAnswers,
+                        listCursor,
+                        limit,
+                        true
+                    ))
                 )
             );
     }
 
+    /**
+     * Returns the keys of the resources of a single page, without querying the satellites.
+     * As the page is a prefix of the resources after the cursor, assembling the list again with the nodes and
+     * resource names of the page as filters results in the same page.
+     */
+    private List<Resource.ResourceKey> selectPage(
+        Set<NodeName> nodesFilter,
+        Set<StorPoolName> storPoolsFilter,
+        Set<ResourceName> resourceFilter,
+        List<String> propFilters,
+        @Nullable ListCursor<ResourceName, NodeName> cursor,
+        int limit
+    )
+    {
+        List<Resource.ResourceKey> page = new ArrayList<>();
+        try
+        {
+            for (Resource rsc : selectResources(
+                nodesFilter,
+                storPoolsFilter,
+                resourceFilter,
+                propFilters,
+                cursor,
+                limit
+            ))
+            {
+                page.add(new Resource.ResourceKey(rsc));
+            }
+        }
+        catch (AccessDeniedException accDeniedExc)
+        {
+            // for now return an empty page.
+            errorReporter.reportError(accDeniedExc);
+        }
+        return page;
+    }
+
+    /**
+     * Assembles the unfiltered volume list without querying the satellites and without satellite states.
+     * The caller has to hold at least read locks of the nodes map and the resource definition map.
+     */
+    List<ResourceApi> assembleCachedResources()
+    {
+        return assembleList(
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Collections.emptyList(),
+            null,
+            null,
+            0,
+            false
+        ).getResources();
+    }
+
+    /**
+     * Returns copies of the satellite states of all nodes.
+     * The caller has to hold at least a read lock of the nodes map.
+     */
+    Map<NodeName, SatelliteState> assembleCachedSatelliteStates()
+    {
+        ResourceList rscList = new ResourceList();
+        try
+        {
+            putSatelliteStates(rscList, nodeName -> true);
+        }
+        catch (AccessDeniedException accDeniedExc)
+        {
+            // for now return an empty map.
+            errorReporter.reportError(accDeniedExc);
+        }
+        return rscList.getSatelliteStates();
+    }
+
+    /**
+     * Returns all resource definitions or, if candidates are given, only the resource definitions of the candidate
+     * resources. Either way, the resource definitions are sorted by name.
+     */
+    private Collection<ResourceDefinition> getRscDfns(@Nullable Map<ResourceName, Set<NodeName>> rscCandidates)
+        throws AccessDeniedException
+    {
+        Collection<ResourceDefinition> rscDfns;
+        if (rscCandidates == null)
+        {
+            rscDfns = resourceDefinitionRepository.getMapForView(peerAccCtx.get()).values();
+        }
+        else
+        {
+            rscDfns = new ArrayList<>();
+            for (ResourceName rscName : rscCandidates.keySet())
+            {
+                ResourceDefinition rscDfn = resourceDefinitionRepository.get(peerAccCtx.get(), rscName);
+                if (rscDfn != null)
+                {
+                    rscDfns.add(rscDfn);
+                }
+            }
+        }
+        return rscDfns;
+    }
+
     /**
      *
      * @param nodesFilter
@@ -113,6 +307,10 @@ public class CtrlVlmListApiCallHandler
      * @param resourceFilter
      * @param propFilters
      * @param vlmAllocatedAnswers if null an cached result will be returned
+     * @param cursor if not null, only resources sorted after the cursor are added
+     * @param limit if greater than 0, the assembly stops as soon as that many resources were added. The satellite
+     *     states are then only added for the nodes of those resources.
+     * @param withSatelliteStates whether the satellite states should be added
      * @return Filtered ResourceList result
      */
     private ResourceList assembleList(
@@ -120,141 +318,229 @@ public class CtrlVlmListApiCallHandler
         Set<StorPoolName> storPoolsFilter,
         Set<ResourceName> resourceFilter,
         List<String> propFilters,
-        final @Nullable Map<Volume.Key, VlmAllocatedResult> vlmAllocatedAnswers
+        final @Nullable Map<Volume.Key, VlmAllocatedResult> vlmAllocatedAnswers,
+        final @Nullable ListCursor<ResourceName, NodeName> cursor,
+        int limit,
+        boolean withSatelliteStates
     )
     {
         ResourceList rscList = new ResourceList();
+        Set<NodeName> rscNodeNames = new HashSet<>();
+        boolean reportsChanged = false;
         try
         {
-            resourceDefinitionRepository.getMapForView(peerAccCtx.get()).values().stream()
-                .filter(rscDfn -> resourceFilter.isEmpty() || resourceFilter.contains(rscDfn.getName()))
-                .forEach(rscDfn ->
+            List<Resource> rscs = selectResources(
+                nodesFilter,
+                storPoolsFilter,
+                resourceFilter,
+                propFilters,
+                cursor,
+                limit
+            );
+            for (Resource rsc : rscs)
+            {
+                try
                 {
-                    try
+                    ResourceDefinition rscDfn = rsc.getDefinition();
+
+                    // create our api object ourselves to filter the volumes by storage pools
+                    List<VolumeApi> volumes = new ArrayList<>();
+                    for (Volume vlm : getFilteredVolumes(rsc, storPoolsFilter))
                     {
-                        for (Resource rsc : rscDfn.streamResource(peerAccCtx.get())
-                            .filter(rsc -> nodesFilter.isEmpty() ||
-                                nodesFilter.contains(rsc.getNode().getName()))
-                            .collect(toList()))
+                        if (vlmAllocatedAnswers != null)
                         {
-                            // prop filter
-                            final Props props = rsc.getProps(peerAccCtx.get());
-                            if (!props.contains(propFilters))
-                                continue;
-
-                            // create our api object ourselves to filter the volumes by storage pools
-
-                            // build volume list filtered by storage pools (if provided)
-                            List<VolumeApi> volumes = new ArrayList<>();
-                            List<AbsRscLayerObject<Resource>> storageRscList = LayerUtils
-                                .getChildLayerDataByKind(
-                                rsc.getLayerData(peerAccCtx.get()),
-                                DeviceLayerKind.STORAGE
-                            );
-                            Iterator<Volume> itVolumes = rsc.iterateVolumes();
-                            while (itVolumes.hasNext())
-                            {
-                                Volume vlm = itVolumes.next();
-                                boolean addToList = storPoolsFilter.isEmpty();
-                                if (!addToList)
-                                {
-                                    VolumeNumber vlmNr = vlm.getVolumeDefinition().getVolumeNumber();
-                                    for (AbsRscLayerObject<Resource> storageRsc : storageRscList)
-                                    {
-                                        if (storPoolsFilter.contains(
-                                            storageRsc.getVlmProviderObject(vlmNr).getStorPool().getName())
-                                        )
-                                        {
-                                            addToList = true;
-                                            break;
-                                        }
-                                    }
-                                }
-                                if (addToList)
-                                {
-                                    if (vlmAllocatedAnswers != null)
-                                    {
-                                        VlmAllocatedResult vlmAllocResult = vlmAllocatedAnswers.get(vlm.getKey());
-                                        if (vlmAllocResult != null)
-                                        {
-                                            vlm.clearReports();
-                                            vlm.addReports(vlmAllocResult.getApiCallRc());
-                                        }
-                                    }
-                                    volumes.add(vlm.getApiData(
-                                        getAllocated(vlmAllocatedAnswers, vlm),
-                                        peerAccCtx.get()
-                                    ));
-                                }
-                            }
-
-                            List<ResourceConnectionApi> rscConns = new ArrayList<>();
-                            for (ResourceConnection rscConn : rsc.streamAbsResourceConnections(peerAccCtx.get())
-                                    .collect(toList()))
+                            VlmAllocatedResult vlmAllocResult = vlmAllocatedAnswers.get(vlm.getKey());
+                            if (vlmAllocResult != null &&
+                                !ApiCallRcImpl.hasSameEntries(vlm.getReports(), vlmAllocResult.getApiCallRc()))
                             {
-                                rscConns.add(rscConn.getApiData(peerAccCtx.get()));
-                            }
-
-                            if (!volumes.isEmpty())
-                            {
-                                RscPojo filteredRscVlms = new RscPojo(
-                                    rscDfn.getName().getDisplayName(),
-                                    rsc.getNode().getName().getDisplayName(),
-                                    rsc.getNode().getUuid(),
-                                    rscDfn.getApiData(peerAccCtx.get()),
-                                    rsc.getUuid(),
-                                    rsc.getStateFlags().getFlagsBits(peerAccCtx.get()),
-                                    rsc.getProps(peerAccCtx.get()).map(),
-                                    volumes,
-                                    null,
-                                    rscConns,
-                                    null,
-                                    null,
-                                    rsc.getLayerData(peerAccCtx.get()).asPojo(peerAccCtx.get()),
-                                    rsc.getCreateTimestamp().orElse(null)
-                                );
-                                rscList.addResource(filteredRscVlms);
+                                vlm.clearReports();
+                                vlm.addReports(vlmAllocResult.getApiCallRc());
+                                reportsChanged = true;
                             }
                         }
+                        volumes.add(vlm.getApiData(getAllocated(vlmAllocatedAnswers, vlm), peerAccCtx.get()));
                     }
-                    catch (AccessDeniedException accDeniedExc)
+
+                    List<ResourceConnectionApi> rscConns = new ArrayList<>();
+                    for (ResourceConnection rscConn : rsc.streamAbsResourceConnections(peerAccCtx.get())
+                            .collect(toList()))
                     {
-                        // don't add rsc without access
+                        rscConns.add(rscConn.getApiData(peerAccCtx.get()));
                     }
+
+                    RscPojo filteredRscVlms = new RscPojo(
+                        rscDfn.getName().getDisplayName(),
+                        rsc.getNode().getName().getDisplayName(),
+                        rsc.getNode().getUuid(),
+                        rscDfn.getApiData(peerAccCtx.get()),
+                        rsc.getUuid(),
+                        rsc.getStateFlags().getFlagsBits(peerAccCtx.get()),
+                        new TreeMap<>(rsc.getProps(peerAccCtx.get()).map()),
+                        volumes,
+                        null,
+                        rscConns,
+                        null,
+                        null,
+                        rsc.getLayerData(peerAccCtx.get()).asPojo(peerAccCtx.get()),
+                        rsc.getCreateTimestamp().orElse(null)
+                    );
+                    rscList.addResource(filteredRscVlms);
+                    rscNodeNames.add(rsc.getNode().getName());
                 }
+                catch (AccessDeniedException accDeniedExc)
+                {
+                    // don't add rsc without access
+                }
+            }
+
+            if (withSatelliteStates)
+            {
+                // get resource states of the filtered nodes (or only of the listed resources' nodes for a single page)
+                putSatelliteStates(
+                    rscList,
+                    nodeName -> (nodesFilter.isEmpty() || nodesFilter.contains(nodeName)) &&
+                        (limit <= 0 || rscNodeNames.contains(nodeName))
                 );
+            }
+        }
+        catch (AccessDeniedException accDeniedExc)
+        {
+            // for now return an empty list.
+            errorReporter.reportError(accDeniedExc);
+        }
+
+        if (reportsChanged)
+        {
+            // reports are not persisted, so no transaction would announce their change
+            changeGeneration.increment(ChangeGeneration.Kind.RSCS);
+        }
+        return rscList;
+    }
 
-            // get resource states of all nodes
-            for (final Node node : nodeRepository.getMapForView(peerAccCtx.get()).values())
+    /**
+     * Returns the resources matching the filters that have at least one volume in one of the filtered storage pools,
+     * sorted by resource name and node name
+     *
+     * @param cursor if not null, only resources sorted after the cursor are returned
+     * @param limit if greater than 0, at most that many resources are returned
+     */
+    private List<Resource> selectResources(
+        Set<NodeName> nodesFilter,
+        Set<StorPoolName> storPoolsFilter,
+        Set<ResourceName> resourceFilter,
+        List<String> propFilters,
+        final @Nullable ListCursor<ResourceName, NodeName> cursor,
+        int limit
+    )
+        throws AccessDeniedException
+    {
+        List<Resource> selected = new ArrayList<>();
+        final @Nullable Map<ResourceName, Set<NodeName>> rscCandidates =
+            propFilters.isEmpty() ? null : propsIndex.findResources(propFilters);
+        // the resource definitions as well as their resources are sorted by name
+        for (ResourceDefinition rscDfn : getRscDfns(rscCandidates))
+        {
+            if (limit > 0 && selected.size() >= limit)
             {
-                final Peer satellite = node.getPeer(peerAccCtx.get());
-                if (satellite != null)
+                break;
+            }
+            if ((resourceFilter.isEmpty() || resourceFilter.contains(rscDfn.getName())) &&
+                (cursor == null || !cursor.isBefore(rscDfn.getName())))
+            {
+                try
                 {
-                    Lock readLock = satellite.getSatelliteStateLock().readLock();
-                    readLock.lock();
-                    try
+                    for (Resource rsc : rscDfn.streamResource(peerAccCtx.get())
+                        .filter(rsc -> nodesFilter.isEmpty() ||
+                            nodesFilter.contains(rsc.getNode().getName()))
+                        .filter(rsc -> rscCandidates == null ||
+                            rscCandidates.get(rscDfn.getName()).contains(rsc.getNode().getName()))
+                        .filter(rsc -> cursor == null ||
+                            !cursor.isAtOrBefore(rscDfn.getName(), rsc.getNode().getName()))
+                        .collect(toList()))
                     {
-                        final SatelliteState satelliteState = satellite.getSatelliteState();
+                        if (limit > 0 && selected.size() >= limit)
+                        {
+                            break;
+                        }
 
-                        if (satelliteState != null)
+                        // prop filter
+                        final Props props = rsc.getProps(peerAccCtx.get());
+                        if (props.contains(propFilters) && !getFilteredVolumes(rsc, storPoolsFilter).isEmpty())
                         {
-                            rscList.putSatelliteState(node.getName(), new SatelliteState(satelliteState));
+                            selected.add(rsc);
                         }
                     }
-                    finally
+                }
+                catch (AccessDeniedException accDeniedExc)
+                {
+                    // don't add rsc without access
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Returns the volumes of the resource, filtered by the storage pools of their storage layer (if provided)
+     */
+    private List<Volume> getFilteredVolumes(Resource rsc, Set<StorPoolName> storPoolsFilter)
+        throws AccessDeniedException
+    {
+        List<Volume> volumes = new ArrayList<>();
+        List<AbsRscLayerObject<Resource>> storageRscList = LayerUtils.getChildLayerDataByKind(
+            rsc.getLayerData(peerAccCtx.get()),
+            DeviceLayerKind.STORAGE
+        );
+        Iterator<Volume> itVolumes = rsc.iterateVolumes();
+        while (itVolumes.hasNext())
+        {
+            Volume vlm = itVolumes.next();
+            boolean addToList = storPoolsFilter.isEmpty();
+            if (!addToList)
+            {
+                VolumeNumber vlmNr = vlm.getVolumeDefinition().getVolumeNumber();
+                for (AbsRscLayerObject<Resource> storageRsc : storageRscList)
+                {
+                    if (storPoolsFilter.contains(storageRsc.getVlmProviderObject(vlmNr).getStorPool().getName()))
                     {
-                        readLock.unlock();
+                        addToList = true;
+                        break;
                     }
                 }
             }
+            if (addToList)
+            {
+                volumes.add(vlm);
+            }
         }
-        catch (AccessDeniedException accDeniedExc)
+        return volumes;
+    }
+
+    private void putSatelliteStates(ResourceList rscList, Predicate<NodeName> nodeFilter)
+        throws AccessDeniedException
+    {
+        for (final Node node : nodeRepository.getMapForView(peerAccCtx.get()).values())
         {
-            // for now return an empty list.
-            errorReporter.reportError(accDeniedExc);
-        }
+            final Peer satellite = node.getPeer(peerAccCtx.get());
+            if (satellite != null && nodeFilter.test(node.getName()))
+            {
+                Lock readLock = satellite.getSatelliteStateLock().readLock();
+                readLock.lock();
+                try
+                {
+                    final SatelliteState satelliteState = satellite.getSatelliteState();
 
-        return rscList;
+                    if (satelliteState != null)
+                    {
+                        rscList.putSatelliteState(node.getName(), new SatelliteState(satelliteState));
+                    }
+                }
+                finally
+                {
+                    readLock.unlock();
+                }
+            }
+        }
     }
 
     private long getAllocated(
@@ -330,26 +616,6 @@ public class CtrlVlmListApiCallHandler
         */
     }
 
-    public ResourceList listVlmsCached(
-        List<String> nodeNames,
-        List<String> storPools,
-        List<String> resources,
-        List<String> propFilters
-    )
-    {
-        final Set<NodeName> nodesFilter =
-            nodeNames.stream().map(LinstorParsingUtils::asNodeName).collect(Collectors.toSet());
-        final Set<StorPoolName> storPoolsFilter =
-            storPools.stream().map(LinstorParsingUtils::asStorPoolName).collect(Collectors.toSet());
-        final Set<ResourceName> resourceFilter =
-            resources.stream().map(LinstorParsingUtils::asRscName).collect(Collectors.toSet());
-
-        try (LockGuard ignored = lockGuardFactory.build(READ, NODES_MAP, RSC_DFN_MAP))
-        {
-            return assembleList(nodesFilter, storPoolsFilter, resourceFilter, propFilters, null);
-        }
-    }
-
 //    private Long getDiskAllocated(Map<Volume.Key, Long> vlmAllocatedCapacities, Volume vlm)
 //        throws AccessDeniedException
 //    {
@@ -0,0 +1,83 @@
+package com.linbit.linstor.core.apicallhandler.controller.helpers;
+
+import com.linbit.GenericName;
+import com.linbit.linstor.api.ApiCallRcImpl;
+import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
+
+import javax.annotation.Nullable;
+
+import java.util.function.Function;
+
+/**
+ * Position within a list that is sorted by two names, e.g. resources sorted by resource name and node name.
+ *
+ * The textual form of a cursor is "&lt;first name&gt;:&lt;second name&gt;" of the last entry of a page.
+ * The next page starts with the first entry sorted after that entry. As the cursor only consists of names,
+ * it stays valid even if entries are added or deleted between the requests of two pages.
+ */
+public final class ListCursor<FIRST extends GenericName, SECOND extends GenericName>
+{
+    private static final String SEPARATOR = ":";
+
+    private final FIRST first;
+    private final SECOND second;
+
+    private ListCursor(FIRST firstRef, SECOND secondRef)
+    {
+        first = firstRef;
+        second = secondRef;
+    }
+
+    /**
+     * Parses the given cursor
+     *
+     * @return null if no cursor was given
+     * @throws ApiRcException if the cursor is not in the expected format or contains invalid names
+     */
+    @Nullable
+    public static <FIRST extends GenericName, SECOND extends GenericName> ListCursor<FIRST, SECOND> parse(
+        @Nullable String cursorStr,
+        Function<String, FIRST> firstParser,
+        Function<String, SECOND> secondParser
+    )
+    {
+        ListCursor<FIRST, SECOND> cursor = null;
+        if (cursorStr != null && !cursorStr.isEmpty())
+        {
+            String[] names = cursorStr.split(SEPARATOR, 2);
+            if (names.length != 2)
+            {
+                throw new ApiRcException(ApiCallRcImpl.simpleEntry(
+                    ApiConsts.API_CALL_PARSE_ERROR,
+                    "The given cursor '" + cursorStr + "' is invalid."
+                ));
+            }
+            cursor = new ListCursor<>(firstParser.apply(names[0]), secondParser.apply(names[1]));
+        }
+        return cursor;
+    }
+
+    public static String format(GenericName firstName, GenericName secondName)
+    {
+        return firstName.displayValue + SEPARATOR + secondName.displayValue;
+    }
+
+    /**
+     * Returns true if all entries with the given first name are sorted before this cursor
+     */
+    public boolean isBefore(FIRST firstName)
+    {
+        return firstName.compareTo(first) < 0;
+    }
+
+    /**
+     * Returns true if the entry with the given names is sorted before this cursor or is the entry this cursor
+     * points to, i.e. if the entry was already part of a previous page
+     */
+    public boolean isAtOrBefore(FIRST firstName, SECOND secondName)
+    {
+        int cmp = firstName.compareTo(first);
+        return cmp < 0 || cmp == 0 && secondName.compareTo(second) <= 0;
+    }
+}
@@ -24,6 +24,7 @@ import com.linbit.linstor.storage.kinds.ExtTools;
 import com.linbit.linstor.storage.kinds.ExtToolsInfo;
 import com.linbit.linstor.tasks.PingTask;
 import com.linbit.linstor.tasks.ReconnectorTask;
+import com.linbit.linstor.transaction.ChangeGeneration;
 import com.linbit.linstor.utils.externaltools.ExtToolsManager;
 import com.linbit.locks.LockGuardFactory;
 
@@ -51,6 +52,7 @@ public class CtrlAuthResponseApiCallHandler
     private final ScopeRunner scopeRunner;
     private final CtrlTransactionHelper ctrlTransactionHelper;
     private final ResponseConverter responseConverter;
+    private final ChangeGeneration changeGeneration;
 
     @Inject
     public CtrlAuthResponseApiCallHandler(
@@ -63,7 +65,8 @@ public class CtrlAuthResponseApiCallHandler
         LockGuardFactory lockGuardFactoryRef,
         ScopeRunner scopeRunnerRef,
         CtrlTransactionHelper ctrlTransactionHelperRef,
-        ResponseConverter responseConverterRef
+        ResponseConverter responseConverterRef,
+        ChangeGeneration changeGenerationRef
     )
     {
         errorReporter = errorReporterRef;
@@ -76,6 +79,7 @@ public class CtrlAuthResponseApiCallHandler
         scopeRunner = scopeRunnerRef;
         ctrlTransactionHelper = ctrlTransactionHelperRef;
         responseConverter = responseConverterRef;
+        changeGeneration = changeGenerationRef;
     }
 
     public Flux<ApiCallRc> authResponse(
@@ -247,6 +251,8 @@ public class CtrlAuthResponseApiCallHandler
 
             flux = Flux.empty();
         }
+        // connection status and external tools of the peer are not part of the transaction
+        changeGeneration.increment(ChangeGeneration.Kind.NODES, ChangeGeneration.Kind.SATELLITE_STATES);
         return flux;
     }
 
@@ -14,6 +14,7 @@ import com.linbit.linstor.core.objects.Resource;
 import com.linbit.linstor.netcom.Peer;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
+import com.linbit.linstor.transaction.ChangeGeneration;
 import com.linbit.locks.LockGuard;
 
 import reactor.core.publisher.Flux;
@@ -37,6 +38,7 @@ public class CtrlFullSyncResponseApiCallHandler
     private final ReadWriteLock nodesMapLock;
     private final ReadWriteLock rscDfnMapLock;
     private final Provider<Peer> satelliteProvider;
+    private final ChangeGeneration changeGeneration;
 
     @Inject
     public CtrlFullSyncResponseApiCallHandler(
@@ -45,7 +47,8 @@ public class CtrlFullSyncResponseApiCallHandler
         CtrlSatelliteConnectionNotifier ctrlSatelliteConnectionNotifierRef,
         @Named(CoreModule.NODES_MAP_LOCK) ReadWriteLock nodesMapLockRef,
         @Named(CoreModule.RSC_DFN_MAP_LOCK) ReadWriteLock rscDfnMapLockRef,
-        Provider<Peer> satelliteProviderRef
+        Provider<Peer> satelliteProviderRef,
+        ChangeGeneration changeGenerationRef
     )
     {
         apiCtx = apiCtxRef;
@@ -54,6 +57,7 @@ public class CtrlFullSyncResponseApiCallHandler
         nodesMapLock = nodesMapLockRef;
         rscDfnMapLock = rscDfnMapLockRef;
         satelliteProvider = satelliteProviderRef;
+        changeGeneration = changeGenerationRef;
     }
 
     public Flux<?> fullSyncSuccess()
@@ -89,6 +93,7 @@ public class CtrlFullSyncResponseApiCallHandler
     {
         satellitePeerRef.setConnectionStatus(ApiConsts.ConnectionStatus.ONLINE);
         satellitePeerRef.fullSyncApplied();
+        changeGeneration.increment(ChangeGeneration.Kind.NODES, ChangeGeneration.Kind.SATELLITE_STATES);
 
         Node localNode = satellitePeerRef.getNode();
 
@@ -126,6 +131,7 @@ public class CtrlFullSyncResponseApiCallHandler
     private Flux<?> fullSyncFailedInScope(Peer satellitePeerRef)
     {
         satellitePeerRef.fullSyncFailed();
+        changeGeneration.increment(ChangeGeneration.Kind.NODES, ChangeGeneration.Kind.SATELLITE_STATES);
         return Flux.empty();
     }
 }
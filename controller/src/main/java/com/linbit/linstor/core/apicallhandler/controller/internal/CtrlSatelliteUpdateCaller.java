@@ -7,6 +7,7 @@ import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiCallRcImpl;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer.CtrlStltSerializerBuilder;
 import com.linbit.linstor.api.protobuf.ProtoDeserializationUtils;
 import com.linbit.linstor.core.CtrlAuthenticator;
 import com.linbit.linstor.core.SatelliteConnectorImpl;
@@ -35,8 +36,11 @@ import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
 import org.reactivestreams.Publisher;
@@ -245,6 +249,48 @@ public class CtrlSatelliteUpdateCaller
         return response;
     }
 
+    /**
+     * Like {@link #updateSatellites(ResourceDefinition, NotConnectedHandler, Publisher)}, but for the resources of
+     * multiple resource definitions. The changes of all resources deployed on the same node are sent to that node
+     * with a single message instead of one message per resource.
+     */
+    public Flux<Tuple2<NodeName, Flux<ApiCallRc>>> updateSatellites(
+        Collection<ResourceDefinition> rscDfns,
+        NotConnectedHandler notConnectedHandler,
+        Publisher<ApiCallRc> nextStep
+    )
+    {
+        List<Tuple2<NodeName, Flux<ApiCallRc>>> responses = new ArrayList<>();
+
+        try
+        {
+            Map<NodeName, List<Resource>> rscsByNode = new TreeMap<>();
+            for (ResourceDefinition rscDfn : rscDfns)
+            {
+                Iterator<Resource> rscIterator = rscDfn.iterateResource(apiCtx);
+                while (rscIterator.hasNext())
+                {
+                    Resource currentRsc = rscIterator.next();
+                    rscsByNode.computeIfAbsent(currentRsc.getNode().getName(), ignored -> new ArrayList<>())
+                        .add(currentRsc);
+                }
+            }
+
+            for (Map.Entry<NodeName, List<Resource>> entry : rscsByNode.entrySet())
+            {
+                Flux<ApiCallRc> response = updateResources(entry.getValue(), notConnectedHandler, nextStep);
+
+                responses.add(Tuples.of(entry.getKey(), response));
+            }
+        }
+        catch (AccessDeniedException implError)
+        {
+            throw new ImplementationError(implError);
+        }
+
+        return Flux.fromIterable(responses);
+    }
+
     public Flux<Tuple2<NodeName, Flux<ApiCallRc>>> updateSatellites(
         SnapshotDefinition snapshotDfn,
         NotConnectedHandler notConnectedHandler
@@ -277,7 +323,21 @@ public class CtrlSatelliteUpdateCaller
     )
         throws AccessDeniedException
     {
-        Node node = currentRsc.getNode();
+        return updateResources(Collections.singletonList(currentRsc), notConnectedHandler, nextStepRef);
+    }
+
+    /**
+     * Sends a single {@link InternalApiConsts#API_CHANGED_RSC} message for all given resources, which all have to be
+     * deployed on the same node
+     */
+    private Flux<ApiCallRc> updateResources(
+        List<Resource> rscsOfNode,
+        NotConnectedHandler notConnectedHandler,
+        Publisher<ApiCallRc> nextStepRef
+    )
+        throws AccessDeniedException
+    {
+        Node node = rscsOfNode.get(0).getNode();
         NodeName nodeName = node.getName();
 
         Flux<ApiCallRc> response;
@@ -289,16 +349,18 @@ public class CtrlSatelliteUpdateCaller
         }
         else
         {
+            CtrlStltSerializerBuilder builder = internalComSerializer.headerlessBuilder();
+            for (Resource rsc : rscsOfNode)
+            {
+                builder.changedResource(
+                    rsc.getUuid(),
+                    rsc.getDefinition().getName().displayValue
+                );
+            }
             response = currentPeer
                 .apiCall(
                     InternalApiConsts.API_CHANGED_RSC,
-                    internalComSerializer
-                        .headerlessBuilder()
-                        .changedResource(
-                            currentRsc.getUuid(),
-                            currentRsc.getDefinition().getName().displayValue
-                        )
-                        .build()
+                    builder.build()
                 )
 
                 .map(inputStream -> deserializeApiCallRc(nodeName, inputStream))
@@ -307,7 +369,14 @@ public class CtrlSatelliteUpdateCaller
                     PeerNotConnectedException.class,
                     ignored -> notConnectedHandler.handleNotConnected(nodeName)
                 )
-                .doOnError(ignored -> retryResourceTaskProvider.get().add(currentRsc, nextStepRef));
+                .doOnError(ignored ->
+                    {
+                        for (Resource rsc : rscsOfNode)
+                        {
+                            retryResourceTaskProvider.get().add(rsc, nextStepRef);
+                        }
+                    }
+                );
         }
 
         return response;
@@ -11,6 +11,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
@@ -83,6 +85,49 @@ public class CtrlResponseUtils
             .transform(CtrlResponseUtils::mergeExtractingApiRcExceptions);
     }
 
+    /**
+     * Like {@link #combineResponses(Flux, ResourceName, String)}, but for updates covering the resources of multiple
+     * resource definitions. The message is only added for the nodes contained in the given map, the placeholder
+     * {1} is replaced with the resource names of the respective node.
+     */
+    public static Flux<ApiCallRc> combineBulkResponses(
+        Flux<Tuple2<NodeName, Flux<ApiCallRc>>> responses,
+        Map<NodeName, ? extends Collection<ResourceName>> rscNamesByNode,
+        String messageFormat
+    )
+    {
+        return responses
+            .map(namedResponse ->
+                {
+                    NodeName nodeName = namedResponse.getT1();
+                    Flux<ApiCallRc> nodeResponses = namedResponse.getT2();
+
+                    Flux<ApiCallRc> extraResponses;
+                    Collection<ResourceName> rscNames = rscNamesByNode.get(nodeName);
+                    if (rscNames != null)
+                    {
+                        extraResponses = Flux.just(ApiCallRcImpl.singletonApiCallRc((ApiCallRcImpl.simpleEntry(
+                            ApiConsts.MODIFIED,
+                            MessageFormat.format(
+                                messageFormat,
+                                "'" + nodeName + "'",
+                                rscNames.stream()
+                                    .map(rscName -> "'" + rscName + "'")
+                                    .collect(Collectors.joining(", "))
+                            )
+                        ))));
+                    }
+                    else
+                    {
+                        extraResponses = Flux.empty();
+                    }
+
+                    return nodeResponses.thenMany(extraResponses);
+                }
+            )
+            .transform(CtrlResponseUtils::mergeExtractingApiRcExceptions);
+    }
+
     /**
      * Merge the sources, delaying failure.
      * Any {@link ApiRcException} errors are suppressed and converted into normal responses.
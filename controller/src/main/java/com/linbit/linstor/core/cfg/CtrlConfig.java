@@ -1,6 +1,7 @@
 package com.linbit.linstor.core.cfg;
 
 import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.LinStorRuntimeException;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -28,12 +29,15 @@ public class CtrlConfig extends LinstorConfig
 
     private String dbInMemory;
     private boolean dbDisableVersionCheck;
+    private String dbCheckpointFile;
 
     /*
      * Database.ETCD
      */
     private int etcdOperationsPerTransaction = 128;
     private String etcdPrefix;
+    private int etcdPageSize = 4096;
+    private int etcdGroupCommitWindowMs = 0;
 
     /*
      * Logging
@@ -74,6 +78,12 @@ public class CtrlConfig extends LinstorConfig
      */
     private String masterPassphrase;
 
+    /*
+     * Netcom
+     */
+    private int netcomCompressionThreshold = 16384;
+    private int netcomIoThreads = 1;
+
     public CtrlConfig(String[] args)
     {
         super(args);
@@ -212,6 +222,14 @@ public class CtrlConfig extends LinstorConfig
         }
     }
 
+    public void setDbCheckpointFile(String dbCheckpointFileRef)
+    {
+        if (dbCheckpointFileRef != null)
+        {
+            dbCheckpointFile = dbCheckpointFileRef;
+        }
+    }
+
     public void setEtcdOperationsPerTransaction(Integer etcdOperationsPerTransactionRef)
     {
         if (etcdOperationsPerTransactionRef != null)
@@ -228,6 +246,22 @@ public class CtrlConfig extends LinstorConfig
         }
     }
 
+    public void setEtcdPageSize(Integer etcdPageSizeRef)
+    {
+        if (etcdPageSizeRef != null)
+        {
+            etcdPageSize = etcdPageSizeRef;
+        }
+    }
+
+    public void setEtcdGroupCommitWindowMs(Integer etcdGroupCommitWindowMsRef)
+    {
+        if (etcdGroupCommitWindowMsRef != null)
+        {
+            etcdGroupCommitWindowMs = etcdGroupCommitWindowMsRef;
+        }
+    }
+
     public void setLogRestAccessLogPath(String logRestAccessLogPathRef)
     {
         if (logRestAccessLogPathRef != null)
@@ -380,6 +414,28 @@ public class CtrlConfig extends LinstorConfig
         }
     }
 
+    public void setNetcomCompressionThreshold(Integer netcomCompressionThresholdRef)
+    {
+        if (netcomCompressionThresholdRef != null)
+        {
+            netcomCompressionThreshold = netcomCompressionThresholdRef;
+        }
+    }
+
+    public void setNetcomIoThreads(Integer netcomIoThreadsRef)
+    {
+        if (netcomIoThreadsRef != null)
+        {
+            if (netcomIoThreadsRef < 1)
+            {
+                throw new LinStorRuntimeException(
+                    "[netcom] io_threads must be at least 1, but is " + netcomIoThreadsRef
+                );
+            }
+            netcomIoThreads = netcomIoThreadsRef;
+        }
+    }
+
     public String getDbUser()
     {
         return dbUser;
@@ -425,6 +481,11 @@ public class CtrlConfig extends LinstorConfig
         return dbDisableVersionCheck;
     }
 
+    public String getDbCheckpointFile()
+    {
+        return dbCheckpointFile;
+    }
+
     public int getEtcdOperationsPerTransaction()
     {
         return etcdOperationsPerTransaction;
@@ -435,6 +496,16 @@ public class CtrlConfig extends LinstorConfig
         return etcdPrefix;
     }
 
+    public int getEtcdPageSize()
+    {
+        return etcdPageSize;
+    }
+
+    public int getEtcdGroupCommitWindowMs()
+    {
+        return etcdGroupCommitWindowMs;
+    }
+
     public String getLogRestAccessLogPath()
     {
         return logRestAccessLogPath;
@@ -549,4 +620,14 @@ public class CtrlConfig extends LinstorConfig
     {
         return masterPassphrase;
     }
+
+    public int getNetcomCompressionThreshold()
+    {
+        return netcomCompressionThreshold;
+    }
+
+    public int getNetcomIoThreads()
+    {
+        return netcomIoThreads;
+    }
 }
@@ -75,6 +75,7 @@ public class CtrlTomlConfig
         private String client_key_pcks8_pem;
         private String client_key_pkcs8_pem;
         private String client_key_password;
+        private String checkpoint_file;
 
         private Etcd etcd = new Etcd();
 
@@ -87,6 +88,7 @@ public class CtrlTomlConfig
             cfg.setDbClientCertificate(client_certificate);
             cfg.setDbClientKeyPkcs8Pem(client_key_pkcs8_pem != null ? client_key_pkcs8_pem : client_key_pcks8_pem);
             cfg.setDbClientKeyPassword(client_key_password);
+            cfg.setDbCheckpointFile(checkpoint_file);
 
             etcd.applyTo(cfg);
         }
@@ -146,11 +148,27 @@ public class CtrlTomlConfig
     {
         private Integer ops_per_transaction;
         private String prefix;
+        private Integer page_size;
+        private Integer group_commit_window_ms;
 
         public void applyTo(CtrlConfig cfg)
         {
             cfg.setEtcdOperationsPerTransaction(ops_per_transaction);
             cfg.setEtcdPrefix(prefix);
+            cfg.setEtcdPageSize(page_size);
+            cfg.setEtcdGroupCommitWindowMs(group_commit_window_ms);
+        }
+    }
+
+    static class Netcom
+    {
+        private Integer compression_threshold;
+        private Integer io_threads;
+
+        public void applyTo(CtrlConfig cfg)
+        {
+            cfg.setNetcomCompressionThreshold(compression_threshold);
+            cfg.setNetcomIoThreads(io_threads);
         }
     }
 
@@ -160,6 +178,7 @@ public class CtrlTomlConfig
     private DB db = new DB();
     private Logging logging = new Logging();
     private Encrypt encrypt = new Encrypt();
+    private Netcom netcom = new Netcom();
 
     /**
      * Getter needed by {@link LinstorConfigTool}
@@ -177,5 +196,6 @@ public class CtrlTomlConfig
         db.applyTo(cfg);
         logging.applyTo(cfg);
         encrypt.applyTo(cfg);
+        netcom.applyTo(cfg);
     }
 }
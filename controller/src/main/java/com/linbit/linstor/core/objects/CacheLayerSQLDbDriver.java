@@ -8,8 +8,11 @@ import com.linbit.linstor.core.identifier.NodeName;
 import com.linbit.linstor.core.identifier.StorPoolName;
 import com.linbit.linstor.core.identifier.VolumeNumber;
 import com.linbit.linstor.dbdrivers.DatabaseException;
+import com.linbit.linstor.dbdrivers.GeneratedDatabaseTables;
 import com.linbit.linstor.dbdrivers.interfaces.CacheLayerCtrlDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.ResourceLayerIdDatabaseDriver;
+import com.linbit.linstor.dbdrivers.sql.SQLEngine;
+import com.linbit.linstor.dbdrivers.sql.SQLRow;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.storage.data.adapter.cache.CacheRscData;
@@ -35,7 +38,6 @@ import javax.inject.Singleton;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashSet;
 import java.util.Map;
@@ -52,6 +54,7 @@ public class CacheLayerSQLDbDriver implements CacheLayerCtrlDatabaseDriver
 
     private final TransactionObjectFactory transObjFactory;
     private final Provider<TransactionMgrSQL> transMgrProvider;
+    private final SQLEngine sqlEngine;
 
     private static final String[] VLM_ALL_FIELDS =
     {
@@ -82,7 +85,8 @@ public class CacheLayerSQLDbDriver implements CacheLayerCtrlDatabaseDriver
         ErrorReporter errorReporterRef,
         ResourceLayerIdDatabaseDriver idDriverRef,
         TransactionObjectFactory transObjFactoryRef,
-        Provider<TransactionMgrSQL> transMgrProviderRef
+        Provider<TransactionMgrSQL> transMgrProviderRef,
+        SQLEngine sqlEngineRef
     )
     {
         dbCtx = accCtx;
@@ -90,6 +94,7 @@ public class CacheLayerSQLDbDriver implements CacheLayerCtrlDatabaseDriver
         idDriver = idDriverRef;
         transObjFactory = transObjFactoryRef;
         transMgrProvider = transMgrProviderRef;
+        sqlEngine = sqlEngineRef;
     }
 
     /**
@@ -132,13 +137,20 @@ public class CacheLayerSQLDbDriver implements CacheLayerCtrlDatabaseDriver
             stmt.setInt(1, id);
 
             int vlmNrInt = -1;
-            try (ResultSet resultSet = stmt.executeQuery())
+            try
             {
-                while (resultSet.next())
+                for (
+                    SQLRow row : sqlEngine.selectRows(
+                        stmt,
+                        GeneratedDatabaseTables.LAYER_CACHE_VOLUMES,
+                        GeneratedDatabaseTables.LayerCacheVolumes.LAYER_RESOURCE_ID,
+                        id
+                    )
+                )
                 {
-                    vlmNrInt = resultSet.getInt(VLM_NR);
-                    String cacheStorPoolNameStr = resultSet.getString(POOL_NAME_CACHE);
-                    String metaStorPoolNameStr = resultSet.getString(POOL_NAME_META);
+                    vlmNrInt = row.getInt(VLM_NR);
+                    String cacheStorPoolNameStr = row.getString(POOL_NAME_CACHE);
+                    String metaStorPoolNameStr = row.getString(POOL_NAME_META);
 
                     VolumeNumber vlmNr;
                     vlmNr = new VolumeNumber(vlmNrInt);
@@ -255,9 +267,11 @@ public class CacheLayerSQLDbDriver implements CacheLayerCtrlDatabaseDriver
         return idDriver;
     }
 
-    private Connection getConnection()
+    private Connection getConnection() throws DatabaseException
     {
-        return transMgrProvider.get().getConnection();
+        TransactionMgrSQL transMgr = transMgrProvider.get();
+        transMgr.flushWrites();
+        return transMgr.getConnection();
     }
 
     private String getId(CacheRscData<?> cacheRscData)
@@ -17,9 +17,12 @@ import com.linbit.linstor.core.types.NodeId;
 import com.linbit.linstor.core.types.TcpPortNumber;
 import com.linbit.linstor.dbdrivers.DatabaseException;
 import com.linbit.linstor.dbdrivers.DatabaseLoader;
+import com.linbit.linstor.dbdrivers.GeneratedDatabaseTables;
 import com.linbit.linstor.dbdrivers.interfaces.DrbdLayerCtrlDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.ResourceLayerIdDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.updater.SingleColumnDatabaseDriver;
+import com.linbit.linstor.dbdrivers.sql.SQLEngine;
+import com.linbit.linstor.dbdrivers.sql.SQLRow;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.numberpool.DynamicNumberPool;
 import com.linbit.linstor.numberpool.NumberPoolModule;
@@ -62,6 +65,7 @@ import static com.linbit.linstor.dbdrivers.derby.DbConstants.TRANSPORT_TYPE;
 import static com.linbit.linstor.dbdrivers.derby.DbConstants.VLM_MINOR_NR;
 import static com.linbit.linstor.dbdrivers.derby.DbConstants.VLM_NR;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
@@ -73,6 +77,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -216,6 +221,7 @@ public class DrbdLayerSQLDbDriver implements DrbdLayerCtrlDatabaseDriver
 
     private final TransactionObjectFactory transObjFactory;
     private final Provider<TransactionMgrSQL> transMgrProvider;
+    private final SQLEngine sqlEngine;
 
     private final RscFlagsDriver rscStatePersistence;
     private final VlmExtStorPoolDriver vlmExtStorPoolDriver;
@@ -238,6 +244,7 @@ public class DrbdLayerSQLDbDriver implements DrbdLayerCtrlDatabaseDriver
         ResourceLayerIdDatabaseDriver idDriverRef,
         TransactionObjectFactory transObjFactoryRef,
         Provider<TransactionMgrSQL> transMgrProviderRef,
+        SQLEngine sqlEngineRef,
         @Named(NumberPoolModule.TCP_PORT_POOL) DynamicNumberPool tcpPortPoolRef,
         @Named(NumberPoolModule.MINOR_NUMBER_POOL) DynamicNumberPool minorPoolRef
     )
@@ -247,6 +254,7 @@ public class DrbdLayerSQLDbDriver implements DrbdLayerCtrlDatabaseDriver
         idDriver = idDriverRef;
         transObjFactory = transObjFactoryRef;
         transMgrProvider = transMgrProviderRef;
+        sqlEngine = sqlEngineRef;
         tcpPortPool = tcpPortPoolRef;
         minorPool = minorPoolRef;
 
@@ -302,210 +310,203 @@ public class DrbdLayerSQLDbDriver implements DrbdLayerCtrlDatabaseDriver
     )
         throws DatabaseException
     {
-        try (PreparedStatement stmt = getConnection().prepareStatement(SELECT_ALL_RSC_DFN_AND_VLM_DFN))
+        try
         {
-            try (ResultSet resultSet = stmt.executeQuery())
+            for (SQLRow row : selectAllRscDfnAndVlmDfn())
             {
-                while (resultSet.next())
-                {
-                    ResourceName rscName = getResourceName(resultSet, "RD_" + RESOURCE_NAME);
-                    String rscNameSuffix = resultSet.getString("RD_" + RESOURCE_NAME_SUFFIX);
-                    String snapNameStr = resultSet.getString("RD_" + SNAPSHOT_NAME);
+                ResourceName rscName = getResourceName(row, "RD_" + RESOURCE_NAME);
+                String rscNameSuffix = row.getString("RD_" + RESOURCE_NAME_SUFFIX);
+                String snapNameStr = row.getString("RD_" + SNAPSHOT_NAME);
+
+                boolean restoreAsResourceDefinition = snapNameStr == null || snapNameStr.trim().isEmpty();
 
-                    boolean restoreAsResourceDefinition = snapNameStr == null || snapNameStr.trim().isEmpty();
+                ResourceDefinition rscDfn;
+                SnapshotDefinition snapDfn;
+                DrbdRscDfnData<?> drbdRscDfnDataLoaded;
 
-                    ResourceDefinition rscDfn;
-                    SnapshotDefinition snapDfn;
-                    DrbdRscDfnData<?> drbdRscDfnDataLoaded;
+                if (restoreAsResourceDefinition)
+                {
+                    rscDfn = rscDfnMapRef.get(rscName);
+                    snapDfn = null;
+                    if (rscDfn == null)
+                    {
+                        throw new LinStorDBRuntimeException(
+                            "Loaded drbd resource definition data for non existent resource definition '" +
+                                rscName + "'"
+                        );
+                    }
+                    drbdRscDfnDataLoaded = rscDfn.getLayerData(dbCtx, DeviceLayerKind.DRBD, rscNameSuffix);
+                }
+                else
+                {
+                    rscDfn = null;
+                    snapDfn = snapDfnMapRef.get(new Pair<>(rscName, getSnapshotName(snapNameStr)));
+                    if (snapDfn == null)
+                    {
+                        throw new LinStorDBRuntimeException(
+                            "Loaded drbd snapshot definition data for non existent snapshot definition '" +
+                                rscName + "', '" + snapNameStr + "'"
+                        );
+                    }
+                    drbdRscDfnDataLoaded = snapDfn.getLayerData(dbCtx, DeviceLayerKind.DRBD, rscNameSuffix);
+                }
 
+                if (drbdRscDfnDataLoaded == null)
+                {
+                    short peerSlots = row.getShort("RD_" + PEER_SLOTS);
+                    int alStripes = row.getInt("RD_" + AL_STRIPES);
+                    long alStripeSize = row.getLong("RD_" + AL_STRIPE_SIZE);
+                    TransportType transportType = TransportType.byValue(
+                        row.getString("RD_" + TRANSPORT_TYPE)
+                    );
+                    Integer tcpPort;
+                    String secret;
                     if (restoreAsResourceDefinition)
                     {
-                        rscDfn = rscDfnMapRef.get(rscName);
-                        snapDfn = null;
-                        if (rscDfn == null)
-                        {
-                            throw new LinStorDBRuntimeException(
-                                "Loaded drbd resource definition data for non existent resource definition '" +
-                                    rscName + "'"
-                            );
-                        }
-                        drbdRscDfnDataLoaded = rscDfn.getLayerData(dbCtx, DeviceLayerKind.DRBD, rscNameSuffix);
+                        tcpPort = row.getInt("RD_" + TCP_PORT);
+                        secret = row.getString("RD_" + SECRET);
                     }
                     else
                     {
-                        rscDfn = null;
-                        snapDfn = snapDfnMapRef.get(new Pair<>(rscName, getSnapshotName(snapNameStr)));
-                        if (snapDfn == null)
-                        {
-                            throw new LinStorDBRuntimeException(
-                                "Loaded drbd snapshot definition data for non existent snapshot definition '" +
-                                    rscName + "', '" + snapNameStr + "'"
-                            );
-                        }
-                        drbdRscDfnDataLoaded = snapDfn.getLayerData(dbCtx, DeviceLayerKind.DRBD, rscNameSuffix);
+                        tcpPort = null;
+                        secret = null;
                     }
 
-                    if (drbdRscDfnDataLoaded == null)
+                    if (restoreAsResourceDefinition)
                     {
-                        short peerSlots = resultSet.getShort("RD_" + PEER_SLOTS);
-                        int alStripes = resultSet.getInt("RD_" + AL_STRIPES);
-                        long alStripeSize = resultSet.getLong("RD_" + AL_STRIPE_SIZE);
-                        TransportType transportType = TransportType.byValue(
-                            resultSet.getString("RD_" + TRANSPORT_TYPE)
+                        List<DrbdRscData<Resource>> rscDataList = new ArrayList<>();
+
+                        DrbdRscDfnData<Resource> drbdRscDfnData = new DrbdRscDfnData<>(
+                            rscDfn.getName(),
+                            null,
+                            rscNameSuffix,
+                            peerSlots,
+                            alStripes,
+                            alStripeSize,
+                            tcpPort,
+                            transportType,
+                            secret,
+                            rscDataList,
+                            new TreeMap<>(),
+                            tcpPortPool,
+                            this,
+                            transObjFactory,
+                            transMgrProvider
                         );
-                        Integer tcpPort;
-                        String secret;
-                        if (restoreAsResourceDefinition)
-                        {
-                            tcpPort = resultSet.getInt("RD_" + TCP_PORT);
-                            secret = resultSet.getString("RD_" + SECRET);
-                        }
-                        else
-                        {
-                            tcpPort = null;
-                            secret = null;
-                        }
+                        Pair<DrbdRscDfnData<Resource>, List<DrbdRscData<Resource>>> pair = new Pair<>(
+                            drbdRscDfnData,
+                            rscDataList
+                        );
+                        drbdRscDfnCache.put(new Pair<>(rscDfn, rscNameSuffix), pair);
 
-                        if (restoreAsResourceDefinition)
-                        {
-                            List<DrbdRscData<Resource>> rscDataList = new ArrayList<>();
-
-                            DrbdRscDfnData<Resource> drbdRscDfnData = new DrbdRscDfnData<>(
-                                rscDfn.getName(),
-                                null,
-                                rscNameSuffix,
-                                peerSlots,
-                                alStripes,
-                                alStripeSize,
-                                tcpPort,
-                                transportType,
-                                secret,
-                                rscDataList,
-                                new TreeMap<>(),
-                                tcpPortPool,
-                                this,
-                                transObjFactory,
-                                transMgrProvider
-                            );
-                            Pair<DrbdRscDfnData<Resource>, List<DrbdRscData<Resource>>> pair = new Pair<>(
-                                drbdRscDfnData,
-                                rscDataList
-                            );
-                            drbdRscDfnCache.put(new Pair<>(rscDfn, rscNameSuffix), pair);
+                        rscDfn.setLayerData(dbCtx, drbdRscDfnData);
+                    }
+                    else
+                    {
+                        List<DrbdRscData<Snapshot>> rscDataList = new ArrayList<>();
 
-                            rscDfn.setLayerData(dbCtx, drbdRscDfnData);
-                        }
-                        else
-                        {
-                            List<DrbdRscData<Snapshot>> rscDataList = new ArrayList<>();
-
-                            DrbdRscDfnData<Snapshot> drbdSnapDfnData = new DrbdRscDfnData<>(
-                                snapDfn.getResourceName(),
-                                snapDfn.getName(),
-                                rscNameSuffix,
-                                peerSlots,
-                                alStripes,
-                                alStripeSize,
-                                DrbdRscDfnData.SNAPSHOT_TCP_PORT,
-                                transportType,
-                                null,
-                                rscDataList,
-                                new TreeMap<>(),
-                                tcpPortPool,
-                                this,
-                                transObjFactory,
-                                transMgrProvider
-                            );
+                        DrbdRscDfnData<Snapshot> drbdSnapDfnData = new DrbdRscDfnData<>(
+                            snapDfn.getResourceName(),
+                            snapDfn.getName(),
+                            rscNameSuffix,
+                            peerSlots,
+                            alStripes,
+                            alStripeSize,
+                            DrbdRscDfnData.SNAPSHOT_TCP_PORT,
+                            transportType,
+                            null,
+                            rscDataList,
+                            new TreeMap<>(),
+                            tcpPortPool,
+                            this,
+                            transObjFactory,
+                            transMgrProvider
+                        );
 
-                            Pair<DrbdRscDfnData<Snapshot>, List<DrbdRscData<Snapshot>>> pair = new Pair<>(
-                                drbdSnapDfnData,
-                                rscDataList
-                            );
-                            drbdSnapDfnCache.put(new Pair<>(snapDfn, rscNameSuffix), pair);
+                        Pair<DrbdRscDfnData<Snapshot>, List<DrbdRscData<Snapshot>>> pair = new Pair<>(
+                            drbdSnapDfnData,
+                            rscDataList
+                        );
+                        drbdSnapDfnCache.put(new Pair<>(snapDfn, rscNameSuffix), pair);
 
-                            snapDfn.setLayerData(dbCtx, drbdSnapDfnData);
-                        }
+                        snapDfn.setLayerData(dbCtx, drbdSnapDfnData);
                     }
+                }
 
-                    // drbdRscDfnData is now restored. If "VD_" columns are not empty, restore the DrbdVlmDfnData
-                    Integer vlmNr = resultSet.getInt("VD_" + VLM_NR);
-                    if (!resultSet.wasNull())
+                // drbdRscDfnData is now restored. If "VD_" columns are not empty, restore the DrbdVlmDfnData
+                Integer vlmNr = row.getInt("VD_" + VLM_NR);
+                if (vlmNr != null)
+                {
+                    if (restoreAsResourceDefinition)
                     {
-                        if (restoreAsResourceDefinition)
+                        VolumeDefinition vlmDfn = rscDfn.getVolumeDfn(dbCtx, new VolumeNumber(vlmNr));
+                        if (vlmDfn == null)
                         {
-                            VolumeDefinition vlmDfn = rscDfn.getVolumeDfn(dbCtx, new VolumeNumber(vlmNr));
-                            if (vlmDfn == null)
-                            {
-                                throw new LinStorDBRuntimeException(
-                                    "Loaded drbd volume definition data for non existent volume definition '" +
-                                        rscName + "', vlmNr: " + vlmNr
-                                );
-                            }
-                            Integer minor = resultSet.getInt("VD_" + VLM_MINOR_NR);
-
-                            DrbdVlmDfnData<Resource> drbdVlmDfnData = new DrbdVlmDfnData<>(
-                                vlmDfn,
-                                rscDfn.getName(),
-                                null,
-                                rscNameSuffix,
-                                vlmDfn.getVolumeNumber(),
-                                minor,
-                                minorPool,
-                                vlmDfn.getResourceDefinition().<DrbdRscDfnData<Resource>> getLayerData(
-                                    dbCtx,
-                                    DeviceLayerKind.DRBD,
-                                    rscNameSuffix
-                                ),
-                                this,
-                                transMgrProvider
+                            throw new LinStorDBRuntimeException(
+                                "Loaded drbd volume definition data for non existent volume definition '" +
+                                    rscName + "', vlmNr: " + vlmNr
                             );
-                            drbdVlmDfnCache.put(new Pair<>(vlmDfn, rscNameSuffix), drbdVlmDfnData);
-
-                            vlmDfn.setLayerData(dbCtx, drbdVlmDfnData);
                         }
-                        else
-                        {
-                            SnapshotVolumeDefinition snapVlmDfn = snapDfn.getSnapshotVolumeDefinition(
+                        Integer minor = row.getInt("VD_" + VLM_MINOR_NR);
+
+                        DrbdVlmDfnData<Resource> drbdVlmDfnData = new DrbdVlmDfnData<>(
+                            vlmDfn,
+                            rscDfn.getName(),
+                            null,
+                            rscNameSuffix,
+                            vlmDfn.getVolumeNumber(),
+                            minor,
+                            minorPool,
+                            vlmDfn.getResourceDefinition().<DrbdRscDfnData<Resource>> getLayerData(
                                 dbCtx,
-                                new VolumeNumber(vlmNr)
-                            );
-                            if (snapVlmDfn == null)
-                            {
-                                throw new LinStorDBRuntimeException(
-                                    "Loaded drbd volume definition data for non existent volume definition '" +
-                                        rscName + "', vlmNr: " + vlmNr
-                                );
-                            }
-
-                            DrbdVlmDfnData<Snapshot> drbdSnapVlmDfnData = new DrbdVlmDfnData<>(
-                                snapVlmDfn.getVolumeDefinition(),
-                                snapDfn.getResourceName(),
-                                snapVlmDfn.getSnapshotName(),
-                                rscNameSuffix,
-                                snapVlmDfn.getVolumeNumber(),
-                                DrbdVlmDfnData.SNAPSHOT_MINOR,
-                                minorPool,
-                                snapVlmDfn.getSnapshotDefinition().<DrbdRscDfnData<Snapshot>>getLayerData(
-                                    dbCtx,
-                                    DeviceLayerKind.DRBD,
-                                    rscNameSuffix
-                                ),
-                                this,
-                                transMgrProvider
+                                DeviceLayerKind.DRBD,
+                                rscNameSuffix
+                            ),
+                            this,
+                            transMgrProvider
+                        );
+                        drbdVlmDfnCache.put(new Pair<>(vlmDfn, rscNameSuffix), drbdVlmDfnData);
+
+                        vlmDfn.setLayerData(dbCtx, drbdVlmDfnData);
+                    }
+                    else
+                    {
+                        SnapshotVolumeDefinition snapVlmDfn = snapDfn.getSnapshotVolumeDefinition(
+                            dbCtx,
+                            new VolumeNumber(vlmNr)
+                        );
+                        if (snapVlmDfn == null)
+                        {
+                            throw new LinStorDBRuntimeException(
+                                "Loaded drbd volume definition data for non existent volume definition '" +
+                                    rscName + "', vlmNr: " + vlmNr
                             );
+                        }
 
-                            drbdSnapVlmDfnCache.put(new Pair<>(snapVlmDfn, rscNameSuffix), drbdSnapVlmDfnData);
+                        DrbdVlmDfnData<Snapshot> drbdSnapVlmDfnData = new DrbdVlmDfnData<>(
+                            snapVlmDfn.getVolumeDefinition(),
+                            snapDfn.getResourceName(),
+                            snapVlmDfn.getSnapshotName(),
+                            rscNameSuffix,
+                            snapVlmDfn.getVolumeNumber(),
+                            DrbdVlmDfnData.SNAPSHOT_MINOR,
+                            minorPool,
+                            snapVlmDfn.getSnapshotDefinition().<DrbdRscDfnData<Snapshot>>getLayerData(
+                                dbCtx,
+                                DeviceLayerKind.DRBD,
+                                rscNameSuffix
+                            ),
+                            this,
+                            transMgrProvider
+                        );
 
-                            snapVlmDfn.setLayerData(dbCtx, drbdSnapVlmDfnData);
-                        }
+                        drbdSnapVlmDfnCache.put(new Pair<>(snapVlmDfn, rscNameSuffix), drbdSnapVlmDfnData);
+
+                        snapVlmDfn.setLayerData(dbCtx, drbdSnapVlmDfnData);
                     }
                 }
             }
         }
-        catch (SQLException sqlExc)
-        {
-            throw new DatabaseException(sqlExc);
-        }
         catch (AccessDeniedException accessDeniedExc)
         {
             DatabaseLoader.handleAccessDeniedException(accessDeniedExc);
@@ -516,26 +517,19 @@ public class DrbdLayerSQLDbDriver implements DrbdLayerCtrlDatabaseDriver
         }
     }
 
-    private ResourceName getResourceName(ResultSet resultSet, String columnName) throws DatabaseException
+    private ResourceName getResourceName(SQLRow row, String columnName)
     {
         ResourceName rscName;
+        final String rscNameStr = row.getString(columnName);
         try
         {
-            final String rscNameStr = resultSet.getString(columnName);
-            try
-            {
-                rscName = new ResourceName(rscNameStr);
-            }
-            catch (InvalidNameException exc)
-            {
-                throw new LinStorDBRuntimeException(
-                    "Failed to restore stored resourceName [" + rscNameStr + "]"
-                );
-            }
+            rscName = new ResourceName(rscNameStr);
         }
-        catch (SQLException sqlExc)
+        catch (InvalidNameException exc)
         {
-            throw new DatabaseException(sqlExc);
+            throw new LinStorDBRuntimeException(
+                "Failed to restore stored resourceName [" + rscNameStr + "]"
+            );
         }
 
         return rscName;
@@ -557,6 +551,85 @@ public class DrbdLayerSQLDbDriver implements DrbdLayerCtrlDatabaseDriver
         return snapName;
     }
 
+    /**
+     * Returns the rows of {@link #SELECT_ALL_RSC_DFN_AND_VLM_DFN}. If both tables were prefetched, the prefetched
+     * rows are joined the same way instead of executing the query.
+     */
+    List<SQLRow> selectAllRscDfnAndVlmDfn() throws DatabaseException
+    {
+        List<SQLRow> rows;
+        List<Map<String, Object>> rscDfnRows = sqlEngine.getPrefetched(
+            GeneratedDatabaseTables.LAYER_DRBD_RESOURCE_DEFINITIONS
+        );
+        List<Map<String, Object>> vlmDfnRows = sqlEngine.getPrefetched(
+            GeneratedDatabaseTables.LAYER_DRBD_VOLUME_DEFINITIONS
+        );
+        if (rscDfnRows == null || vlmDfnRows == null)
+        {
+            try (
+                PreparedStatement stmt = getConnection().prepareStatement(SELECT_ALL_RSC_DFN_AND_VLM_DFN);
+                ResultSet resultSet = stmt.executeQuery()
+            )
+            {
+                rows = SQLRow.readAll(resultSet);
+            }
+            catch (SQLException sqlExc)
+            {
+                throw new DatabaseException(sqlExc);
+            }
+        }
+        else
+        {
+            Map<List<Object>, List<Map<String, Object>>> vlmDfnRowsByRscDfn = new HashMap<>();
+            for (Map<String, Object> vlmDfnRow : vlmDfnRows)
+            {
+                vlmDfnRowsByRscDfn.computeIfAbsent(getRscDfnKey(vlmDfnRow), ignored -> new ArrayList<>())
+                    .add(vlmDfnRow);
+            }
+
+            rows = new ArrayList<>();
+            for (Map<String, Object> rscDfnRow : rscDfnRows)
+            {
+                List<Map<String, Object>> matchingVlmDfnRows = vlmDfnRowsByRscDfn.get(getRscDfnKey(rscDfnRow));
+                if (matchingVlmDfnRows == null)
+                {
+                    // LEFT OUTER JOIN
+                    rows.add(joinRows(rscDfnRow, null));
+                }
+                else
+                {
+                    for (Map<String, Object> vlmDfnRow : matchingVlmDfnRows)
+                    {
+                        rows.add(joinRows(rscDfnRow, vlmDfnRow));
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static List<Object> getRscDfnKey(Map<String, Object> row)
+    {
+        return Arrays.asList(row.get(RESOURCE_NAME), row.get(RESOURCE_NAME_SUFFIX), row.get(SNAPSHOT_NAME));
+    }
+
+    private static SQLRow joinRows(
+        Map<String, Object> rscDfnRow,
+        @Nullable Map<String, Object> vlmDfnRow
+    )
+    {
+        Map<String, Object> row = new HashMap<>();
+        for (String column : RSC_DFN_ALL_FIELDS)
+        {
+            row.put("RD_" + column, rscDfnRow.get(column));
+        }
+        for (String column : VLM_DFN_ALL_FIELDS)
+        {
+            row.put("VD_" + column, vlmDfnRow == null ? null : vlmDfnRow.get(column));
+        }
+        return new SQLRow(row);
+    }
+
     /**
      * Fully loads a {@link DrbdRscData} object, including the {@link DrbdRscDfnData}, {@link DrbdVlmData} and
      * {@link DrbdVlmDfnData}
@@ -582,114 +655,106 @@ public class DrbdLayerSQLDbDriver implements DrbdLayerCtrlDatabaseDriver
         try (PreparedStatement stmt = getConnection().prepareStatement(SELECT_RSC_BY_ID))
         {
             stmt.setInt(1, id);
-            try (ResultSet resultSet = stmt.executeQuery())
+            List<SQLRow> rows = sqlEngine.selectRows(
+                stmt,
+                GeneratedDatabaseTables.LAYER_DRBD_RESOURCES,
+                GeneratedDatabaseTables.LayerDrbdResources.LAYER_RESOURCE_ID,
+                id
+            );
+            if (!rows.isEmpty())
             {
-                if (resultSet.next())
+                SQLRow row = rows.get(0);
+                NodeId nodeId;
+                try
                 {
-                    NodeId nodeId;
-                    try
-                    {
-                        nodeId = new NodeId(resultSet.getInt(NODE_ID));
-                    }
-                    catch (ValueOutOfRangeException exc)
-                    {
-                        throw new LinStorDBRuntimeException(
-                            "Failed to restore stored nodeId [" + resultSet.getInt(NODE_ID) + "]"
-                        );
-                    }
-                    Short peerSlots = resultSet.getShort(PEER_SLOTS);
-                    if (resultSet.wasNull())
-                    {
-                        peerSlots = null;
-                    }
-                    Integer alStripes = resultSet.getInt(AL_STRIPES);
-                    if (resultSet.wasNull())
-                    {
-                        alStripes = null;
-                    }
-                    Long alStripeSize = resultSet.getLong(AL_STRIPE_SIZE);
-                    if (resultSet.wasNull())
-                    {
-                        alStripeSize = null;
-                    }
-                    long initFlags = resultSet.getLong(FLAGS);
-
-                    Set<AbsRscLayerObject<RSC>> children = new HashSet<>();
-                    Object childrenAfterTypeEreasure = children; // sorry for this hack
-
-                    if (absRsc instanceof Resource)
-                    {
-                        Resource rsc = (Resource) absRsc;
-
-                        Pair<DrbdRscDfnData<Resource>, List<DrbdRscData<Resource>>> drbdRscDfnDataPair = drbdRscDfnCache
-                            .get(new Pair<>(rsc.getDefinition(), rscSuffixRef));
-                        Map<VolumeNumber, DrbdVlmData<Resource>> vlmMap = new TreeMap<>();
-
-                        DrbdRscData<Resource> drbdRscData = new DrbdRscData<>(
-                            id,
-                            rsc,
-                            (AbsRscLayerObject<Resource>) absParent,
-                            drbdRscDfnDataPair.objA,
-                            (Set<AbsRscLayerObject<Resource>>) childrenAfterTypeEreasure,
-                            vlmMap,
-                            rscSuffixRef,
-                            nodeId,
-                            peerSlots,
-                            alStripes,
-                            alStripeSize,
-                            initFlags,
-                            this,
-                            transObjFactory,
-                            transMgrProvider
-                        );
-                        ret = new Pair<DrbdRscData<RSC>, Set<AbsRscLayerObject<RSC>>>(
-                            (DrbdRscData<RSC>) drbdRscData,
-                            children
-                        );
-                        drbdRscDfnDataPair.objB.add(drbdRscData);
-
-                        restoreDrbdVolumes(drbdRscData, vlmMap, storPoolMapRef);
-                    }
-                    else
-                    {
-                        Snapshot snap = (Snapshot) absRsc;
-                        Pair<DrbdRscDfnData<Snapshot>, List<DrbdRscData<Snapshot>>> drbdSnapDfnDataPair = drbdSnapDfnCache.get(
-                            new Pair<>(snap.getSnapshotDefinition(), rscSuffixRef)
-                        );
-
-                        Map<VolumeNumber, DrbdVlmData<Snapshot>> vlmMap = new TreeMap<>();
-                        DrbdRscData<Snapshot> drbdSnapData = new DrbdRscData<Snapshot>(
-                            id,
-                            snap,
-                            (AbsRscLayerObject<Snapshot>) absParent,
-                            drbdSnapDfnDataPair.objA,
-                            (Set<AbsRscLayerObject<Snapshot>>) childrenAfterTypeEreasure,
-                            vlmMap,
-                            rscSuffixRef,
-                            nodeId,
-                            peerSlots,
-                            alStripes,
-                            alStripeSize,
-                            initFlags,
-                            this,
-                            transObjFactory,
-                            transMgrProvider
-                        );
-                        ret = new Pair<DrbdRscData<RSC>, Set<AbsRscLayerObject<RSC>>>(
-                            (DrbdRscData<RSC>) drbdSnapData,
-                            children
-                        );
+                    nodeId = new NodeId(row.getInt(NODE_ID));
+                }
+                catch (ValueOutOfRangeException exc)
+                {
+                    throw new LinStorDBRuntimeException(
+                        "Failed to restore stored nodeId [" + row.getInt(NODE_ID) + "]"
+                    );
+                }
+                Short peerSlots = row.getShort(PEER_SLOTS);
+                Integer alStripes = row.getInt(AL_STRIPES);
+                Long alStripeSize = row.getLong(AL_STRIPE_SIZE);
+                long initFlags = row.getLong(FLAGS);
 
-                        drbdSnapDfnDataPair.objB.add(drbdSnapData);
+                Set<AbsRscLayerObject<RSC>> children = new HashSet<>();
+                Object childrenAfterTypeEreasure = children; // sorry for this hack
 
-                        restoreDrbdVolumes(drbdSnapData, vlmMap, storPoolMapRef);
-                    }
+                if (absRsc instanceof Resource)
+                {
+                    Resource rsc = (Resource) absRsc;
+
+                    Pair<DrbdRscDfnData<Resource>, List<DrbdRscData<Resource>>> drbdRscDfnDataPair = drbdRscDfnCache
+                        .get(new Pair<>(rsc.getDefinition(), rscSuffixRef));
+                    Map<VolumeNumber, DrbdVlmData<Resource>> vlmMap = new TreeMap<>();
+
+                    DrbdRscData<Resource> drbdRscData = new DrbdRscData<>(
+                        id,
+                        rsc,
+                        (AbsRscLayerObject<Resource>) absParent,
+                        drbdRscDfnDataPair.objA,
+                        (Set<AbsRscLayerObject<Resource>>) childrenAfterTypeEreasure,
+                        vlmMap,
+                        rscSuffixRef,
+                        nodeId,
+                        peerSlots,
+                        alStripes,
+                        alStripeSize,
+                        initFlags,
+                        this,
+                        transObjFactory,
+                        transMgrProvider
+                    );
+                    ret = new Pair<DrbdRscData<RSC>, Set<AbsRscLayerObject<RSC>>>(
+                        (DrbdRscData<RSC>) drbdRscData,
+                        children
+                    );
+                    drbdRscDfnDataPair.objB.add(drbdRscData);
+
+                    restoreDrbdVolumes(drbdRscData, vlmMap, storPoolMapRef);
                 }
                 else
                 {
-                    throw new ImplementationError("Requested id [" + id + "] was not found in the database");
+                    Snapshot snap = (Snapshot) absRsc;
+                    Pair<DrbdRscDfnData<Snapshot>, List<DrbdRscData<Snapshot>>> drbdSnapDfnDataPair = drbdSnapDfnCache.get(
+                        new Pair<>(snap.getSnapshotDefinition(), rscSuffixRef)
+                    );
+
+                    Map<VolumeNumber, DrbdVlmData<Snapshot>> vlmMap = new TreeMap<>();
+                    DrbdRscData<Snapshot> drbdSnapData = new DrbdRscData<Snapshot>(
+                        id,
+                        snap,
+                        (AbsRscLayerObject<Snapshot>) absParent,
+                        drbdSnapDfnDataPair.objA,
+                        (Set<AbsRscLayerObject<Snapshot>>) childrenAfterTypeEreasure,
+                        vlmMap,
+                        rscSuffixRef,
+                        nodeId,
+                        peerSlots,
+                        alStripes,
+                        alStripeSize,
+                        initFlags,
+                        this,
+                        transObjFactory,
+                        transMgrProvider
+                    );
+                    ret = new Pair<DrbdRscData<RSC>, Set<AbsRscLayerObject<RSC>>>(
+                        (DrbdRscData<RSC>) drbdSnapData,
+                        children
+                    );
+
+                    drbdSnapDfnDataPair.objB.add(drbdSnapData);
+
+                    restoreDrbdVolumes(drbdSnapData, vlmMap, storPoolMapRef);
                 }
             }
+            else
+            {
+                throw new ImplementationError("Requested id [" + id + "] was not found in the database");
+            }
         }
         catch (SQLException sqlExc)
         {
@@ -713,12 +778,19 @@ public class DrbdLayerSQLDbDriver implements DrbdLayerCtrlDatabaseDriver
             stmt.setInt(1, rscData.getRscLayerId());
 
             int vlmNrInt = -1;
-            try (ResultSet resultSet = stmt.executeQuery())
+            try
             {
-                while (resultSet.next())
+                for (
+                    SQLRow row : sqlEngine.selectRows(
+                        stmt,
+                        GeneratedDatabaseTables.LAYER_DRBD_VOLUMES,
+                        GeneratedDatabaseTables.LayerDrbdVolumes.LAYER_RESOURCE_ID,
+                        rscData.getRscLayerId()
+                    )
+                )
                 {
-                    vlmNrInt = resultSet.getInt(VLM_NR);
-                    String extMetaStorPoolNameStr = resultSet.getString(POOL_NAME);
+                    vlmNrInt = row.getInt(VLM_NR);
+                    String extMetaStorPoolNameStr = row.getString(POOL_NAME);
 
                     VolumeNumber vlmNr = new VolumeNumber(vlmNrInt);
 
@@ -1099,9 +1171,11 @@ public class DrbdLayerSQLDbDriver implements DrbdLayerCtrlDatabaseDriver
         return rscDfnPeerSlotsDriver;
     }
 
-    private Connection getConnection()
+    private Connection getConnection() throws DatabaseException
     {
-        return transMgrProvider.get().getConnection();
+        TransactionMgrSQL transMgr = transMgrProvider.get();
+        transMgr.flushWrites();
+        return transMgr.getConnection();
     }
 
     private String getId(DrbdVlmData<?> drbdVlmData)
@@ -5,9 +5,12 @@ import com.linbit.linstor.LinStorDBRuntimeException;
 import com.linbit.linstor.annotation.SystemContext;
 import com.linbit.linstor.core.identifier.VolumeNumber;
 import com.linbit.linstor.dbdrivers.DatabaseException;
+import com.linbit.linstor.dbdrivers.GeneratedDatabaseTables;
 import com.linbit.linstor.dbdrivers.interfaces.LuksLayerCtrlDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.ResourceLayerIdDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.updater.SingleColumnDatabaseDriver;
+import com.linbit.linstor.dbdrivers.sql.SQLEngine;
+import com.linbit.linstor.dbdrivers.sql.SQLRow;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.storage.data.adapter.luks.LuksRscData;
@@ -27,7 +30,6 @@ import javax.inject.Provider;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashSet;
 import java.util.Map;
@@ -67,6 +69,7 @@ public class LuksLayerSQLDbDriver implements LuksLayerCtrlDatabaseDriver
 
     private final TransactionObjectFactory transObjFactory;
     private final Provider<TransactionMgrSQL> transMgrProvider;
+    private final SQLEngine sqlEngine;
 
     private final VlmPwDriver vlmPwDriver;
 
@@ -76,7 +79,8 @@ public class LuksLayerSQLDbDriver implements LuksLayerCtrlDatabaseDriver
         ErrorReporter errorReporterRef,
         ResourceLayerIdDatabaseDriver idDriverRef,
         TransactionObjectFactory transObjFactoryRef,
-        Provider<TransactionMgrSQL> transMgrProviderRef
+        Provider<TransactionMgrSQL> transMgrProviderRef,
+        SQLEngine sqlEngineRef
     )
     {
         dbCtx = accCtx;
@@ -84,6 +88,7 @@ public class LuksLayerSQLDbDriver implements LuksLayerCtrlDatabaseDriver
         idDriver = idDriverRef;
         transObjFactory = transObjFactoryRef;
         transMgrProvider = transMgrProviderRef;
+        sqlEngine = sqlEngineRef;
 
         vlmPwDriver = new VlmPwDriver();
     }
@@ -118,33 +123,37 @@ public class LuksLayerSQLDbDriver implements LuksLayerCtrlDatabaseDriver
         try (PreparedStatement stmt = getConnection().prepareStatement(SELECT_ALL_VLMS_BY_RSC_ID))
         {
             stmt.setInt(1, id);
-            try (ResultSet resultSet = stmt.executeQuery())
+            for (
+                SQLRow row : sqlEngine.selectRows(
+                    stmt,
+                    GeneratedDatabaseTables.LAYER_LUKS_VOLUMES,
+                    GeneratedDatabaseTables.LayerLuksVolumes.LAYER_RESOURCE_ID,
+                    id
+                )
+            )
             {
-                while (resultSet.next())
+                VolumeNumber vlmNr;
+                try
                 {
-                    VolumeNumber vlmNr;
-                    try
-                    {
-                        vlmNr = new VolumeNumber(resultSet.getInt(VLM_NR));
-                    }
-                    catch (ValueOutOfRangeException exc)
-                    {
-                        throw new LinStorDBRuntimeException(
-                            "Failed to restore stored volume number " + resultSet.getInt(2)
-                        );
-                    }
-                    vlmDataMap.put(
-                        vlmNr,
-                        new LuksVlmData<>(
-                            absRsc.getVolume(vlmNr),
-                            rscData,
-                            resultSet.getBytes(ENCRYPTED_PASSWORD),
-                            this,
-                            transObjFactory,
-                            transMgrProvider
-                        )
+                    vlmNr = new VolumeNumber(row.getInt(VLM_NR));
+                }
+                catch (ValueOutOfRangeException exc)
+                {
+                    throw new LinStorDBRuntimeException(
+                        "Failed to restore stored volume number " + row.getInt(VLM_NR)
                     );
                 }
+                vlmDataMap.put(
+                    vlmNr,
+                    new LuksVlmData<>(
+                        absRsc.getVolume(vlmNr),
+                        rscData,
+                        row.getBytes(ENCRYPTED_PASSWORD),
+                        this,
+                        transObjFactory,
+                        transMgrProvider
+                    )
+                );
             }
         }
         catch (SQLException sqlExc)
@@ -219,9 +228,11 @@ public class LuksLayerSQLDbDriver implements LuksLayerCtrlDatabaseDriver
         return idDriver;
     }
 
-    private Connection getConnection()
+    private Connection getConnection() throws DatabaseException
     {
-        return transMgrProvider.get().getConnection();
+        TransactionMgrSQL transMgr = transMgrProvider.get();
+        transMgr.flushWrites();
+        return transMgr.getConnection();
     }
 
     private String getId(LuksVlmData<?> luksVlmDataRef)
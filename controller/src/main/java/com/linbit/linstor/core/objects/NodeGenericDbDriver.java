@@ -257,9 +257,11 @@ public class NodeGenericDbDriver implements NodeDatabaseDriver
         errorReporter.logTrace("Node deleted %s", getId(node));
     }
 
-    private Connection getConnection()
+    private Connection getConnection() throws DatabaseException
     {
-        return transMgrProvider.get().getConnection();
+        TransactionMgrSQL transMgr = transMgrProvider.get();
+        transMgr.flushWrites();
+        return transMgr.getConnection();
     }
 
     @Override
@@ -125,9 +125,11 @@ public class NvmeLayerSQLDbDriver implements NvmeLayerCtrlDatabaseDriver
         return idDriver;
     }
 
-    private Connection getConnection()
+    private Connection getConnection() throws DatabaseException
     {
-        return transMgrProvider.get().getConnection();
+        TransactionMgrSQL transMgr = transMgrProvider.get();
+        transMgr.flushWrites();
+        return transMgr.getConnection();
     }
 
     private String getId(NvmeRscData<?> nvmeRscData)
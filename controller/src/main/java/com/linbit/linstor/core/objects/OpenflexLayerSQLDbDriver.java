@@ -11,9 +11,12 @@ import com.linbit.linstor.core.identifier.VolumeNumber;
 import com.linbit.linstor.core.objects.StorPool.InitMaps;
 import com.linbit.linstor.dbdrivers.DatabaseException;
 import com.linbit.linstor.dbdrivers.DatabaseLoader;
+import com.linbit.linstor.dbdrivers.GeneratedDatabaseTables;
 import com.linbit.linstor.dbdrivers.interfaces.OpenflexLayerCtrlDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.ResourceLayerIdDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.updater.SingleColumnDatabaseDriver;
+import com.linbit.linstor.dbdrivers.sql.SQLEngine;
+import com.linbit.linstor.dbdrivers.sql.SQLRow;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
@@ -47,7 +50,6 @@ import javax.inject.Singleton;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
@@ -115,6 +117,7 @@ public class OpenflexLayerSQLDbDriver implements OpenflexLayerCtrlDatabaseDriver
 
     private final TransactionObjectFactory transObjFactory;
     private final Provider<TransactionMgrSQL> transMgrProvider;
+    private final SQLEngine sqlEngine;
     private final NameShortener nameShortener;
 
     private final NqnDriver nqnDriver;
@@ -131,6 +134,7 @@ public class OpenflexLayerSQLDbDriver implements OpenflexLayerCtrlDatabaseDriver
         ResourceLayerIdDatabaseDriver idDriverRef,
         TransactionObjectFactory transObjFactoryRef,
         Provider<TransactionMgrSQL> transMgrProviderRef,
+        SQLEngine sqlEngineRef,
         @Named(NameShortener.OPENFLEX) NameShortener nameShortenerRef
     )
     {
@@ -139,6 +143,7 @@ public class OpenflexLayerSQLDbDriver implements OpenflexLayerCtrlDatabaseDriver
         idDriver = idDriverRef;
         transObjFactory = transObjFactoryRef;
         transMgrProvider = transMgrProviderRef;
+        sqlEngine = sqlEngineRef;
         nameShortener = nameShortenerRef;
 
         nqnDriver = new NqnDriver();
@@ -180,15 +185,17 @@ public class OpenflexLayerSQLDbDriver implements OpenflexLayerCtrlDatabaseDriver
     private void fetchOfRscDfns(Map<ResourceName, ResourceDefinition> rscDfnMap) throws DatabaseException
     {
         cacheRscDfnDataMap = new HashMap<>();
-        try (
-            PreparedStatement loadAllOfRscDfnStmt = getConnection().prepareStatement(SELECT_ALL_RSC_DFN);
-            ResultSet resultSet = loadAllOfRscDfnStmt.executeQuery();
-        )
+        try (PreparedStatement loadAllOfRscDfnStmt = getConnection().prepareStatement(SELECT_ALL_RSC_DFN))
         {
-            while (resultSet.next())
+            for (
+                SQLRow row : sqlEngine.selectRows(
+                    loadAllOfRscDfnStmt,
+                    GeneratedDatabaseTables.LAYER_OPENFLEX_RESOURCE_DEFINITIONS
+                )
+            )
             {
-                String rscNameStr = resultSet.getString(RESOURCE_NAME);
-                String rscNameSuffix = resultSet.getString(RESOURCE_NAME_SUFFIX);
+                String rscNameStr = row.getString(RESOURCE_NAME);
+                String rscNameSuffix = row.getString(RESOURCE_NAME_SUFFIX);
 
                 ResourceName rscName = new ResourceName(rscNameStr);
 
@@ -201,7 +208,7 @@ public class OpenflexLayerSQLDbDriver implements OpenflexLayerCtrlDatabaseDriver
 
                 if (ofRscDfnData == null)
                 {
-                    String nqn = resultSet.getString(NQN);
+                    String nqn = row.getString(NQN);
 
                     ArrayList<OpenflexRscData<Resource>> rscDataList = new ArrayList<>();
 
@@ -246,15 +253,12 @@ public class OpenflexLayerSQLDbDriver implements OpenflexLayerCtrlDatabaseDriver
     private void fetchOfVlms(Map<Pair<NodeName, StorPoolName>, Pair<StorPool, InitMaps>> tmpStorPoolMapRef) throws DatabaseException
     {
         cachedVlmInfoMap = new HashMap<>();
-        try (
-            PreparedStatement loadAllVlms = getConnection().prepareStatement(SELECT_ALL_VLMS);
-            ResultSet resultSet = loadAllVlms.executeQuery();
-        )
+        try (PreparedStatement loadAllVlms = getConnection().prepareStatement(SELECT_ALL_VLMS))
         {
-            while (resultSet.next())
+            for (SQLRow row : sqlEngine.selectRows(loadAllVlms, GeneratedDatabaseTables.LAYER_OPENFLEX_VOLUMES))
             {
-                int rscLayerId = resultSet.getInt(LAYER_RESOURCE_ID);
-                int vlmNr = resultSet.getInt(VLM_NR);
+                int rscLayerId = row.getInt(LAYER_RESOURCE_ID);
+                int vlmNr = row.getInt(VLM_NR);
 
                 List<OpenflexVlmInfo> infoList = cachedVlmInfoMap.get(rscLayerId);
                 if (infoList == null)
@@ -263,8 +267,8 @@ public class OpenflexLayerSQLDbDriver implements OpenflexLayerCtrlDatabaseDriver
                     cachedVlmInfoMap.put(rscLayerId, infoList);
                 }
 
-                NodeName nodeName = new NodeName(resultSet.getString(NODE_NAME));
-                StorPoolName storPoolName = new StorPoolName(resultSet.getString(POOL_NAME));
+                NodeName nodeName = new NodeName(row.getString(NODE_NAME));
+                StorPoolName storPoolName = new StorPoolName(row.getString(POOL_NAME));
 
                 Pair<StorPool, StorPool.InitMaps> storPoolWithInitMap = tmpStorPoolMapRef.get(
                     new Pair<>(nodeName, storPoolName)
@@ -446,9 +450,11 @@ public class OpenflexLayerSQLDbDriver implements OpenflexLayerCtrlDatabaseDriver
         }
     }
 
-    private Connection getConnection()
+    private Connection getConnection() throws DatabaseException
     {
-        return transMgrProvider.get().getConnection();
+        TransactionMgrSQL transMgr = transMgrProvider.get();
+        transMgr.flushWrites();
+        return transMgr.getConnection();
     }
 
     private String getId(OpenflexRscDfnData<?> openflexRscDfnData)
@@ -6,8 +6,11 @@ import com.linbit.linstor.core.identifier.NodeName;
 import com.linbit.linstor.core.identifier.ResourceName;
 import com.linbit.linstor.core.identifier.SnapshotName;
 import com.linbit.linstor.dbdrivers.DatabaseException;
+import com.linbit.linstor.dbdrivers.GeneratedDatabaseTables;
 import com.linbit.linstor.dbdrivers.interfaces.ResourceLayerIdCtrlDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.updater.SingleColumnDatabaseDriver;
+import com.linbit.linstor.dbdrivers.sql.SQLEngine;
+import com.linbit.linstor.dbdrivers.sql.SQLRow;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.storage.AbsRscData;
 import com.linbit.linstor.storage.interfaces.categories.resource.AbsRscLayerObject;
@@ -31,7 +34,6 @@ import javax.inject.Singleton;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
@@ -72,6 +74,7 @@ public class ResourceLayerIdSQLDbDriver implements ResourceLayerIdCtrlDatabaseDr
 
     private final ErrorReporter errorReporter;
     private final Provider<TransactionMgrSQL> transMgrProvider;
+    private final SQLEngine sqlEngine;
 
     private final SingleColumnDatabaseDriver<AbsRscData<?, VlmProviderObject<?>>, AbsRscLayerObject<?>> parentDriver;
     private final SingleColumnDatabaseDriver<AbsRscData<?, VlmProviderObject<?>>, Boolean> suspendDriver;
@@ -79,11 +82,13 @@ public class ResourceLayerIdSQLDbDriver implements ResourceLayerIdCtrlDatabaseDr
     @Inject
     public ResourceLayerIdSQLDbDriver(
         ErrorReporter errorReporterRef,
-        Provider<TransactionMgrSQL> transMgrProviderRef
+        Provider<TransactionMgrSQL> transMgrProviderRef,
+        SQLEngine sqlEngineRef
     )
     {
         errorReporter = errorReporterRef;
         transMgrProvider = transMgrProviderRef;
+        sqlEngine = sqlEngineRef;
         parentDriver = new ParentDriver();
         suspendDriver = new SuspendDriver();
     }
@@ -95,40 +100,33 @@ public class ResourceLayerIdSQLDbDriver implements ResourceLayerIdCtrlDatabaseDr
 
         try (PreparedStatement stmt = getConnection().prepareStatement(SELECT_ALL))
         {
-            try (ResultSet resultSet = stmt.executeQuery())
+            for (SQLRow row : sqlEngine.selectRows(stmt, GeneratedDatabaseTables.LAYER_RESOURCE_IDS))
             {
-                while (resultSet.next())
+                Integer parentId = row.getInt(LAYER_RESOURCE_PARENT_ID);
+
+                String snapNameStr = row.getString(SNAPSHOT_NAME);
+
+                SnapshotName snapshotName;
+                if (snapNameStr == null || snapNameStr.isEmpty())
+                {
+                    snapshotName = null;
+                }
+                else
                 {
-                    Integer parentId = resultSet.getInt(LAYER_RESOURCE_PARENT_ID);
-                    if (resultSet.wasNull())
-                    {
-                        parentId = null;
-                    }
-
-                    String snapNameStr = resultSet.getString(SNAPSHOT_NAME);
-
-                    SnapshotName snapshotName;
-                    if (snapNameStr == null || snapNameStr.isEmpty())
-                    {
-                        snapshotName = null;
-                    }
-                    else
-                    {
-                        snapshotName = new SnapshotName(snapNameStr);
-                    }
-                    RscLayerInfo rscInfoData = new RscLayerInfo(
-                        new NodeName(resultSet.getString(NODE_NAME)),
-                        new ResourceName(resultSet.getString(RESOURCE_NAME)),
-                        snapshotName,
-                        resultSet.getInt(LAYER_RESOURCE_ID),
-                        parentId,
-                        DeviceLayerKind.valueOf(resultSet.getString(LAYER_RESOURCE_KIND)),
-                        resultSet.getString(LAYER_RESOURCE_SUFFIX),
-                        resultSet.getBoolean(LAYER_RESOURCE_SUSPENDED)
-                    );
-
-                    ret.add(rscInfoData);
+                    snapshotName = new SnapshotName(snapNameStr);
                 }
+                RscLayerInfo rscInfoData = new RscLayerInfo(
+                    new NodeName(row.getString(NODE_NAME)),
+                    new ResourceName(row.getString(RESOURCE_NAME)),
+                    snapshotName,
+                    row.getInt(LAYER_RESOURCE_ID),
+                    parentId,
+                    DeviceLayerKind.valueOf(row.getString(LAYER_RESOURCE_KIND)),
+                    row.getString(LAYER_RESOURCE_SUFFIX),
+                    row.getBoolean(LAYER_RESOURCE_SUSPENDED)
+                );
+
+                ret.add(rscInfoData);
             }
         }
         catch (SQLException sqlExc)
@@ -223,9 +221,11 @@ public class ResourceLayerIdSQLDbDriver implements ResourceLayerIdCtrlDatabaseDr
         return (SingleColumnDatabaseDriver<AbsRscData<RSC, VLM_TYPE>, Boolean>) ((Object) suspendDriver);
     }
 
-    private Connection getConnection()
+    private Connection getConnection() throws DatabaseException
     {
-        return transMgrProvider.get().getConnection();
+        TransactionMgrSQL transMgr = transMgrProvider.get();
+        transMgr.flushWrites();
+        return transMgr.getConnection();
     }
 
     private String getId(AbsRscLayerObject<?> rscData)
@@ -13,9 +13,12 @@ import com.linbit.linstor.core.identifier.SnapshotName;
 import com.linbit.linstor.core.identifier.StorPoolName;
 import com.linbit.linstor.core.identifier.VolumeNumber;
 import com.linbit.linstor.dbdrivers.DatabaseException;
+import com.linbit.linstor.dbdrivers.GeneratedDatabaseTables;
 import com.linbit.linstor.dbdrivers.interfaces.ResourceLayerIdDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.StorageLayerCtrlDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.updater.SingleColumnDatabaseDriver;
+import com.linbit.linstor.dbdrivers.sql.SQLEngine;
+import com.linbit.linstor.dbdrivers.sql.SQLRow;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
@@ -47,7 +50,6 @@ import javax.inject.Singleton;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -94,6 +96,7 @@ public class StorageLayerSQLDbDriver implements StorageLayerCtrlDatabaseDriver
     private final ResourceLayerIdDatabaseDriver rscIdDriver;
     private final TransactionObjectFactory transObjFactory;
     private final Provider<TransactionMgrSQL> transMgrProvider;
+    private final SQLEngine sqlEngine;
 
     private final SingleColumnDatabaseDriver<VlmProviderObject<?>, StorPool> storPoolDriver;
 
@@ -105,7 +108,8 @@ public class StorageLayerSQLDbDriver implements StorageLayerCtrlDatabaseDriver
         @SystemContext AccessContext accCtx,
         ResourceLayerIdDatabaseDriver rscIdDriverRef,
         TransactionObjectFactory transObjFactoryRef,
-        Provider<TransactionMgrSQL> transMgrProviderRef
+        Provider<TransactionMgrSQL> transMgrProviderRef,
+        SQLEngine sqlEngineRef
     )
     {
         errorReporter = errorReporterRef;
@@ -113,6 +117,7 @@ public class StorageLayerSQLDbDriver implements StorageLayerCtrlDatabaseDriver
         rscIdDriver = rscIdDriverRef;
         transObjFactory = transObjFactoryRef;
         transMgrProvider = transMgrProviderRef;
+        sqlEngine = sqlEngineRef;
 
         storPoolDriver = new StorPoolDriver();
     }
@@ -140,27 +145,27 @@ public class StorageLayerSQLDbDriver implements StorageLayerCtrlDatabaseDriver
         try (PreparedStatement stmt = getConnection().prepareStatement(SELECT_ALL_STOR_VLMS))
         {
             int rscLayerId = -1;
-            try (ResultSet resultSet = stmt.executeQuery())
+            try
             {
-                while (resultSet.next())
+                for (SQLRow row : sqlEngine.selectRows(stmt, GeneratedDatabaseTables.LAYER_STORAGE_VOLUMES))
                 {
-                    rscLayerId = resultSet.getInt(LAYER_RESOURCE_ID);
+                    rscLayerId = row.getInt(LAYER_RESOURCE_ID);
                     List<StorVlmInfoData> infoList = cachedStorVlmInfoByRscLayerId.get(rscLayerId);
                     if (infoList == null)
                     {
                         infoList = new ArrayList<>();
                         cachedStorVlmInfoByRscLayerId.put(rscLayerId, infoList);
                     }
-                    NodeName nodeName = new NodeName(resultSet.getString(NODE_NAME));
-                    StorPoolName storPoolName = new StorPoolName(resultSet.getString(STOR_POOL_NAME));
+                    NodeName nodeName = new NodeName(row.getString(NODE_NAME));
+                    StorPoolName storPoolName = new StorPoolName(row.getString(STOR_POOL_NAME));
                     Pair<StorPool, StorPool.InitMaps> storPoolWithInitMap = tmpStorPoolMapRef.get(
                         new Pair<>(nodeName, storPoolName)
                     );
                     infoList.add(
                         new StorVlmInfoData(
                             rscLayerId,
-                            resultSet.getInt(VLM_NR),
-                            LinstorParsingUtils.asProviderKind(resultSet.getString(PROVIDER_KIND)),
+                            row.getInt(VLM_NR),
+                            LinstorParsingUtils.asProviderKind(row.getString(PROVIDER_KIND)),
                             storPoolWithInitMap.objA,
                             storPoolWithInitMap.objB
                         )
@@ -431,9 +436,11 @@ public class StorageLayerSQLDbDriver implements StorageLayerCtrlDatabaseDriver
         return storPoolDriver;
     }
 
-    private Connection getConnection()
+    private Connection getConnection() throws DatabaseException
     {
-        return transMgrProvider.get().getConnection();
+        TransactionMgrSQL transMgr = transMgrProvider.get();
+        transMgr.flushWrites();
+        return transMgr.getConnection();
     }
 
     private String getId(VlmProviderObject<?> vlmData)
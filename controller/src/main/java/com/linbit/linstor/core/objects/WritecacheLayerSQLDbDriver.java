@@ -8,8 +8,11 @@ import com.linbit.linstor.core.identifier.NodeName;
 import com.linbit.linstor.core.identifier.StorPoolName;
 import com.linbit.linstor.core.identifier.VolumeNumber;
 import com.linbit.linstor.dbdrivers.DatabaseException;
+import com.linbit.linstor.dbdrivers.GeneratedDatabaseTables;
 import com.linbit.linstor.dbdrivers.interfaces.ResourceLayerIdDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.WritecacheLayerCtrlDatabaseDriver;
+import com.linbit.linstor.dbdrivers.sql.SQLEngine;
+import com.linbit.linstor.dbdrivers.sql.SQLRow;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.storage.data.adapter.nvme.NvmeRscData;
@@ -34,7 +37,6 @@ import javax.inject.Singleton;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashSet;
 import java.util.Map;
@@ -51,6 +53,7 @@ public class WritecacheLayerSQLDbDriver implements WritecacheLayerCtrlDatabaseDr
 
     private final TransactionObjectFactory transObjFactory;
     private final Provider<TransactionMgrSQL> transMgrProvider;
+    private final SQLEngine sqlEngine;
 
     private static final String[] VLM_ALL_FIELDS =
     {
@@ -80,7 +83,8 @@ public class WritecacheLayerSQLDbDriver implements WritecacheLayerCtrlDatabaseDr
         ErrorReporter errorReporterRef,
         ResourceLayerIdDatabaseDriver idDriverRef,
         TransactionObjectFactory transObjFactoryRef,
-        Provider<TransactionMgrSQL> transMgrProviderRef
+        Provider<TransactionMgrSQL> transMgrProviderRef,
+        SQLEngine sqlEngineRef
     )
     {
         dbCtx = accCtx;
@@ -88,6 +92,7 @@ public class WritecacheLayerSQLDbDriver implements WritecacheLayerCtrlDatabaseDr
         idDriver = idDriverRef;
         transObjFactory = transObjFactoryRef;
         transMgrProvider = transMgrProviderRef;
+        sqlEngine = sqlEngineRef;
     }
 
     /**
@@ -131,12 +136,19 @@ public class WritecacheLayerSQLDbDriver implements WritecacheLayerCtrlDatabaseDr
             stmt.setInt(1, id);
 
             int vlmNrInt = -1;
-            try (ResultSet resultSet = stmt.executeQuery())
+            try
             {
-                while (resultSet.next())
+                for (
+                    SQLRow row : sqlEngine.selectRows(
+                        stmt,
+                        GeneratedDatabaseTables.LAYER_WRITECACHE_VOLUMES,
+                        GeneratedDatabaseTables.LayerWritecacheVolumes.LAYER_RESOURCE_ID,
+                        id
+                    )
+                )
                 {
-                    vlmNrInt = resultSet.getInt(VLM_NR);
-                    String cacheStorPoolNameStr = resultSet.getString(POOL_NAME);
+                    vlmNrInt = row.getInt(VLM_NR);
+                    String cacheStorPoolNameStr = row.getString(POOL_NAME);
 
                     VolumeNumber vlmNr;
                     vlmNr = new VolumeNumber(vlmNrInt);
@@ -244,9 +256,11 @@ public class WritecacheLayerSQLDbDriver implements WritecacheLayerCtrlDatabaseDr
         return idDriver;
     }
 
-    private Connection getConnection()
+    private Connection getConnection() throws DatabaseException
     {
-        return transMgrProvider.get().getConnection();
+        TransactionMgrSQL transMgr = transMgrProvider.get();
+        transMgr.flushWrites();
+        return transMgr.getConnection();
     }
 
     private String getId(WritecacheRscData<?> writecacheRscData)
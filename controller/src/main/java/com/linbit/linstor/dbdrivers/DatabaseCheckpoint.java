@@ -0,0 +1,538 @@
+package com.linbit.linstor.dbdrivers;
+
+import com.linbit.linstor.api.LinStorScope;
+import com.linbit.linstor.core.LinStor;
+import com.linbit.linstor.core.cfg.CtrlConfig;
+import com.linbit.linstor.dbdrivers.DatabaseDriverInfo.DatabaseType;
+import com.linbit.linstor.dbdrivers.DatabaseTable.Column;
+import com.linbit.linstor.dbdrivers.GeneratedDatabaseTables.PropsContainers;
+import com.linbit.linstor.dbdrivers.interfaces.PropsConDatabaseDriver;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.transaction.TransactionException;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgrGenerator;
+import com.linbit.linstor.transaction.manager.TransactionMgrUtil;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Optional local copy of the tables read by the {@link DatabaseLoader}, written when the controller shuts down.
+ * On the next start, the rows are taken from the checkpoint file instead of the database.
+ *
+ * Together with the file, a random revision is stored in the database. Every start removes the revision in its
+ * initial transaction and only a controlled shutdown stores a new one, so commits do not have to touch it. The
+ * checkpoint is therefore only used if no controller modified the database since it was written; after a crash or
+ * if another controller used the same database in the meantime, the tables are read from the database. Changes
+ * made by other tools while the controller is stopped are not detected.
+ */
+@Singleton
+public class DatabaseCheckpoint
+{
+    private static final int MAGIC = 0x4C534350; // "LSCP"
+    private static final int FORMAT_VERSION = 2;
+
+    static final String REVISION_INSTANCE = "/DBCHECKPOINT";
+    static final String REVISION_KEY = "Revision";
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_SHORT = 4;
+    private static final byte TYPE_BOOLEAN = 5;
+    private static final byte TYPE_BYTES = 6;
+    private static final byte TYPE_TIMESTAMP = 7;
+    private static final byte TYPE_DECIMAL = 8;
+
+    static final List<DatabaseTable> CHECKPOINT_TABLES;
+
+    static
+    {
+        List<DatabaseTable> tables = new ArrayList<>(DatabaseLoader.PREFETCHED_TABLES);
+        tables.addAll(DatabaseLoader.PREFETCHED_LAYER_TABLES);
+        tables.add(GeneratedDatabaseTables.PROPS_CONTAINERS);
+        CHECKPOINT_TABLES = Collections.unmodifiableList(tables);
+    }
+
+    private final ErrorReporter errorReporter;
+    private final DbEngine dbEngine;
+    private final PropsConDatabaseDriver propsDriver;
+    private final LinStorScope scope;
+    private final TransactionMgrGenerator transMgrGenerator;
+    private final @Nullable Path checkpointFile;
+    private final String dbConnectionUrl;
+
+    @Inject
+    public DatabaseCheckpoint(
+        ErrorReporter errorReporterRef,
+        DbEngine dbEngineRef,
+        PropsConDatabaseDriver propsDriverRef,
+        CtrlConfig ctrlCfgRef,
+        LinStorScope scopeRef,
+        TransactionMgrGenerator transMgrGeneratorRef
+    )
+    {
+        errorReporter = errorReporterRef;
+        dbEngine = dbEngineRef;
+        propsDriver = propsDriverRef;
+        scope = scopeRef;
+        transMgrGenerator = transMgrGeneratorRef;
+
+        String checkpointFileStr = ctrlCfgRef.getDbCheckpointFile();
+        checkpointFile = checkpointFileStr == null ? null : Paths.get(checkpointFileStr);
+        dbConnectionUrl = ctrlCfgRef.getDbConnectionUrl();
+    }
+
+    public boolean isEnabled()
+    {
+        return checkpointFile != null && dbEngine.getType() == DatabaseType.SQL;
+    }
+
+    /**
+     * Removes the revision from the database and, if it matches the one of the checkpoint file, hands the rows of
+     * the checkpoint to the {@link DbEngine} and the {@link PropsConDatabaseDriver}. The checkpoint file is deleted
+     * afterwards, as it is outdated as soon as the current transaction is committed.
+     *
+     * Has to be called in the transaction of the initial load, before {@link DatabaseLoader#loadAll()}.
+     */
+    public void restore() throws DatabaseException
+    {
+        if (dbEngine.getType() == DatabaseType.SQL)
+        {
+            // the revision has to be removed even if the checkpoint is disabled, otherwise an old checkpoint
+            // would become valid again once it is enabled
+            String revision = propsDriver.loadAll(REVISION_INSTANCE).get(REVISION_KEY);
+            if (revision != null)
+            {
+                propsDriver.removeAll(REVISION_INSTANCE);
+            }
+
+            if (isEnabled() && Files.exists(checkpointFile))
+            {
+                try
+                {
+                    Checkpoint checkpoint = readFile(checkpointFile);
+                    if (
+                        checkpoint.revision.equals(revision) &&
+                        checkpoint.buildId.equals(getBuildId()) &&
+                        checkpoint.dbConnectionUrl.equals(dbConnectionUrl) &&
+                        apply(checkpoint.tables)
+                    )
+                    {
+                        errorReporter.logInfo("Loading the database tables from the checkpoint %s", checkpointFile);
+                    }
+                    else
+                    {
+                        errorReporter.logInfo("Ignoring the outdated database checkpoint %s", checkpointFile);
+                    }
+                }
+                catch (IOException ioExc)
+                {
+                    errorReporter.logWarning(
+                        "Ignoring the database checkpoint %s: %s",
+                        checkpointFile,
+                        ioExc.getMessage()
+                    );
+                }
+                deleteCheckpointFile();
+            }
+        }
+    }
+
+    /**
+     * Writes the checkpoint file, if enabled, and stores its revision in the database. Has to be called at a time
+     * where no other changes can be made to the database, i.e. on shutdown. Uses its own transaction, so it must
+     * not be called within a scope.
+     */
+    public void write()
+    {
+        if (isEnabled())
+        {
+            TransactionMgr transMgr = null;
+            scope.enter();
+            try
+            {
+                transMgr = transMgrGenerator.startTransaction();
+                TransactionMgrUtil.seedTransactionMgr(scope, transMgr);
+
+                List<TableRows> tables = new ArrayList<>();
+                for (DatabaseTable table : CHECKPOINT_TABLES)
+                {
+                    tables.add(new TableRows(table.getName(), getColumnNames(table), dbEngine.readRawRows(table)));
+                }
+                String revision = UUID.randomUUID().toString();
+                writeFile(checkpointFile, new Checkpoint(revision, getBuildId(), dbConnectionUrl, tables));
+                // stored after the file was written. If the commit fails, the file does not match the database
+                propsDriver.persist(REVISION_INSTANCE, REVISION_KEY, revision);
+
+                transMgr.commit();
+                errorReporter.logInfo("Database checkpoint written to %s", checkpointFile);
+            }
+            catch (IOException ioExc)
+            {
+                errorReporter.logWarning(
+                    "Writing the database checkpoint %s failed: %s",
+                    checkpointFile,
+                    ioExc.getMessage()
+                );
+            }
+            catch (DatabaseException | TransactionException exc)
+            {
+                errorReporter.reportError(exc);
+            }
+            finally
+            {
+                if (transMgr != null)
+                {
+                    try
+                    {
+                        transMgr.rollback();
+                    }
+                    catch (TransactionException exc)
+                    {
+                        errorReporter.reportError(exc);
+                    }
+                    transMgr.returnConnection();
+                }
+                scope.exit();
+            }
+        }
+    }
+
+    private void deleteCheckpointFile()
+    {
+        try
+        {
+            Files.deleteIfExists(checkpointFile);
+        }
+        catch (IOException ioExc)
+        {
+            errorReporter.logWarning(
+                "Deleting the database checkpoint %s failed: %s",
+                checkpointFile,
+                ioExc.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Hands the rows to the engine and the props driver, if all tables still have the same columns
+     */
+    private boolean apply(List<TableRows> tables)
+    {
+        Map<String, DatabaseTable> tablesByName = new HashMap<>();
+        for (DatabaseTable table : CHECKPOINT_TABLES)
+        {
+            tablesByName.put(table.getName(), table);
+        }
+
+        boolean valid = tables.size() == tablesByName.size();
+        for (TableRows tableRows : tables)
+        {
+            DatabaseTable table = tablesByName.get(tableRows.tableName);
+            valid &= table != null && getColumnNames(table).equals(tableRows.columns);
+        }
+
+        if (valid)
+        {
+            for (TableRows tableRows : tables)
+            {
+                DatabaseTable table = tablesByName.get(tableRows.tableName);
+                if (table == GeneratedDatabaseTables.PROPS_CONTAINERS)
+                {
+                    Map<String, Map<String, String>> propsByInstance = new HashMap<>();
+                    for (Map<String, Object> row : tableRows.rows)
+                    {
+                        propsByInstance.computeIfAbsent(
+                            (String) row.get(PropsContainers.PROPS_INSTANCE.getName()),
+                            ignored -> new TreeMap<>()
+                        ).put(
+                            (String) row.get(PropsContainers.PROP_KEY.getName()),
+                            (String) row.get(PropsContainers.PROP_VALUE.getName())
+                        );
+                    }
+                    propsDriver.setPrefetched(propsByInstance);
+                }
+                else
+                {
+                    dbEngine.setPrefetched(table, tableRows.rows);
+                }
+            }
+        }
+        return valid;
+    }
+
+    private static List<String> getColumnNames(DatabaseTable table)
+    {
+        List<String> columnNames = new ArrayList<>();
+        for (Column column : table.values())
+        {
+            columnNames.add(column.getName());
+        }
+        return columnNames;
+    }
+
+    static String getBuildId()
+    {
+        return LinStor.VERSION_INFO_PROVIDER.getVersion() + "/" + LinStor.VERSION_INFO_PROVIDER.getGitCommitId();
+    }
+
+    static void writeFile(Path file, Checkpoint checkpoint) throws IOException
+    {
+        Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (
+            DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmpFile)))
+            )
+        )
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, checkpoint.revision);
+            writeString(out, checkpoint.buildId);
+            writeString(out, checkpoint.dbConnectionUrl);
+
+            out.writeInt(checkpoint.tables.size());
+            for (TableRows table : checkpoint.tables)
+            {
+                writeString(out, table.tableName);
+                out.writeInt(table.columns.size());
+                for (String column : table.columns)
+                {
+                    writeString(out, column);
+                }
+                out.writeInt(table.rows.size());
+                for (Map<String, Object> row : table.rows)
+                {
+                    for (String column : table.columns)
+                    {
+                        writeValue(out, row.get(column));
+                    }
+                }
+            }
+        }
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Checkpoint readFile(Path file) throws IOException
+    {
+        try (
+            DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file)))
+            )
+        )
+        {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION)
+            {
+                throw new IOException("Unknown file format");
+            }
+            String revision = readString(in);
+            String buildId = readString(in);
+            String dbConnectionUrl = readString(in);
+
+            int tableCount = in.readInt();
+            List<TableRows> tables = new ArrayList<>(tableCount);
+            for (int tableIdx = 0; tableIdx < tableCount; ++tableIdx)
+            {
+                String tableName = readString(in);
+                int columnCount = in.readInt();
+                List<String> columns = new ArrayList<>(columnCount);
+                for (int columnIdx = 0; columnIdx < columnCount; ++columnIdx)
+                {
+                    columns.add(readString(in));
+                }
+                int rowCount = in.readInt();
+                List<Map<String, Object>> rows = new ArrayList<>(rowCount);
+                for (int rowIdx = 0; rowIdx < rowCount; ++rowIdx)
+                {
+                    Map<String, Object> row = new TreeMap<>();
+                    for (String column : columns)
+                    {
+                        row.put(column, readValue(in));
+                    }
+                    rows.add(row);
+                }
+                tables.add(new TableRows(tableName, columns, rows));
+            }
+            return new Checkpoint(revision, buildId, dbConnectionUrl, tables);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, @Nullable Object value) throws IOException
+    {
+        if (value == null)
+        {
+            out.writeByte(TYPE_NULL);
+        }
+        else
+        if (value instanceof String)
+        {
+            out.writeByte(TYPE_STRING);
+            writeString(out, (String) value);
+        }
+        else
+        if (value instanceof Integer)
+        {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt((Integer) value);
+        }
+        else
+        if (value instanceof Long)
+        {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long) value);
+        }
+        else
+        if (value instanceof Short)
+        {
+            out.writeByte(TYPE_SHORT);
+            out.writeShort((Short) value);
+        }
+        else
+        if (value instanceof Boolean)
+        {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        }
+        else
+        if (value instanceof byte[])
+        {
+            byte[] bytes = (byte[]) value;
+            out.writeByte(TYPE_BYTES);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        else
+        if (value instanceof Timestamp)
+        {
+            Timestamp timestamp = (Timestamp) value;
+            out.writeByte(TYPE_TIMESTAMP);
+            out.writeLong(timestamp.getTime());
+            out.writeInt(timestamp.getNanos());
+        }
+        else
+        if (value instanceof BigDecimal)
+        {
+            out.writeByte(TYPE_DECIMAL);
+            writeString(out, value.toString());
+        }
+        else
+        {
+            throw new IOException("Unsupported column value of type " + value.getClass().getName());
+        }
+    }
+
+    private static @Nullable Object readValue(DataInputStream in) throws IOException
+    {
+        Object value;
+        byte type = in.readByte();
+        switch (type)
+        {
+            case TYPE_NULL:
+                value = null;
+                break;
+            case TYPE_STRING:
+                value = readString(in);
+                break;
+            case TYPE_INTEGER:
+                value = in.readInt();
+                break;
+            case TYPE_LONG:
+                value = in.readLong();
+                break;
+            case TYPE_SHORT:
+                value = in.readShort();
+                break;
+            case TYPE_BOOLEAN:
+                value = in.readBoolean();
+                break;
+            case TYPE_BYTES:
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                value = bytes;
+                break;
+            case TYPE_TIMESTAMP:
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                value = timestamp;
+                break;
+            case TYPE_DECIMAL:
+                value = new BigDecimal(readString(in));
+                break;
+            default:
+                throw new IOException("Unknown column value type " + type);
+        }
+        return value;
+    }
+
+    /**
+     * Unlike {@link DataOutputStream#writeUTF(String)}, not limited to 64k, as property values can be longer
+     */
+    private static void writeString(DataOutputStream out, String str) throws IOException
+    {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException
+    {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static class Checkpoint
+    {
+        final String revision;
+        final String buildId;
+        final String dbConnectionUrl;
+        final List<TableRows> tables;
+
+        Checkpoint(String revisionRef, String buildIdRef, String dbConnectionUrlRef, List<TableRows> tablesRef)
+        {
+            revision = revisionRef;
+            buildId = buildIdRef;
+            dbConnectionUrl = dbConnectionUrlRef;
+            tables = tablesRef;
+        }
+    }
+
+    static class TableRows
+    {
+        final String tableName;
+        final List<String> columns;
+        final List<Map<String, Object>> rows;
+
+        TableRows(String tableNameRef, List<String> columnsRef, List<Map<String, Object>> rowsRef)
+        {
+            tableName = tableNameRef;
+            columns = columnsRef;
+            rows = rowsRef;
+        }
+    }
+}
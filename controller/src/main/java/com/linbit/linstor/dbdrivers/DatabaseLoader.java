@@ -35,6 +35,7 @@ import com.linbit.linstor.core.objects.Volume;
 import com.linbit.linstor.core.objects.VolumeConnection;
 import com.linbit.linstor.core.objects.VolumeDefinition;
 import com.linbit.linstor.core.objects.VolumeGroup;
+import com.linbit.linstor.dbdrivers.DatabaseDriverInfo.DatabaseType;
 import com.linbit.linstor.dbdrivers.interfaces.CacheLayerCtrlDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.DrbdLayerCtrlDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.KeyValueStoreCtrlDatabaseDriver;
@@ -44,6 +45,7 @@ import com.linbit.linstor.dbdrivers.interfaces.NodeConnectionCtrlDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.NodeCtrlDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.NvmeLayerCtrlDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.OpenflexLayerCtrlDatabaseDriver;
+import com.linbit.linstor.dbdrivers.interfaces.PropsConDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.ResourceConnectionCtrlDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.ResourceCtrlDatabaseDriver;
 import com.linbit.linstor.dbdrivers.interfaces.ResourceDefinitionCtrlDatabaseDriver;
@@ -66,6 +68,7 @@ import com.linbit.linstor.layer.LayerPayload;
 import com.linbit.linstor.layer.resource.AbsRscLayerHelper;
 import com.linbit.linstor.layer.resource.CtrlRscLayerDataFactory;
 import com.linbit.linstor.layer.snapshot.CtrlSnapLayerDataFactory;
+import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.propscon.InvalidKeyException;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
@@ -82,6 +85,7 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -118,7 +122,53 @@ public class DatabaseLoader implements DatabaseDriver
         }
     }
 
+    /**
+     * Tables read by the {@link AbsDatabaseDriver}s during {@link #loadAll()}, prefetched in parallel
+     */
+    static final List<DatabaseTable> PREFETCHED_TABLES = Collections.unmodifiableList(
+        Arrays.asList(
+            GeneratedDatabaseTables.RESOURCE_GROUPS,
+            GeneratedDatabaseTables.VOLUME_GROUPS,
+            GeneratedDatabaseTables.NODES,
+            GeneratedDatabaseTables.RESOURCE_DEFINITIONS,
+            GeneratedDatabaseTables.STOR_POOL_DEFINITIONS,
+            GeneratedDatabaseTables.NODE_NET_INTERFACES,
+            GeneratedDatabaseTables.NODE_CONNECTIONS,
+            GeneratedDatabaseTables.NODE_STOR_POOL,
+            GeneratedDatabaseTables.RESOURCES,
+            GeneratedDatabaseTables.RESOURCE_CONNECTIONS,
+            GeneratedDatabaseTables.VOLUME_DEFINITIONS,
+            GeneratedDatabaseTables.VOLUMES,
+            GeneratedDatabaseTables.VOLUME_CONNECTIONS,
+            GeneratedDatabaseTables.KEY_VALUE_STORE
+        )
+    );
+
+    /**
+     * Tables read by the SQL layer drivers with their own statements during {@link #loadAll()}, prefetched in parallel
+     * as well. Only prefetched for SQL databases, the other layer drivers do not read their tables through the
+     * {@link DbEngine}.
+     */
+    static final List<DatabaseTable> PREFETCHED_LAYER_TABLES = Collections.unmodifiableList(
+        Arrays.asList(
+            GeneratedDatabaseTables.LAYER_RESOURCE_IDS,
+            GeneratedDatabaseTables.LAYER_DRBD_RESOURCE_DEFINITIONS,
+            GeneratedDatabaseTables.LAYER_DRBD_VOLUME_DEFINITIONS,
+            GeneratedDatabaseTables.LAYER_DRBD_RESOURCES,
+            GeneratedDatabaseTables.LAYER_DRBD_VOLUMES,
+            GeneratedDatabaseTables.LAYER_LUKS_VOLUMES,
+            GeneratedDatabaseTables.LAYER_STORAGE_VOLUMES,
+            GeneratedDatabaseTables.LAYER_OPENFLEX_RESOURCE_DEFINITIONS,
+            GeneratedDatabaseTables.LAYER_OPENFLEX_VOLUMES,
+            GeneratedDatabaseTables.LAYER_WRITECACHE_VOLUMES,
+            GeneratedDatabaseTables.LAYER_CACHE_VOLUMES
+        )
+    );
+
     private final AccessContext dbCtx;
+    private final ErrorReporter errorReporter;
+    private final DbEngine dbEngine;
+    private final PropsConDatabaseDriver propsDriver;
     private final ResourceGroupCtrlDatabaseDriver rscGrpDriver;
     private final NodeCtrlDatabaseDriver nodeDriver;
     private final NetInterfaceCtrlDatabaseDriver netIfDriver;
@@ -159,6 +209,9 @@ public class DatabaseLoader implements DatabaseDriver
     @Inject
     public DatabaseLoader(
         @SystemContext AccessContext privCtx,
+        ErrorReporter errorReporterRef,
+        DbEngine dbEngineRef,
+        PropsConDatabaseDriver propsDriverRef,
         ResourceGroupCtrlDatabaseDriver rscGrpDriverRef,
         NodeCtrlDatabaseDriver nodeDriverRef,
         NetInterfaceCtrlDatabaseDriver netIfDriverRef,
@@ -197,6 +250,9 @@ public class DatabaseLoader implements DatabaseDriver
     )
     {
         dbCtx = privCtx;
+        errorReporter = errorReporterRef;
+        dbEngine = dbEngineRef;
+        propsDriver = propsDriverRef;
         rscGrpDriver = rscGrpDriverRef;
         nodeDriver = nodeDriverRef;
         netIfDriver = netIfDriverRef;
@@ -241,8 +297,19 @@ public class DatabaseLoader implements DatabaseDriver
     @Override
     public void loadAll() throws DatabaseException
     {
+        long loadStart = System.currentTimeMillis();
         try
         {
+            // the tables and properties are read in the background, the objects are still linked sequentially
+            long phaseStart = System.currentTimeMillis();
+            dbEngine.prefetch(PREFETCHED_TABLES);
+            if (dbEngine.getType() == DatabaseType.SQL)
+            {
+                dbEngine.prefetch(PREFETCHED_LAYER_TABLES);
+            }
+            propsDriver.prefetchAll();
+            phaseStart = logLoadTime("Prefetching properties", phaseStart);
+
             // load the resource groups
             Map<ResourceGroup, ResourceGroup.InitMaps> loadedRscGroupsMap =
                 Collections.unmodifiableMap(rscGrpDriver.loadAll(null));
@@ -260,6 +327,7 @@ public class DatabaseLoader implements DatabaseDriver
                     vlmGrp
                 );
             }
+            phaseStart = logLoadTime("Loading resource and volume groups", phaseStart);
 
             // load the main objects (nodes, rscDfns, storPoolDfns)
             Map<Node, Node.InitMaps> loadedNodesMap =
@@ -276,6 +344,8 @@ public class DatabaseLoader implements DatabaseDriver
                     .put(rscDfn.getName(), rscDfn);
             }
 
+            phaseStart = logLoadTime("Loading nodes, resource and storage pool definitions", phaseStart);
+
             // build temporary maps for easier restoring of the remaining objects
             Map<NodeName, Node> tmpNodesMap =
                 mapByName(loadedNodesMap, Node::getName);
@@ -307,6 +377,7 @@ public class DatabaseLoader implements DatabaseDriver
                 loadedNodesMap.get(sourceNode).getNodeConnMap().put(targetNode.getName(), nodeConn);
                 loadedNodesMap.get(targetNode).getNodeConnMap().put(sourceNode.getName(), nodeConn);
             }
+            phaseStart = logLoadTime("Loading net interfaces and node connections", phaseStart);
 
 
             // loading storage pools
@@ -327,6 +398,7 @@ public class DatabaseLoader implements DatabaseDriver
             }
             // loading free space managers
             Map<FreeSpaceMgrName, FreeSpaceMgr> tmpFreeSpaceMgrMap = storPoolDriver.getAllLoadedFreeSpaceMgrs();
+            phaseStart = logLoadTime("Loading storage pools", phaseStart);
 
             // temporary storPool map
             Map<Pair<NodeName, StorPoolName>, StorPool> tmpStorPoolMap =
@@ -350,6 +422,7 @@ public class DatabaseLoader implements DatabaseDriver
 
                 loadedResources.put(rsc, absEntry.getValue());
             }
+            phaseStart = logLoadTime("Loading resources", phaseStart);
 
             // temporary resource map
             Map<Pair<NodeName, ResourceName>, Resource> tmpRscMap =
@@ -368,6 +441,7 @@ public class DatabaseLoader implements DatabaseDriver
                 loadedResources.get(sourceResource).getRscConnMap().put(targetResource.getKey(), rscConn);
                 loadedResources.get(targetResource).getRscConnMap().put(sourceResource.getKey(), rscConn);
             }
+            phaseStart = logLoadTime("Loading resource connections", phaseStart);
 
             // loading volume definitions
             Map<VolumeDefinition, VolumeDefinition.InitMaps> loadedVlmDfnMap =
@@ -378,6 +452,7 @@ public class DatabaseLoader implements DatabaseDriver
                 loadedRscDfnsMap.get(vlmDfn.getResourceDefinition()).getVlmDfnMap()
                     .put(vlmDfn.getVolumeNumber(), vlmDfn);
             }
+            phaseStart = logLoadTime("Loading volume definitions", phaseStart);
 
             // temporary volume definition map
             Map<Pair<ResourceName, VolumeNumber>, VolumeDefinition> tmpVlmDfnMap =
@@ -401,6 +476,7 @@ public class DatabaseLoader implements DatabaseDriver
                 loadedVlmDfnMap.get(vlm.getVolumeDefinition()).getVlmMap()
                     .put(Resource.getStringId(vlm.getAbsResource()), vlm);
             }
+            phaseStart = logLoadTime("Loading volumes", phaseStart);
 
             // temporary volume map
             Map<Triple<NodeName, ResourceName, VolumeNumber>, Volume> tmpVlmMap =
@@ -419,6 +495,7 @@ public class DatabaseLoader implements DatabaseDriver
                 loadedVolumes.get(sourceVolume).getVolumeConnections().put(targetVolume.getKey(), vlmConn);
                 loadedVolumes.get(targetVolume).getVolumeConnections().put(sourceVolume.getKey(), vlmConn);
             }
+            phaseStart = logLoadTime("Loading volume connections", phaseStart);
 
             // loading snapshot definitions
             Map<SnapshotDefinition, SnapshotDefinition.InitMaps> loadedSnapshotDfns = snapshotDefinitionDriver.loadAll(
@@ -497,6 +574,7 @@ public class DatabaseLoader implements DatabaseDriver
                 loadedSnapshotVolumeDefinitions.get(snapshotVolume.getSnapshotVolumeDefinition()).getSnapshotVlmMap()
                     .put(snapshotVolume.getNodeName(), snapshotVolume);
             }
+            phaseStart = logLoadTime("Loading snapshots", phaseStart);
 
             // load and put key value store map
             Map<KeyValueStore, KeyValueStore.InitMaps> loadedKeyValueStoreMap =
@@ -504,6 +582,7 @@ public class DatabaseLoader implements DatabaseDriver
             Map<KeyValueStoreName, KeyValueStore> tmpKeyValueStoreMap =
                 mapByName(loadedKeyValueStoreMap, KeyValueStore::getName);
             keyValueStoreMap.putAll(tmpKeyValueStoreMap);
+            phaseStart = logLoadTime("Loading key value stores", phaseStart);
 
             // temporary storPool map
             Map<Pair<NodeName, StorPoolName>, Pair<StorPool, StorPool.InitMaps>> tmpStorPoolMapForLayers =
@@ -525,6 +604,7 @@ public class DatabaseLoader implements DatabaseDriver
 
             // load layer objects
             loadLayerObects(tmpRscDfnMap, tmpSnapshotDfnMap, tmpStorPoolMapForLayers);
+            logLoadTime("Loading layer data", phaseStart);
 
             nodesMap.putAll(tmpNodesMap);
             rscDfnMap.putAll(tmpRscDfnMap);
@@ -563,6 +643,22 @@ public class DatabaseLoader implements DatabaseDriver
         {
             throw new ImplementationError("Invalid hardcoded props key", exc);
         }
+        finally
+        {
+            dbEngine.clearPrefetched();
+            propsDriver.clearPrefetched();
+        }
+        logLoadTime("Loading all objects", loadStart);
+    }
+
+    /**
+     * Logs the time since the given start of a loading phase and returns the start time of the next phase
+     */
+    private long logLoadTime(String phase, long phaseStart)
+    {
+        long now = System.currentTimeMillis();
+        errorReporter.logInfo("%s took %d ms", phase, now - phaseStart);
+        return now;
     }
 
     private <NAME, DATA> TreeMap<NAME, DATA> mapByName(
@@ -24,7 +24,10 @@ import com.linbit.linstor.stateflags.StateFlagsPersistence;
 import com.linbit.utils.ExceptionThrowingFunction;
 import com.linbit.utils.Pair;
 
+import javax.annotation.Nullable;
+
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -318,4 +321,46 @@ public interface DbEngine
         ValueOutOfRangeException, MdException;
 
     String getDbDump() throws DatabaseException;
+
+    /**
+     * Allows the engine to start reading the given tables in the background, so that following
+     * {@link #loadAll(DatabaseTable, Object, DataLoader)} calls for these tables do not have to wait for the database.
+     * The prefetched data is kept until {@link #clearPrefetched()} is called.
+     *
+     * Does nothing by default.
+     */
+    default void prefetch(Collection<DatabaseTable> tables) throws DatabaseException
+    {
+        // no-op
+    }
+
+    /**
+     * Uses the given rows for the following {@link #loadAll(DatabaseTable, Object, DataLoader)} calls of the table
+     * instead of reading it from the database, until {@link #clearPrefetched()} is called.
+     *
+     * Does nothing by default.
+     */
+    default void setPrefetched(DatabaseTable table, List<Map<String, Object>> rows)
+    {
+        // no-op
+    }
+
+    /**
+     * Reads all rows of the given table without creating any objects. Each row maps the column names to the values
+     * as they are returned by the database.
+     *
+     * @return null if the engine does not support reading raw rows
+     */
+    default @Nullable List<Map<String, Object>> readRawRows(DatabaseTable table) throws DatabaseException
+    {
+        return null;
+    }
+
+    /**
+     * Drops all data read by {@link #prefetch(Collection)} or set by {@link #setPrefetched(DatabaseTable, List)}
+     */
+    default void clearPrefetched()
+    {
+        // no-op
+    }
 }
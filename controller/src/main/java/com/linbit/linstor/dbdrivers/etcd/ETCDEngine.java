@@ -1,10 +1,13 @@
 package com.linbit.linstor.dbdrivers.etcd;
 
+import com.linbit.ImplementationError;
 import com.linbit.InvalidIpAddressException;
 import com.linbit.InvalidNameException;
 import com.linbit.ValueOutOfRangeException;
 import com.linbit.drbd.md.MdException;
+import com.linbit.linstor.ControllerETCDDatabase;
 import com.linbit.linstor.LinStorDBRuntimeException;
+import com.linbit.linstor.core.cfg.CtrlConfig;
 import com.linbit.linstor.dbdrivers.AbsDatabaseDriver.RawParameters;
 import com.linbit.linstor.dbdrivers.DatabaseDriverInfo.DatabaseType;
 import com.linbit.linstor.dbdrivers.DatabaseException;
@@ -20,38 +23,65 @@ import com.linbit.linstor.stateflags.Flags;
 import com.linbit.linstor.stateflags.FlagsHelper;
 import com.linbit.linstor.stateflags.StateFlagsPersistence;
 import com.linbit.linstor.transaction.EtcdTransaction;
+import com.linbit.linstor.transaction.TransactionException;
 import com.linbit.linstor.transaction.manager.TransactionMgrETCD;
 import com.linbit.utils.ExceptionThrowingFunction;
 import com.linbit.utils.Pair;
 import com.linbit.utils.StringUtils;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 import com.google.inject.Provider;
+import com.ibm.etcd.api.KeyValue;
 
 @Singleton
 public class ETCDEngine extends BaseEtcdDriver implements DbEngine
 {
+    /**
+     * Number of table prefixes read in parallel while prefetching
+     */
+    private static final int PREFETCH_THREADS = 4;
+
     private final ErrorReporter errorReporter;
+    private final ControllerETCDDatabase etcdDb;
+    private final int pageSize;
+
+    private final Map<DatabaseTable, Future<List<Map<String, Object>>>> prefetchedTables;
+    private ExecutorService prefetchExecutor;
 
     @Inject
     public ETCDEngine(
         ErrorReporter errorReporterRef,
-        Provider<TransactionMgrETCD> transMgrProviderRef
+        Provider<TransactionMgrETCD> transMgrProviderRef,
+        ControllerETCDDatabase etcdDbRef,
+        CtrlConfig ctrlCfgRef
     )
     {
         super(transMgrProviderRef);
         errorReporter = errorReporterRef;
+        etcdDb = etcdDbRef;
+        pageSize = ctrlCfgRef.getEtcdPageSize();
+
+        prefetchedTables = new HashMap<>();
     }
 
     @Override
@@ -113,45 +143,144 @@ public class ETCDEngine extends BaseEtcdDriver implements DbEngine
         ValueOutOfRangeException, MdException
     {
         Map<DATA, INIT_MAPS> loadedObjectsMap = new TreeMap<>();
-        final Column[] columns = table.values();
+        for (Map<String, Object> rawObjects : getRows(table))
+        {
+            Pair<DATA, INIT_MAPS> pair = dataLoader.loadImpl(new RawParameters(table, rawObjects), parents);
+            // pair might be null when loading objects sharing the same table.
+            // For example SnapshotDbDriver will return null when finding a Resource entry
+            // and vice versa.
+            if (pair != null)
+            {
+                loadedObjectsMap.put(pair.objA, pair.objB);
+            }
+        }
+
+        return loadedObjectsMap;
+    }
+
+    /**
+     * Starts reading the given tables in parallel. Following {@link #loadAll} calls for these tables use the
+     * prefetched rows instead of reading the table prefix again, until {@link #clearPrefetched()} is called.
+     *
+     * Only meant for the initial load from the database, as changes made by the current transaction after the
+     * prefetch are not included.
+     */
+    @Override
+    public void prefetch(Collection<DatabaseTable> tables)
+    {
+        if (prefetchExecutor == null)
+        {
+            prefetchExecutor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(PREFETCH_THREADS, tables.size())),
+                runnable ->
+                {
+                    Thread thread = new Thread(runnable, "DbPrefetch");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+        }
+        for (DatabaseTable table : tables)
+        {
+            if (!prefetchedTables.containsKey(table))
+            {
+                prefetchedTables.put(table, prefetchExecutor.submit(() -> prefetchTable(table)));
+            }
+        }
+    }
 
-        Map<String, String> dataMap = new TreeMap<>(namespace(table).get(true));
-        Set<String> composedPkList = EtcdUtils.getComposedPkList(dataMap);
-        for (String composedPk : composedPkList)
+    @Override
+    public void clearPrefetched()
+    {
+        if (prefetchExecutor != null)
         {
-            Map<String, Object> rawObjects = new TreeMap<>();
-            String[] pks = EtcdUtils.splitPks(composedPk, false);
+            prefetchExecutor.shutdownNow();
+            prefetchExecutor = null;
+        }
+        prefetchedTables.clear();
+    }
 
-            int pkIdx = 0;
+    private List<Map<String, Object>> prefetchTable(DatabaseTable table)
+    {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        new RowIterator(table, new EtcdPagedReader(etcdDb.getKvClient(), EtcdUtils.buildKey(table), pageSize))
+            .forEachRemaining(rows::add);
+        errorReporter.logTrace("Prefetched %d rows of %s", rows.size(), table.getName());
+        return rows;
+    }
 
-            for (Column col : columns)
+    /**
+     * Returns the prefetched rows of the given table, or otherwise an {@link Iterable} that reads the table page by
+     * page while it is iterated.
+     */
+    private Iterable<Map<String, Object>> getRows(DatabaseTable table) throws DatabaseException
+    {
+        Iterable<Map<String, Object>> rows;
+        Future<List<Map<String, Object>>> prefetched = prefetchedTables.get(table);
+        if (prefetched != null)
+        {
+            try
+            {
+                rows = prefetched.get();
+            }
+            catch (ExecutionException exc)
             {
-                if (col.isPk())
+                Throwable cause = exc.getCause();
+                if (cause instanceof TransactionException)
                 {
-                    rawObjects.put(col.getName(), pks[pkIdx++]);
+                    throw new DatabaseException(cause);
                 }
-                else
+                if (cause instanceof RuntimeException)
                 {
-                    String colKey = EtcdUtils.buildKey(col, pks);
-                    String colData = dataMap.get(colKey);
-                    if (colData == null && !col.isNullable())
-                    {
-                        throw new LinStorDBRuntimeException("Column was unexpectedly null. " + colKey);
-                    }
-                    rawObjects.put(col.getName(), colData);
+                    throw (RuntimeException) cause;
                 }
+                throw new ImplementationError("Prefetching table " + table.getName() + " failed", cause);
             }
-            Pair<DATA, INIT_MAPS> pair = dataLoader.loadImpl(new RawParameters(table, rawObjects), parents);
-            // pair might be null when loading objects sharing the same table.
-            // For example SnapshotDbDriver will return null when finding a Resource entry
-            // and vice versa.
-            if (pair != null)
+            catch (InterruptedException exc)
             {
-                loadedObjectsMap.put(pair.objA, pair.objB);
+                Thread.currentThread().interrupt();
+                throw new DatabaseException(exc);
             }
         }
+        else
+        {
+            rows = () -> new RowIterator(
+                table,
+                new EtcdPagedReader(etcdDb.getKvClient(), EtcdUtils.buildKey(table), pageSize)
+            );
+        }
+        return rows;
+    }
 
-        return loadedObjectsMap;
+    private static Map<String, Object> buildRawRow(
+        DatabaseTable table,
+        String composedPk,
+        Map<String, String> rowData
+    )
+    {
+        Map<String, Object> rawObjects = new TreeMap<>();
+        String[] pks = EtcdUtils.splitPks(composedPk, false);
+
+        int pkIdx = 0;
+
+        for (Column col : table.values())
+        {
+            if (col.isPk())
+            {
+                rawObjects.put(col.getName(), pks[pkIdx++]);
+            }
+            else
+            {
+                String colKey = EtcdUtils.buildKey(col, pks);
+                String colData = rowData.get(colKey);
+                if (colData == null && !col.isNullable())
+                {
+                    throw new LinStorDBRuntimeException("Column was unexpectedly null. " + colKey);
+                }
+                rawObjects.put(col.getName(), colData);
+            }
+        }
+        return rawObjects;
     }
 
     private <DATA> String getPk(
@@ -356,4 +485,80 @@ public class ETCDEngine extends BaseEtcdDriver implements DbEngine
         }
         return sb.toString();
     }
+
+    /**
+     * Builds the rows of a table from the keys of an {@link EtcdPagedReader}. As the keys arrive in ascending order,
+     * all keys of a row are adjacent, so only the keys of the current row have to be kept in memory.
+     */
+    static class RowIterator implements Iterator<Map<String, Object>>
+    {
+        private final DatabaseTable table;
+        private final EtcdPagedReader reader;
+
+        private Iterator<KeyValue> page;
+        private @Nullable KeyValue pendingKeyValue;
+        private @Nullable Map<String, Object> nextRow;
+
+        RowIterator(DatabaseTable tableRef, EtcdPagedReader readerRef)
+        {
+            table = tableRef;
+            reader = readerRef;
+            page = Collections.emptyIterator();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if (nextRow == null)
+            {
+                nextRow = readRow();
+            }
+            return nextRow != null;
+        }
+
+        @Override
+        public Map<String, Object> next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            Map<String, Object> row = nextRow;
+            nextRow = null;
+            return row;
+        }
+
+        private @Nullable Map<String, Object> readRow()
+        {
+            Map<String, Object> row = null;
+            KeyValue keyValue = pendingKeyValue == null ? nextKeyValue() : pendingKeyValue;
+            if (keyValue != null)
+            {
+                String key = keyValue.getKey().toStringUtf8();
+                String composedPk = EtcdUtils.extractPrimaryKey(key);
+                Map<String, String> rowData = new HashMap<>();
+                do
+                {
+                    rowData.put(key, keyValue.getValue().toStringUtf8());
+                    keyValue = nextKeyValue();
+                    key = keyValue == null ? null : keyValue.getKey().toStringUtf8();
+                }
+                while (key != null && composedPk.equals(EtcdUtils.extractPrimaryKey(key)));
+
+                // first key of the next row
+                pendingKeyValue = keyValue;
+                row = buildRawRow(table, composedPk, rowData);
+            }
+            return row;
+        }
+
+        private @Nullable KeyValue nextKeyValue()
+        {
+            while (!page.hasNext() && reader.hasMorePages())
+            {
+                page = reader.nextPage().iterator();
+            }
+            return page.hasNext() ? page.next() : null;
+        }
+    }
 }
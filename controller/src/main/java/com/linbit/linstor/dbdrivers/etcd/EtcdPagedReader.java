@@ -0,0 +1,75 @@
+package com.linbit.linstor.dbdrivers.etcd;
+
+import static com.ibm.etcd.client.KeyUtils.bs;
+
+import com.linbit.linstor.transaction.EtcdTransaction;
+
+import java.util.List;
+
+import com.google.protobuf.ByteString;
+import com.ibm.etcd.api.KeyValue;
+import com.ibm.etcd.api.RangeResponse;
+import com.ibm.etcd.client.KeyUtils;
+import com.ibm.etcd.client.kv.KvClient;
+import com.ibm.etcd.client.kv.KvClient.FluentRangeRequest;
+
+/**
+ * Reads all keys starting with a given prefix in pages of at most <code>pageSize</code> keys, instead of fetching
+ * the whole prefix with a single range request.
+ *
+ * All pages are read from the revision of the first page, so the result is a consistent snapshot even if the keys
+ * are modified while paging. The keys are returned in ascending order.
+ */
+public class EtcdPagedReader
+{
+    private static final ByteString ZERO_BYTE = ByteString.copyFrom(new byte[] {0});
+
+    private final KvClient kvClient;
+    private final ByteString rangeEnd;
+    private final int pageSize;
+
+    private ByteString nextKey;
+    private long revision;
+    private boolean morePages;
+
+    public EtcdPagedReader(KvClient kvClientRef, String prefixRef, int pageSizeRef)
+    {
+        kvClient = kvClientRef;
+        nextKey = bs(prefixRef);
+        rangeEnd = KeyUtils.plusOne(nextKey);
+        pageSize = pageSizeRef;
+        revision = 0;
+        morePages = true;
+    }
+
+    public boolean hasMorePages()
+    {
+        return morePages;
+    }
+
+    /**
+     * Fetches the next page. Returns an empty list if there are no more keys.
+     */
+    public List<KeyValue> nextPage()
+    {
+        FluentRangeRequest req = kvClient.get(nextKey).rangeEnd(rangeEnd).limit(pageSize);
+        if (revision != 0)
+        {
+            req = req.revision(revision);
+        }
+        RangeResponse rsp = EtcdTransaction.requestWithRetry(req);
+        if (revision == 0)
+        {
+            revision = rsp.getHeader().getRevision();
+        }
+
+        List<KeyValue> kvs = rsp.getKvsList();
+        morePages = rsp.getMore() && !kvs.isEmpty();
+        if (morePages)
+        {
+            // smallest key that is greater than the last key of this page
+            nextKey = kvs.get(kvs.size() - 1).getKey().concat(ZERO_BYTE);
+        }
+        return kvs;
+    }
+}
@@ -1,9 +1,12 @@
 package com.linbit.linstor.dbdrivers.sql;
 
+import com.linbit.ImplementationError;
 import com.linbit.InvalidIpAddressException;
 import com.linbit.InvalidNameException;
 import com.linbit.ValueOutOfRangeException;
 import com.linbit.drbd.md.MdException;
+import com.linbit.linstor.ControllerDatabase;
+import com.linbit.linstor.ControllerSQLDatabase;
 import com.linbit.linstor.LinStorDBRuntimeException;
 import com.linbit.linstor.dbdrivers.AbsDatabaseDriver.RawParameters;
 import com.linbit.linstor.dbdrivers.DatabaseDriverInfo.DatabaseType;
@@ -20,10 +23,12 @@ import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.security.AccessDeniedException;
 import com.linbit.linstor.stateflags.Flags;
 import com.linbit.linstor.stateflags.StateFlagsPersistence;
+import com.linbit.linstor.transaction.manager.SQLWriteBatcher;
 import com.linbit.linstor.transaction.manager.TransactionMgrSQL;
 import com.linbit.utils.ExceptionThrowingFunction;
 import com.linbit.utils.Pair;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -33,9 +38,18 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -49,24 +63,42 @@ public class SQLEngine implements DbEngine
     private static final String DELIMITER_LIST = ", ";
     private static final String DELIMITER_VALUES = "?" + DELIMITER_LIST;
 
+    /**
+     * Number of connections used in parallel for prefetching tables
+     */
+    private static final int PREFETCH_THREADS = 4;
+
     private final ErrorReporter errorReporter;
     private final Provider<TransactionMgrSQL> transMgrProvider;
+    private final ControllerSQLDatabase controllerDatabase;
     private final HashMap<DatabaseTable, String> selectStatements;
     private final HashMap<DatabaseTable, String> insertStatements;
     private final HashMap<DatabaseTable, String> deleteStatements;
 
+    private final Map<DatabaseTable, Future<List<Map<String, Object>>>> prefetchedTables;
+    /**
+     * Prefetched rows grouped by the value of a column, created on demand by
+     * {@link #selectRows(PreparedStatement, DatabaseTable, Column, Object)}
+     */
+    private final Map<Pair<DatabaseTable, Column>, Map<Object, List<SQLRow>>> prefetchedIndexes;
+    private ExecutorService prefetchExecutor;
+
     @Inject
     public SQLEngine(
         ErrorReporter errorReporterRef,
-        Provider<TransactionMgrSQL> transMgrProviderRef
+        Provider<TransactionMgrSQL> transMgrProviderRef,
+        ControllerDatabase controllerDatabaseRef
     )
     {
         errorReporter = errorReporterRef;
         transMgrProvider = transMgrProviderRef;
+        controllerDatabase = (ControllerSQLDatabase) controllerDatabaseRef;
 
         selectStatements = new HashMap<>();
         insertStatements = new HashMap<>();
         deleteStatements = new HashMap<>();
+        prefetchedTables = new HashMap<>();
+        prefetchedIndexes = new HashMap<>();
     }
 
     @Override
@@ -85,15 +117,18 @@ public class SQLEngine implements DbEngine
     )
         throws DatabaseException
     {
-        try (PreparedStatement stmt = getConnection().prepareStatement(getInsertStatement(table)))
+        try
         {
-            errorReporter.logTrace("Creating %s %s", table.getName(), dataToString.toString(data));
+            String inlineId = dataToString.toString(data);
+            errorReporter.logTrace("Creating %s %s", table.getName(), inlineId);
 
+            SQLWriteBatcher writeBatcher = getWriteBatcher();
+            PreparedStatement stmt = writeBatcher.prepare(getInsertStatement(table));
             setValues(setters, stmt, 1, table, ignored -> true, data);
-
-            stmt.executeUpdate();
-
-            errorReporter.logTrace("%s created %s", table.getName(), dataToString.toString(data));
+            writeBatcher.addBatch(
+                stmt,
+                () -> errorReporter.logTrace("%s created %s", table.getName(), inlineId)
+            );
         }
         catch (SQLException sqlExc)
         {
@@ -158,15 +193,18 @@ public class SQLEngine implements DbEngine
     )
         throws DatabaseException
     {
-        try (PreparedStatement stmt = getConnection().prepareStatement(getDeleteStatement(table)))
+        try
         {
-            errorReporter.logTrace("Deleting %s %s", table.getName(), dataToString.toString(data));
+            String inlineId = dataToString.toString(data);
+            errorReporter.logTrace("Deleting %s %s", table.getName(), inlineId);
 
+            SQLWriteBatcher writeBatcher = getWriteBatcher();
+            PreparedStatement stmt = writeBatcher.prepare(getDeleteStatement(table));
             setPrimaryValues(setters, stmt, 1, table, data);
-
-            stmt.executeUpdate();
-
-            errorReporter.logTrace("%s deleted %s", table.getName(), dataToString.toString(data));
+            writeBatcher.addBatch(
+                stmt,
+                () -> errorReporter.logTrace("%s deleted %s", table.getName(), inlineId)
+            );
         }
         catch (SQLException sqlExc)
         {
@@ -270,66 +308,276 @@ public class SQLEngine implements DbEngine
         throws DatabaseException, AccessDeniedException, MdException
     {
         Map<DATA, INIT_MAPS> loadedObjectsMap = new TreeMap<>();
-        try (PreparedStatement stmt = getConnection().prepareStatement(getSelectStatement(table)))
+        for (Map<String, Object> row : getRows(table))
         {
-            try (ResultSet resultSet = stmt.executeQuery())
+            Pair<DATA, INIT_MAPS> pair = restoreData(table, row, parentsRef, dataLoaderRef);
+            // pair might be null when loading objects sharing the same table.
+            // For example SnapshotDbDriver will return null when finding a Resource entry
+            // and vice versa.
+            if (pair != null)
             {
-                while (resultSet.next())
+                loadedObjectsMap.put(pair.objA, pair.objB);
+            }
+        }
+        return loadedObjectsMap;
+    }
+
+    /**
+     * Starts reading the given tables on separate connections. Following {@link #loadAll} calls for these tables
+     * use the prefetched rows instead of querying the database again, until {@link #clearPrefetched()} is called.
+     *
+     * Only meant for the initial load from the database, as changes made by the current transaction after the
+     * prefetch are not included.
+     */
+    @Override
+    public void prefetch(Collection<DatabaseTable> tables)
+    {
+        if (prefetchExecutor == null)
+        {
+            prefetchExecutor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(PREFETCH_THREADS, tables.size())),
+                runnable ->
                 {
-                    Pair<DATA, INIT_MAPS> pair = restoreData(
-                        table, resultSet, parentsRef, dataLoaderRef
-                    );
-                    // pair might be null when loading objects sharing the same table.
-                    // For example SnapshotDbDriver will return null when finding a Resource entry
-                    // and vice versa.
-                    if (pair != null)
-                    {
-                        loadedObjectsMap.put(pair.objA, pair.objB);
-                    }
+                    Thread thread = new Thread(runnable, "DbPrefetch");
+                    thread.setDaemon(true);
+                    return thread;
                 }
+            );
+        }
+        for (DatabaseTable table : tables)
+        {
+            if (!prefetchedTables.containsKey(table))
+            {
+                prefetchedTables.put(table, prefetchExecutor.submit(() -> prefetchTable(table)));
+            }
+        }
+    }
+
+    @Override
+    public void setPrefetched(DatabaseTable table, List<Map<String, Object>> rows)
+    {
+        prefetchedTables.put(table, CompletableFuture.completedFuture(rows));
+        prefetchedIndexes.keySet().removeIf(key -> key.objA == table);
+    }
+
+    /**
+     * Returns the rows of the given table that were prefetched, or null if the table was not prefetched
+     */
+    public @Nullable List<Map<String, Object>> getPrefetched(DatabaseTable table) throws DatabaseException
+    {
+        Future<List<Map<String, Object>>> prefetched = prefetchedTables.get(table);
+        return prefetched == null ? null : awaitPrefetched(table, prefetched);
+    }
+
+    /**
+     * For drivers that read their tables with their own statements. Returns the prefetched rows of the given table,
+     * or executes the given statement if the table was not prefetched. The statement has to select all columns of
+     * all rows of the table.
+     */
+    public List<SQLRow> selectRows(PreparedStatement stmt, DatabaseTable table)
+        throws SQLException, DatabaseException
+    {
+        List<SQLRow> rows;
+        List<Map<String, Object>> prefetchedRows = getPrefetched(table);
+        if (prefetchedRows == null)
+        {
+            try (ResultSet resultSet = stmt.executeQuery())
+            {
+                rows = SQLRow.readAll(resultSet);
+            }
+        }
+        else
+        {
+            rows = new ArrayList<>(prefetchedRows.size());
+            for (Map<String, Object> row : prefetchedRows)
+            {
+                rows.add(new SQLRow(row));
             }
         }
+        return rows;
+    }
+
+    /**
+     * Same as {@link #selectRows(PreparedStatement, DatabaseTable)}, but the statement selects the rows of the
+     * table where the given column has the given value. The prefetched rows are grouped by that column once, so
+     * that repeated calls for different values do not iterate over all rows every time.
+     */
+    public List<SQLRow> selectRows(PreparedStatement stmt, DatabaseTable table, Column column, Object value)
+        throws SQLException, DatabaseException
+    {
+        List<SQLRow> rows;
+        List<Map<String, Object>> prefetchedRows = getPrefetched(table);
+        if (prefetchedRows == null)
+        {
+            try (ResultSet resultSet = stmt.executeQuery())
+            {
+                rows = SQLRow.readAll(resultSet);
+            }
+        }
+        else
+        {
+            Map<Object, List<SQLRow>> index = prefetchedIndexes.computeIfAbsent(
+                new Pair<>(table, column),
+                ignored -> groupBy(prefetchedRows, column)
+            );
+            rows = index.getOrDefault(indexKey(value), Collections.emptyList());
+        }
+        return rows;
+    }
+
+    @Override
+    public List<Map<String, Object>> readRawRows(DatabaseTable table) throws DatabaseException
+    {
+        List<Map<String, Object>> rows;
+        try
+        {
+            rows = selectAll(getConnection(), table);
+        }
         catch (SQLException exc)
         {
             throw new DatabaseException(exc);
         }
-        return loadedObjectsMap;
+        return rows;
     }
 
-    private <DATA, INIT_MAPS, LOAD_ALL> Pair<DATA, INIT_MAPS> restoreData(
+    @Override
+    public void clearPrefetched()
+    {
+        if (prefetchExecutor != null)
+        {
+            prefetchExecutor.shutdownNow();
+            prefetchExecutor = null;
+        }
+        prefetchedTables.clear();
+        prefetchedIndexes.clear();
+    }
+
+    private List<Map<String, Object>> prefetchTable(DatabaseTable table) throws SQLException
+    {
+        List<Map<String, Object>> rows;
+        Connection dbCon = controllerDatabase.getConnection();
+        try
+        {
+            rows = selectAll(dbCon, table);
+            // only reading, but the connection should not be returned with an open transaction
+            dbCon.rollback();
+        }
+        finally
+        {
+            controllerDatabase.returnConnection(dbCon);
+        }
+        errorReporter.logTrace("Prefetched %d rows of %s", rows.size(), table.getName());
+        return rows;
+    }
+
+    private List<Map<String, Object>> getRows(DatabaseTable table) throws DatabaseException
+    {
+        List<Map<String, Object>> rows = getPrefetched(table);
+        if (rows == null)
+        {
+            try
+            {
+                rows = selectAll(getConnection(), table);
+            }
+            catch (SQLException exc)
+            {
+                throw new DatabaseException(exc);
+            }
+        }
+        return rows;
+    }
+
+    private static Map<Object, List<SQLRow>> groupBy(List<Map<String, Object>> rows, Column column)
+    {
+        Map<Object, List<SQLRow>> rowsByValue = new HashMap<>();
+        for (Map<String, Object> row : rows)
+        {
+            rowsByValue.computeIfAbsent(indexKey(row.get(column.getName())), ignored -> new ArrayList<>())
+                .add(new SQLRow(row));
+        }
+        return rowsByValue;
+    }
+
+    /**
+     * Numbers are compared by their value, as the JDBC drivers do not agree on the type of integer columns
+     */
+    private static @Nullable Object indexKey(@Nullable Object value)
+    {
+        return value instanceof Number ? (Object) ((Number) value).longValue() : value;
+    }
+
+    private List<Map<String, Object>> awaitPrefetched(
         DatabaseTable table,
-        ResultSet resultSet,
-        LOAD_ALL parents,
-        DataLoader<DATA, INIT_MAPS, LOAD_ALL> dataLoader
+        Future<List<Map<String, Object>>> prefetched
     )
-        throws DatabaseException, MdException
+        throws DatabaseException
     {
-        Column[] columns = table.values();
-        Map<String, Object> objects = new TreeMap<>();
+        List<Map<String, Object>> rows;
         try
         {
-            for (Column column : columns)
+            rows = prefetched.get();
+        }
+        catch (ExecutionException exc)
+        {
+            Throwable cause = exc.getCause();
+            if (cause instanceof SQLException)
             {
-                Object data;
-                if (column.getSqlType() == Types.BLOB)
-                {
-                    data = resultSet.getBytes(column.getName());
-                }
-                else
-                {
-                    data = resultSet.getObject(column.getName());
-                }
-                if (resultSet.wasNull())
-                {
-                    data = null;
-                }
-                objects.put(column.getName(), data);
+                throw new DatabaseException(cause);
             }
+            throw new ImplementationError("Prefetching table " + table.getName() + " failed", cause);
         }
-        catch (SQLException exc)
+        catch (InterruptedException exc)
         {
+            Thread.currentThread().interrupt();
             throw new DatabaseException(exc);
         }
+        return rows;
+    }
+
+    private List<Map<String, Object>> selectAll(Connection dbCon, DatabaseTable table) throws SQLException
+    {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (
+            PreparedStatement stmt = dbCon.prepareStatement(getSelectStatement(table));
+            ResultSet resultSet = stmt.executeQuery()
+        )
+        {
+            Column[] columns = table.values();
+            while (resultSet.next())
+            {
+                Map<String, Object> objects = new TreeMap<>();
+                for (Column column : columns)
+                {
+                    Object data;
+                    if (column.getSqlType() == Types.BLOB)
+                    {
+                        data = resultSet.getBytes(column.getName());
+                    }
+                    else
+                    {
+                        data = resultSet.getObject(column.getName());
+                    }
+                    if (resultSet.wasNull())
+                    {
+                        data = null;
+                    }
+                    objects.put(column.getName(), data);
+                }
+                rows.add(objects);
+            }
+        }
+        return rows;
+    }
+
+    private <DATA, INIT_MAPS, LOAD_ALL> Pair<DATA, INIT_MAPS> restoreData(
+        DatabaseTable table,
+        Map<String, Object> objects,
+        LOAD_ALL parents,
+        DataLoader<DATA, INIT_MAPS, LOAD_ALL> dataLoader
+    )
+        throws DatabaseException, MdException
+    {
+        Column[] columns = table.values();
 
         Pair<DATA, INIT_MAPS> pair;
         try
@@ -362,9 +610,20 @@ public class SQLEngine implements DbEngine
         return pair;
     }
 
-    Connection getConnection()
+    Connection getConnection() throws DatabaseException
+    {
+        TransactionMgrSQL transMgr = transMgrProvider.get();
+        transMgr.flushWrites();
+        return transMgr.getConnection();
+    }
+
+    /**
+     * INSERT, UPDATE and DELETE statements are queued in the write batcher of the current transaction and
+     * executed at the latest when the transaction is committed
+     */
+    SQLWriteBatcher getWriteBatcher()
     {
-        return transMgrProvider.get().getConnection();
+        return transMgrProvider.get().getWriteBatcher();
     }
 
     String generateUpdateStatement(Column colToUpdate)
@@ -10,6 +10,7 @@ import com.linbit.linstor.security.AccessDeniedException;
 import com.linbit.linstor.stateflags.Flags;
 import com.linbit.linstor.stateflags.FlagsHelper;
 import com.linbit.linstor.stateflags.StateFlagsPersistence;
+import com.linbit.linstor.transaction.manager.SQLWriteBatcher;
 import com.linbit.utils.ExceptionThrowingFunction;
 import com.linbit.utils.StringUtils;
 
@@ -52,8 +53,10 @@ class SQLFlagsDriver<DATA, FLAG extends Enum<FLAG> & Flags> implements StateFlag
     @Override
     public void persist(DATA data, long flagsRef) throws DatabaseException
     {
-        try (PreparedStatement stmt = sqlEngine.getConnection().prepareStatement(updateStatement))
+        try
         {
+            SQLWriteBatcher writeBatcher = sqlEngine.getWriteBatcher();
+            PreparedStatement stmt = writeBatcher.prepare(updateStatement);
             String fromFlags = StringUtils.join(
                 FlagsHelper.toStringList(flagsClass, (long) setters.get(flagColumn).accept(data)),
                 ", "
@@ -75,16 +78,17 @@ class SQLFlagsDriver<DATA, FLAG extends Enum<FLAG> & Flags> implements StateFlag
             stmt.setLong(1, flagsRef);
             sqlEngine.setPrimaryValues(setters, stmt, 2, table, data);
 
-            stmt.executeUpdate();
-
-            errorReporter
-                .logTrace(
-                    "%s's flags updated from [%s] to [%s] %s",
-                    table.getName(),
-                    fromFlags,
-                    toFlags,
-                    inlineId
-                );
+            writeBatcher.addBatch(
+                stmt,
+                () -> errorReporter
+                    .logTrace(
+                        "%s's flags updated from [%s] to [%s] %s",
+                        table.getName(),
+                        fromFlags,
+                        toFlags,
+                        inlineId
+                    )
+            );
         }
         catch (SQLException sqlExc)
         {
@@ -8,6 +8,7 @@ import com.linbit.linstor.dbdrivers.DbEngine.DataToString;
 import com.linbit.linstor.dbdrivers.interfaces.updater.CollectionDatabaseDriver;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.security.AccessDeniedException;
+import com.linbit.linstor.transaction.manager.SQLWriteBatcher;
 import com.linbit.utils.ExceptionThrowingFunction;
 
 import java.sql.PreparedStatement;
@@ -63,8 +64,10 @@ class SQLListToJsonArrayDriver<DATA, LIST_TYPE> implements CollectionDatabaseDri
     private void update(DATA data, Collection<LIST_TYPE> backingCollection)
         throws DatabaseException
     {
-        try (PreparedStatement stmt = sqlEngine.getConnection().prepareStatement(updateStatement))
+        try
         {
+            SQLWriteBatcher writeBatcher = sqlEngine.getWriteBatcher();
+            PreparedStatement stmt = writeBatcher.prepare(updateStatement);
             String inlineId = dataToString.toString(data);
             errorReporter.logTrace(
                 "Updating %s's %s to %s of %s",
@@ -77,13 +80,16 @@ class SQLListToJsonArrayDriver<DATA, LIST_TYPE> implements CollectionDatabaseDri
             stmt.setObject(1, columnSetter.accept(data));
             sqlEngine.setPrimaryValues(setters, stmt, 2, table, data);
 
-            stmt.executeUpdate();
-            errorReporter.logTrace(
-                "%s's %s updated to %s %s",
-                table.getName(),
-                columnToUpdate.getName(),
-                backingCollection.toString(),
-                inlineId
+            String newValue = backingCollection.toString();
+            writeBatcher.addBatch(
+                stmt,
+                () -> errorReporter.logTrace(
+                    "%s's %s updated to %s %s",
+                    table.getName(),
+                    columnToUpdate.getName(),
+                    newValue,
+                    inlineId
+                )
             );
         }
         catch (SQLException sqlExc)
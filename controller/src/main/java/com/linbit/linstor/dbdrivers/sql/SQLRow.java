@@ -0,0 +1,171 @@
+package com.linbit.linstor.dbdrivers.sql;
+
+import com.linbit.ImplementationError;
+
+import javax.annotation.Nullable;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * One row read by a driver that uses its own statements, either from the result of that statement or from the rows
+ * prefetched by the {@link SQLEngine}.
+ *
+ * Columns are accessed by their upper case name, or by their label if the statement renamed them. All getters return
+ * null for SQL NULL values. Accessing a column that is not contained in the row is an {@link ImplementationError}.
+ */
+public final class SQLRow
+{
+    private final Map<String, Object> values;
+
+    public SQLRow(Map<String, Object> valuesRef)
+    {
+        values = valuesRef;
+    }
+
+    /**
+     * Reads all remaining rows of the given result set
+     */
+    public static List<SQLRow> readAll(ResultSet resultSet) throws SQLException
+    {
+        List<SQLRow> rows = new ArrayList<>();
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        for (int idx = 0; idx < columnCount; ++idx)
+        {
+            labels[idx] = metaData.getColumnLabel(idx + 1).toUpperCase(Locale.ROOT);
+        }
+        while (resultSet.next())
+        {
+            Map<String, Object> rowValues = new TreeMap<>();
+            for (int idx = 0; idx < columnCount; ++idx)
+            {
+                Object data;
+                if (isBinary(metaData.getColumnType(idx + 1)))
+                {
+                    data = resultSet.getBytes(idx + 1);
+                }
+                else
+                {
+                    data = resultSet.getObject(idx + 1);
+                }
+                if (resultSet.wasNull())
+                {
+                    data = null;
+                }
+                rowValues.put(labels[idx], data);
+            }
+            rows.add(new SQLRow(rowValues));
+        }
+        return rows;
+    }
+
+    private static boolean isBinary(int sqlType)
+    {
+        return sqlType == Types.BLOB || sqlType == Types.BINARY || sqlType == Types.VARBINARY ||
+            sqlType == Types.LONGVARBINARY;
+    }
+
+    public Set<String> getColumnNames()
+    {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    public @Nullable Object get(String column)
+    {
+        Object value = values.get(column);
+        if (value == null && !values.containsKey(column))
+        {
+            throw new ImplementationError("Column " + column + " is not contained in the row " + values.keySet());
+        }
+        return value;
+    }
+
+    public @Nullable String getString(String column)
+    {
+        Object value = get(column);
+        return value == null ? null : value.toString();
+    }
+
+    public @Nullable Integer getInt(String column)
+    {
+        Number value = getNumber(column);
+        return value == null ? null : value.intValue();
+    }
+
+    public @Nullable Long getLong(String column)
+    {
+        Number value = getNumber(column);
+        return value == null ? null : value.longValue();
+    }
+
+    public @Nullable Short getShort(String column)
+    {
+        Number value = getNumber(column);
+        return value == null ? null : value.shortValue();
+    }
+
+    public @Nullable Boolean getBoolean(String column)
+    {
+        Object value = get(column);
+        Boolean ret;
+        if (value == null || value instanceof Boolean)
+        {
+            ret = (Boolean) value;
+        }
+        else
+        if (value instanceof Number)
+        {
+            // databases without a boolean type store them as 0 / 1
+            ret = ((Number) value).intValue() != 0;
+        }
+        else
+        {
+            ret = Boolean.parseBoolean(value.toString());
+        }
+        return ret;
+    }
+
+    public @Nullable byte[] getBytes(String column)
+    {
+        Object value = get(column);
+        if (value != null && !(value instanceof byte[]))
+        {
+            throw new ImplementationError(
+                "Column " + column + " contains a " + value.getClass().getSimpleName() + ", not a byte array"
+            );
+        }
+        return (byte[]) value;
+    }
+
+    private @Nullable Number getNumber(String column)
+    {
+        Object value = get(column);
+        Number ret;
+        if (value == null || value instanceof Number)
+        {
+            ret = (Number) value;
+        }
+        else
+        {
+            ret = Long.parseLong(value.toString());
+        }
+        return ret;
+    }
+
+    @Override
+    public String toString()
+    {
+        return values.toString();
+    }
+}
@@ -8,6 +8,7 @@ import com.linbit.linstor.dbdrivers.DbEngine.DataToString;
 import com.linbit.linstor.dbdrivers.interfaces.updater.SingleColumnDatabaseDriver;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.security.AccessDeniedException;
+import com.linbit.linstor.transaction.manager.SQLWriteBatcher;
 import com.linbit.utils.ExceptionThrowingFunction;
 
 import java.sql.PreparedStatement;
@@ -56,27 +57,30 @@ class SQLSingleColumnDriver<DATA, INPUT_TYPE, DB_TYPE> implements SingleColumnDa
     {
         try
         {
+            String fromValue = dataValueToString.accept(parentRef);
+            String toValue = Objects.toString(elementRef);
+            String inlineId = dataToString.toString(parentRef);
             errorReporter.logTrace("Updating %s's %s from [%s] to [%s] %s",
                 table.getName(),
                 colToUpdate.getName(),
-                dataValueToString.accept(parentRef),
-                Objects.toString(elementRef),
-                dataToString.toString(parentRef)
+                fromValue,
+                toValue,
+                inlineId
             );
-            try (PreparedStatement stmt = sqlEngine.getConnection().prepareStatement(updateStatement))
-            {
-                int idx = fillSetter(stmt, 1, elementRef);
-                sqlEngine.setPrimaryValues(setters, stmt, idx, table, parentRef);
-
-                stmt.executeUpdate();
-            }
-            errorReporter.logTrace(
-                "%s's %s updated from [%s] to [%s] %s",
-                table.getName(),
-                colToUpdate.getName(),
-                dataValueToString.accept(parentRef),
-                Objects.toString(elementRef),
-                dataToString.toString(parentRef)
+            SQLWriteBatcher writeBatcher = sqlEngine.getWriteBatcher();
+            PreparedStatement stmt = writeBatcher.prepare(updateStatement);
+            int idx = fillSetter(stmt, 1, elementRef);
+            sqlEngine.setPrimaryValues(setters, stmt, idx, table, parentRef);
+            writeBatcher.addBatch(
+                stmt,
+                () -> errorReporter.logTrace(
+                    "%s's %s updated from [%s] to [%s] %s",
+                    table.getName(),
+                    colToUpdate.getName(),
+                    fromValue,
+                    toValue,
+                    inlineId
+                )
             );
         }
         catch (SQLException sqlExc)
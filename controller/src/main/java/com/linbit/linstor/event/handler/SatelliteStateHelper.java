@@ -6,12 +6,15 @@ import com.linbit.linstor.core.CoreModule;
 import com.linbit.linstor.core.identifier.NodeName;
 import com.linbit.linstor.core.objects.Node;
 import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.prometheus.PrometheusRegistry;
 import com.linbit.linstor.satellitestate.SatelliteState;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
+import com.linbit.linstor.transaction.ChangeGeneration;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -24,17 +27,23 @@ public class SatelliteStateHelper
     private final AccessContext accCtx;
     private final CoreModule.NodesMap nodesMap;
     private final ReadWriteLock nodesMapLock;
+    private final ChangeGeneration changeGeneration;
+    private final Provider<PrometheusRegistry> prometheusRegistry;
 
     @Inject
     public SatelliteStateHelper(
         @ApiContext AccessContext accCtxRef,
         CoreModule.NodesMap nodesMapRef,
-        @Named(CoreModule.NODES_MAP_LOCK) ReadWriteLock nodesMapLockRef
+        @Named(CoreModule.NODES_MAP_LOCK) ReadWriteLock nodesMapLockRef,
+        ChangeGeneration changeGenerationRef,
+        Provider<PrometheusRegistry> prometheusRegistryRef
     )
     {
         accCtx = accCtxRef;
         nodesMap = nodesMapRef;
         nodesMapLock = nodesMapLockRef;
+        changeGeneration = changeGenerationRef;
+        prometheusRegistry = prometheusRegistryRef;
     }
 
     public <T> T withSatelliteState(NodeName nodeName, Function<SatelliteState, T> extractor, T defaultIfNoPeer)
@@ -60,6 +69,9 @@ public class SatelliteStateHelper
                     }
                     finally
                     {
+                        // the satellite state might have been changed by the extractor
+                        changeGeneration.increment(ChangeGeneration.Kind.SATELLITE_STATES);
+                        prometheusRegistry.get().satelliteStateChanged(nodeName);
                         writeLock.unlock();
                     }
                 }
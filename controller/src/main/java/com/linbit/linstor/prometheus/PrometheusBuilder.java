@@ -16,25 +16,28 @@ import com.linbit.linstor.core.apis.VolumeApi;
 import com.linbit.linstor.core.identifier.NodeName;
 import com.linbit.linstor.core.identifier.ResourceName;
 import com.linbit.linstor.core.objects.Resource;
-import com.linbit.linstor.logging.ErrorReport;
+import com.linbit.linstor.logging.ErrorReportStats;
 import com.linbit.linstor.logging.ErrorReporter;
 import com.linbit.linstor.satellitestate.SatelliteResourceState;
 import com.linbit.linstor.satellitestate.SatelliteState;
 import com.linbit.linstor.storage.kinds.DeviceProviderKind;
-import com.linbit.utils.Pair;
+import com.linbit.locks.LockGuardFactory.LockObj;
+import com.linbit.locks.LockGuardFactory.LockType;
+import com.linbit.locks.LockStatistics;
+import com.linbit.locks.LockStatistics.LockTimeStats;
+import com.linbit.locks.LockStatistics.TimeHistogram;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import java.io.IOException;
 import java.io.StringWriter;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.hotspot.DefaultExports;
@@ -45,6 +48,12 @@ public class PrometheusBuilder {
     private static final String VOLUME_STATE_HELP;
     private static final String NODE_STATE_HELP;
 
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private static final String RSC_STATE_GAUGE = "linstor_resource_state";
+    private static final String VLM_STATE_GAUGE = "linstor_volume_state";
+    private static final String VLM_ALLOCATED_GAUGE = "linstor_volume_allocated_size_bytes";
+
     private static final int RSC_STATE_UNKNOWN = -1;
     private static final int RSC_STATE_UN_USED = 0;
     private static final int RSC_STATE_IN_USE = 1;
@@ -217,23 +226,109 @@ public class PrometheusBuilder {
         return val;
     }
 
+    private static void writeTimeHistogram(
+        final TextFormat tf,
+        final Map<String, String> labels,
+        final TimeHistogram histogram)
+    {
+        long[] bucketCounts = histogram.getBucketCounts();
+        long cumulativeCount = 0;
+        for (int idx = 0; idx < bucketCounts.length; ++idx) {
+            cumulativeCount += bucketCounts[idx];
+            long bound = LockStatistics.BUCKET_BOUNDS_NANOS[idx];
+            HashMap<String, String> bucketLabels = new HashMap<>(labels);
+            bucketLabels.put("le", bound == Long.MAX_VALUE ? "+Inf" : Double.toString(bound / NANOS_PER_SECOND));
+            tf.writeSample("_bucket", bucketLabels, cumulativeCount);
+        }
+        tf.writeSample("_sum", labels, histogram.getSumNanos() / NANOS_PER_SECOND);
+        tf.writeSample("_count", labels, cumulativeCount);
+    }
+
+    private static Map<String, String> lockExport(final LockObj lockObj, final LockType lockType)
+    {
+        final HashMap<String, String> map = new HashMap<>();
+        map.put("lock", lockObj.name());
+        map.put("type", lockType.name());
+        return map;
+    }
+
+    private static Map<String, String> apiCallExport(final String apiCallName)
+    {
+        final HashMap<String, String> map = new HashMap<>();
+        map.put("api_call", apiCallName);
+        return map;
+    }
+
+    private static Map<String, String> errorReportLabels(final ErrorReportStats.Entry entry)
+    {
+        final HashMap<String, String> map = new HashMap<>();
+        map.put("hostname", entry.getNodeName());
+        map.put("module", entry.getModuleString());
+        return map;
+    }
+
+    private static void writeLockStatistics(final TextFormat tf, final LockStatistics lockStatistics)
+    {
+        Map<LockObj, Map<LockType, LockTimeStats>> lockObjStats = lockStatistics.getLockObjStats();
+        Map<String, LockTimeStats> apiCallStats = lockStatistics.getApiCallStats();
+
+        tf.startHistogram("linstor_lock_wait_seconds", "Time spent waiting for a lock");
+        lockObjStats.forEach((lockObj, typeMap) -> typeMap.forEach((lockType, stats) ->
+            writeTimeHistogram(tf, lockExport(lockObj, lockType), stats.getWaitTime())));
+
+        tf.startHistogram("linstor_lock_hold_seconds", "Time a lock was held");
+        lockObjStats.forEach((lockObj, typeMap) -> typeMap.forEach((lockType, stats) ->
+            writeTimeHistogram(tf, lockExport(lockObj, lockType), stats.getHoldTime())));
+
+        tf.startGauge("linstor_lock_wait_max_seconds");
+        lockObjStats.forEach((lockObj, typeMap) -> typeMap.forEach((lockType, stats) ->
+            tf.writeSample(lockExport(lockObj, lockType), stats.getWaitTime().getMaxNanos() / NANOS_PER_SECOND)));
+
+        tf.startGauge("linstor_lock_hold_max_seconds");
+        lockObjStats.forEach((lockObj, typeMap) -> typeMap.forEach((lockType, stats) ->
+            tf.writeSample(lockExport(lockObj, lockType), stats.getHoldTime().getMaxNanos() / NANOS_PER_SECOND)));
+
+        tf.startGauge("linstor_lock_holders", "Number of threads currently holding a lock");
+        lockObjStats.forEach((lockObj, typeMap) -> typeMap.forEach((lockType, stats) ->
+            tf.writeSample(lockExport(lockObj, lockType), stats.getCurrentHolders())));
+
+        tf.startHistogram("linstor_api_call_lock_wait_seconds", "Time an API call spent waiting for its locks");
+        apiCallStats.forEach((apiCallName, stats) ->
+            writeTimeHistogram(tf, apiCallExport(apiCallName), stats.getWaitTime()));
+
+        tf.startHistogram("linstor_api_call_lock_hold_seconds", "Time an API call held its locks");
+        apiCallStats.forEach((apiCallName, stats) ->
+            writeTimeHistogram(tf, apiCallExport(apiCallName), stats.getHoldTime()));
+
+        tf.startGauge("linstor_api_call_lock_holders", "Number of API calls currently holding their locks");
+        apiCallStats.forEach((apiCallName, stats) ->
+            tf.writeSample(apiCallExport(apiCallName), stats.getCurrentHolders()));
+    }
+
     public String build(
         @Nullable final List<NodeApi> nodeApiList,
         @Nullable final List<ResourceDefinitionApi> rscDfns,
         @Nullable final ResourceList rl,
         @Nullable final List<StorPoolApi> storagePoolList,
-        @Nullable final List<ErrorReport> errorReports,
+        @Nullable final Collection<ErrorReportStats.Entry> errorReportStats,
+        @Nullable final LockStatistics lockStatistics,
         final long scrape_request_count,
         final long scrape_start_millis) throws IOException
     {
-        TextFormat tf = new TextFormat();
+        String objectMetrics = buildNodeMetrics(nodeApiList, rscDfns) +
+            (rl != null ? buildResourceMetrics(rl) : "") +
+            (storagePoolList != null ? buildStorPoolMetrics(storagePoolList) : "");
+        return build(objectMetrics, errorReportStats, lockStatistics, scrape_request_count, scrape_start_millis);
+    }
 
-        tf.startGauge("linstor_info");
-        Map<String, String> infoMap = new HashMap<>();
-        infoMap.put("version", LinStor.VERSION_INFO_PROVIDER.getVersion());
-        infoMap.put("buildtime", LinStor.VERSION_INFO_PROVIDER.getBuildTime());
-        infoMap.put("gitid", LinStor.VERSION_INFO_PROVIDER.getGitCommitId());
-        tf.writeSample(infoMap, 1);
+    /**
+     * Renders the metrics of the nodes and resource definitions
+     */
+    public String buildNodeMetrics(
+        @Nullable final List<NodeApi> nodeApiList,
+        @Nullable final List<ResourceDefinitionApi> rscDfns)
+    {
+        TextFormat tf = new TextFormat();
 
         if (nodeApiList != null)
         {
@@ -251,75 +346,148 @@ public class PrometheusBuilder {
             tf.writeSample(rscDfns.size());
         }
 
-        if (rl != null)
-        {
-            tf.startGauge("linstor_resource_state", "-1=\"unknown state\", 0=\"secondary\", 1=\"primary\"");
-            ArrayList<Pair<ResourceApi, VolumeApi>> volumeApis = new ArrayList<>();
-            for (ResourceApi resApi : rl.getResources()) {
-                SatelliteResourceState resState = getResourceState(rl.getSatelliteStates(), resApi);
-                tf.writeSample(resourceExport(resApi), resourceState(resState));
-                volumeApis.addAll(resApi.getVlmList().stream()
-                    .map(vlmApi -> new Pair<ResourceApi, VolumeApi>(resApi, vlmApi))
-                    .collect(Collectors.toList()));
-            }
+        return tf.toString();
+    }
 
-            tf.startGauge("linstor_volume_state", VOLUME_STATE_HELP);
-            for (Pair<ResourceApi, VolumeApi> pair : volumeApis) {
-                JsonGenTypes.Volume vlm = Json.apiToVolume(pair.objB);
-                vlm.state = Volumes.getVolumeState(
-                    rl, pair.objA.getNodeName(), pair.objA.getName(), vlm.volume_number);
-                tf.writeSample(volumeExport(pair.objA, pair.objB), volumeState(pair.objA, vlm));
-            }
+    /**
+     * Renders the metrics of the resources and volumes
+     */
+    public String buildResourceMetrics(final ResourceList rl)
+    {
+        return buildResourceMetrics(Collections.singletonList(buildResourceSamples(rl, rl.getResources())));
+    }
 
-            tf.startGauge("linstor_volume_allocated_size_bytes");
-            for (Pair<ResourceApi, VolumeApi> pair : volumeApis) {
-                double val = pair.objB.getAllocatedSize().isPresent() ?
-                    pair.objB.getAllocatedSize().get() * 1024 : Double.NaN;
-                tf.writeSample(volumeExport(pair.objA, pair.objB), val);
-            }
+    /**
+     * Renders the metrics of the resources and volumes from samples that were rendered separately, e.g. per node
+     */
+    public String buildResourceMetrics(final Collection<ResourceSamples> resourceSamples)
+    {
+        TextFormat tf = new TextFormat();
+
+        tf.startGauge(RSC_STATE_GAUGE, "-1=\"unknown state\", 0=\"secondary\", 1=\"primary\"");
+        for (ResourceSamples samples : resourceSamples) {
+            tf.appendRendered(samples.rscStateSamples);
         }
 
-        if (storagePoolList != null)
-        {
-            tf.startGauge("linstor_storage_pool_capacity_free_bytes");
-            for (StorPoolApi storPoolApi : storagePoolList) {
-                tf.writeSample(
-                    storagePoolExport(storPoolApi),
-                    safeStorPoolValue(storPoolApi.getFreeCapacity(), storPoolApi.getDeviceProviderKind()));
+        tf.startGauge(VLM_STATE_GAUGE, VOLUME_STATE_HELP);
+        for (ResourceSamples samples : resourceSamples) {
+            tf.appendRendered(samples.vlmStateSamples);
+        }
+
+        tf.startGauge(VLM_ALLOCATED_GAUGE);
+        for (ResourceSamples samples : resourceSamples) {
+            tf.appendRendered(samples.vlmAllocatedSamples);
+        }
+
+        return tf.toString();
+    }
+
+    /**
+     * Renders the samples of the resource and volume metrics of the given resources, without the headers of the
+     * metric families
+     *
+     * @param rl the list containing the satellite states of the given resources
+     */
+    public ResourceSamples buildResourceSamples(final ResourceList rl, final Collection<ResourceApi> rscApis)
+    {
+        TextFormat rscStateTf = new TextFormat();
+        rscStateTf.continueSection(RSC_STATE_GAUGE);
+        TextFormat vlmStateTf = new TextFormat();
+        vlmStateTf.continueSection(VLM_STATE_GAUGE);
+        TextFormat vlmAllocatedTf = new TextFormat();
+        vlmAllocatedTf.continueSection(VLM_ALLOCATED_GAUGE);
+
+        for (ResourceApi resApi : rscApis) {
+            SatelliteResourceState resState = getResourceState(rl.getSatelliteStates(), resApi);
+            rscStateTf.writeSample(resourceExport(resApi), resourceState(resState));
+
+            for (VolumeApi vlmApi : resApi.getVlmList()) {
+                JsonGenTypes.Volume vlm = Json.apiToVolume(vlmApi);
+                vlm.state = Volumes.getVolumeState(rl, resApi.getNodeName(), resApi.getName(), vlm.volume_number);
+                vlmStateTf.writeSample(volumeExport(resApi, vlmApi), volumeState(resApi, vlm));
+
+                double val = vlmApi.getAllocatedSize().isPresent() ?
+                    vlmApi.getAllocatedSize().get() * 1024 : Double.NaN;
+                vlmAllocatedTf.writeSample(volumeExport(resApi, vlmApi), val);
             }
+        }
 
-            tf.startGauge("linstor_storage_pool_capacity_total_bytes");
-            for (StorPoolApi storPoolApi : storagePoolList) {
-                tf.writeSample(
-                    storagePoolExport(storPoolApi),
-                    safeStorPoolValue(storPoolApi.getTotalCapacity(), storPoolApi.getDeviceProviderKind()));
+        return new ResourceSamples(rscStateTf.toString(), vlmStateTf.toString(), vlmAllocatedTf.toString());
+    }
+
+    /**
+     * Renders the metrics of the storage pools
+     */
+    public String buildStorPoolMetrics(final List<StorPoolApi> storagePoolList)
+    {
+        TextFormat tf = new TextFormat();
+
+        tf.startGauge("linstor_storage_pool_capacity_free_bytes");
+        for (StorPoolApi storPoolApi : storagePoolList) {
+            tf.writeSample(
+                storagePoolExport(storPoolApi),
+                safeStorPoolValue(storPoolApi.getFreeCapacity(), storPoolApi.getDeviceProviderKind()));
+        }
+
+        tf.startGauge("linstor_storage_pool_capacity_total_bytes");
+        for (StorPoolApi storPoolApi : storagePoolList) {
+            tf.writeSample(
+                storagePoolExport(storPoolApi),
+                safeStorPoolValue(storPoolApi.getTotalCapacity(), storPoolApi.getDeviceProviderKind()));
+        }
+
+        tf.startGauge("linstor_storage_pool_error_count");
+        for (StorPoolApi storPoolApi : storagePoolList) {
+            tf.writeSample(storagePoolExport(storPoolApi),
+                storPoolApi.getReports().getEntries().stream()
+                    .filter(ApiCallRc.RcEntry::isError).count());
+        }
+
+        return tf.toString();
+    }
+
+    /**
+     * Renders the complete scrape response
+     *
+     * @param objectMetrics the already rendered metrics of the nodes, resources and storage pools
+     */
+    public String build(
+        final String objectMetrics,
+        @Nullable final Collection<ErrorReportStats.Entry> errorReportStats,
+        @Nullable final LockStatistics lockStatistics,
+        final long scrape_request_count,
+        final long scrape_start_millis) throws IOException
+    {
+        TextFormat tf = new TextFormat();
+
+        tf.startGauge("linstor_info");
+        Map<String, String> infoMap = new HashMap<>();
+        infoMap.put("version", LinStor.VERSION_INFO_PROVIDER.getVersion());
+        infoMap.put("buildtime", LinStor.VERSION_INFO_PROVIDER.getBuildTime());
+        infoMap.put("gitid", LinStor.VERSION_INFO_PROVIDER.getGitCommitId());
+        tf.writeSample(infoMap, 1);
+
+        tf.appendRendered(objectMetrics);
+
+        if (errorReportStats != null)
+        {
+            tf.startGauge("linstor_error_reports_count");
+            tf.writeSample(null, errorReportStats.stream().mapToLong(ErrorReportStats.Entry::getCount).sum());
+            for (ErrorReportStats.Entry entry : errorReportStats)
+            {
+                tf.writeSample(errorReportLabels(entry), entry.getCount());
             }
 
-            tf.startGauge("linstor_storage_pool_error_count");
-            for (StorPoolApi storPoolApi : storagePoolList) {
-                tf.writeSample(storagePoolExport(storPoolApi),
-                    storPoolApi.getReports().getEntries().stream()
-                        .filter(ApiCallRc.RcEntry::isError).count());
+            tf.startGauge("linstor_error_reports_last_timestamp_seconds");
+            for (ErrorReportStats.Entry entry : errorReportStats)
+            {
+                tf.writeSample(errorReportLabels(entry), entry.getLastReportTime().getTime() / 1000.0);
             }
         }
 
-        if (errorReports != null)
+        if (lockStatistics != null)
         {
-            tf.startGauge("linstor_error_reports_count");
-            tf.writeSample(null, errorReports.size());
-            Set<Pair<String, String>> nodes = errorReports.stream()
-                .map(err -> new Pair<>(err.getModuleString(), err.getNodeName()))
-                .collect(Collectors.toSet());
-
-            nodes.forEach(node -> {
-                HashMap<String, String> errMap = new HashMap<>();
-                errMap.put("hostname", node.objB);
-                errMap.put("module", node.objA);
-                tf.writeSample(errMap, errorReports.stream()
-                    .filter(rep -> rep.getNodeName().equals(node.objB) &&
-                        rep.getModuleString().equals(node.objA))
-                    .count());
-            });
+            writeLockStatistics(tf, lockStatistics);
         }
 
         StringWriter sw = new StringWriter();
@@ -334,4 +502,22 @@ public class PrometheusBuilder {
 
         return tf.toString() + sw.toString();
     }
+
+    /**
+     * Rendered samples of the resource and volume metrics of some resources, without the headers of their
+     * metric families
+     */
+    public static class ResourceSamples
+    {
+        private final String rscStateSamples;
+        private final String vlmStateSamples;
+        private final String vlmAllocatedSamples;
+
+        ResourceSamples(String rscStateSamplesRef, String vlmStateSamplesRef, String vlmAllocatedSamplesRef)
+        {
+            rscStateSamples = rscStateSamplesRef;
+            vlmStateSamples = vlmStateSamplesRef;
+            vlmAllocatedSamples = vlmAllocatedSamplesRef;
+        }
+    }
 }
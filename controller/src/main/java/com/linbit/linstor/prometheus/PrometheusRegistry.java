@@ -0,0 +1,296 @@
+package com.linbit.linstor.prometheus;
+
+import com.linbit.linstor.annotation.ErrorReporterContext;
+import com.linbit.linstor.annotation.PeerContext;
+import com.linbit.linstor.annotation.PublicContext;
+import com.linbit.linstor.api.LinStorScope;
+import com.linbit.linstor.core.apicallhandler.controller.CtrlApiSnapshot;
+import com.linbit.linstor.core.apicallhandler.controller.CtrlApiSnapshotCache;
+import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceList;
+import com.linbit.linstor.core.apis.ResourceApi;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.transaction.ChangeGeneration;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.inject.Key;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Keeps the metrics of the nodes, resource definitions, resources, volumes and storage pools rendered in memory
+ *
+ * The rendered metrics are updated in the background whenever the {@link ChangeGeneration} reports a change of
+ * the objects they are based on, or when a satellite reported a new state for one of its resources or volumes.
+ * The resource and volume samples are kept per node, so a satellite event only renders the samples of the node
+ * that sent it again. Changes are only recorded by the threads reporting them and are coalesced into a single
+ * update, scrapes only concatenate the already rendered sections and therefore neither take locks nor iterate
+ * over the objects.
+ *
+ * The metrics are rendered with the public access context, as they are shared between all scrapes.
+ */
+@Singleton
+public class PrometheusRegistry implements ChangeGeneration.Listener
+{
+    private final PrometheusBuilder prometheusBuilder;
+    private final CtrlApiSnapshotCache apiSnapshotCache;
+    private final LinStorScope apiCallScope;
+    private final AccessContext publicCtx;
+    private final Scheduler scheduler;
+    private final ErrorReporter errorReporter;
+
+    // pending changes, set by the threads reporting the changes and cleared by the update
+    private final AtomicBoolean nodesStale;
+    private final AtomicBoolean rscsStale;
+    private final AtomicBoolean storPoolsStale;
+    private final Set<String> staleSatelliteNodes;
+    private final AtomicBoolean updateScheduled;
+
+    private final Object updateLock;
+    private volatile boolean initialized;
+
+    private volatile String nodeMetrics;
+    // resource and volume samples by node name
+    private final Map<String, PrometheusBuilder.ResourceSamples> rscSamples;
+    private volatile String storPoolMetrics;
+
+    @Inject
+    public PrometheusRegistry(
+        PrometheusBuilder prometheusBuilderRef,
+        CtrlApiSnapshotCache apiSnapshotCacheRef,
+        LinStorScope apiCallScopeRef,
+        @PublicContext AccessContext publicCtxRef,
+        Scheduler schedulerRef,
+        ErrorReporter errorReporterRef,
+        ChangeGeneration changeGenerationRef
+    )
+    {
+        prometheusBuilder = prometheusBuilderRef;
+        apiSnapshotCache = apiSnapshotCacheRef;
+        apiCallScope = apiCallScopeRef;
+        publicCtx = publicCtxRef;
+        scheduler = schedulerRef;
+        errorReporter = errorReporterRef;
+
+        nodesStale = new AtomicBoolean(true);
+        rscsStale = new AtomicBoolean(true);
+        storPoolsStale = new AtomicBoolean(true);
+        staleSatelliteNodes = ConcurrentHashMap.newKeySet();
+        updateScheduled = new AtomicBoolean();
+
+        updateLock = new Object();
+        nodeMetrics = "";
+        rscSamples = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+        storPoolMetrics = "";
+
+        changeGenerationRef.addListener(this);
+        scheduleUpdate();
+    }
+
+    @Override
+    public void changed(ChangeGeneration.Kind... kinds)
+    {
+        boolean stale = false;
+        for (ChangeGeneration.Kind kind : kinds)
+        {
+            switch (kind)
+            {
+                case NODES:
+                    // also covers the satellite states that are dropped when a satellite disconnects
+                    nodesStale.set(true);
+                    rscsStale.set(true);
+                    storPoolsStale.set(true);
+                    stale = true;
+                    break;
+                case RSC_DFNS:
+                    nodesStale.set(true);
+                    rscsStale.set(true);
+                    stale = true;
+                    break;
+                case RSCS:
+                    rscsStale.set(true);
+                    stale = true;
+                    break;
+                case STOR_POOLS:
+                    storPoolsStale.set(true);
+                    stale = true;
+                    break;
+                case SATELLITE_STATES:
+                    // reported per node through satelliteStateChanged
+                    break;
+                default:
+                    nodesStale.set(true);
+                    rscsStale.set(true);
+                    storPoolsStale.set(true);
+                    stale = true;
+                    break;
+            }
+        }
+        if (stale)
+        {
+            scheduleUpdate();
+        }
+    }
+
+    /**
+     * Records that the given satellite reported a new state of its resources or volumes. May be called while
+     * holding locks, the samples of the node are rendered again in the background.
+     */
+    public void satelliteStateChanged(NodeName nodeName)
+    {
+        staleSatelliteNodes.add(nodeName.displayValue);
+        scheduleUpdate();
+    }
+
+    /**
+     * Returns the rendered metrics of the objects. Only the very first call might have to wait for the metrics
+     * to be rendered, all further calls return the metrics as of the last update.
+     *
+     * Must not be called within the api call scope or while holding any locks of the core objects.
+     */
+    public String getObjectMetrics(boolean withResources, boolean withStorPools)
+    {
+        if (!initialized)
+        {
+            update();
+        }
+
+        StringBuilder sb = new StringBuilder(nodeMetrics);
+        if (withResources)
+        {
+            sb.append(prometheusBuilder.buildResourceMetrics(rscSamples.values()));
+        }
+        if (withStorPools)
+        {
+            sb.append(storPoolMetrics);
+        }
+        return sb.toString();
+    }
+
+    private void scheduleUpdate()
+    {
+        if (updateScheduled.compareAndSet(false, true))
+        {
+            scheduler.schedule(this::update);
+        }
+    }
+
+    private void update()
+    {
+        synchronized (updateLock)
+        {
+            // changes reported from now on schedule another update
+            updateScheduled.set(false);
+
+            apiCallScope.enter();
+            try
+            {
+                apiCallScope.seed(Key.get(AccessContext.class, PeerContext.class), publicCtx);
+                apiCallScope.seed(Key.get(AccessContext.class, ErrorReporterContext.class), publicCtx);
+                apiCallScope.seed(Peer.class, null);
+
+                CtrlApiSnapshot snapshot = apiSnapshotCache.get();
+                if (nodesStale.getAndSet(false))
+                {
+                    nodeMetrics = prometheusBuilder.buildNodeMetrics(
+                        snapshot.listNodes(Collections.emptyList(), Collections.emptyList()),
+                        snapshot.listResourceDefinitions(Collections.emptyList(), Collections.emptyList())
+                    );
+                }
+                if (rscsStale.getAndSet(false))
+                {
+                    // all nodes are rendered again, so pending satellite changes are covered as well
+                    staleSatelliteNodes.clear();
+                    updateResourceSamples(snapshot, Collections.emptyList(), true);
+                }
+                else
+                if (!staleSatelliteNodes.isEmpty())
+                {
+                    List<String> nodeNames = new ArrayList<>();
+                    Iterator<String> nodeNameIt = staleSatelliteNodes.iterator();
+                    while (nodeNameIt.hasNext())
+                    {
+                        nodeNames.add(nodeNameIt.next());
+                        nodeNameIt.remove();
+                    }
+                    updateResourceSamples(snapshot, nodeNames, false);
+                }
+                if (storPoolsStale.getAndSet(false))
+                {
+                    storPoolMetrics = prometheusBuilder.buildStorPoolMetrics(
+                        snapshot.listStorPools(
+                            Collections.emptyList(),
+                            Collections.emptyList(),
+                            Collections.emptyList()
+                        )
+                    );
+                }
+                initialized = true;
+            }
+            catch (Exception exc)
+            {
+                errorReporter.reportError(exc);
+            }
+            finally
+            {
+                apiCallScope.exit();
+            }
+        }
+    }
+
+    /**
+     * Renders the samples of the resources of the given nodes again
+     *
+     * @param allNodes if true, the samples of all nodes are rendered again, including the removal of the samples
+     *     of nodes that no longer have any resources
+     */
+    private void updateResourceSamples(CtrlApiSnapshot snapshot, List<String> nodeNames, boolean allNodes)
+    {
+        ResourceList rl = snapshot.listVlms(
+            nodeNames,
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.emptyList()
+        );
+
+        Map<String, List<ResourceApi>> rscsByNode = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String nodeName : nodeNames)
+        {
+            rscsByNode.put(nodeName, new ArrayList<>());
+        }
+        for (ResourceApi rscApi : rl.getResources())
+        {
+            rscsByNode.computeIfAbsent(rscApi.getNodeName(), ignored -> new ArrayList<>()).add(rscApi);
+        }
+
+        if (allNodes)
+        {
+            rscSamples.keySet().retainAll(rscsByNode.keySet());
+        }
+        for (Map.Entry<String, List<ResourceApi>> entry : rscsByNode.entrySet())
+        {
+            if (entry.getValue().isEmpty())
+            {
+                rscSamples.remove(entry.getKey());
+            }
+            else
+            {
+                rscSamples.put(entry.getKey(), prometheusBuilder.buildResourceSamples(rl, entry.getValue()));
+            }
+        }
+    }
+}
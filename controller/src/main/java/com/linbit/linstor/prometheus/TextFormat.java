@@ -49,6 +49,24 @@ public class TextFormat {
         startSection(Type.counter, sectionName, help);
     }
 
+    public void startHistogram(final String sectionName)
+    {
+        startHistogram(sectionName, "");
+    }
+    public void startHistogram(final String sectionName, final String help)
+    {
+        startSection(Type.histogram, sectionName, help);
+    }
+
+    /**
+     * Continues writing samples of a section whose header is written by another TextFormat, so that the samples
+     * of a section can be rendered separately for parts of the objects and later be appended below that header
+     */
+    public void continueSection(final String sectionName)
+    {
+        currentSection = sectionName.trim();
+    }
+
     private void startSection(final Type type, final String sectionName, @Nullable final String help)
     {
         currentSection = sectionName.trim();
@@ -76,8 +94,18 @@ public class TextFormat {
     }
 
     public void writeSample(@Nullable final Map<String, String> labels, double value)
+    {
+        writeSample("", labels, value);
+    }
+
+    /**
+     * Writes a sample whose name is the current section name followed by the given suffix,
+     * e.g. "_bucket", "_sum" or "_count" for histograms
+     */
+    public void writeSample(final String nameSuffix, @Nullable final Map<String, String> labels, double value)
     {
         sb.append(currentSection);
+        sb.append(nameSuffix);
         if (labels != null && !labels.isEmpty()) {
             sb.append('{');
             sb.append(formatLabels(labels));
@@ -88,6 +116,14 @@ public class TextFormat {
         sb.append("\n");
     }
 
+    /**
+     * Appends complete sections that were already rendered by another TextFormat
+     */
+    public void appendRendered(final String rendered)
+    {
+        sb.append(rendered);
+    }
+
     @Override
     public String toString() {
         return sb.toString();
@@ -4,8 +4,10 @@ import com.linbit.linstor.dbdrivers.DatabaseException;
 import com.linbit.linstor.dbdrivers.derby.DbConstants;
 import com.linbit.linstor.dbdrivers.interfaces.PropsConDatabaseDriver;
 import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.transaction.manager.SQLWriteBatcher;
 import com.linbit.linstor.transaction.manager.TransactionMgrSQL;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
@@ -13,6 +15,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -38,6 +42,10 @@ public class PropsConSQLDbDriver implements PropsConDatabaseDriver
         " FROM " + TBL_PROP + "\n" +
         " WHERE " + COL_INSTANCE + " = ?";
 
+    private static final String SELECT_ALL_ENTRIES =
+        " SELECT " + COL_INSTANCE + ", " + COL_KEY + ", " + COL_VALUE + "\n" +
+        " FROM " + TBL_PROP;
+
     private static final String REMOVE_ENTRY =
         " DELETE FROM " + TBL_PROP + "\n" +
         "    WHERE " + COL_INSTANCE + " = ? \n" +
@@ -50,6 +58,16 @@ public class PropsConSQLDbDriver implements PropsConDatabaseDriver
     private final ErrorReporter errorReporter;
     private final Provider<TransactionMgrSQL> transMgrProvider;
 
+    /**
+     * Properties of all instances read by {@link #prefetchAll()}, grouped by the upper case instance name
+     */
+    private @Nullable Map<String, Map<String, String>> prefetchedProps;
+    /**
+     * Upper case names of the instances that were already loaded or modified since {@link #prefetchAll()}.
+     * Only the first {@link #loadAll(String)} of an instance can use the prefetched properties.
+     */
+    private final Set<String> prefetchedInstancesUsed;
+
     @Inject
     public PropsConSQLDbDriver(
         ErrorReporter errorReporterRef,
@@ -58,6 +76,7 @@ public class PropsConSQLDbDriver implements PropsConDatabaseDriver
     {
         errorReporter = errorReporterRef;
         transMgrProvider = transMgrProviderRef;
+        prefetchedInstancesUsed = new HashSet<>();
     }
 
     @Override
@@ -78,6 +97,7 @@ public class PropsConSQLDbDriver implements PropsConDatabaseDriver
     @SuppressWarnings("checkstyle:magicnumber")
     private void persistImpl(String instanceName, String key, String value) throws DatabaseException
     {
+        dropPrefetched(instanceName);
         errorReporter.logTrace("Storing property %s", getId(instanceName, key, value));
         try (
             PreparedStatement stmt = getConnection().prepareStatement(
@@ -118,37 +138,43 @@ public class PropsConSQLDbDriver implements PropsConDatabaseDriver
     @Override
     public void remove(String instanceName, String key) throws DatabaseException
     {
+        dropPrefetched(instanceName);
         errorReporter.logTrace("Removing property %s", getId(instanceName, key));
 
-        try (PreparedStatement stmt = getConnection().prepareStatement(REMOVE_ENTRY))
+        try
         {
+            SQLWriteBatcher writeBatcher = transMgrProvider.get().getWriteBatcher();
+            PreparedStatement stmt = writeBatcher.prepare(REMOVE_ENTRY);
             stmt.setString(1, instanceName.toUpperCase());
             stmt.setString(2, key);
 
-            stmt.executeUpdate();
+            writeBatcher.addBatch(stmt, () -> errorReporter.logTrace("Property removed %s", getId(instanceName, key)));
         }
         catch (SQLException sqlExc)
         {
             throw new DatabaseException(sqlExc);
         }
-
-        errorReporter.logTrace("Property removed %s", getId(instanceName, key));
     }
 
     @Override
     public void remove(String instanceName, Set<String> keys) throws DatabaseException
     {
-        try (PreparedStatement stmt = getConnection().prepareStatement(REMOVE_ENTRY))
+        dropPrefetched(instanceName);
+        try
         {
-            stmt.setString(1, instanceName.toUpperCase());
+            SQLWriteBatcher writeBatcher = transMgrProvider.get().getWriteBatcher();
+            PreparedStatement stmt = writeBatcher.prepare(REMOVE_ENTRY);
+            String instanceUpper = instanceName.toUpperCase();
             for (String key : keys)
             {
                 errorReporter.logTrace("Removing property %s", getId(instanceName, key));
 
+                stmt.setString(1, instanceUpper);
                 stmt.setString(2, key);
-                stmt.executeUpdate();
-
-                errorReporter.logTrace("Property removed %s", getId(instanceName, key));
+                writeBatcher.addBatch(
+                    stmt,
+                    () -> errorReporter.logTrace("Property removed %s", getId(instanceName, key))
+                );
             }
         }
         catch (SQLException sqlExc)
@@ -160,6 +186,7 @@ public class PropsConSQLDbDriver implements PropsConDatabaseDriver
     @Override
     public void removeAll(String instanceName) throws DatabaseException
     {
+        dropPrefetched(instanceName);
         errorReporter.logTrace("Removing all properties by instance %s", getId(instanceName));
 
         int rowsUpdated;
@@ -186,26 +213,40 @@ public class PropsConSQLDbDriver implements PropsConDatabaseDriver
     public Map<String, String> loadAll(String instanceName) throws DatabaseException
     {
         errorReporter.logTrace("Loading properties for instance %s", getId(instanceName));
-        Map<String, String> ret = new TreeMap<>();
-        Connection connection = getConnection();
-        try (PreparedStatement stmt = connection.prepareStatement(SELECT_ALL_ENTRIES_BY_INSTANCE))
+        Map<String, String> ret;
+        String instanceUpper = instanceName.toUpperCase();
+        if (prefetchedProps != null && prefetchedInstancesUsed.add(instanceUpper))
         {
-            stmt.setString(1, instanceName.toUpperCase());
-
-            try (ResultSet resultSet = stmt.executeQuery())
+            // instances without any properties are not contained in the prefetched map
+            ret = prefetchedProps.remove(instanceUpper);
+            if (ret == null)
+            {
+                ret = new TreeMap<>();
+            }
+        }
+        else
+        {
+            ret = new TreeMap<>();
+            Connection connection = getConnection();
+            try (PreparedStatement stmt = connection.prepareStatement(SELECT_ALL_ENTRIES_BY_INSTANCE))
             {
-                while (resultSet.next())
+                stmt.setString(1, instanceUpper);
+
+                try (ResultSet resultSet = stmt.executeQuery())
                 {
-                    String key = resultSet.getString(1);
-                    String value = resultSet.getString(2);
+                    while (resultSet.next())
+                    {
+                        String key = resultSet.getString(1);
+                        String value = resultSet.getString(2);
 
-                    ret.put(key, value);
+                        ret.put(key, value);
+                    }
                 }
             }
-        }
-        catch (SQLException sqlExc)
-        {
-            throw new DatabaseException(sqlExc);
+            catch (SQLException sqlExc)
+            {
+                throw new DatabaseException(sqlExc);
+            }
         }
         errorReporter.logTrace(
             "Loaded all (%d) properties for instance %s",
@@ -215,9 +256,71 @@ public class PropsConSQLDbDriver implements PropsConDatabaseDriver
         return ret;
     }
 
-    private Connection getConnection()
+    /**
+     * Reads the properties of all instances with a single query, unless they were already set by
+     * {@link #setPrefetched(Map)}. Only meant for the initial load from the database, see
+     * {@link PropsConDatabaseDriver#prefetchAll()}.
+     */
+    @Override
+    public void prefetchAll() throws DatabaseException
+    {
+        if (prefetchedProps == null)
+        {
+            setPrefetched(selectAllProps());
+        }
+    }
+
+    @Override
+    public void setPrefetched(Map<String, Map<String, String>> propsByInstance)
+    {
+        prefetchedProps = new HashMap<>(propsByInstance);
+        prefetchedInstancesUsed.clear();
+        errorReporter.logTrace("Prefetched the properties of %d instances", propsByInstance.size());
+    }
+
+    private Map<String, Map<String, String>> selectAllProps() throws DatabaseException
+    {
+        Map<String, Map<String, String>> props = new HashMap<>();
+        try (
+            PreparedStatement stmt = getConnection().prepareStatement(SELECT_ALL_ENTRIES);
+            ResultSet resultSet = stmt.executeQuery()
+        )
+        {
+            while (resultSet.next())
+            {
+                props.computeIfAbsent(resultSet.getString(1), ignored -> new TreeMap<>())
+                    .put(resultSet.getString(2), resultSet.getString(3));
+            }
+        }
+        catch (SQLException sqlExc)
+        {
+            throw new DatabaseException(sqlExc);
+        }
+        return props;
+    }
+
+    @Override
+    public void clearPrefetched()
+    {
+        prefetchedProps = null;
+        prefetchedInstancesUsed.clear();
+    }
+
+    private void dropPrefetched(String instanceName)
+    {
+        if (prefetchedProps != null)
+        {
+            String instanceUpper = instanceName.toUpperCase();
+            prefetchedInstancesUsed.add(instanceUpper);
+            prefetchedProps.remove(instanceUpper);
+        }
+    }
+
+    private Connection getConnection() throws DatabaseException
     {
-        return transMgrProvider.get().getConnection();
+        TransactionMgrSQL transMgr = transMgrProvider.get();
+        transMgr.flushWrites();
+        return transMgr.getConnection();
     }
 
 
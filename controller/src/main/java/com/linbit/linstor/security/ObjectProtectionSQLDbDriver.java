@@ -374,9 +374,11 @@ public class ObjectProtectionSQLDbDriver implements ObjectProtectionDatabaseDriv
         return securityTypeDriver;
     }
 
-    private Connection getConnection()
+    private Connection getConnection() throws DatabaseException
     {
-        return transMgrProvider.get().getConnection();
+        TransactionMgrSQL transMgr = transMgrProvider.get();
+        transMgr.flushWrites();
+        return transMgr.getConnection();
     }
 
     private String getAclTraceId(ObjectProtection parent, Role role, AccessType grantedAccess)
@@ -4,7 +4,10 @@ import com.linbit.linstor.ControllerETCDDatabase;
 import com.linbit.linstor.LinStorDBRuntimeException;
 import com.linbit.linstor.transaction.manager.TransactionMgrETCD;
 
+import javax.annotation.Nullable;
+
 import java.util.List;
+import java.util.Set;
 
 import com.ibm.etcd.api.TxnResponse;
 import com.ibm.etcd.client.kv.KvClient.FluentTxnOps;
@@ -14,13 +17,28 @@ public class ControllerETCDTransactionMgr implements TransactionMgrETCD
     private final ControllerETCDDatabase etcdDb;
     private final TransactionObjectCollection transactionObjectCollection;
     private final ControllerETCDRollbackMgr rollbackMgr;
+    private final @Nullable ChangeGeneration changeGeneration;
+    private final @Nullable EtcdGroupCommitter groupCommitter;
 
     private EtcdTransaction currentTransaction;
 
     public ControllerETCDTransactionMgr(
         ControllerETCDDatabase controllerETCDDatabase, int maxOpsPerTxRef, String prefix)
+    {
+        this(controllerETCDDatabase, maxOpsPerTxRef, prefix, null, null);
+    }
+
+    public ControllerETCDTransactionMgr(
+        ControllerETCDDatabase controllerETCDDatabase,
+        int maxOpsPerTxRef,
+        String prefix,
+        @Nullable ChangeGeneration changeGenerationRef,
+        @Nullable EtcdGroupCommitter groupCommitterRef
+    )
     {
         etcdDb = controllerETCDDatabase;
+        changeGeneration = changeGenerationRef;
+        groupCommitter = groupCommitterRef;
         transactionObjectCollection = new TransactionObjectCollection();
         currentTransaction = createNewEtcdTx();
 
@@ -51,17 +69,28 @@ public class ControllerETCDTransactionMgr implements TransactionMgrETCD
 
         boolean allSucceeded = true;
         TxnResponse txnResponse = null;
-        for (FluentTxnOps<?> tx : txList)
+        if (groupCommitter != null && txList.size() == 1)
         {
-            txnResponse = EtcdTransaction.requestWithRetry(tx);
-            if (!txnResponse.getSucceeded())
+            // fits into a single ETCD transaction, which can be shared with concurrent commits
+            txnResponse = groupCommitter.commit(txList.get(0).asRequest());
+            allSucceeded = txnResponse.getSucceeded();
+        }
+        else
+        {
+            for (FluentTxnOps<?> tx : txList)
             {
-                allSucceeded = false;
+                txnResponse = EtcdTransaction.requestWithRetry(tx);
+                if (!txnResponse.getSucceeded())
+                {
+                    allSucceeded = false;
+                }
             }
         }
 
         if (allSucceeded)
         {
+            boolean changed = transactionObjectCollection.areAnyDirty();
+            Set<ChangeGeneration.Kind> changedKinds = transactionObjectCollection.getDirtyKinds();
             transactionObjectCollection.commitAll();
 
             clearTransactionObjects();
@@ -69,6 +98,11 @@ public class ControllerETCDTransactionMgr implements TransactionMgrETCD
             currentTransaction = createNewEtcdTx();
 
             rollbackMgr.cleanup();
+
+            if (changed && changeGeneration != null)
+            {
+                changeGeneration.increment(changedKinds);
+            }
         }
         else
         {
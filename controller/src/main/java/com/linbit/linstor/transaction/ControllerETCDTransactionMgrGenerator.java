@@ -12,15 +12,21 @@ public class ControllerETCDTransactionMgrGenerator implements TransactionMgrGene
 {
     private final Provider<ControllerETCDDatabase> controllerDatabase;
     private final CtrlConfig ctrlCfg;
+    private final ChangeGeneration changeGeneration;
+    private final EtcdGroupCommitter groupCommitter;
 
     @Inject
     public ControllerETCDTransactionMgrGenerator(
         Provider<ControllerETCDDatabase> controllerDatabaseRef,
-        CtrlConfig ctrlCfgRef
+        CtrlConfig ctrlCfgRef,
+        ChangeGeneration changeGenerationRef,
+        EtcdGroupCommitter groupCommitterRef
     )
     {
         ctrlCfg = ctrlCfgRef;
         controllerDatabase = controllerDatabaseRef;
+        changeGeneration = changeGenerationRef;
+        groupCommitter = groupCommitterRef;
     }
 
     @Override
@@ -29,7 +35,9 @@ public class ControllerETCDTransactionMgrGenerator implements TransactionMgrGene
         return new ControllerETCDTransactionMgr(
             controllerDatabase.get(),
             ctrlCfg.getEtcdOperationsPerTransaction(),
-            ctrlCfg.getEtcdPrefix()
+            ctrlCfg.getEtcdPrefix(),
+            changeGeneration,
+            groupCommitter
         );
     }
 }
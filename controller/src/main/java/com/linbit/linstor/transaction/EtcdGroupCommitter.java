@@ -0,0 +1,401 @@
+package com.linbit.linstor.transaction;
+
+import com.linbit.ImplementationError;
+import com.linbit.linstor.ControllerETCDDatabase;
+import com.linbit.linstor.core.cfg.CtrlConfig;
+import com.linbit.linstor.logging.ErrorReporter;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+import com.google.inject.Provider;
+import com.google.protobuf.ByteString;
+import com.ibm.etcd.api.DeleteRangeRequest;
+import com.ibm.etcd.api.RangeRequest;
+import com.ibm.etcd.api.RequestOp;
+import com.ibm.etcd.api.TxnRequest;
+import com.ibm.etcd.api.TxnResponse;
+import com.ibm.etcd.client.kv.KvClient.FluentTxnOps;
+
+/**
+ * Merges the commits of concurrent {@link ControllerETCDTransactionMgr}s into shared ETCD transactions.
+ *
+ * The first committing thread becomes the leader and sends all commits that queued up in the meantime (optionally
+ * after waiting <code>group_commit_window_ms</code> for further commits) as one transaction. Only commits with
+ * disjoint keys are merged, up to the configured number of operations per transaction. If a merged transaction
+ * fails, its commits are retried one by one, so every caller gets the result of its own operations.
+ */
+@Singleton
+public class EtcdGroupCommitter
+{
+    private static final ByteString ZERO_BYTE = ByteString.copyFrom(new byte[] {0});
+
+    private final ErrorReporter errorReporter;
+    private final Provider<ControllerETCDDatabase> etcdDbProvider;
+    private final int maxOpsPerTx;
+    private final long windowMs;
+
+    private final Deque<PendingCommit> queue;
+    private boolean leaderActive;
+
+    @Inject
+    public EtcdGroupCommitter(
+        ErrorReporter errorReporterRef,
+        Provider<ControllerETCDDatabase> etcdDbProviderRef,
+        CtrlConfig ctrlCfgRef
+    )
+    {
+        errorReporter = errorReporterRef;
+        etcdDbProvider = etcdDbProviderRef;
+        maxOpsPerTx = ctrlCfgRef.getEtcdOperationsPerTransaction();
+        windowMs = ctrlCfgRef.getEtcdGroupCommitWindowMs();
+
+        queue = new ArrayDeque<>();
+        leaderActive = false;
+    }
+
+    /**
+     * Sends the operations of the given request to ETCD, possibly together with the operations of other callers,
+     * and returns the responses of the given request's operations.
+     */
+    public TxnResponse commit(TxnRequest request) throws TransactionException
+    {
+        PendingCommit pending = new PendingCommit(request);
+        boolean leader;
+        synchronized (queue)
+        {
+            queue.add(pending);
+            boolean interrupted = false;
+            while (!pending.done && leaderActive)
+            {
+                try
+                {
+                    queue.wait();
+                }
+                catch (InterruptedException exc)
+                {
+                    // the commit might already be part of a running transaction, so keep waiting for its result
+                    interrupted = true;
+                }
+            }
+            if (interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+            leader = !pending.done;
+            if (leader)
+            {
+                leaderActive = true;
+            }
+        }
+
+        if (leader)
+        {
+            try
+            {
+                waitForGroup();
+                boolean ownCommitDone = false;
+                while (!ownCommitDone)
+                {
+                    List<PendingCommit> batch;
+                    synchronized (queue)
+                    {
+                        batch = takeBatch(queue, maxOpsPerTx);
+                    }
+                    execute(batch);
+                    synchronized (queue)
+                    {
+                        ownCommitDone = pending.done;
+                    }
+                }
+            }
+            finally
+            {
+                synchronized (queue)
+                {
+                    leaderActive = false;
+                    queue.notifyAll();
+                }
+            }
+        }
+        return pending.getResponse();
+    }
+
+    private void waitForGroup()
+    {
+        if (windowMs > 0)
+        {
+            try
+            {
+                Thread.sleep(windowMs);
+            }
+            catch (InterruptedException exc)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Removes the commits of the next transaction from the queue. The first commit is always taken. Following
+     * commits are only taken if their keys do not overlap with the keys of any commit before them that is still
+     * queued or already taken, which keeps the order of commits to the same keys.
+     */
+    static List<PendingCommit> takeBatch(Deque<PendingCommit> queueRef, int maxOpsPerTxRef)
+    {
+        List<PendingCommit> batch = new ArrayList<>();
+        List<KeyRange> reservedRanges = new ArrayList<>();
+        int ops = 0;
+        Iterator<PendingCommit> pendingIt = queueRef.iterator();
+        while (pendingIt.hasNext())
+        {
+            PendingCommit pending = pendingIt.next();
+            boolean disjoint = true;
+            for (KeyRange range : pending.ranges)
+            {
+                for (KeyRange reserved : reservedRanges)
+                {
+                    if (range.overlaps(reserved))
+                    {
+                        disjoint = false;
+                    }
+                }
+            }
+            int pendingOps = pending.ranges.size();
+            if (batch.isEmpty() || disjoint && ops + pendingOps <= maxOpsPerTxRef)
+            {
+                batch.add(pending);
+                pendingIt.remove();
+                ops += pendingOps;
+            }
+            reservedRanges.addAll(pending.ranges);
+        }
+        return batch;
+    }
+
+    private void execute(List<PendingCommit> batch)
+    {
+        try
+        {
+            if (batch.size() == 1)
+            {
+                executeSingle(batch.get(0));
+            }
+            else
+            {
+                FluentTxnOps<?> tx = etcdDbProvider.get().getKvClient().batch();
+                for (PendingCommit pending : batch)
+                {
+                    addOps(tx, pending.request);
+                }
+
+                TxnResponse rsp = null;
+                try
+                {
+                    rsp = EtcdTransaction.requestWithRetry(tx);
+                }
+                catch (TransactionException exc)
+                {
+                    errorReporter.logWarning(
+                        "Group commit of %d transactions failed, committing them separately. %s",
+                        batch.size(),
+                        exc.getMessage()
+                    );
+                }
+
+                if (rsp != null && rsp.getSucceeded())
+                {
+                    int rspIdx = 0;
+                    for (PendingCommit pending : batch)
+                    {
+                        int opCount = pending.ranges.size();
+                        pending.complete(
+                            TxnResponse.newBuilder()
+                                .setHeader(rsp.getHeader())
+                                .setSucceeded(true)
+                                .addAllResponses(rsp.getResponsesList().subList(rspIdx, rspIdx + opCount))
+                                .build(),
+                            null
+                        );
+                        rspIdx += opCount;
+                    }
+                }
+                else
+                {
+                    for (PendingCommit pending : batch)
+                    {
+                        executeSingle(pending);
+                    }
+                }
+            }
+        }
+        finally
+        {
+            synchronized (queue)
+            {
+                for (PendingCommit pending : batch)
+                {
+                    pending.done = true;
+                }
+                queue.notifyAll();
+            }
+        }
+    }
+
+    private void executeSingle(PendingCommit pending)
+    {
+        FluentTxnOps<?> tx = etcdDbProvider.get().getKvClient().batch();
+        addOps(tx, pending.request);
+        try
+        {
+            pending.complete(EtcdTransaction.requestWithRetry(tx), null);
+        }
+        catch (TransactionException exc)
+        {
+            pending.complete(null, exc);
+        }
+    }
+
+    private static void addOps(FluentTxnOps<?> tx, TxnRequest request)
+    {
+        // we do not use .elseDo(), thus we also only have success entries
+        for (RequestOp req : request.getSuccessList())
+        {
+            switch (req.getRequestCase())
+            {
+                case REQUEST_DELETE_RANGE:
+                    tx.delete(req.getRequestDeleteRangeOrBuilder());
+                    break;
+                case REQUEST_PUT:
+                    tx.put(req.getRequestPutOrBuilder());
+                    break;
+                case REQUEST_RANGE:
+                    tx.get(req.getRequestRangeOrBuilder());
+                    break;
+                case REQUEST_NOT_SET:
+                case REQUEST_TXN:
+                    break;
+                default:
+                    throw new ImplementationError("Unknown ETCD Request case: " + req.getRequestCase());
+            }
+        }
+    }
+
+    static class PendingCommit
+    {
+        private final TxnRequest request;
+        private final List<KeyRange> ranges;
+
+        private boolean done;
+        private @Nullable TxnResponse response;
+        private @Nullable TransactionException failure;
+
+        PendingCommit(TxnRequest requestRef)
+        {
+            request = requestRef;
+            ranges = new ArrayList<>();
+            for (RequestOp req : request.getSuccessList())
+            {
+                switch (req.getRequestCase())
+                {
+                    case REQUEST_DELETE_RANGE:
+                        DeleteRangeRequest delReq = req.getRequestDeleteRange();
+                        ranges.add(new KeyRange(delReq.getKey(), delReq.getRangeEnd()));
+                        break;
+                    case REQUEST_PUT:
+                        ranges.add(new KeyRange(req.getRequestPut().getKey(), ByteString.EMPTY));
+                        break;
+                    case REQUEST_RANGE:
+                        RangeRequest rangeReq = req.getRequestRange();
+                        ranges.add(new KeyRange(rangeReq.getKey(), rangeReq.getRangeEnd()));
+                        break;
+                    case REQUEST_NOT_SET:
+                    case REQUEST_TXN:
+                        break;
+                    default:
+                        throw new ImplementationError("Unknown ETCD Request case: " + req.getRequestCase());
+                }
+            }
+        }
+
+        private void complete(@Nullable TxnResponse responseRef, @Nullable TransactionException failureRef)
+        {
+            // published to the waiting caller when done is set while holding the queue's lock
+            response = responseRef;
+            failure = failureRef;
+        }
+
+        private TxnResponse getResponse()
+        {
+            if (failure != null)
+            {
+                throw new TransactionException(failure.getMessage(), failure);
+            }
+            if (response == null)
+            {
+                throw new TransactionException("ETCD commit was aborted", null);
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Keys from <code>start</code> (inclusive) to <code>end</code> (exclusive), or <code>null</code> for no upper
+     * limit.
+     */
+    static class KeyRange
+    {
+        private final ByteString start;
+        private final @Nullable ByteString end;
+
+        /**
+         * Uses the same semantics as ETCD requests: an empty <code>rangeEnd</code> is a single key and
+         * <code>"\0"</code> means all keys starting at <code>key</code>.
+         */
+        KeyRange(ByteString keyRef, ByteString rangeEndRef)
+        {
+            start = keyRef;
+            if (rangeEndRef.isEmpty())
+            {
+                end = keyRef.concat(ZERO_BYTE);
+            }
+            else
+            if (rangeEndRef.equals(ZERO_BYTE))
+            {
+                end = null;
+            }
+            else
+            {
+                end = rangeEndRef;
+            }
+        }
+
+        boolean overlaps(KeyRange other)
+        {
+            return (end == null || compare(other.start, end) < 0) &&
+                (other.end == null || compare(start, other.end) < 0);
+        }
+
+        private static int compare(ByteString bs1, ByteString bs2)
+        {
+            int len = Math.min(bs1.size(), bs2.size());
+            int cmp = 0;
+            for (int idx = 0; idx < len && cmp == 0; ++idx)
+            {
+                cmp = Integer.compare(bs1.byteAt(idx) & 0xFF, bs2.byteAt(idx) & 0xFF);
+            }
+            if (cmp == 0)
+            {
+                cmp = Integer.compare(bs1.size(), bs2.size());
+            }
+            return cmp;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.linbit.linstor.api.protobuf;
 import com.linbit.ImplementationError;
 import com.linbit.InvalidNameException;
 import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCallRc;
 import com.linbit.linstor.api.ApiCallReactive;
 import com.linbit.linstor.core.ControllerPeerConnector;
 import com.linbit.linstor.core.DeviceManager;
@@ -15,6 +16,8 @@ import javax.inject.Singleton;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import reactor.core.publisher.Flux;
@@ -46,29 +49,39 @@ public class ChangedRsc implements ApiCallReactive
     public Flux<byte[]> executeReactive(InputStream msgDataIn)
         throws IOException
     {
+        // the controller might send the changes of multiple resources with a single message
+        List<Flux<ApiCallRc>> updateResponses = new ArrayList<>();
         IntObjectId rscId = IntObjectId.parseDelimitedFrom(msgDataIn);
-        String rscNameStr = rscId.getName();
-        UUID rscUuid = UUID.fromString(rscId.getUuid());
-
-        ResourceName rscName;
-        try
-        {
-            rscName = new ResourceName(rscNameStr);
-        }
-        catch (InvalidNameException invalidNameExc)
+        while (rscId != null)
         {
-            throw new ImplementationError(
-                "Controller sent an illegal resource name: " + rscNameStr + ".",
-                invalidNameExc
+            String rscNameStr = rscId.getName();
+            UUID rscUuid = UUID.fromString(rscId.getUuid());
+
+            ResourceName rscName;
+            try
+            {
+                rscName = new ResourceName(rscNameStr);
+            }
+            catch (InvalidNameException invalidNameExc)
+            {
+                throw new ImplementationError(
+                    "Controller sent an illegal resource name: " + rscNameStr + ".",
+                    invalidNameExc
+                );
+            }
+
+            updateResponses.add(
+                deviceManager.getUpdateTracker()
+                    .updateResource(
+                        rscUuid,
+                        rscName,
+                        controllerPeerConnector.getLocalNodeName()
+                    )
             );
+            rscId = IntObjectId.parseDelimitedFrom(msgDataIn);
         }
 
-        return deviceManager.getUpdateTracker()
-            .updateResource(
-                rscUuid,
-                rscName,
-                controllerPeerConnector.getLocalNodeName()
-            )
+        return Flux.merge(updateResponses)
             .transform(responseSerializer::transform);
     }
 }
@@ -90,6 +90,9 @@ public class CtrlAuth implements ApiCall
         byte[] replyBytes;
         if (authResult.isAuthenticated())
         {
+            // before the answer is sent, as the controller may send chunked messages right after receiving it
+            controllerPeer.setAuthenticated(true);
+
             // all ok, send the new fullSyncId with the AUTH_ACCEPT msg
             // additionally we also send information which layers are supported by the current satellite
 
@@ -111,7 +114,8 @@ public class CtrlAuth implements ApiCall
                     stltConfig.getDrbdKeepResPattern(),
                     stltConfig.getNetBindAddress(),
                     stltConfig.getNetPort(),
-                    stltConfig.getNetType()
+                    stltConfig.getNetType(),
+                    auth.getCompressionThreshold()
                 )
                 .build();
         }
@@ -122,11 +126,16 @@ public class CtrlAuth implements ApiCall
                 .authError(authResult.getApiCallRc())
                 .build();
         }
-        controllerPeerProvider.get().sendMessage(
+        controllerPeer.sendMessage(
             apiCallAnswerer.answerBytes(
                 replyBytes,
                 InternalApiConsts.API_AUTH_RESPONSE
             )
         );
+        if (authResult.isAuthenticated())
+        {
+            // the controller only sends a threshold if it can decompress messages, 0 otherwise
+            controllerPeer.setCompressionThreshold(auth.getCompressionThreshold());
+        }
     }
 }
@@ -0,0 +1,74 @@
+package com.linbit.linstor.api.protobuf;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCall;
+import com.linbit.linstor.api.ApiModule;
+import com.linbit.linstor.api.interfaces.serializer.CommonSerializer;
+import com.linbit.linstor.logging.ErrorReportStats;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.netcom.Peer;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntErrorReportStatsOuterClass.ErrorReportStat;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntErrorReportStatsOuterClass.MsgIntErrorReportStats;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+@ProtobufApiCall(
+    name = InternalApiConsts.API_REQUEST_ERROR_REPORT_STATS,
+    description = "Returns the number of stored error reports.",
+    transactional = false
+)
+@Singleton
+public class ReqErrorReportStats implements ApiCall
+{
+    private final ErrorReporter errorReporter;
+    private final CommonSerializer commonSerializer;
+    private final Provider<Peer> peerProvider;
+    private final Provider<Long> apiCallIdProvider;
+
+    @Inject
+    public ReqErrorReportStats(
+        ErrorReporter errorReporterRef,
+        CommonSerializer commonSerializerRef,
+        Provider<Peer> peerProviderRef,
+        @Named(ApiModule.API_CALL_ID) Provider<Long> apiCallIdProviderRef
+    )
+    {
+        errorReporter = errorReporterRef;
+        commonSerializer = commonSerializerRef;
+        peerProvider = peerProviderRef;
+        apiCallIdProvider = apiCallIdProviderRef;
+    }
+
+    @Override
+    public void execute(InputStream msgDataIn)
+        throws IOException
+    {
+        MsgIntErrorReportStats.Builder builder = MsgIntErrorReportStats.newBuilder();
+        for (ErrorReportStats.Entry entry : errorReporter.getErrorReportStats())
+        {
+            builder.addStats(
+                ErrorReportStat.newBuilder()
+                    .setNodeName(entry.getNodeName())
+                    .setModule((int) entry.getModule().getFlagValue())
+                    .setCount(entry.getCount())
+                    .setLastReportTime(entry.getLastReportTime().getTime())
+            );
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        builder.build().writeDelimitedTo(baos);
+
+        peerProvider.get().sendMessage(
+            commonSerializer
+                .answerBuilder(InternalApiConsts.API_REQUEST_ERROR_REPORT_STATS, apiCallIdProvider.get())
+                .bytes(baos.toByteArray())
+                .build()
+        );
+    }
+}
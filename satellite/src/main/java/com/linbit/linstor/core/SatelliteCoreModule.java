@@ -1,7 +1,11 @@
 package com.linbit.linstor.core;
 
+import com.linbit.linstor.propscon.NoOpPropsIndex;
+import com.linbit.linstor.propscon.PropsIndex;
+
 import com.google.inject.AbstractModule;
 import com.google.inject.name.Names;
+
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -22,6 +26,10 @@ public class SatelliteCoreModule extends AbstractModule
             .toInstance(new ReentrantReadWriteLock(true));
 
         bind(ControllerPeerConnector.class).to(ControllerPeerConnectorImpl.class);
+
+        // the satellite does not answer prop-filtered list calls, and as it does not delete its objects' props
+        // when it applies a full sync, the index would only keep growing
+        bind(PropsIndex.class).to(NoOpPropsIndex.class);
         // bind(UpdateMonitor.class).to(UpdateMonitorImpl.class);
         // bind(DeviceManager.class).to(DeviceManagerImpl.class);
         // install(new FactoryModuleBuilder()
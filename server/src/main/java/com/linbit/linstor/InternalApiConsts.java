@@ -53,6 +53,7 @@ public class InternalApiConsts
     public static final String API_REQUEST_VLM_ALLOCATED = "RequestVlmAllocated";
 
     public static final String API_ARCHIVE_LOGS = "ArchiveLogs";
+    public static final String API_REQUEST_ERROR_REPORT_STATS = "RequestErrorReportStats";
 
     public static final String API_LIST_PHYSICAL_DEVICES = "ListPhysicalDevices";
     public static final String API_ANSWER_PHYSICAL_DEVICES = "AnswerPhysicalDevices";
@@ -10,18 +10,41 @@ import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.AccessDeniedException;
 import com.linbit.utils.Pair;
 
+import javax.annotation.Nullable;
+
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.cache.CacheBuilder;
 
 public class PriorityProps
 {
+    private static final int MAX_CACHED_VIEWS_PER_OWNER = 64;
+
+    /**
+     * Resolved views of the recently used combinations of props, grouped by the props with the highest priority
+     * (the owner). Shared by all instances, as most instances are only created for a few lookups while the same
+     * combination of props is used for many volumes.
+     * The owners are only weakly referenced and the views do not reference any props, so the views are dropped
+     * together with their owner.
+     */
+    private static final ConcurrentMap<Props, Map<ViewKey, ResolvedView>> VIEW_CACHE = CacheBuilder.newBuilder()
+        .weakKeys()
+        .<Props, Map<ViewKey, ResolvedView>>build()
+        .asMap();
+
     private final List<Pair<Props, String>> propList = new ArrayList<>();
+    private @Nullable ResolvedView resolvedView;
 
     public PriorityProps(
         AccessContext accCtx,
@@ -63,6 +86,7 @@ public class PriorityProps
         if (prop != null)
         {
             propList.add(new Pair<>(prop, ""));
+            resolvedView = null;
         }
         return this;
     }
@@ -72,11 +96,19 @@ public class PriorityProps
         if (props != null)
         {
             propList.add(new Pair<>(props, descr));
+            resolvedView = null;
         }
         return this;
     }
 
     public String getProp(String key, String namespace) throws InvalidKeyException
+    {
+        ResolvedView view = getResolvedView();
+        return view == null ? resolveProp(propList, key, namespace) : view.getProp(propList, key, namespace);
+    }
+
+    private static String resolveProp(List<Pair<Props, String>> propList, String key, String namespace)
+        throws InvalidKeyException
     {
         String value = null;
         for (Pair<Props, String> pair : propList)
@@ -102,6 +134,12 @@ public class PriorityProps
     }
 
     public Map<String, String> renderRelativeMap(String namespace)
+    {
+        ResolvedView view = getResolvedView();
+        return view == null ? buildRelativeMap(propList, namespace) : view.renderRelativeMap(propList, namespace);
+    }
+
+    private static Map<String, String> buildRelativeMap(List<Pair<Props, String>> propList, String namespace)
     {
         Map<String, String> ret = new HashMap<>();
 
@@ -177,6 +215,18 @@ public class PriorityProps
     }
 
     public Map<String, MultiResult> renderConflictingMap(String namespace, boolean absoluteKey)
+    {
+        ResolvedView view = getResolvedView();
+        return view == null ?
+            buildConflictingMap(propList, namespace, absoluteKey) :
+            view.renderConflictingMap(propList, namespace, absoluteKey);
+    }
+
+    private static Map<String, MultiResult> buildConflictingMap(
+        List<Pair<Props, String>> propList,
+        String namespace,
+        boolean absoluteKey
+    )
     {
         Map<String, MultiResult> ret = new TreeMap<>();
 
@@ -220,6 +270,182 @@ public class PriorityProps
         return ret;
     }
 
+    /**
+     * Returns the shared view of the current combination of props, or null if the lookups cannot be cached because
+     * one of the props does not track its modifications
+     */
+    private @Nullable ResolvedView getResolvedView()
+    {
+        ResolvedView view = resolvedView;
+        if (view == null && !propList.isEmpty())
+        {
+            boolean cacheable = true;
+            for (Pair<Props, String> pair : propList)
+            {
+                if (pair.objA.getModificationStamp() == 0)
+                {
+                    cacheable = false;
+                    break;
+                }
+            }
+            if (cacheable)
+            {
+                Map<ViewKey, ResolvedView> ownerViews = VIEW_CACHE.computeIfAbsent(
+                    propList.get(0).objA,
+                    ignored -> new ConcurrentHashMap<>()
+                );
+                ViewKey key = new ViewKey(propList);
+                view = ownerViews.get(key);
+                if (view == null)
+                {
+                    if (ownerViews.size() >= MAX_CACHED_VIEWS_PER_OWNER)
+                    {
+                        // also drops the views of props that were garbage collected in the meantime
+                        ownerViews.clear();
+                    }
+                    view = ownerViews.computeIfAbsent(key, ignored -> new ResolvedView(propList));
+                }
+                resolvedView = view;
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Identifies a combination of props by the identity of the {@link Props} instances and their descriptions. The
+     * props are only weakly referenced, a key whose props were garbage collected is not equal to any other key.
+     */
+    private static class ViewKey
+    {
+        private final List<WeakReference<Props>> propsList;
+        private final List<String> descrList;
+        private final int hashCode;
+
+        ViewKey(List<Pair<Props, String>> propListRef)
+        {
+            propsList = new ArrayList<>(propListRef.size());
+            descrList = new ArrayList<>(propListRef.size());
+
+            int hash = 1;
+            for (Pair<Props, String> pair : propListRef)
+            {
+                propsList.add(new WeakReference<>(pair.objA));
+                descrList.add(pair.objB);
+                hash = 31 * hash + System.identityHashCode(pair.objA);
+                hash = 31 * hash + Objects.hashCode(pair.objB);
+            }
+            hashCode = hash;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            boolean eq = obj == this;
+            if (!eq && obj instanceof ViewKey)
+            {
+                ViewKey other = (ViewKey) obj;
+                eq = hashCode == other.hashCode && propsList.size() == other.propsList.size() &&
+                    descrList.equals(other.descrList);
+                for (int idx = 0; eq && idx < propsList.size(); ++idx)
+                {
+                    Props props = propsList.get(idx).get();
+                    eq = props != null && props == other.propsList.get(idx).get();
+                }
+            }
+            return eq;
+        }
+    }
+
+    /**
+     * Cached lookup results of one combination of props. All results are dropped as soon as the modification stamp
+     * of any of the props changed.
+     */
+    private static class ResolvedView
+    {
+        private final long[] modificationStamps;
+
+        private final Map<String, Map<String, Optional<String>>> propsByNamespace = new HashMap<>();
+        private final Map<String, Map<String, String>> relativeMaps = new HashMap<>();
+        private final Map<Pair<String, Boolean>, Map<String, MultiResult>> conflictingMaps = new HashMap<>();
+
+        ResolvedView(List<Pair<Props, String>> propList)
+        {
+            modificationStamps = new long[propList.size()];
+            updateModificationStamps(propList);
+        }
+
+        synchronized String getProp(List<Pair<Props, String>> propList, String key, String namespace)
+            throws InvalidKeyException
+        {
+            invalidateIfModified(propList);
+            Map<String, Optional<String>> resolvedProps = propsByNamespace.computeIfAbsent(
+                namespace,
+                ignored -> new HashMap<>()
+            );
+            Optional<String> value = resolvedProps.get(key);
+            if (value == null)
+            {
+                value = Optional.ofNullable(resolveProp(propList, key, namespace));
+                resolvedProps.put(key, value);
+            }
+            return value.orElse(null);
+        }
+
+        synchronized Map<String, String> renderRelativeMap(List<Pair<Props, String>> propList, String namespace)
+        {
+            invalidateIfModified(propList);
+            Map<String, String> map = relativeMaps.computeIfAbsent(
+                namespace,
+                ignored -> buildRelativeMap(propList, namespace)
+            );
+            return new HashMap<>(map);
+        }
+
+        synchronized Map<String, MultiResult> renderConflictingMap(
+            List<Pair<Props, String>> propList,
+            String namespace,
+            boolean absoluteKey
+        )
+        {
+            invalidateIfModified(propList);
+            Map<String, MultiResult> map = conflictingMaps.computeIfAbsent(
+                new Pair<>(namespace, absoluteKey),
+                ignored -> buildConflictingMap(propList, namespace, absoluteKey)
+            );
+            return new TreeMap<>(map);
+        }
+
+        private void invalidateIfModified(List<Pair<Props, String>> propList)
+        {
+            boolean modified = false;
+            for (int idx = 0; idx < modificationStamps.length && !modified; ++idx)
+            {
+                modified = propList.get(idx).objA.getModificationStamp() != modificationStamps[idx];
+            }
+            if (modified)
+            {
+                propsByNamespace.clear();
+                relativeMaps.clear();
+                conflictingMaps.clear();
+                updateModificationStamps(propList);
+            }
+        }
+
+        private void updateModificationStamps(List<Pair<Props, String>> propList)
+        {
+            for (int idx = 0; idx < modificationStamps.length; ++idx)
+            {
+                modificationStamps[idx] = propList.get(idx).objA.getModificationStamp();
+            }
+        }
+    }
+
     public static class MultiResult
     {
         public final ValueWithDescirption first;
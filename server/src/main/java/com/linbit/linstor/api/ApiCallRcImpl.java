@@ -7,6 +7,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
@@ -74,6 +75,29 @@ public class ApiCallRcImpl implements ApiCallRc
             '}';
     }
 
+    /**
+     * Checks whether both return codes contain the same entries in the same order.
+     * Error ids are ignored, as reports of the same problem usually have different error ids.
+     */
+    public static boolean hasSameEntries(ApiCallRc apiCallRc, ApiCallRc otherApiCallRc)
+    {
+        List<RcEntry> entryList = apiCallRc.getEntries();
+        List<RcEntry> otherEntryList = otherApiCallRc.getEntries();
+        boolean same = entryList.size() == otherEntryList.size();
+        for (int idx = 0; same && idx < entryList.size(); ++idx)
+        {
+            RcEntry entry = entryList.get(idx);
+            RcEntry otherEntry = otherEntryList.get(idx);
+            same = entry.getReturnCode() == otherEntry.getReturnCode() &&
+                Objects.equals(entry.getMessage(), otherEntry.getMessage()) &&
+                Objects.equals(entry.getCause(), otherEntry.getCause()) &&
+                Objects.equals(entry.getCorrection(), otherEntry.getCorrection()) &&
+                Objects.equals(entry.getDetails(), otherEntry.getDetails()) &&
+                Objects.equals(entry.getObjRefs(), otherEntry.getObjRefs());
+        }
+        return same;
+    }
+
     public static ApiCallRcImpl singletonApiCallRc(RcEntry entry)
     {
         ApiCallRcImpl apiCallRcImpl = new ApiCallRcImpl();
@@ -51,7 +51,8 @@ public interface CommonSerializer
             Pattern drbdKeepResPattern,
             String netBindAddress,
             Integer netPort,
-            String netType
+            String netType,
+            int compressionThreshold
         );
 
         CommonSerializerBuilder bytes(byte[] bytes);
@@ -42,7 +42,12 @@ public interface CtrlStltSerializer extends CommonSerializer
          */
         CtrlStltSerializerBuilder primaryRequest(String rscName, String rscUuid, boolean alreadyInitialized);
 
-        CtrlStltSerializerBuilder authMessage(UUID nodeUuid, String nodeName, byte[] sharedSecret);
+        CtrlStltSerializerBuilder authMessage(
+            UUID nodeUuid,
+            String nodeName,
+            byte[] sharedSecret,
+            int compressionThreshold
+        );
 
         CtrlStltSerializerBuilder changedNode(UUID nodeUuid, String nodeName);
         CtrlStltSerializerBuilder changedResource(UUID rscUuid, String rscName);
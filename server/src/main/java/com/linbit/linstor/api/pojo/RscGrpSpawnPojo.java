@@ -0,0 +1,67 @@
+package com.linbit.linstor.api.pojo;
+
+import com.linbit.linstor.api.interfaces.AutoSelectFilterApi;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * One resource definition to spawn from a resource group
+ */
+public class RscGrpSpawnPojo
+{
+    private final String rscDfnName;
+    private final @Nullable byte[] rscDfnExtName;
+    private final List<Long> vlmSizes;
+    private final @Nullable AutoSelectFilterApi autoSelectFilter;
+    private final boolean partial;
+    private final boolean definitionsOnly;
+
+    public RscGrpSpawnPojo(
+        String rscDfnNameRef,
+        @Nullable byte[] rscDfnExtNameRef,
+        List<Long> vlmSizesRef,
+        @Nullable AutoSelectFilterApi autoSelectFilterRef,
+        boolean partialRef,
+        boolean definitionsOnlyRef
+    )
+    {
+        rscDfnName = rscDfnNameRef;
+        rscDfnExtName = rscDfnExtNameRef;
+        vlmSizes = vlmSizesRef;
+        autoSelectFilter = autoSelectFilterRef;
+        partial = partialRef;
+        definitionsOnly = definitionsOnlyRef;
+    }
+
+    public String getRscDfnName()
+    {
+        return rscDfnName;
+    }
+
+    public @Nullable byte[] getRscDfnExtName()
+    {
+        return rscDfnExtName;
+    }
+
+    public List<Long> getVlmSizes()
+    {
+        return vlmSizes;
+    }
+
+    public @Nullable AutoSelectFilterApi getAutoSelectFilter()
+    {
+        return autoSelectFilter;
+    }
+
+    public boolean isPartial()
+    {
+        return partial;
+    }
+
+    public boolean isDefinitionsOnly()
+    {
+        return definitionsOnly;
+    }
+}
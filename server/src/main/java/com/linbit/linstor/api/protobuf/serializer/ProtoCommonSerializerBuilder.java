@@ -298,7 +298,8 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
         Pattern drbdKeepResPattern,
         String netBindAddress,
         Integer netPort,
-        String netType
+        String netType,
+        int compressionThreshold
     )
     {
         try
@@ -340,6 +341,7 @@ public class ProtoCommonSerializerBuilder implements CommonSerializer.CommonSeri
                     )
                 )
                 .setNodeUname(uname)
+                .setCompressionThreshold(compressionThreshold)
                 .build()
                 .writeDelimitedTo(baos);
         }
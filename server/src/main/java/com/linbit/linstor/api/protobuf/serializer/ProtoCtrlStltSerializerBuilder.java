@@ -117,7 +117,12 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
      * Controller -> Satellite
      */
     @Override
-    public ProtoCtrlStltSerializerBuilder authMessage(UUID nodeUuid, String nodeName, byte[] sharedSecret)
+    public ProtoCtrlStltSerializerBuilder authMessage(
+        UUID nodeUuid,
+        String nodeName,
+        byte[] sharedSecret,
+        int compressionThreshold
+    )
     {
         try
         {
@@ -125,6 +130,7 @@ public class ProtoCtrlStltSerializerBuilder extends ProtoCommonSerializerBuilder
                 .setNodeUuid(nodeUuid.toString())
                 .setNodeName(nodeName)
                 .setSharedSecret(ByteString.copyFrom(sharedSecret))
+                .setCompressionThreshold(compressionThreshold)
                 .build()
                 .writeDelimitedTo(baos);
         }
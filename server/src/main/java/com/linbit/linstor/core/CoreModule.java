@@ -19,6 +19,7 @@ import com.linbit.linstor.propscon.Props;
 import com.linbit.linstor.propscon.PropsContainerFactory;
 import com.linbit.linstor.transaction.TransactionMap;
 import com.linbit.linstor.transaction.manager.TransactionMgr;
+import com.linbit.locks.StripedReadWriteLock;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -76,10 +77,18 @@ public class CoreModule extends AbstractModule
 
         bind(ReadWriteLock.class).annotatedWith(Names.named(RECONFIGURATION_LOCK))
             .toInstance(new ReentrantReadWriteLock(true));
+        // the nodes map and resource definition map locks additionally support locking of single entries,
+        // see LockGuardFactory.LockGuardBuilder#writeNode and #writeRscDfn
+        StripedReadWriteLock nodesMapLock = new StripedReadWriteLock(true);
         bind(ReadWriteLock.class).annotatedWith(Names.named(NODES_MAP_LOCK))
-            .toInstance(new ReentrantReadWriteLock(true));
+            .toInstance(nodesMapLock);
+        bind(StripedReadWriteLock.class).annotatedWith(Names.named(NODES_MAP_LOCK))
+            .toInstance(nodesMapLock);
+        StripedReadWriteLock rscDfnMapLock = new StripedReadWriteLock(true);
         bind(ReadWriteLock.class).annotatedWith(Names.named(RSC_DFN_MAP_LOCK))
-            .toInstance(new ReentrantReadWriteLock(true));
+            .toInstance(rscDfnMapLock);
+        bind(StripedReadWriteLock.class).annotatedWith(Names.named(RSC_DFN_MAP_LOCK))
+            .toInstance(rscDfnMapLock);
         bind(ReadWriteLock.class).annotatedWith(Names.named(STOR_POOL_DFN_MAP_LOCK))
             .toInstance(new ReentrantReadWriteLock(true));
         bind(ReadWriteLock.class).annotatedWith(Names.named(FREE_SPACE_MGR_MAP_LOCK))
@@ -125,6 +125,7 @@ public class ScopeRunner
         TransactionMgr transMgr = transactional ? transactionMgrGenerator.startTransaction() : null;
 
         apiCallScope.enter();
+        lockGuard.setApiCallName(apiCallName);
         lockGuard.lock();
         try
         {
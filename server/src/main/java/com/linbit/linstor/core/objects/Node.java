@@ -780,7 +780,7 @@ public class Node extends BaseTransactionObject
                     otherNode.getName().displayValue,
                     otherNode.getNodeType(accCtx).name(),
                     otherNode.getFlags().getFlagsBits(accCtx),
-                    nodeConn.getProps(accCtx).map()
+                    new TreeMap<>(nodeConn.getProps(accCtx).map())
                 )
             );
         }
@@ -807,7 +807,7 @@ public class Node extends BaseTransactionObject
             netInterfaces,
             activeStltConn.get() != null ? activeStltConn.get().getApiData(accCtx) : null,
             nodeConns,
-            getProps(accCtx).map(),
+            new TreeMap<>(getProps(accCtx).map()),
             connectionStatus,
             fullSyncId,
             updateId,
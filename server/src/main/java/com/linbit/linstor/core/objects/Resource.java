@@ -33,6 +33,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -364,7 +365,7 @@ public class Resource extends AbsResource<Resource>
             getDefinition().getApiData(accCtx),
             getUuid(),
             getStateFlags().getFlagsBits(accCtx),
-            getProps(accCtx).map(),
+            new TreeMap<>(getProps(accCtx).map()),
             volumes,
             null, // otherRscList
             rscConns,
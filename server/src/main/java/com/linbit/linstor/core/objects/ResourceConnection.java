@@ -33,6 +33,7 @@ import javax.inject.Provider;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.TreeMap;
 import java.util.UUID;
 
 /**
@@ -335,7 +336,7 @@ public class ResourceConnection extends BaseTransactionObject
             connectionKey.getSource().getNode().getName().getDisplayName(),
             connectionKey.getTarget().getNode().getName().getDisplayName(),
             connectionKey.getSource().getDefinition().getName().getDisplayName(),
-            getProps(accCtx).map(),
+            new TreeMap<>(getProps(accCtx).map()),
             getStateFlags().getFlagsBits(accCtx),
             TcpPortNumber.getValueNullable(getPort(accCtx))
         );
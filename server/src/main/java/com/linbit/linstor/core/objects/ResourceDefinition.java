@@ -609,7 +609,7 @@ public class ResourceDefinition extends BaseTransactionObject
             getName().getDisplayName(),
             getExternalName(),
             getFlags().getFlagsBits(accCtx),
-            getProps(accCtx).map(),
+            new TreeMap<>(getProps(accCtx).map()),
             vlmDfnList,
             layerData
         );
@@ -37,6 +37,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -313,7 +314,7 @@ public class ResourceGroup extends BaseTransactionObject implements DbgInstanceU
             objId,
             name.displayValue,
             description.get(),
-            rscDfnGrpProps.map(),
+            new TreeMap<>(rscDfnGrpProps.map()),
             vlmGrpApiList,
             autoPlaceConfig.getApiData()
         );
@@ -37,6 +37,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 
 public class StorPool extends BaseTransactionObject
@@ -390,8 +391,8 @@ public class StorPool extends BaseTransactionObject
             getName().getDisplayName(),
             getDefinition(accCtx).getUuid(),
             getDeviceProviderKind(),
-            getProps(accCtx).map(),
-            getDefinition(accCtx).getProps(accCtx).map(),
+            new TreeMap<>(getProps(accCtx).map()),
+            new TreeMap<>(getDefinition(accCtx).getProps(accCtx).map()),
             getTraits(accCtx),
             fullSyncId,
             updateId,
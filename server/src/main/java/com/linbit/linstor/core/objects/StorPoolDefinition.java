@@ -31,6 +31,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -182,7 +183,11 @@ public class StorPoolDefinition extends BaseTransactionObject
 
     public StorPoolDefinitionApi getApiData(AccessContext accCtx) throws AccessDeniedException
     {
-        return new StorPoolDfnPojo(getUuid(), getName().getDisplayName(), getProps(accCtx).map());
+        return new StorPoolDfnPojo(
+            getUuid(),
+            getName().getDisplayName(),
+            new TreeMap<>(getProps(accCtx).map())
+        );
     }
 
     private void checkDeleted()
@@ -37,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -415,7 +416,7 @@ public class Volume extends AbsVolume<Resource>
             getDevicePath(accCtx),
             vlmNr.value,
             getFlags().getFlagsBits(accCtx),
-            getProps(accCtx).map(),
+            new TreeMap<>(getProps(accCtx).map()),
             Optional.ofNullable(allocated),
             Optional.ofNullable(usableSize.get()),
             layerDataList,
@@ -422,7 +422,7 @@ public class VolumeDefinition extends BaseTransactionObject implements DbgInstan
             getVolumeNumber().value,
             getVolumeSize(accCtx),
             getFlags().getFlagsBits(accCtx),
-            getProps(accCtx).map(),
+            new TreeMap<>(getProps(accCtx).map()),
             layerData
         );
     }
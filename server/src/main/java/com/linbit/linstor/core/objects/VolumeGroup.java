@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.TreeMap;
 import java.util.UUID;
 
 public class VolumeGroup extends BaseTransactionObject
@@ -172,7 +173,7 @@ public class VolumeGroup extends BaseTransactionObject
         return new VlmGrpPojo(
             objId,
             vlmNr.value,
-            Collections.unmodifiableMap(vlmGrpProps.map()),
+            Collections.unmodifiableMap(new TreeMap<>(vlmGrpProps.map())),
             flags.getFlagsBits(accCtxRef)
         );
     }
@@ -54,4 +54,36 @@ public interface PropsConDatabaseDriver
      * @throws DatabaseException
      */
     void removeAll(String instanceName) throws DatabaseException;
+
+    /**
+     * Allows the driver to read the properties of all instances at once. These are used for the first
+     * {@link #loadAll(String)} of each instance until {@link #clearPrefetched()} is called.
+     *
+     * Does nothing by default.
+     *
+     * @throws DatabaseException
+     */
+    default void prefetchAll() throws DatabaseException
+    {
+        // no-op
+    }
+
+    /**
+     * Uses the given properties, grouped by the upper case instance name, instead of reading them in
+     * {@link #prefetchAll()}.
+     *
+     * Does nothing by default.
+     */
+    default void setPrefetched(Map<String, Map<String, String>> propsByInstance)
+    {
+        // no-op
+    }
+
+    /**
+     * Drops all properties read by {@link #prefetchAll()} or set by {@link #setPrefetched(Map)}
+     */
+    default void clearPrefetched()
+    {
+        // no-op
+    }
 }
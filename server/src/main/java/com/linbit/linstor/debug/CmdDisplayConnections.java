@@ -7,6 +7,8 @@ import com.linbit.linstor.ControllerPeerCtx;
 import com.linbit.linstor.core.CoreModule;
 import com.linbit.linstor.core.identifier.NodeName;
 import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.netcom.ByteBufferPool;
+import com.linbit.linstor.netcom.MessageCompressor;
 import com.linbit.linstor.netcom.Peer;
 import com.linbit.linstor.security.AccessContext;
 import com.linbit.linstor.security.Identity;
@@ -22,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -263,6 +266,13 @@ public class CmdDisplayConnections extends BaseDebugCmd
                                     curPeer.outQueueCount(), curPeer.outQueueCapacity(),
                                     curPeer.msgRecvMaxSize(), curPeer.msgSentMaxSize()
                                 );
+                                long writeCalls = curPeer.writeCallCount();
+                                debugOut.printf(
+                                    "    BytesSent: %12d   Writes: %8d   BytesPerWrite: %8d   MsgPerWrite: %6.2f\n",
+                                    curPeer.bytesSentCount(), writeCalls,
+                                    writeCalls == 0 ? 0 : curPeer.bytesSentCount() / writeCalls,
+                                    writeCalls == 0 ? 0.0 : (double) curPeer.msgSentCount() / writeCalls
+                                );
                             }
                             if (detailId)
                             {
@@ -350,6 +360,24 @@ public class CmdDisplayConnections extends BaseDebugCmd
             {
                 debugOut.println("No active connections");
             }
+            if (detailStats)
+            {
+                ByteBufferPool bufferPool = ByteBufferPool.getInstance();
+                debugOut.printf(
+                    "Buffer pool: Hits: %d  Misses: %d  Oversize: %d  HitRate: %.1f%%  Pooled: %d bytes\n",
+                    bufferPool.getHitCount(), bufferPool.getMissCount(), bufferPool.getOversizeCount(),
+                    bufferPool.getHitRate(), bufferPool.getPooledBytes()
+                );
+                MessageCompressor compressor = MessageCompressor.getInstance();
+                debugOut.printf(
+                    "Compression: Compressed: %d  Uncompressible: %d  Decompressed: %d  Ratio: %.1f%%  " +
+                    "Compress CPU: %d ms  Decompress CPU: %d ms\n",
+                    compressor.getCompressedMessageCount(), compressor.getUncompressibleMessageCount(),
+                    compressor.getDecompressedMessageCount(), compressor.getCompressionRatio(),
+                    TimeUnit.NANOSECONDS.toMillis(compressor.getCompressNanos()),
+                    TimeUnit.NANOSECONDS.toMillis(compressor.getDecompressNanos())
+                );
+            }
         }
         catch (InvalidDetailsException detailsExc)
         {
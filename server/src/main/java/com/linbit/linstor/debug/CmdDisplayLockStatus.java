@@ -8,6 +8,12 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import com.linbit.linstor.core.CoreModule;
 import com.linbit.linstor.security.AccessContext;
+import com.linbit.locks.LockGuardFactory.LockObj;
+import com.linbit.locks.LockGuardFactory.LockType;
+import com.linbit.locks.LockStatistics;
+import com.linbit.locks.LockStatistics.LockTimeStats;
+import com.linbit.locks.LockStatistics.TimeHistogram;
+import com.linbit.locks.StripedReadWriteLock;
 
 import javax.inject.Named;
 
@@ -15,18 +21,26 @@ public class CmdDisplayLockStatus extends BaseDebugCmd
 {
     public static final String RWLOCK_FORMAT_HEADER = "%-20s %-8s %-8s %-8s %s\n";
     public static final String RWLOCK_FORMAT = "%-20s %-8s %-8s %-8s %3d\n";
+    public static final String STATS_FORMAT_HEADER = "%-32s %-5s %10s %10s %10s %10s %10s %7s\n";
+    public static final String STATS_FORMAT = "%-32s %-5s %10d %10.3f %10.3f %10.3f %10.3f %7d\n";
+    public static final String STRIPES_FORMAT =
+        "    %3d stripes: %3d write locked, %3d read locked, %3d with queued threads\n";
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
 
     private final ReadWriteLock reconfigurationLock;
     private final ReadWriteLock nodesMapLock;
     private final ReadWriteLock rscDfnMapLock;
     private final ReadWriteLock storPoolDfnMapLock;
+    private final LockStatistics lockStatistics;
 
     @Inject
     public CmdDisplayLockStatus(
         @Named(CoreModule.RECONFIGURATION_LOCK) ReadWriteLock reconfigurationLockRef,
         @Named(CoreModule.NODES_MAP_LOCK) ReadWriteLock nodesMapLockRef,
         @Named(CoreModule.RSC_DFN_MAP_LOCK) ReadWriteLock rscDfnMapLockRef,
-        @Named(CoreModule.STOR_POOL_DFN_MAP_LOCK) ReadWriteLock storPoolDfnMapLockRef
+        @Named(CoreModule.STOR_POOL_DFN_MAP_LOCK) ReadWriteLock storPoolDfnMapLockRef,
+        LockStatistics lockStatisticsRef
     )
     {
         super(
@@ -44,6 +58,7 @@ public class CmdDisplayLockStatus extends BaseDebugCmd
         nodesMapLock = nodesMapLockRef;
         rscDfnMapLock = rscDfnMapLockRef;
         storPoolDfnMapLock = storPoolDfnMapLockRef;
+        lockStatistics = lockStatisticsRef;
     }
 
     @Override
@@ -68,12 +83,114 @@ public class CmdDisplayLockStatus extends BaseDebugCmd
         reportRwLock(debugOut, "rscDfnMapLock", rscDfnMapLock);
         reportRwLock(debugOut, "storPoolDfnMapLock", storPoolDfnMapLock);
         printSectionSeparator(debugOut);
+
+        debugOut.println();
+        debugOut.println("Lock statistics (times in ms)");
+        printStatsHeader(debugOut, "Lock");
+        for (Map.Entry<LockObj, Map<LockType, LockTimeStats>> lockObjEntry :
+            lockStatistics.getLockObjStats().entrySet())
+        {
+            for (Map.Entry<LockType, LockTimeStats> typeEntry : lockObjEntry.getValue().entrySet())
+            {
+                reportLockStats(
+                    debugOut,
+                    lockObjEntry.getKey().name(),
+                    typeEntry.getKey().name(),
+                    typeEntry.getValue()
+                );
+            }
+        }
+        printSectionSeparator(debugOut);
+
+        debugOut.println();
+        debugOut.println("Lock statistics per API call (times in ms)");
+        printStatsHeader(debugOut, "API call");
+        for (Map.Entry<String, LockTimeStats> apiCallEntry : lockStatistics.getApiCallStats().entrySet())
+        {
+            reportLockStats(debugOut, apiCallEntry.getKey(), "", apiCallEntry.getValue());
+        }
+        printSectionSeparator(debugOut);
+    }
+
+    private void printStatsHeader(PrintStream output, String label)
+    {
+        output.printf(
+            STATS_FORMAT_HEADER,
+            label, "Type", "Count", "AvgWait", "MaxWait", "AvgHold", "MaxHold", "Holders"
+        );
+        printSectionSeparator(output);
+    }
+
+    private void reportLockStats(PrintStream output, String label, String type, LockTimeStats stats)
+    {
+        TimeHistogram waitTime = stats.getWaitTime();
+        TimeHistogram holdTime = stats.getHoldTime();
+        if (waitTime.getCount() > 0)
+        {
+            output.printf(
+                STATS_FORMAT,
+                label,
+                type,
+                waitTime.getCount(),
+                avgMillis(waitTime),
+                waitTime.getMaxNanos() / NANOS_PER_MILLI,
+                avgMillis(holdTime),
+                holdTime.getMaxNanos() / NANOS_PER_MILLI,
+                stats.getCurrentHolders()
+            );
+        }
+    }
+
+    private static double avgMillis(TimeHistogram histogram)
+    {
+        long count = histogram.getCount();
+        return count == 0 ? 0.0 : histogram.getSumNanos() / NANOS_PER_MILLI / count;
     }
 
     private void reportRwLock(PrintStream output, String label, ReadWriteLock readWriteLock)
     {
-        ReentrantReadWriteLock reentrantReadWriteLock = (ReentrantReadWriteLock) readWriteLock;
+        if (readWriteLock instanceof StripedReadWriteLock)
+        {
+            StripedReadWriteLock stripedLock = (StripedReadWriteLock) readWriteLock;
+            reportReentrantRwLock(output, label, stripedLock.getMapLock());
+
+            int stripeCount = stripedLock.getStripeCount();
+            int writeLockedStripes = 0;
+            int readLockedStripes = 0;
+            int queuedStripes = 0;
+            for (int stripeIdx = 0; stripeIdx < stripeCount; ++stripeIdx)
+            {
+                ReentrantReadWriteLock stripe = stripedLock.getStripe(stripeIdx);
+                if (stripe.isWriteLocked())
+                {
+                    ++writeLockedStripes;
+                }
+                if (stripe.getReadLockCount() > 0)
+                {
+                    ++readLockedStripes;
+                }
+                if (stripe.hasQueuedThreads())
+                {
+                    ++queuedStripes;
+                }
+            }
+            output.printf(
+                STRIPES_FORMAT,
+                stripeCount, writeLockedStripes, readLockedStripes, queuedStripes
+            );
+        }
+        else
+        {
+            reportReentrantRwLock(output, label, (ReentrantReadWriteLock) readWriteLock);
+        }
+    }
 
+    private void reportReentrantRwLock(
+        PrintStream output,
+        String label,
+        ReentrantReadWriteLock reentrantReadWriteLock
+    )
+    {
         boolean writeLocked = reentrantReadWriteLock.isWriteLocked();
         boolean fair = reentrantReadWriteLock.isFair();
         boolean queued = reentrantReadWriteLock.hasQueuedThreads();
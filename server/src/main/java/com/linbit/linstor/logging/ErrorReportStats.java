@@ -0,0 +1,114 @@
+package com.linbit.linstor.logging;
+
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.utils.Pair;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Number of stored error reports and the time of the latest report, per node and module
+ *
+ * The counters are loaded once from the error report database and afterwards updated whenever a report is written
+ * or deleted, so the statistics can be queried without listing the error reports.
+ */
+public class ErrorReportStats
+{
+    private final Map<Pair<String, Node.Type>, Entry> entries = new TreeMap<>();
+
+    public synchronized void set(Entry entry)
+    {
+        entries.put(new Pair<>(entry.nodeName, entry.module), entry);
+    }
+
+    public synchronized void reportWritten(String nodeName, Node.Type module, Date reportTime)
+    {
+        Pair<String, Node.Type> key = new Pair<>(nodeName, module);
+        Entry entry = entries.get(key);
+        if (entry == null)
+        {
+            entry = new Entry(nodeName, module, 1, reportTime);
+        }
+        else
+        {
+            entry = new Entry(
+                nodeName,
+                module,
+                entry.count + 1,
+                reportTime.after(entry.lastReportTime) ? reportTime : entry.lastReportTime
+            );
+        }
+        entries.put(key, entry);
+    }
+
+    /**
+     * Removes the given number of reports from the counter. The time of the latest report is kept, unless no
+     * reports are left for the given node and module.
+     */
+    public synchronized void reportsDeleted(String nodeName, Node.Type module, long deletedCount)
+    {
+        Pair<String, Node.Type> key = new Pair<>(nodeName, module);
+        Entry entry = entries.get(key);
+        if (entry != null)
+        {
+            long count = entry.count - deletedCount;
+            if (count > 0)
+            {
+                entries.put(key, new Entry(nodeName, module, count, entry.lastReportTime));
+            }
+            else
+            {
+                entries.remove(key);
+            }
+        }
+    }
+
+    public synchronized List<Entry> getEntries()
+    {
+        return new ArrayList<>(entries.values());
+    }
+
+    public static class Entry
+    {
+        private final String nodeName;
+        private final Node.Type module;
+        private final long count;
+        private final Date lastReportTime;
+
+        public Entry(String nodeNameRef, Node.Type moduleRef, long countRef, Date lastReportTimeRef)
+        {
+            nodeName = nodeNameRef;
+            module = moduleRef;
+            count = countRef;
+            lastReportTime = lastReportTimeRef;
+        }
+
+        public String getNodeName()
+        {
+            return nodeName;
+        }
+
+        public Node.Type getModule()
+        {
+            return module;
+        }
+
+        public String getModuleString()
+        {
+            return module.name();
+        }
+
+        public long getCount()
+        {
+            return count;
+        }
+
+        public Date getLastReportTime()
+        {
+            return lastReportTime;
+        }
+    }
+}
@@ -190,6 +190,14 @@ public interface ErrorReporter
         return Collections.emptyList();
     }
 
+    /**
+     * Returns the number of stored error reports per node and module, without listing the reports
+     */
+    default List<ErrorReportStats.Entry> getErrorReportStats()
+    {
+        return Collections.emptyList();
+    }
+
     default ApiCallRc deleteErrorReports(
         @Nullable final Date since,
         @Nullable final Date to,
@@ -6,6 +6,7 @@ import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.core.LinStor;
 import com.linbit.linstor.core.objects.Node;
 import com.linbit.linstor.netcom.Peer;
+import com.linbit.utils.Pair;
 
 import javax.annotation.Nullable;
 import java.io.ByteArrayInputStream;
@@ -20,7 +21,9 @@ import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.dbcp2.BasicDataSource;
@@ -47,6 +50,7 @@ public class H2ErrorReporter {
 
     private final ErrorReporter errorReporter;
     private final BasicDataSource dataSource = new BasicDataSource();
+    private final ErrorReportStats errorReportStats = new ErrorReportStats();
 
     H2ErrorReporter(ErrorReporter errorReporterRef)
     {
@@ -59,6 +63,7 @@ public class H2ErrorReporter {
         dataSource.setMaxOpenPreparedStatements(100);
 
         setupErrorDB();
+        loadErrorReportStats();
     }
 
     private void setupErrorDB()
@@ -86,6 +91,34 @@ public class H2ErrorReporter {
         }
     }
 
+    private void loadErrorReportStats()
+    {
+        try (Connection con = dataSource.getConnection();
+             Statement stmt = con.createStatement();
+             ResultSet rslt = stmt.executeQuery(
+                 "SELECT NODE, MODULE, COUNT(*) AS CNT, MAX(DATETIME) AS LAST_DATETIME" +
+                 " FROM ERRORS GROUP BY NODE, MODULE")) {
+            while (rslt.next()) {
+                errorReportStats.set(new ErrorReportStats.Entry(
+                    rslt.getString("NODE"),
+                    Node.Type.getByValue(rslt.getInt("MODULE")),
+                    rslt.getLong("CNT"),
+                    rslt.getTimestamp("LAST_DATETIME")
+                ));
+            }
+        } catch (SQLException sqlExc) {
+            errorReporter.logError("Unable to load error report statistics: " + sqlExc.getMessage());
+        }
+    }
+
+    /**
+     * Returns the error report counters, which are kept up to date while reports are written or deleted
+     */
+    public ErrorReportStats getErrorReportStats()
+    {
+        return errorReportStats;
+    }
+
     public void writeErrorReportToDB(
         long reportNr,
         Peer client,
@@ -101,6 +134,8 @@ public class H2ErrorReporter {
         String originMethod = traceItems.length > 0 ? traceItems[0].getMethodName() : null;
         Integer originLine = traceItems.length > 0 ? traceItems[0].getLineNumber() : null;
         String excMsg = errorInfo.getMessage();
+        Node.Type moduleType = module.equalsIgnoreCase(LinStor.CONTROLLER_MODULE) ?
+            Node.Type.CONTROLLER : Node.Type.SATELLITE;
 
         try (Connection con = dataSource.getConnection();
              PreparedStatement stmt = con.prepareStatement("INSERT INTO ERRORS" +
@@ -111,8 +146,7 @@ public class H2ErrorReporter {
             stmt.setLong(fieldIdx++, instanceEpoch);
             stmt.setLong(fieldIdx++, reportNr);
             stmt.setString(fieldIdx++, nodeName);
-            stmt.setInt(fieldIdx++, (int)(module.equalsIgnoreCase(LinStor.CONTROLLER_MODULE) ?
-                Node.Type.CONTROLLER.getFlagValue() : Node.Type.SATELLITE.getFlagValue()));
+            stmt.setInt(fieldIdx++, (int) moduleType.getFlagValue());
             stmt.setString(fieldIdx++, String.format("%s-%06d", errorReporter.getInstanceId(), reportNr));
             stmt.setTimestamp(fieldIdx++, new Timestamp(errorTime.getTime()));
             stmt.setString(fieldIdx++, LinStor.VERSION_INFO_PROVIDER.getVersion());
@@ -131,6 +165,7 @@ public class H2ErrorReporter {
             stmt.setClob(fieldIdx, new InputStreamReader(new ByteArrayInputStream(errorReportText)));
 
             stmt.executeUpdate();
+            errorReportStats.reportWritten(nodeName, moduleType, errorTime);
         } catch (SQLException sqlExc) {
             errorReporter.logError("Unable to write error report to DB: " + sqlExc.getMessage());
         }
@@ -213,66 +248,93 @@ public class H2ErrorReporter {
 
         try
         {
-            int index = 1;
-            StringBuilder stmt = new StringBuilder();
-            stmt.append("DELETE FROM ERRORS WHERE 1=1");
+            StringBuilder where = new StringBuilder(" WHERE 1=1");
+            List<Object> params = new ArrayList<>();
             if (to != null)
             {
-                stmt.append(" AND DATETIME < ?");
+                where.append(" AND DATETIME < ?");
+                params.add(new Timestamp(to.getTime()));
             }
             if (since != null)
             {
-                stmt.append(" AND DATETIME >= ?");
+                where.append(" AND DATETIME >= ?");
+                params.add(new Timestamp(since.getTime()));
             }
             if (exception != null)
             {
-                stmt.append(" AND EXCEPTION=?");
+                where.append(" AND EXCEPTION=?");
+                params.add(exception);
             }
             if (version != null)
             {
-                stmt.append(" AND VERSION=?");
+                where.append(" AND VERSION=?");
+                params.add(version);
             }
             if (ids != null && !ids.isEmpty())
             {
-                stmt.append(" AND ERROR_ID in (");
+                where.append(" AND ERROR_ID in (");
 
-                for (String ignored : ids)
+                for (String id : ids)
                 {
-                    stmt.append("?,");
+                    where.append("?,");
+                    params.add(id);
                 }
 
-                stmt.deleteCharAt(stmt.length() - 1);
-                stmt.append(")");
+                where.deleteCharAt(where.length() - 1);
+                where.append(")");
             }
 
-            try (Connection con = dataSource.getConnection();
-                 PreparedStatement pStmt = con.prepareStatement(stmt.toString()))
+            try (Connection con = dataSource.getConnection())
             {
-                if (to != null)
-                {
-                    pStmt.setTimestamp(index++, new java.sql.Timestamp(to.getTime()));
-                }
-                if(since != null)
-                {
-                    pStmt.setTimestamp(index++, new java.sql.Timestamp(since.getTime()));
-                }
-                if (exception != null)
+                // delete the matching reports of each node and module separately, so the update count of each
+                // DELETE is exactly the number of reports that were removed from that node's and module's counter
+                con.setAutoCommit(false);
+                List<Pair<String, Integer>> groups = new ArrayList<>();
+                Map<Pair<String, Node.Type>, Long> deletedCounts = new HashMap<>();
+                int deleted = 0;
+                try (
+                    PreparedStatement selectStmt = con.prepareStatement(
+                        "SELECT DISTINCT NODE, MODULE FROM ERRORS" + where);
+                    PreparedStatement deleteStmt = con.prepareStatement(
+                        "DELETE FROM ERRORS" + where + " AND NODE=? AND MODULE=?")
+                )
                 {
-                    pStmt.setString(index++, exception);
-                }
-                if (version != null)
-                {
-                    pStmt.setString(index++, version);
-                }
-                if (ids != null)
-                {
-                    for (String id : ids)
+                    setParams(selectStmt, params);
+                    try (ResultSet rslt = selectStmt.executeQuery())
                     {
-                        pStmt.setString(index++, id);
+                        while (rslt.next())
+                        {
+                            groups.add(new Pair<>(rslt.getString("NODE"), rslt.getInt("MODULE")));
+                        }
                     }
-                }
 
-                final int deleted = pStmt.executeUpdate();
+                    for (Pair<String, Integer> group : groups)
+                    {
+                        setParams(deleteStmt, params);
+                        deleteStmt.setString(params.size() + 1, group.objA);
+                        deleteStmt.setInt(params.size() + 2, group.objB);
+                        int groupDeleted = deleteStmt.executeUpdate();
+                        if (groupDeleted > 0)
+                        {
+                            deletedCounts.put(
+                                new Pair<>(group.objA, Node.Type.getByValue(group.objB)),
+                                (long) groupDeleted
+                            );
+                            deleted += groupDeleted;
+                        }
+                    }
+                    con.commit();
+
+                    for (Map.Entry<Pair<String, Node.Type>, Long> entry : deletedCounts.entrySet())
+                    {
+                        errorReportStats.reportsDeleted(entry.getKey().objA, entry.getKey().objB, entry.getValue());
+                    }
+                }
+                catch (SQLException sqlExc)
+                {
+                    con.rollback();
+                    throw sqlExc;
+                }
                 if (deleted > 0)
                 {
                     apiCallRc.addEntry(String.format("Deleted %d error-report(s)", deleted), ApiConsts.DELETED);
@@ -288,6 +350,15 @@ public class H2ErrorReporter {
         return apiCallRc;
     }
 
+    private static void setParams(PreparedStatement pStmt, List<Object> params) throws SQLException
+    {
+        int index = 1;
+        for (Object param : params)
+        {
+            pStmt.setObject(index++, param);
+        }
+    }
+
     public void shutdown() throws SQLException
     {
         dataSource.close();
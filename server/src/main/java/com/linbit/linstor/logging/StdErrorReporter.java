@@ -612,6 +612,12 @@ public final class StdErrorReporter extends BaseErrorReporter implements ErrorRe
         return h2ErrorReporter.listReports(withText, since, to, ids);
     }
 
+    @Override
+    public List<ErrorReportStats.Entry> getErrorReportStats()
+    {
+        return h2ErrorReporter.getErrorReportStats().getEntries();
+    }
+
     @Override
     public ApiCallRc deleteErrorReports(
         @Nullable final Date since,
@@ -0,0 +1,163 @@
+package com.linbit.linstor.netcom;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of direct {@link ByteBuffer}s for the message I/O of the {@link TcpConnectorPeer}s
+ *
+ * Buffers are handed out in power-of-two size classes from 4 KiB up to {@link Message#DEFAULT_MAX_DATA_SIZE}.
+ * Larger requests are served with non-pooled heap buffers. Every acquired buffer must be given back with
+ * {@link #release(ByteBuffer)} once it is no longer used; buffers that are never released (e.g. of a closed
+ * connection) are simply left to the garbage collector.
+ */
+public class ByteBufferPool
+{
+    // Smallest size class, 4 KiB
+    private static final int MIN_CLASS_SHIFT = 12;
+    // Largest size class, 16 MiB == Message.DEFAULT_MAX_DATA_SIZE
+    private static final int MAX_CLASS_SHIFT = 24;
+
+    // Maximum number of bytes kept in free buffers
+    private static final long DEFAULT_MAX_POOLED_BYTES = 64L << 20;
+
+    private static final ByteBufferPool INSTANCE = new ByteBufferPool(DEFAULT_MAX_POOLED_BYTES);
+
+    private final long maxPooledBytes;
+    private final List<Queue<ByteBuffer>> freeBuffers;
+    private final AtomicLong pooledBytes;
+
+    private final LongAdder hitCtr;
+    private final LongAdder missCtr;
+    private final LongAdder oversizeCtr;
+
+    ByteBufferPool(long maxPooledBytesRef)
+    {
+        maxPooledBytes = maxPooledBytesRef;
+        freeBuffers = new ArrayList<>();
+        for (int shift = MIN_CLASS_SHIFT; shift <= MAX_CLASS_SHIFT; ++shift)
+        {
+            freeBuffers.add(new ConcurrentLinkedQueue<>());
+        }
+        pooledBytes = new AtomicLong();
+        hitCtr = new LongAdder();
+        missCtr = new LongAdder();
+        oversizeCtr = new LongAdder();
+    }
+
+    /**
+     * Returns the pool shared by all connectors of this process
+     */
+    public static ByteBufferPool getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a buffer with position 0 and a limit of <code>size</code> bytes. The content of the buffer is
+     * undefined.
+     */
+    public ByteBuffer acquire(int size)
+    {
+        ByteBuffer buffer;
+        int classIdx = getClassIdx(size);
+        if (classIdx < 0)
+        {
+            oversizeCtr.increment();
+            buffer = ByteBuffer.allocate(size);
+        }
+        else
+        {
+            buffer = freeBuffers.get(classIdx).poll();
+            if (buffer == null)
+            {
+                missCtr.increment();
+                buffer = ByteBuffer.allocateDirect(1 << (classIdx + MIN_CLASS_SHIFT));
+            }
+            else
+            {
+                hitCtr.increment();
+                pooledBytes.addAndGet(-buffer.capacity());
+            }
+            buffer.clear();
+            buffer.limit(size);
+        }
+        return buffer;
+    }
+
+    /**
+     * Gives a buffer returned by {@link #acquire(int)} back to the pool. The buffer must not be used afterwards.
+     */
+    public void release(ByteBuffer buffer)
+    {
+        int capacity = buffer.capacity();
+        int classIdx = getClassIdx(capacity);
+        if (buffer.isDirect() && classIdx >= 0 && capacity == 1 << (classIdx + MIN_CLASS_SHIFT))
+        {
+            if (pooledBytes.addAndGet(capacity) <= maxPooledBytes)
+            {
+                freeBuffers.get(classIdx).offer(buffer);
+            }
+            else
+            {
+                // pool is full, leave the buffer to the garbage collector
+                pooledBytes.addAndGet(-capacity);
+            }
+        }
+    }
+
+    public long getHitCount()
+    {
+        return hitCtr.sum();
+    }
+
+    public long getMissCount()
+    {
+        return missCtr.sum();
+    }
+
+    public long getOversizeCount()
+    {
+        return oversizeCtr.sum();
+    }
+
+    public long getPooledBytes()
+    {
+        return pooledBytes.get();
+    }
+
+    /**
+     * Returns the percentage of {@link #acquire(int)} calls that were served with a pooled buffer
+     */
+    public double getHitRate()
+    {
+        long hits = hitCtr.sum();
+        long total = hits + missCtr.sum() + oversizeCtr.sum();
+        return total == 0 ? 0.0 : hits * 100.0 / total;
+    }
+
+    private static int getClassIdx(int size)
+    {
+        int classIdx;
+        if (size > 1 << MAX_CLASS_SHIFT)
+        {
+            classIdx = -1;
+        }
+        else
+        if (size <= 1 << MIN_CLASS_SHIFT)
+        {
+            classIdx = 0;
+        }
+        else
+        {
+            // smallest power of two >= size
+            classIdx = 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_CLASS_SHIFT;
+        }
+        return classIdx;
+    }
+}
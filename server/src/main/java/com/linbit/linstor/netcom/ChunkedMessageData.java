@@ -0,0 +1,154 @@
+package com.linbit.linstor.netcom;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Inbound message reassembled from the frames of a chunked message
+ *
+ * The data of the frames is kept in separate arrays. {@link #getDataInputStream()} streams the data (decompressing
+ * it if necessary) without assembling it, while {@link #getData()} has to copy it into a single array.
+ */
+class ChunkedMessageData implements Message
+{
+    private final ByteBuffer headerBuffer;
+    private final List<byte[]> chunks;
+    private final long dataSize;
+
+    private byte[] dataBytes;
+
+    /**
+     * @param lastHeaderBuffer the header of the last frame, which contains the flags of the message
+     * @param chunksRef the data of all frames, in the order they were received
+     */
+    ChunkedMessageData(ByteBuffer lastHeaderBuffer, List<byte[]> chunksRef)
+    {
+        byte[] headerBytes = new byte[HEADER_SIZE];
+        ByteBuffer readBuffer = lastHeaderBuffer.duplicate();
+        readBuffer.rewind();
+        readBuffer.get(headerBytes);
+        headerBuffer = ByteBuffer.wrap(headerBytes);
+        headerBuffer.putInt(TYPE_FIELD_OFFSET, MessageTypes.DATA);
+
+        chunks = chunksRef;
+        long size = 0;
+        for (byte[] chunk : chunks)
+        {
+            size += chunk.length;
+        }
+        dataSize = size;
+    }
+
+    private boolean isCompressed()
+    {
+        return (headerBuffer.getInt(FLAGS_FIELD_OFFSET) & FLAG_COMPRESSED) != 0;
+    }
+
+    @Override
+    public synchronized byte[] getData() throws IllegalMessageStateException
+    {
+        if (dataBytes == null)
+        {
+            if (dataSize > Integer.MAX_VALUE - 8)
+            {
+                throw new IllegalMessageStateException(
+                    "Chunked message of " + dataSize + " bytes is too large to be assembled"
+                );
+            }
+            byte[] receivedBytes = new byte[(int) dataSize];
+            int offset = 0;
+            for (byte[] chunk : chunks)
+            {
+                System.arraycopy(chunk, 0, receivedBytes, offset, chunk.length);
+                offset += chunk.length;
+            }
+
+            if (isCompressed())
+            {
+                dataBytes = MessageCompressor.getInstance().decompress(
+                    receivedBytes,
+                    headerBuffer.getInt(UNCOMPRESSED_LENGTH_FIELD_OFFSET)
+                );
+            }
+            else
+            {
+                dataBytes = receivedBytes;
+            }
+        }
+        return dataBytes;
+    }
+
+    @Override
+    public synchronized InputStream getDataInputStream() throws IllegalMessageStateException
+    {
+        InputStream dataIn;
+        if (dataBytes != null)
+        {
+            dataIn = new ByteArrayInputStream(dataBytes);
+        }
+        else
+        {
+            List<InputStream> chunkStreams = new ArrayList<>(chunks.size());
+            for (byte[] chunk : chunks)
+            {
+                chunkStreams.add(new ByteArrayInputStream(chunk));
+            }
+            dataIn = new SequenceInputStream(Collections.enumeration(chunkStreams));
+            if (isCompressed())
+            {
+                dataIn = MessageCompressor.getInstance().decompressStream(
+                    dataIn,
+                    headerBuffer.getInt(UNCOMPRESSED_LENGTH_FIELD_OFFSET)
+                );
+            }
+        }
+        return dataIn;
+    }
+
+    @Override
+    public void setData(byte[] data) throws IllegalMessageStateException
+    {
+        throw new IllegalMessageStateException("Attempt to change the data of a received chunked message");
+    }
+
+    @Override
+    public void setCompressedData(byte[] compressedData, int uncompressedSize) throws IllegalMessageStateException
+    {
+        throw new IllegalMessageStateException("Attempt to change the data of a received chunked message");
+    }
+
+    @Override
+    public void initReceiveBuffer(int size) throws IllegalMessageStateException
+    {
+        throw new IllegalMessageStateException("Attempt to receive data into a reassembled chunked message");
+    }
+
+    @Override
+    public void release()
+    {
+        // no-op, the data of the frames was copied out of the pooled buffers when they were received
+    }
+
+    @Override
+    public int getType()
+    {
+        return headerBuffer.getInt(TYPE_FIELD_OFFSET);
+    }
+
+    @Override
+    public ByteBuffer getHeaderBuffer()
+    {
+        return headerBuffer;
+    }
+
+    @Override
+    public ByteBuffer getDataBuffer() throws IllegalMessageStateException
+    {
+        return ByteBuffer.wrap(getData());
+    }
+}
@@ -0,0 +1,85 @@
+package com.linbit.linstor.netcom;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Outbound frame of a chunked message, referencing its part of the message's data without copying it
+ *
+ * All frames except for the last one have the type {@link MessageTypes#DATA_CHUNK}. The last frame has the type
+ * {@link MessageTypes#DATA} and carries the flags of the whole message.
+ */
+class DataChunkMessage implements Message
+{
+    private final ByteBuffer headerBuffer;
+    private final ByteBuffer dataBuffer;
+
+    DataChunkMessage(int type, ByteBuffer dataBufferRef, int flags, int uncompressedSize)
+    {
+        headerBuffer = ByteBuffer.wrap(new byte[HEADER_SIZE]);
+        headerBuffer.putInt(TYPE_FIELD_OFFSET, type);
+        headerBuffer.putInt(LENGTH_FIELD_OFFSET, dataBufferRef.remaining());
+        headerBuffer.putInt(FLAGS_FIELD_OFFSET, flags);
+        headerBuffer.putInt(UNCOMPRESSED_LENGTH_FIELD_OFFSET, uncompressedSize);
+        dataBuffer = dataBufferRef;
+    }
+
+    @Override
+    public byte[] getData()
+    {
+        ByteBuffer readBuffer = dataBuffer.duplicate();
+        readBuffer.rewind();
+        byte[] data = new byte[readBuffer.remaining()];
+        readBuffer.get(data);
+        return data;
+    }
+
+    @Override
+    public InputStream getDataInputStream()
+    {
+        return new ByteArrayInputStream(getData());
+    }
+
+    @Override
+    public void setData(byte[] data) throws IllegalMessageStateException
+    {
+        throw new IllegalMessageStateException("Attempt to change the data of a message chunk");
+    }
+
+    @Override
+    public void setCompressedData(byte[] compressedData, int uncompressedSize) throws IllegalMessageStateException
+    {
+        throw new IllegalMessageStateException("Attempt to change the data of a message chunk");
+    }
+
+    @Override
+    public void initReceiveBuffer(int size) throws IllegalMessageStateException
+    {
+        throw new IllegalMessageStateException("Attempt to receive data into an outbound message");
+    }
+
+    @Override
+    public void release()
+    {
+        // no-op, nothing is pooled
+    }
+
+    @Override
+    public int getType()
+    {
+        return headerBuffer.getInt(TYPE_FIELD_OFFSET);
+    }
+
+    @Override
+    public ByteBuffer getHeaderBuffer()
+    {
+        return headerBuffer;
+    }
+
+    @Override
+    public ByteBuffer getDataBuffer()
+    {
+        return dataBuffer;
+    }
+}
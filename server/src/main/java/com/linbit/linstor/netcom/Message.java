@@ -1,5 +1,6 @@
 package com.linbit.linstor.netcom;
 
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 
 /**
@@ -16,6 +17,14 @@ public interface Message
     // 16 bytes (128 bits) message header
     int HEADER_SIZE = 16;
 
+    // Data size of the frames of a chunked message, so that a frame including its header
+    // fits into the largest buffer of the ByteBufferPool
+    int MAX_CHUNK_DATA_SIZE = DEFAULT_MAX_DATA_SIZE - HEADER_SIZE;
+
+    // Maximum data size of a chunked message
+    // 1 GiB == 0x40000000
+    int MAX_CHUNKED_DATA_SIZE = 0x40000000;
+
     // Header field for message type: 4 bytes (32 bits)
     int TYPE_FIELD_SIZE = 4;
     int TYPE_FIELD_OFFSET = 0;
@@ -24,10 +33,42 @@ public interface Message
     int LENGTH_FIELD_SIZE = 4;
     int LENGTH_FIELD_OFFSET = 4;
 
+    // Header field for message flags: 4 bytes (32 bits)
+    int FLAGS_FIELD_SIZE = 4;
+    int FLAGS_FIELD_OFFSET = 8;
+
+    // Header field for the length of the uncompressed data of a compressed message: 4 bytes (32 bits)
+    int UNCOMPRESSED_LENGTH_FIELD_SIZE = 4;
+    int UNCOMPRESSED_LENGTH_FIELD_OFFSET = 12;
+
+    // Flag for messages with data compressed by the MessageCompressor
+    int FLAG_COMPRESSED = 0x1;
+
     byte[] getData() throws IllegalMessageStateException;
 
+    /**
+     * Returns a stream of the data, which avoids assembling the data of chunked messages into a single array
+     */
+    InputStream getDataInputStream() throws IllegalMessageStateException;
+
     void setData(byte[] data) throws IllegalMessageStateException;
 
+    /**
+     * Sets data that was compressed by the {@link MessageCompressor} and marks the message as compressed
+     */
+    void setCompressedData(byte[] compressedData, int uncompressedSize) throws IllegalMessageStateException;
+
+    /**
+     * Prepares the data buffer for receiving <code>size</code> bytes of data
+     */
+    void initReceiveBuffer(int size) throws IllegalMessageStateException;
+
+    /**
+     * Gives pooled buffers of a received message back to the pool. Data that was not yet fetched using
+     * {@link #getData()} is lost, streams returned by {@link #getDataInputStream()} can no longer be read.
+     */
+    void release();
+
     int getType() throws IllegalMessageStateException;
 
     ByteBuffer getHeaderBuffer();
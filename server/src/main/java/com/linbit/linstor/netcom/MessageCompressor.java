@@ -0,0 +1,292 @@
+package com.linbit.linstor.netcom;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Deflate compression of message data for peers that negotiated message compression during authentication
+ *
+ * Keeps statistics about the achieved compression ratio and the CPU time spent for compressing and decompressing
+ * messages of all connectors of this process.
+ */
+public class MessageCompressor
+{
+    // Largest amount of data that is compressed, or accepted as the uncompressed size of a received message
+    public static final int MAX_UNCOMPRESSED_SIZE = 16 * Message.DEFAULT_MAX_DATA_SIZE;
+
+    // Initial size of the buffer that received messages are decompressed into
+    private static final int MIN_INFLATE_BUFFER_SIZE = 0x10000;
+
+    private static final MessageCompressor INSTANCE = new MessageCompressor();
+
+    private final ThreadMXBean threadMxBean;
+    private final boolean cpuTimeSupported;
+
+    private final LongAdder compressedMsgCtr;
+    private final LongAdder uncompressibleMsgCtr;
+    private final LongAdder decompressedMsgCtr;
+    private final LongAdder uncompressedBytes;
+    private final LongAdder compressedBytes;
+    private final LongAdder compressNanos;
+    private final LongAdder decompressNanos;
+
+    MessageCompressor()
+    {
+        threadMxBean = ManagementFactory.getThreadMXBean();
+        cpuTimeSupported = threadMxBean.isCurrentThreadCpuTimeSupported() && threadMxBean.isThreadCpuTimeEnabled();
+
+        compressedMsgCtr = new LongAdder();
+        uncompressibleMsgCtr = new LongAdder();
+        decompressedMsgCtr = new LongAdder();
+        uncompressedBytes = new LongAdder();
+        compressedBytes = new LongAdder();
+        compressNanos = new LongAdder();
+        decompressNanos = new LongAdder();
+    }
+
+    /**
+     * Returns the compressor shared by all connectors of this process
+     */
+    public static MessageCompressor getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the compressed data, or <code>null</code> if the data is too large or compression would not
+     * make it smaller.
+     */
+    public byte[] compress(byte[] data)
+    {
+        byte[] result = null;
+        if (data.length <= MAX_UNCOMPRESSED_SIZE)
+        {
+            long startTime = getCpuTime();
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try
+            {
+                deflater.setInput(data);
+                deflater.finish();
+                // compressed data that is not smaller than the input is useless
+                byte[] buffer = new byte[data.length];
+                int length = 0;
+                while (!deflater.finished() && length < buffer.length)
+                {
+                    length += deflater.deflate(buffer, length, buffer.length - length);
+                }
+                if (deflater.finished() && length < data.length)
+                {
+                    result = new byte[length];
+                    System.arraycopy(buffer, 0, result, 0, length);
+                }
+            }
+            finally
+            {
+                deflater.end();
+                compressNanos.add(getCpuTime() - startTime);
+            }
+        }
+
+        if (result == null)
+        {
+            uncompressibleMsgCtr.increment();
+        }
+        else
+        {
+            compressedMsgCtr.increment();
+            uncompressedBytes.add(data.length);
+            compressedBytes.add(result.length);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the data of a message that was compressed with {@link #compress(byte[])}
+     */
+    public byte[] decompress(byte[] compressedData, int uncompressedSize) throws IllegalMessageStateException
+    {
+        checkUncompressedSize(uncompressedSize);
+
+        long startTime = getCpuTime();
+        // the uncompressed size is only claimed by the peer, so the buffer only grows with the actual output
+        byte[] data = new byte[Math.min(uncompressedSize, Math.max(MIN_INFLATE_BUFFER_SIZE, compressedData.length))];
+        Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput(compressedData);
+            int length = 0;
+            boolean inflating = true;
+            while (inflating && !inflater.finished() && !inflater.needsInput() && !inflater.needsDictionary())
+            {
+                if (length == data.length)
+                {
+                    if (data.length < uncompressedSize)
+                    {
+                        data = Arrays.copyOf(data, (int) Math.min((long) data.length * 2, uncompressedSize));
+                    }
+                    else
+                    {
+                        // the data is larger than the uncompressed size, which is reported below
+                        inflating = false;
+                    }
+                }
+                if (inflating)
+                {
+                    length += inflater.inflate(data, length, data.length - length);
+                }
+            }
+            if (!inflater.finished() || length != uncompressedSize)
+            {
+                throw new IllegalMessageStateException(
+                    "Compressed data of a received message does not match its uncompressed size " + uncompressedSize
+                );
+            }
+        }
+        catch (DataFormatException exc)
+        {
+            throw new IllegalMessageStateException("Received message contains invalid compressed data", exc);
+        }
+        finally
+        {
+            inflater.end();
+            decompressNanos.add(getCpuTime() - startTime);
+        }
+        decompressedMsgCtr.increment();
+        return data;
+    }
+
+    /**
+     * Returns a stream that decompresses the data of a received message while it is read. The time spent for
+     * decompressing is not included in {@link #getDecompressNanos()}.
+     *
+     * Reading the stream fails with an {@link IOException} if the data does not match its uncompressed size.
+     */
+    public InputStream decompressStream(InputStream compressedDataIn, int uncompressedSize)
+        throws IllegalMessageStateException
+    {
+        checkUncompressedSize(uncompressedSize);
+        decompressedMsgCtr.increment();
+        return new BoundedInflaterInputStream(compressedDataIn, uncompressedSize);
+    }
+
+    private static void checkUncompressedSize(int uncompressedSize) throws IllegalMessageStateException
+    {
+        if (uncompressedSize < 0 || uncompressedSize > MAX_UNCOMPRESSED_SIZE)
+        {
+            throw new IllegalMessageStateException(
+                "Uncompressed size " + uncompressedSize + " of a received message is out of range"
+            );
+        }
+    }
+
+    private long getCpuTime()
+    {
+        return cpuTimeSupported ? threadMxBean.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    public long getCompressedMessageCount()
+    {
+        return compressedMsgCtr.sum();
+    }
+
+    public long getUncompressibleMessageCount()
+    {
+        return uncompressibleMsgCtr.sum();
+    }
+
+    public long getDecompressedMessageCount()
+    {
+        return decompressedMsgCtr.sum();
+    }
+
+    public long getUncompressedBytes()
+    {
+        return uncompressedBytes.sum();
+    }
+
+    public long getCompressedBytes()
+    {
+        return compressedBytes.sum();
+    }
+
+    /**
+     * Returns the size of all compressed messages in percent of their uncompressed size
+     */
+    public double getCompressionRatio()
+    {
+        long uncompressed = uncompressedBytes.sum();
+        return uncompressed == 0 ? 0.0 : compressedBytes.sum() * 100.0 / uncompressed;
+    }
+
+    /**
+     * Returns the CPU time spent for compressing messages in nanoseconds, or the wall clock time if measuring the
+     * CPU time of threads is not supported by the JVM
+     */
+    public long getCompressNanos()
+    {
+        return compressNanos.sum();
+    }
+
+    /**
+     * Returns the CPU time spent for decompressing messages in nanoseconds, or the wall clock time if measuring
+     * the CPU time of threads is not supported by the JVM
+     */
+    public long getDecompressNanos()
+    {
+        return decompressNanos.sum();
+    }
+
+    /**
+     * Inflates exactly the uncompressed size announced by the header of the message
+     */
+    private static class BoundedInflaterInputStream extends InflaterInputStream
+    {
+        private int remaining;
+
+        BoundedInflaterInputStream(InputStream compressedDataIn, int uncompressedSize)
+        {
+            super(compressedDataIn);
+            remaining = uncompressedSize;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException
+        {
+            int ret;
+            if (length == 0)
+            {
+                ret = 0;
+            }
+            else
+            if (remaining == 0)
+            {
+                // only the end of the compressed data may follow
+                ret = super.read(buffer, offset, 1);
+                if (ret != -1)
+                {
+                    throw new IOException("Compressed data of a received message exceeds its uncompressed size");
+                }
+            }
+            else
+            {
+                ret = super.read(buffer, offset, Math.min(length, remaining));
+                if (ret == -1)
+                {
+                    throw new IOException(
+                        "Compressed data of a received message is shorter than its uncompressed size"
+                    );
+                }
+                remaining -= ret;
+            }
+            return ret;
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package com.linbit.linstor.netcom;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /**
  * Abstract implementation of a message containing the plain data and header bytes
  * already wrapped in ByteBuffers for easier handling and some error checking.
+ *
+ * Received data is read into a direct buffer of the {@link ByteBufferPool}. {@link #getDataInputStream()} reads
+ * (and decompresses) the data straight from that buffer, which is only given back to the pool when the message is
+ * {@link #release() released}. {@link #getData()} copies the data and gives the buffer back right away.
  */
 public class MessageData implements Message
 {
-    // TODO: Use ByteBuffer.allocateDirect(...) instead of ByteBuffer.wrap(...)
     protected final ByteBuffer headerBuffer;
     protected ByteBuffer dataBuffer;
 
@@ -18,9 +24,18 @@ public class MessageData implements Message
 
     private boolean forSend;
 
+    private final ByteBufferPool bufferPool;
+    private ByteBuffer pooledBuffer;
+
     public MessageData(boolean forSendRef)
+    {
+        this(forSendRef, ByteBufferPool.getInstance());
+    }
+
+    public MessageData(boolean forSendRef, ByteBufferPool bufferPoolRef)
     {
         forSend = forSendRef;
+        bufferPool = bufferPoolRef;
 
         headerBytes = new byte[HEADER_SIZE];
         headerBuffer = ByteBuffer.wrap(headerBytes);
@@ -28,25 +43,135 @@ public class MessageData implements Message
     }
 
     @Override
-    public byte[] getData() throws IllegalMessageStateException
+    public synchronized byte[] getData() throws IllegalMessageStateException
     {
         if (dataBytes == null)
         {
-            throw new IllegalMessageStateException(
-                "Attempt to fetch content data from a message that is not ready for processing"
-            );
+            if (pooledBuffer == null)
+            {
+                throw new IllegalMessageStateException(
+                    "Attempt to fetch content data from a message that is not ready for processing"
+                );
+            }
+            ByteBuffer readBuffer = pooledBuffer.duplicate();
+            readBuffer.position(0);
+            byte[] receivedBytes = new byte[readBuffer.limit()];
+            readBuffer.get(receivedBytes);
+            releasePooledBuffer();
+
+            if ((headerBuffer.getInt(FLAGS_FIELD_OFFSET) & FLAG_COMPRESSED) != 0)
+            {
+                dataBytes = MessageCompressor.getInstance().decompress(
+                    receivedBytes,
+                    headerBuffer.getInt(UNCOMPRESSED_LENGTH_FIELD_OFFSET)
+                );
+            }
+            else
+            {
+                dataBytes = receivedBytes;
+            }
+            dataBuffer = ByteBuffer.wrap(dataBytes);
         }
         return dataBytes;
     }
 
+    /**
+     * Returns a stream reading the data from the pooled receive buffer without copying it. The stream can only be
+     * read until the message is {@link #release() released}.
+     */
+    @Override
+    public synchronized InputStream getDataInputStream() throws IllegalMessageStateException
+    {
+        InputStream dataIn;
+        if (dataBytes != null)
+        {
+            dataIn = new ByteArrayInputStream(dataBytes);
+        }
+        else
+        {
+            if (pooledBuffer == null)
+            {
+                throw new IllegalMessageStateException(
+                    "Attempt to fetch content data from a message that is not ready for processing"
+                );
+            }
+            dataIn = new PooledDataInputStream(pooledBuffer);
+            if ((headerBuffer.getInt(FLAGS_FIELD_OFFSET) & FLAG_COMPRESSED) != 0)
+            {
+                dataIn = MessageCompressor.getInstance().decompressStream(
+                    dataIn,
+                    headerBuffer.getInt(UNCOMPRESSED_LENGTH_FIELD_OFFSET)
+                );
+            }
+        }
+        return dataIn;
+    }
+
     @Override
-    public void setData(byte[] data) throws IllegalMessageStateException
+    public synchronized void setData(byte[] data) throws IllegalMessageStateException
     {
+        releasePooledBuffer();
         dataBytes = data;
         dataBuffer = ByteBuffer.wrap(data);
         if (forSend)
         {
             headerBuffer.putInt(LENGTH_FIELD_OFFSET, data.length);
+            headerBuffer.putInt(FLAGS_FIELD_OFFSET, 0);
+            headerBuffer.putInt(UNCOMPRESSED_LENGTH_FIELD_OFFSET, 0);
+        }
+    }
+
+    @Override
+    public synchronized void setCompressedData(byte[] compressedData, int uncompressedSize)
+        throws IllegalMessageStateException
+    {
+        if (!forSend)
+        {
+            throw new IllegalMessageStateException("Attempt to set compressed data of an inbound message");
+        }
+        setData(compressedData);
+        headerBuffer.putInt(FLAGS_FIELD_OFFSET, FLAG_COMPRESSED);
+        headerBuffer.putInt(UNCOMPRESSED_LENGTH_FIELD_OFFSET, uncompressedSize);
+    }
+
+    @Override
+    public synchronized void initReceiveBuffer(int size) throws IllegalMessageStateException
+    {
+        if (forSend)
+        {
+            throw new IllegalMessageStateException("Attempt to receive data into an outbound message");
+        }
+        releasePooledBuffer();
+        if (size == 0)
+        {
+            // e.g. PING and PONG messages
+            dataBytes = new byte[0];
+            dataBuffer = ByteBuffer.wrap(dataBytes);
+        }
+        else
+        {
+            dataBytes = null;
+            pooledBuffer = bufferPool.acquire(size);
+            dataBuffer = pooledBuffer;
+        }
+    }
+
+    @Override
+    public synchronized void release()
+    {
+        if (pooledBuffer != null)
+        {
+            releasePooledBuffer();
+            dataBuffer = null;
+        }
+    }
+
+    private void releasePooledBuffer()
+    {
+        if (pooledBuffer != null)
+        {
+            bufferPool.release(pooledBuffer);
+            pooledBuffer = null;
         }
     }
 
@@ -74,4 +199,93 @@ public class MessageData implements Message
     {
         return dataBuffer;
     }
+
+    /**
+     * Reads the data of the pooled receive buffer, as long as it was not given back to the pool
+     */
+    private class PooledDataInputStream extends InputStream
+    {
+        private final ByteBuffer buffer;
+        private final ByteBuffer readBuffer;
+
+        PooledDataInputStream(ByteBuffer bufferRef)
+        {
+            buffer = bufferRef;
+            readBuffer = bufferRef.duplicate();
+            readBuffer.position(0);
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            int ret = -1;
+            synchronized (MessageData.this)
+            {
+                checkNotReleased();
+                if (readBuffer.hasRemaining())
+                {
+                    ret = readBuffer.get() & 0xFF;
+                }
+            }
+            return ret;
+        }
+
+        @Override
+        public int read(byte[] dst, int offset, int length) throws IOException
+        {
+            int ret = -1;
+            synchronized (MessageData.this)
+            {
+                checkNotReleased();
+                if (length == 0)
+                {
+                    ret = 0;
+                }
+                else
+                if (readBuffer.hasRemaining())
+                {
+                    ret = Math.min(length, readBuffer.remaining());
+                    readBuffer.get(dst, offset, ret);
+                }
+            }
+            return ret;
+        }
+
+        @Override
+        public long skip(long count) throws IOException
+        {
+            long skipped = 0;
+            synchronized (MessageData.this)
+            {
+                checkNotReleased();
+                if (count > 0)
+                {
+                    skipped = Math.min(count, readBuffer.remaining());
+                    readBuffer.position(readBuffer.position() + (int) skipped);
+                }
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException
+        {
+            int ret;
+            synchronized (MessageData.this)
+            {
+                checkNotReleased();
+                ret = readBuffer.remaining();
+            }
+            return ret;
+        }
+
+        private void checkNotReleased() throws IOException
+        {
+            // the buffer might already be used by another message
+            if (pooledBuffer != buffer)
+            {
+                throw new IOException("The data of the message was released");
+            }
+        }
+    }
 }
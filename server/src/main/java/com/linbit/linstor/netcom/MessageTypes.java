@@ -7,6 +7,10 @@ public class MessageTypes
     public static final int PING = 1;
     public static final int PONG = 2;
 
+    // Frame of a message whose data is too large for a single message, followed by further frames and a final
+    // DATA frame
+    public static final int DATA_CHUNK = 3;
+
     private MessageTypes()
     {
     }
@@ -100,6 +100,10 @@ public interface Peer
      * Wraps the parameter into a {@link Message} which is created by {@link #createMessage()} and
      * calls {@link #sendMessage(Message)}.
      *
+     * Data larger than {@link Message#DEFAULT_MAX_DATA_SIZE} is sent as a chunked message, which is limited to
+     * {@link Message#MAX_CHUNKED_DATA_SIZE} bytes (after compression). Larger data causes a
+     * {@link com.linbit.linstor.LinStorRuntimeException}.
+     *
      * @param data
      * @return
      */
@@ -220,6 +224,20 @@ public interface Peer
      */
     long msgRecvMaxSize();
 
+    /**
+     * Returns the number of bytes that were written to the peer connection
+     *
+     * @return Number of bytes sent
+     */
+    long bytesSentCount();
+
+    /**
+     * Returns the number of write operations that were performed on the peer connection
+     *
+     * @return Number of write system calls
+     */
+    long writeCallCount();
+
     /**
      * Returns the destination internet address of the peer connection
      *
@@ -379,4 +397,12 @@ public interface Peer
     StltConfig getStltConfig();
 
     void setStltConfig(StltConfig stltConfig);
+
+    /**
+     * Enables compression of outbound messages with at least <code>threshold</code> bytes of data, as negotiated
+     * during authentication. A threshold of 0 disables compression.
+     */
+    void setCompressionThreshold(int threshold);
+
+    int getCompressionThreshold();
 }
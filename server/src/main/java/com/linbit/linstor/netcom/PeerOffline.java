@@ -231,6 +231,18 @@ public class PeerOffline implements Peer
         return 0;
     }
 
+    @Override
+    public long bytesSentCount()
+    {
+        return 0;
+    }
+
+    @Override
+    public long writeCallCount()
+    {
+        return 0;
+    }
+
     @Override
     public InetSocketAddress peerAddress()
     {
@@ -372,4 +384,15 @@ public class PeerOffline implements Peer
     public void setStltConfig(StltConfig stltConfig)
     {
     }
+
+    @Override
+    public void setCompressionThreshold(int threshold)
+    {
+    }
+
+    @Override
+    public int getCompressionThreshold()
+    {
+        return 0;
+    }
 }
@@ -228,6 +228,18 @@ public class PeerREST implements Peer
         return 0;
     }
 
+    @Override
+    public long bytesSentCount()
+    {
+        return 0;
+    }
+
+    @Override
+    public long writeCallCount()
+    {
+        return 0;
+    }
+
     @Override
     public InetSocketAddress peerAddress()
     {
@@ -370,6 +382,17 @@ public class PeerREST implements Peer
     {
     }
 
+    @Override
+    public void setCompressionThreshold(int threshold)
+    {
+    }
+
+    @Override
+    public int getCompressionThreshold()
+    {
+        return 0;
+    }
+
     @Override
     public String toString()
     {
@@ -25,7 +25,7 @@ public interface TcpConnector extends SystemService
     void closeConnection(TcpConnectorPeer peerObj, boolean allowReconnect);
 
     /**
-     * Wakes up the connector's selector
+     * Wakes up the connector's selectors
      */
     void wakeup();
 }
@@ -5,6 +5,7 @@ import static java.nio.channels.SelectionKey.OP_WRITE;
 
 import com.linbit.ImplementationError;
 import com.linbit.ServiceName;
+import com.linbit.linstor.LinStorRuntimeException;
 import com.linbit.linstor.api.ApiConsts;
 import com.linbit.linstor.api.interfaces.serializer.CommonSerializer;
 import com.linbit.linstor.core.cfg.StltConfig;
@@ -27,14 +28,19 @@ import java.nio.ByteBuffer;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -78,6 +84,15 @@ public class TcpConnectorPeer implements Peer
         FINISHED
     }
 
+    // Maximum number of buffers written with one gathering write operation
+    private static final int MAX_GATHER_BUFFERS = 16;
+
+    // Outbound messages smaller than this are coalesced into shared staging buffers of this size
+    private static final int COALESCE_BUFFER_SIZE = 64 * 1024;
+
+    // No more outbound messages are staged for a gathering write operation once this many bytes are staged
+    private static final int MAX_GATHER_BYTES = 1024 * 1024;
+
     private final Node node;
 
     private final ErrorReporter errorReporter;
@@ -91,12 +106,31 @@ public class TcpConnectorPeer implements Peer
     // Current inbound message
     protected Message msgIn;
 
-    // Current outbound message; cached for quicker access
+    // Next outbound message to send; only used by the selector thread
     protected Message msgOut;
 
-    // Queue of pending outbound messages
+    // Lock-free queue of pending outbound messages, filled by any number of threads and drained by the
+    // selector thread. Each entry holds the messages of one send operation, so that the frames of a chunked
+    // message are not interleaved with other messages.
     // TODO: Put a capacity limit on the maximum number of queued outbound messages
-    protected final Deque<Message> msgOutQueue;
+    private final Queue<List<Message>> msgOutQueue;
+    private final AtomicInteger msgOutQueueCount;
+
+    // Remaining messages of the queue entry that msgOut was taken from; only used by the selector thread
+    private Iterator<Message> msgOutEntryIter;
+
+    // Set while OP_WRITE is enabled for sending queued messages
+    private final AtomicBoolean writeScheduled;
+
+    // Pool for the data buffers of inbound messages and the staging buffers of outbound messages
+    protected final ByteBufferPool bufferPool;
+
+    // Pooled buffers holding the headers and data of the outbound messages that are currently written with
+    // gathering write operations; only used by the selector thread
+    private final ByteBuffer[] msgOutBuffers;
+    private int msgOutBufferIdx = 0;
+    private int msgOutBufferCount = 0;
+    private int msgOutBufferMsgCount = 0;
 
     protected SelectionKey selKey;
 
@@ -106,7 +140,8 @@ public class TcpConnectorPeer implements Peer
 
     protected volatile boolean connected = false;
     protected ApiConsts.ConnectionStatus connectionStatus = ApiConsts.ConnectionStatus.OFFLINE;
-    protected boolean authenticated = false;
+    // read by the selector thread, see addToQueue
+    protected volatile boolean authenticated = false;
     protected boolean fullSyncApplied = false;
     protected boolean fullSyncFailed = false;
 
@@ -119,6 +154,8 @@ public class TcpConnectorPeer implements Peer
     private volatile long msgRecvCtr = 0;
     private volatile long msgSentSizePeak = 0;
     private volatile long msgRecvSizePeak = 0;
+    private volatile long bytesSentCtr = 0;
+    private volatile long writeCallCtr = 0;
 
     protected long lastPingSent = -1;
     private long lastPongReceived = -1;
@@ -148,6 +185,15 @@ public class TcpConnectorPeer implements Peer
     private ExtToolsManager externalToolsManager = new ExtToolsManager();
     private StltConfig stltConfig = new StltConfig();
 
+    // Minimum data size of compressed outbound messages, 0 if the peer did not negotiate compression
+    private volatile int compressionThreshold = 0;
+
+    // Data of the frames of the chunked message that is currently received; only used by the selector thread
+    private List<byte[]> msgInChunks = new ArrayList<>();
+    private long msgInChunksSize = 0;
+    private boolean msgInChunked = false;
+    private boolean msgInChunksDiscarded = false;
+
     protected TcpConnectorPeer(
         ErrorReporter errorReporterRef,
         CommonSerializer commonSerializerRef,
@@ -163,14 +209,18 @@ public class TcpConnectorPeer implements Peer
         peerId = peerIdRef;
         connector = connectorRef;
         node = nodeRef;
-        msgOutQueue = new LinkedList<>();
+        msgOutQueue = new ConcurrentLinkedQueue<>();
+        msgOutQueueCount = new AtomicInteger();
+        writeScheduled = new AtomicBoolean();
+        bufferPool = ByteBufferPool.getInstance();
+        msgOutBuffers = new ByteBuffer[MAX_GATHER_BUFFERS];
 
         // Do not use createMessage() here!
         // The SslTcpConnectorPeer has not initialized SSLEngine instance yet,
         // so a NullPointerException would be thrown in createMessage().
         // After initialization of the sslEngine, msgIn will be overwritten with
         // a reference to a valid instance.
-        msgIn = new MessageData(false);
+        msgIn = new MessageData(false, bufferPool);
 
         selKey = key;
         peerAccCtx = accCtx;
@@ -275,43 +325,44 @@ public class TcpConnectorPeer implements Peer
         {
             currentReadPhase = Phase.HEADER;
         }
-        return new MessageData(forSend);
+        return new MessageData(forSend, bufferPool);
     }
 
     @Override
     public boolean sendMessage(Message msg)
         throws IllegalMessageStateException
+    {
+        return sendMessages(Collections.singletonList(msg));
+    }
+
+    /**
+     * Queues the given messages for sending. The messages are queued atomically, so that the frames of a chunked
+     * message are not interleaved with other messages.
+     */
+    private boolean sendMessages(List<Message> msgList)
     {
         boolean connFlag = connected;
         if (connFlag)
         {
-            synchronized (this)
-            {
-                long msgSize = msg.getData().length;
-                if (msgSize > msgSentSizePeak)
-                {
-                    msgSentSizePeak = msgSize;
-                }
+            msgOutQueueCount.addAndGet(msgList.size());
+            msgOutQueue.add(msgList);
 
-                // Queue the message for sending
-                if (msgOut == null)
-                {
-                    msgOut = msg;
-                }
-                else
-                {
-                    msgOutQueue.add(msg);
-                }
-
-                try
-                {
-                    enableOpInterest(OP_WRITE);
-                    connector.wakeup();
-                }
-                catch (IllegalStateException illState)
+            // Only the first message queued after the selector thread drained the queue needs to enable OP_WRITE
+            if (writeScheduled.compareAndSet(false, true))
+            {
+                synchronized (this)
                 {
-                    // No-op; Subclasses of illState can be thrown
-                    // when the connection has been closed
+                    try
+                    {
+                        enableOpInterest(OP_WRITE);
+                        // Only the selector loop that performs the I/O of this peer needs to be woken up
+                        selKey.selector().wakeup();
+                    }
+                    catch (IllegalStateException illState)
+                    {
+                        // No-op; Subclasses of illState can be thrown
+                        // when the connection has been closed
+                    }
                 }
             }
         }
@@ -347,9 +398,31 @@ public class TcpConnectorPeer implements Peer
         boolean isConnected = false;
         try
         {
-            Message msg = createMessage();
-            msg.setData(data);
-            isConnected = sendMessage(msg);
+            byte[] compressedData = null;
+            int threshold = compressionThreshold;
+            if (threshold > 0 && data.length >= threshold)
+            {
+                compressedData = MessageCompressor.getInstance().compress(data);
+            }
+
+            byte[] msgData = compressedData == null ? data : compressedData;
+            if (msgData.length > Message.DEFAULT_MAX_DATA_SIZE)
+            {
+                isConnected = sendMessages(createChunks(msgData, compressedData != null, data.length));
+            }
+            else
+            {
+                Message msg = createMessage();
+                if (compressedData == null)
+                {
+                    msg.setData(data);
+                }
+                else
+                {
+                    msg.setCompressedData(compressedData, data.length);
+                }
+                isConnected = sendMessage(msg);
+            }
         }
         catch (IllegalMessageStateException exc)
         {
@@ -361,6 +434,57 @@ public class TcpConnectorPeer implements Peer
         return isConnected;
     }
 
+    /**
+     * Splits the data of a message that is too large for a single message into the frames of a chunked message
+     *
+     * @throws LinStorRuntimeException if the data exceeds {@link Message#MAX_CHUNKED_DATA_SIZE}, as the peer would
+     *     discard the message
+     */
+    private List<Message> createChunks(byte[] msgData, boolean compressed, int uncompressedSize)
+    {
+        if (msgData.length > Message.MAX_CHUNKED_DATA_SIZE)
+        {
+            String errorMsg = String.format(
+                "Message data of %d bytes for peer %s exceeds the maximum of %d bytes",
+                msgData.length,
+                this,
+                Message.MAX_CHUNKED_DATA_SIZE
+            );
+            throw new LinStorRuntimeException(
+                errorMsg,
+                "The message could not be sent",
+                errorMsg,
+                "Reduce the amount of data that is sent in a single message",
+                null
+            );
+        }
+        List<Message> chunkList = new ArrayList<>();
+        int offset = 0;
+        while (offset < msgData.length)
+        {
+            int length = Math.min(Message.MAX_CHUNK_DATA_SIZE, msgData.length - offset);
+            ByteBuffer chunkBuffer = ByteBuffer.wrap(msgData, offset, length).slice();
+            offset += length;
+            if (offset < msgData.length)
+            {
+                chunkList.add(new DataChunkMessage(MessageTypes.DATA_CHUNK, chunkBuffer, 0, 0));
+            }
+            else
+            {
+                // the last frame carries the flags of the whole message
+                chunkList.add(
+                    new DataChunkMessage(
+                        MessageTypes.DATA,
+                        chunkBuffer,
+                        compressed ? Message.FLAG_COMPRESSED : 0,
+                        compressed ? uncompressedSize : 0
+                    )
+                );
+            }
+        }
+        return chunkList;
+    }
+
     @Override
     public long getNextIncomingMessageSeq()
     {
@@ -569,11 +693,64 @@ public class TcpConnectorPeer implements Peer
     }
 
     protected void nextOutMessage()
+        throws IllegalMessageStateException
+    {
+        ++msgSentCtr;
+        if (!fetchOutMessage())
+        {
+            outQueueDrained();
+        }
+    }
+
+    /**
+     * Takes the next queued outbound message as msgOut
+     *
+     * @return True if there is an outbound message to send, false if the queue is empty
+     */
+    protected boolean fetchOutMessage()
+        throws IllegalMessageStateException
+    {
+        Message msg = null;
+        while (msg == null)
+        {
+            if (msgOutEntryIter != null && msgOutEntryIter.hasNext())
+            {
+                msg = msgOutEntryIter.next();
+            }
+            else
+            {
+                List<Message> entry = msgOutQueue.poll();
+                if (entry == null)
+                {
+                    break;
+                }
+                msgOutEntryIter = entry.iterator();
+            }
+        }
+
+        if (msg != null)
+        {
+            msgOutQueueCount.decrementAndGet();
+            long msgSize = msg.getDataBuffer().limit();
+            if (msgSize > msgSentSizePeak)
+            {
+                msgSentSizePeak = msgSize;
+            }
+        }
+        msgOut = msg;
+        return msg != null;
+    }
+
+    /**
+     * Disables OP_WRITE after all queued outbound messages were sent, unless another thread queued more messages
+     * in the meantime
+     */
+    protected void outQueueDrained()
     {
         synchronized (this)
         {
-            msgOut = msgOutQueue.pollFirst();
-            if (msgOut == null)
+            writeScheduled.set(false);
+            if (msgOutQueue.isEmpty())
             {
                 try
                 {
@@ -586,10 +763,30 @@ public class TcpConnectorPeer implements Peer
                     // when the connection has been closed
                 }
             }
-            ++msgSentCtr;
+            else
+            {
+                writeScheduled.set(true);
+            }
         }
     }
 
+    /**
+     * Returns true if there are outbound messages that were not sent yet
+     */
+    protected boolean hasPendingOutMessages()
+    {
+        return msgOut != null || msgOutQueueCount.get() > 0;
+    }
+
+    /**
+     * Accounts for a write operation on the peer's channel
+     */
+    protected void countWrite(long writtenBytes)
+    {
+        ++writeCallCtr;
+        bytesSentCtr += writtenBytes;
+    }
+
     @Override
     public AccessContext getAccessContext()
     {
@@ -625,7 +822,7 @@ public class TcpConnectorPeer implements Peer
     @Override
     public int outQueueCount()
     {
-        return msgOutQueue.size();
+        return msgOutQueueCount.get();
     }
 
     @Override
@@ -652,6 +849,18 @@ public class TcpConnectorPeer implements Peer
         return msgRecvSizePeak;
     }
 
+    @Override
+    public long bytesSentCount()
+    {
+        return bytesSentCtr;
+    }
+
+    @Override
+    public long writeCallCount()
+    {
+        return writeCallCtr;
+    }
+
     @Override
     public InetSocketAddress peerAddress()
     {
@@ -899,18 +1108,27 @@ public class TcpConnectorPeer implements Peer
         return state;
     }
 
-    protected void initDataByteBuffer(ByteBuffer headerBuffer) throws IllegalMessageStateException
+    /**
+     * Prepares receiving the data of the message with the given header
+     *
+     * @throws IOException if the data size of the header is invalid, which closes the connection, as the
+     *     remaining data of the stream can no longer be split into messages
+     */
+    protected void initDataByteBuffer(ByteBuffer headerBuffer) throws IllegalMessageStateException, IOException
     {
         int dataSize = headerBuffer.getInt(Message.LENGTH_FIELD_OFFSET);
-        if (dataSize < 0)
+        // larger data is sent as a chunked message, see MessageTypes.DATA_CHUNK
+        if (dataSize < 0 || dataSize > Message.DEFAULT_MAX_DATA_SIZE)
         {
-            dataSize = 0;
-        }
-        if (dataSize > Message.DEFAULT_MAX_DATA_SIZE)
-        {
-            dataSize = Message.DEFAULT_MAX_DATA_SIZE;
+            errorReporter.logError(
+                "Peer %s: Received message with %d bytes of data, which is not within the range of 0 to %d bytes",
+                this,
+                dataSize,
+                Message.DEFAULT_MAX_DATA_SIZE
+            );
+            throw new IOException("Received message with an invalid data size of " + dataSize + " bytes");
         }
-        msgIn.setData(new byte[dataSize]);
+        msgIn.initReceiveBuffer(dataSize);
         currentReadPhase = currentReadPhase.getNextPhase();
     }
 
@@ -938,65 +1156,144 @@ public class TcpConnectorPeer implements Peer
         throws IllegalMessageStateException, IOException
     {
         WriteState state = WriteState.UNFINISHED;
-        switch (currentWritePhase)
+        if (msgOutBufferIdx == msgOutBufferCount)
         {
-            case HEADER:
+            stageOutMessages();
+        }
+        if (msgOutBufferIdx < msgOutBufferCount)
+        {
+            // Write as many of the staged messages as possible with a single system call
+            long writtenBytes = outChannel.write(msgOutBuffers, msgOutBufferIdx, msgOutBufferCount - msgOutBufferIdx);
+            countWrite(writtenBytes);
+            while (msgOutBufferIdx < msgOutBufferCount && !msgOutBuffers[msgOutBufferIdx].hasRemaining())
+            {
+                bufferPool.release(msgOutBuffers[msgOutBufferIdx]);
+                msgOutBuffers[msgOutBufferIdx] = null;
+                ++msgOutBufferIdx;
+            }
+            if (msgOutBufferIdx == msgOutBufferCount)
+            {
+                // Finished sending the staged messages
+                msgSentCtr += msgOutBufferMsgCount;
+                state = WriteState.FINISHED;
+                currentWritePhase = Phase.HEADER;
+                if (msgOut == null && !fetchOutMessage())
                 {
-                    ByteBuffer headerBuffer = msgOut.getHeaderBuffer();
-                    outChannel.write(headerBuffer);
-                    if (!headerBuffer.hasRemaining())
-                    {
-                        currentWritePhase = currentWritePhase.getNextPhase();
-                        state = writeData(outChannel, state);
-                    }
+                    outQueueDrained();
                 }
-                break;
-            case DATA:
-                state = writeData(outChannel, state);
-                break;
-            default:
-                throw new ImplementationError(
-                    String.format(
-                        "Missing case label for enum member '%s'",
-                        currentWritePhase.name()
-                    ),
-                    null
-                );
+            }
         }
-        if (state == WriteState.FINISHED)
+        else
         {
-            currentWritePhase = Phase.HEADER;
-            nextOutMessage();
+            outQueueDrained();
         }
         return state;
     }
 
-    private WriteState writeData(SocketChannel outChannel, WriteState stateRef)
-        throws IOException, IllegalMessageStateException
+    /**
+     * Copies the headers and the data of msgOut and of further queued messages into buffers of the
+     * {@link ByteBufferPool}, so that they are sent with a single gathering write operation directly from native
+     * memory. Small messages are coalesced into shared buffers.
+     */
+    private void stageOutMessages() throws IllegalMessageStateException
     {
-        WriteState state = stateRef;
-        ByteBuffer dataBuffer = msgOut.getDataBuffer();
-        outChannel.write(dataBuffer);
-        if (!dataBuffer.hasRemaining())
+        msgOutBufferIdx = 0;
+        msgOutBufferCount = 0;
+        msgOutBufferMsgCount = 0;
+
+        if (msgOut == null)
         {
-            // Finished sending the message
-            state = WriteState.FINISHED;
-            currentWritePhase = currentWritePhase.getNextPhase();
+            fetchOutMessage();
         }
-        return state;
-    }
+        ByteBuffer coalesceBuffer = null;
+        long stagedBytes = 0;
+        while (msgOut != null && stagedBytes < MAX_GATHER_BYTES)
+        {
+            ByteBuffer headerBuffer = msgOut.getHeaderBuffer().duplicate();
+            ByteBuffer dataBuffer = msgOut.getDataBuffer().duplicate();
+            headerBuffer.rewind();
+            dataBuffer.rewind();
+            int msgSize = headerBuffer.remaining() + dataBuffer.remaining();
+
+            ByteBuffer stagingBuffer;
+            if (coalesceBuffer != null && coalesceBuffer.remaining() >= msgSize)
+            {
+                stagingBuffer = coalesceBuffer;
+            }
+            else
+            {
+                if (msgOutBufferCount == MAX_GATHER_BUFFERS)
+                {
+                    break;
+                }
+                stagingBuffer = bufferPool.acquire(Math.max(msgSize, COALESCE_BUFFER_SIZE));
+                msgOutBuffers[msgOutBufferCount] = stagingBuffer;
+                ++msgOutBufferCount;
+                coalesceBuffer = msgSize < COALESCE_BUFFER_SIZE ? stagingBuffer : null;
+            }
+            stagingBuffer.put(headerBuffer);
+            stagingBuffer.put(dataBuffer);
+            ++msgOutBufferMsgCount;
+            stagedBytes += msgSize;
 
+            fetchOutMessage();
+        }
 
-    protected void addToQueue(Message msg)
+        for (int idx = 0; idx < msgOutBufferCount; ++idx)
+        {
+            msgOutBuffers[idx].flip();
+        }
+    }
+
+    /**
+     * Queues a received message, or adds it to the chunked message that is currently received
+     *
+     * @throws IOException if an unauthenticated peer sends a chunked message, which closes the connection
+     */
+    protected void addToQueue(Message msg) throws IOException
     {
+        Message finishedMsg = null;
         try
         {
             // This method is single-threaded, no need to synchronize
-            long msgSize = msg.getData().length;
+            // The data is not fetched here, as that would hand the pooled receive buffer back to the pool
+            long msgSize = msg.getDataBuffer().limit();
             if (msgSize > msgRecvSizePeak)
             {
                 msgRecvSizePeak = msgSize;
             }
+
+            int msgType = msg.getType();
+            if (msgType == MessageTypes.DATA_CHUNK)
+            {
+                // chunked messages take up to MAX_CHUNKED_DATA_SIZE bytes of memory until they are complete
+                if (!authenticated)
+                {
+                    msg.release();
+                    errorReporter.logError("Peer %s: Received chunked message before authentication", this);
+                    throw new IOException("Received chunked message before authentication");
+                }
+                msgInChunked = true;
+                addChunk(msg);
+            }
+            else
+            if (msgType == MessageTypes.DATA && msgInChunked)
+            {
+                // last frame of a chunked message
+                addChunk(msg);
+                if (!msgInChunksDiscarded)
+                {
+                    finishedMsg = new ChunkedMessageData(msg.getHeaderBuffer(), msgInChunks);
+                }
+                msgInChunks = new ArrayList<>();
+                msgInChunksSize = 0;
+                msgInChunked = false;
+                msgInChunksDiscarded = false;
+            }
+            else
+            {
+                finishedMsg = msg;
+            }
         }
         catch (IllegalMessageStateException exc)
         {
@@ -1006,6 +1303,45 @@ public class TcpConnectorPeer implements Peer
             );
         }
 
+        if (finishedMsg != null)
+        {
+            queueFinishedMessage(finishedMsg);
+        }
+    }
+
+    /**
+     * Copies the data of a frame of a chunked message out of the pooled receive buffer
+     */
+    private void addChunk(Message msg) throws IllegalMessageStateException
+    {
+        // the remaining frames of a discarded message are skipped
+        if (!msgInChunksDiscarded)
+        {
+            ByteBuffer readBuffer = msg.getDataBuffer().duplicate();
+            readBuffer.rewind();
+            msgInChunksSize += readBuffer.remaining();
+            if (msgInChunksSize > Message.MAX_CHUNKED_DATA_SIZE)
+            {
+                errorReporter.logError(
+                    "Peer %s: Discarding chunked message, data exceeds the maximum of %d bytes",
+                    this,
+                    Message.MAX_CHUNKED_DATA_SIZE
+                );
+                msgInChunks.clear();
+                msgInChunksDiscarded = true;
+            }
+            else
+            {
+                byte[] chunk = new byte[readBuffer.remaining()];
+                readBuffer.get(chunk);
+                msgInChunks.add(chunk);
+            }
+        }
+        msg.release();
+    }
+
+    private void queueFinishedMessage(Message msg)
+    {
         finishedMsgInQueue.add(msg);
         if (finishedMsgInQueue.size() >= MAX_INCOMING_QUEUE_SIZE)
         {
@@ -1040,4 +1376,16 @@ public class TcpConnectorPeer implements Peer
     {
         stltConfig = stltConfigRef;
     }
+
+    @Override
+    public void setCompressionThreshold(int thresholdRef)
+    {
+        compressionThreshold = thresholdRef;
+    }
+
+    @Override
+    public int getCompressionThreshold()
+    {
+        return compressionThreshold;
+    }
 }
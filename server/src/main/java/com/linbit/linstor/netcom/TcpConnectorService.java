@@ -49,6 +49,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.ListIterator;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.event.Level;
 
@@ -62,8 +63,6 @@ public class TcpConnectorService implements Runnable, TcpConnector
     private static final ServiceName SERVICE_NAME;
     private static final String SERVICE_INFO = "TCP/IP network communications service";
 
-    private final Object syncObj = new Object();
-
     protected ServiceName serviceInstanceName;
 
     private static final long REINIT_THROTTLE_TIME = 3000L;
@@ -168,9 +167,19 @@ public class TcpConnectorService implements Runnable, TcpConnector
     // List of SocketChannels to register for OP_CONNECT
     private final LinkedList<SocketChannel> registerToConnect = new LinkedList<>();
 
-    // Selector for all connections
+    // Selector for accepting connections, and for the I/O of all connections if there are no I/O selector loops
     Selector serverSelector;
 
+    // Selector loop of the selectorLoopThread, using the serverSelector
+    private final SelectorLoop mainLoop = new SelectorLoop();
+
+    // Number of selector loops performing the I/O of the connections
+    private int ioThreadCount = 1;
+
+    // Additional selector loops that perform the I/O of the connections if more than one I/O thread is configured.
+    // In that case, the main selector loop only accepts connections.
+    private volatile SelectorLoop[] ioLoops = new SelectorLoop[0];
+    private final AtomicInteger nextIoLoopIdx = new AtomicInteger();
 
     public TcpConnectorService(
         ErrorReporter errorReporterRef,
@@ -218,9 +227,11 @@ public class TcpConnectorService implements Runnable, TcpConnector
                 socketChannel.socket().setTcpNoDelay(true);
                 String peerId = address.getAddress().getHostAddress() + ":" + address.getPort();
                 SelectionKey connKey;
-                synchronized (syncObj)
+                SelectorLoop ioLoop = nextIoLoop();
+                synchronized (ioLoop.syncObj)
                 {
-                    srvSel.wakeup();
+                    Selector ioSel = ioLoop.selector;
+                    ioSel.wakeup();
                     boolean connected = socketChannel.connect(address);
                     if (connected)
                     {
@@ -229,13 +240,13 @@ public class TcpConnectorService implements Runnable, TcpConnector
                         // as the controller does not know about this peer (we didnt return yet)
                         // we will register for no operation.
                         // As soon as the controller tries to send a message, that will trigger the OP_WRITE anyways
-                        connKey = socketChannel.register(srvSel, 0);
+                        connKey = socketChannel.register(ioSel, 0);
                     }
                     else
                     {
                         // if connect returns false we will receive OP_CONNECT
                         // and we will need to call the finishConnection()
-                        connKey = socketChannel.register(srvSel, OP_CONNECT);
+                        connKey = socketChannel.register(ioSel, OP_CONNECT);
                     }
                     peer = createTcpConnectorPeer(peerId, connKey, true, node);
                     connKey.attach(peer);
@@ -389,6 +400,16 @@ public class TcpConnectorService implements Runnable, TcpConnector
             try
             {
                 initialize();
+                try
+                {
+                    startIoLoops();
+                }
+                catch (IOException ioExc)
+                {
+                    shutdownFlag.set(true);
+                    uninitialize();
+                    throw ioExc;
+                }
             }
             catch (IOException ioExc)
             {
@@ -421,11 +442,7 @@ public class TcpConnectorService implements Runnable, TcpConnector
     public synchronized void shutdown()
     {
         shutdownFlag.set(true);
-        Selector srvSel = serverSelector;
-        if (srvSel != null)
-        {
-            srvSel.wakeup();
-        }
+        wakeupAll();
     }
 
     @Override
@@ -446,348 +463,509 @@ public class TcpConnectorService implements Runnable, TcpConnector
     @Override
     public void run()
     {
-        // Selector loop
-        LinkedList<Peer> peersWithFinishedMessages = new LinkedList<>();
+        // Main selector loop
         while (!shutdownFlag.get())
         {
             try
             {
-                try
+                selectAndProcess(mainLoop);
+            }
+            catch (ClosedSelectorException selectExc)
+            {
+                // Selector became inoperative. Log error and attempt to reinitialize.
+                errorReporter.reportError(selectExc);
+                reinitialize();
+            }
+            catch (IOException ioExc)
+            {
+                // I/O error while selecting (likely), or an uncaught I/O error
+                // while performing I/O on a channel (should not happen)
+                // Log error and attempt to reinitialize.
+                errorReporter.logDebug("IOException: %s", ioExc.getLocalizedMessage());
+                errorReporter.reportError(Level.TRACE, ioExc);
+                reinitialize();
+            }
+            catch (Exception exc)
+            {
+                // Uncaught exception. Log error and shut down.
+                errorReporter.reportError(exc);
+                break;
+            }
+            catch (ImplementationError implErr)
+            {
+                // Uncaught exception. Log error and shut down.
+                errorReporter.reportError(implErr);
+                break;
+            }
+        }
+        uninitialize();
+        stopIoLoops();
+
+        synchronized (this)
+        {
+            selectorLoopThread = null;
+        }
+    }
+
+    /**
+     * Sets the number of selector loops that perform the I/O of the connections. With the default of 1, the
+     * selector loop that accepts connections also performs all I/O. Takes effect when the service is started.
+     */
+    public synchronized void setIoThreadCount(int count)
+    {
+        if (count < 1)
+        {
+            throw new IllegalArgumentException("The number of I/O threads must be at least 1, got " + count);
+        }
+        ioThreadCount = count;
+    }
+
+    private void startIoLoops() throws IOException
+    {
+        SelectorLoop[] loops = new SelectorLoop[ioThreadCount > 1 ? ioThreadCount : 0];
+        try
+        {
+            for (int idx = 0; idx < loops.length; ++idx)
+            {
+                loops[idx] = new SelectorLoop();
+                loops[idx].selector = Selector.open();
+            }
+        }
+        catch (IOException ioExc)
+        {
+            for (SelectorLoop loop : loops)
+            {
+                if (loop != null && loop.selector != null)
                 {
-                    if (peersWithFinishedMessages.isEmpty())
-                    {
-                        // Block until I/O operations are ready to be performed
-                        // on at least one of the channels, or until the selection
-                        // operation is interrupted (e.g., using wakeup())
-                        int selectCount = serverSelector.select();
+                    loop.selector.close();
+                }
+            }
+            throw ioExc;
+        }
 
-                        synchronized (syncObj)
-                        {
-                            // wait for the syncObj to get released
+        for (int idx = 0; idx < loops.length; ++idx)
+        {
+            SelectorLoop loop = loops[idx];
+            loop.thread = new Thread(() -> runIoLoop(loop));
+            loop.thread.setName(getIoThreadName(idx));
+            loop.thread.start();
+        }
+        ioLoops = loops;
+    }
 
-                            // Ensure making some progress in the case that
-                            // the blocking select() call is repeatedly interrupted
-                            // (e.g., using wakeup()) before having selected any
-                            // channels
-                            if (selectCount <= 0)
-                            {
-                                /*
-                                 * this selectNow has to be inside the synchronized block as otherwise
-                                 * it would be possible that the TcpConnector thread is already past
-                                 * the previous .select(), THEN another thread (i.e. reconnector)
-                                 * calls .wakeup() which is immediately consumed by the .selectNow()
-                                 * BEFORE the thread calling .wakeup() could register some new
-                                 * listeners. We suspect that we ended up in a deadlock occasionally
-                                 * because of this.
-                                 */
-                                serverSelector.selectNow();
-                            }
-                        }
+    private void stopIoLoops()
+    {
+        SelectorLoop[] loops = ioLoops;
+        ioLoops = new SelectorLoop[0];
 
-                    }
-                    else
-                    {
+        shutdownFlag.set(true);
+        for (SelectorLoop loop : loops)
+        {
+            loop.selector.wakeup();
+        }
+        try
+        {
+            for (SelectorLoop loop : loops)
+            {
+                loop.thread.join();
+            }
+        }
+        catch (InterruptedException intrExc)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-                        ListIterator<Peer> listIterator = peersWithFinishedMessages.listIterator();
-                        while (listIterator.hasNext())
-                        {
-                            try
-                            {
-                                boolean finished = true;
-                                Peer peer = listIterator.next();
-                                if (peer.hasNextMsgIn())
-                                {
-                                    msgProcessor.processMessage(peer.nextCurrentMsgIn(), this, peer);
-                                    finished = false;
-                                }
+    private String getIoThreadName(int idx)
+    {
+        return serviceInstanceName.getDisplayName() + "-IO" + idx;
+    }
 
-                                if (finished)
-                                {
-                                    listIterator.remove();
-                                }
-                            }
-                            catch (CancelledKeyException ignored)
-                            {
-                                // Selection key no longer valid
-                                // Cleaned up by the next select() or selectNow() operation
+    /**
+     * Returns the selector loop that performs the I/O of the next new connection.
+     *
+     * A connection stays with its selector loop until it is closed, so that all messages of a peer are read,
+     * processed and written by the same thread in the order they were received.
+     */
+    private SelectorLoop nextIoLoop()
+    {
+        SelectorLoop[] loops = ioLoops;
+        return loops.length == 0 ? mainLoop : loops[Math.floorMod(nextIoLoopIdx.getAndIncrement(), loops.length)];
+    }
 
-                            }
-                        }
+    /**
+     * Selector loop of an I/O thread
+     */
+    private void runIoLoop(SelectorLoop loop)
+    {
+        while (!shutdownFlag.get())
+        {
+            try
+            {
+                selectAndProcess(loop);
+            }
+            catch (ClosedSelectorException selectExc)
+            {
+                errorReporter.reportError(selectExc);
+                reinitializeIoLoop(loop);
+            }
+            catch (IOException ioExc)
+            {
+                errorReporter.logDebug("IOException: %s", ioExc.getLocalizedMessage());
+                errorReporter.reportError(Level.TRACE, ioExc);
+                reinitializeIoLoop(loop);
+            }
+            catch (Exception exc)
+            {
+                // Uncaught exception. Log error and shut down the whole service.
+                errorReporter.reportError(exc);
+                shutdown();
+                break;
+            }
+            catch (ImplementationError implErr)
+            {
+                // Uncaught exception. Log error and shut down the whole service.
+                errorReporter.reportError(implErr);
+                shutdown();
+                break;
+            }
+        }
+        closeAllConnections(loop.selector);
+    }
 
-                        // we tried to process one message from each waiting peer.
-                        // now we see if we have new operations (read, write, accept, connect)
-                        // if peers still have more messages, they have to wait until the next
-                        // loop-cycle (fair scheduling).
-                        serverSelector.selectNow();
-                    }
-                }
-                catch (CancelledKeyException ignored)
+    private void reinitializeIoLoop(SelectorLoop loop)
+    {
+        // Only the connections of this selector loop are lost
+        closeAllConnections(loop.selector);
+
+        try
+        {
+            Thread.sleep(REINIT_THROTTLE_TIME);
+        }
+        catch (InterruptedException intrExc)
+        {
+            // No-op; thread may be interrupted to shorten the sleep()
+        }
+
+        try
+        {
+            loop.selector = Selector.open();
+        }
+        catch (IOException ioExc)
+        {
+            // The next select() on the closed selector fails again and causes another attempt
+            errorReporter.reportError(ioExc);
+        }
+    }
+
+    /**
+     * Waits for ready channels of the given selector loop and performs the ready operations
+     */
+    private void selectAndProcess(SelectorLoop loop)
+        throws IOException
+    {
+        try
+        {
+            if (loop.peersWithFinishedMessages.isEmpty())
+            {
+                // Block until I/O operations are ready to be performed
+                // on at least one of the channels, or until the selection
+                // operation is interrupted (e.g., using wakeup())
+                int selectCount = loop.selector.select();
+
+                synchronized (loop.syncObj)
                 {
-                    // Selection key no longer valid
-                    // Cleaned up by the next select() or selectNow() operation
+                    // wait for the syncObj to get released
+
+                    // Ensure making some progress in the case that
+                    // the blocking select() call is repeatedly interrupted
+                    // (e.g., using wakeup()) before having selected any
+                    // channels
+                    if (selectCount <= 0)
+                    {
+                        /*
+                         * this selectNow has to be inside the synchronized block as otherwise
+                         * it would be possible that the TcpConnector thread is already past
+                         * the previous .select(), THEN another thread (i.e. reconnector)
+                         * calls .wakeup() which is immediately consumed by the .selectNow()
+                         * BEFORE the thread calling .wakeup() could register some new
+                         * listeners. We suspect that we ended up in a deadlock occasionally
+                         * because of this.
+                         */
+                        loop.selector.selectNow();
+                    }
                 }
 
+            }
+            else
+            {
 
-                Iterator<SelectionKey> keysIter = serverSelector.selectedKeys().iterator();
-                while (keysIter.hasNext())
+                ListIterator<Peer> listIterator = loop.peersWithFinishedMessages.listIterator();
+                while (listIterator.hasNext())
                 {
-                    SelectionKey currentKey = null;
                     try
                     {
-                        currentKey = keysIter.next();
-                        keysIter.remove();
-
-                        // Skip all operations if determining ready operations fails
-                        int ops = 0;
-                        ops = currentKey.readyOps();
+                        boolean finished = true;
+                        Peer peer = listIterator.next();
+                        if (peer.hasNextMsgIn())
+                        {
+                            msgProcessor.processMessage(peer.nextCurrentMsgIn(), this, peer);
+                            finished = false;
+                        }
 
-                        if ((ops & OP_READ) != 0)
+                        if (finished)
                         {
-                            TcpConnectorPeer connPeer = null;
-                            try
-                            {
-                                connPeer = (TcpConnectorPeer) currentKey.attachment();
-                                ReadState state = connPeer.read((SocketChannel) currentKey.channel());
-                                switch (state)
-                                {
-                                    case UNFINISHED:
-                                        break;
-                                    case FINISHED:
-                                        msgProcessor.processMessage(connPeer.nextCurrentMsgIn(), this, connPeer);
-                                        if (connPeer.hasNextMsgIn())
-                                        {
-                                            peersWithFinishedMessages.add(connPeer);
-                                        }
-                                        break;
-                                    case END_OF_STREAM:
-                                        if (connPeer.getNode() != null)
-                                        {
-                                            errorReporter.logInfo(
-                                                "Remote satellite peer %s has closed the connection.",
-                                                connPeer.peerAddress()
-                                            );
-                                        }
-                                        closeConnection(currentKey, true);
-                                        break;
-                                    default:
-                                        throw new ImplementationError(
-                                            String.format(
-                                                "Missing case label for enum member '%s'",
-                                                state.name()
-                                            ),
-                                            null
-                                        );
-                                }
-                            }
-                            catch (NotYetConnectedException connExc)
-                            {
-                                // This might possibly happen if an outbound connection is
-                                // marked as READ interested before establishing the connection
-                                // is finished; if the Selector would even report it as ready
-                                // in this case.
-                                // Anyway, the reason would be an implementation flaw of some
-                                // kind, therefore, log this error and then treat the connection's
-                                // state as a protocol error and close the connection.
-                                errorReporter.reportError(new ImplementationError(connExc));
-                                closeConnection(currentKey, true);
-                            }
-                            catch (IllegalMessageStateException msgStateExc)
-                            {
-                                errorReporter.reportError(
-                                    new ImplementationError(
-                                        "A message object with an illegal state was registered " +
-                                        "as the target of an I/O read operation",
-                                        msgStateExc
-                                    )
-                                );
-                                closeConnection(currentKey, true);
-                            }
-                            catch (IOException ioExc)
-                            {
-                                // Protocol error - I/O error while reading a message
-                                // Close the connection
-                                errorReporter.reportError(
-                                    Level.TRACE, ioExc, connPeer.getAccessContext(), connPeer,
-                                    "I/O exception while attempting to receive data from the peer"
-                                );
-                                closeConnection(currentKey, true);
-                            }
+                            listIterator.remove();
                         }
-                        else
-                        if ((ops & OP_ACCEPT) != 0)
+                    }
+                    catch (CancelledKeyException ignored)
+                    {
+                        // Selection key no longer valid
+                        // Cleaned up by the next select() or selectNow() operation
+
+                    }
+                }
+
+                // we tried to process one message from each waiting peer.
+                // now we see if we have new operations (read, write, accept, connect)
+                // if peers still have more messages, they have to wait until the next
+                // loop-cycle (fair scheduling).
+                loop.selector.selectNow();
+            }
+        }
+        catch (CancelledKeyException ignored)
+        {
+            // Selection key no longer valid
+            // Cleaned up by the next select() or selectNow() operation
+        }
+
+
+        Iterator<SelectionKey> keysIter = loop.selector.selectedKeys().iterator();
+        while (keysIter.hasNext())
+        {
+            SelectionKey currentKey = null;
+            try
+            {
+                currentKey = keysIter.next();
+                keysIter.remove();
+
+                // Skip all operations if determining ready operations fails
+                int ops = 0;
+                ops = currentKey.readyOps();
+
+                if ((ops & OP_READ) != 0)
+                {
+                    TcpConnectorPeer connPeer = null;
+                    try
+                    {
+                        connPeer = (TcpConnectorPeer) currentKey.attachment();
+                        ReadState state = connPeer.read((SocketChannel) currentKey.channel());
+                        switch (state)
                         {
-                            try
-                            {
-                                acceptConnection(currentKey);
-                            }
-                            catch (ClosedChannelException closeExc)
-                            {
-                                // May be thrown by accept() if the server socket is closed
-                                // Attempt to reinitialize to recover
-                                reinitialize();
-                                // Break out of iterating over keys, because those are all
-                                // invalid after reinitialization, and the set of keys may have
-                                // been modified too
-                                break;
-                            }
-                            catch (NotYetBoundException unboundExc)
-                            {
-                                // Generated if accept() is invoked on an unbound server socket
-                                // This should not happen, unless there is an
-                                // implementation error somewhere.
-                                // Attempt to reinitialize to recover
-                                reinitialize();
-                                // Break out of iterating over keys, because those are all
-                                // invalid after reinitialization, and the set of keys may have
-                                // been modified too
+                            case UNFINISHED:
                                 break;
-                            }
-                            catch (ClosedSelectorException closeExc)
-                            {
-                                // Throw by accept() if the selector is closed
-                                // Attempt to reinitialize to recover
-                                reinitialize();
-                                // Break out of iterating over keys, because those are all
-                                // invalid after reinitialization, and the set of keys may have
-                                // been modified too
+                            case FINISHED:
+                                msgProcessor.processMessage(connPeer.nextCurrentMsgIn(), this, connPeer);
+                                if (connPeer.hasNextMsgIn())
+                                {
+                                    loop.peersWithFinishedMessages.add(connPeer);
+                                }
                                 break;
-                            }
-                            catch (IOException ioExc)
-                            {
-                                errorReporter.reportError(
-                                    Level.TRACE, ioExc, null, null,
-                                    "I/O exception while attempting to accept a peer connection"
-                                );
-                            }
-                        }
-                        else
-                        if ((ops & OP_WRITE) != 0)
-                        {
-                            TcpConnectorPeer connPeer = null;
-                            try
-                            {
-                                connPeer = (TcpConnectorPeer) currentKey.attachment();
-                                connPeer.write((SocketChannel) currentKey.channel());
-                            }
-                            catch (NotYetConnectedException connExc)
-                            {
-                                // This might possibly happen if an outbound connection is
-                                // marked as WRITE interested before establishing the connection
-                                // is finished; if the Selector would even report it as ready
-                                // in this case.
-                                // Anyway, the reason would be an implementation flaw of some
-                                // kind, therefore, log this error and then treat the connection's
-                                // state as a protocol error and close the connection.
-                                errorReporter.reportError(new ImplementationError(connExc));
-                                closeConnection(currentKey, true);
-                            }
-                            catch (IllegalMessageStateException msgStateExc)
-                            {
-                                errorReporter.reportError(
-                                    new ImplementationError(
-                                        "A message object with an illegal state was registered " +
-                                        "as the target of an I/O write operation",
-                                        msgStateExc
-                                    )
-                                );
-                                closeConnection(currentKey, true);
-                            }
-                            catch (IOException ioExc)
-                            {
-                                // Protocol error - I/O error while writing a message
-                                // Close channel / disconnect peer, invalidate SelectionKey
-                                // Close the connection
-                                errorReporter.reportError(
-                                    Level.TRACE, ioExc, connPeer.getAccessContext(), connPeer,
-                                    "I/O exception while attempting to send data to the peer"
-                                );
-                                closeConnection(currentKey, true);
-                            }
-                        }
-                        else
-                        if ((ops & OP_CONNECT) != 0)
-                        {
-                            TcpConnectorPeer connPeer = null;
-                            try
-                            {
-                                connPeer = (TcpConnectorPeer) currentKey.attachment();
-                                establishConnection(currentKey);
-                            }
-                            catch (IOException ioExc)
-                            {
-                                AccessContext peerAccCtx = null;
-                                if (connPeer != null)
+                            case END_OF_STREAM:
+                                if (connPeer.getNode() != null)
                                 {
-                                    peerAccCtx = connPeer.getAccessContext();
+                                    errorReporter.logInfo(
+                                        "Remote satellite peer %s has closed the connection.",
+                                        connPeer.peerAddress()
+                                    );
                                 }
-                                errorReporter.reportError(
-                                    Level.TRACE, ioExc, peerAccCtx, connPeer,
-                                    "I/O exception while attempting to connect to the peer"
+                                closeConnection(currentKey, true);
+                                break;
+                            default:
+                                throw new ImplementationError(
+                                    String.format(
+                                        "Missing case label for enum member '%s'",
+                                        state.name()
+                                    ),
+                                    null
                                 );
-                            }
                         }
                     }
-                    catch (CancelledKeyException keyExc)
+                    catch (NotYetConnectedException connExc)
                     {
-                        if (currentKey != null)
-                        {
-                            closeConnection(currentKey, true);
-                        }
+                        // This might possibly happen if an outbound connection is
+                        // marked as READ interested before establishing the connection
+                        // is finished; if the Selector would even report it as ready
+                        // in this case.
+                        // Anyway, the reason would be an implementation flaw of some
+                        // kind, therefore, log this error and then treat the connection's
+                        // state as a protocol error and close the connection.
+                        errorReporter.reportError(new ImplementationError(connExc));
+                        closeConnection(currentKey, true);
+                    }
+                    catch (IllegalMessageStateException msgStateExc)
+                    {
+                        errorReporter.reportError(
+                            new ImplementationError(
+                                "A message object with an illegal state was registered " +
+                                "as the target of an I/O read operation",
+                                msgStateExc
+                            )
+                        );
+                        closeConnection(currentKey, true);
                     }
-                    catch (IllegalStateException illState)
+                    catch (IOException ioExc)
                     {
-                        if (currentKey != null)
+                        // Protocol error - I/O error while reading a message
+                        // Close the connection
+                        errorReporter.reportError(
+                            Level.TRACE, ioExc, connPeer.getAccessContext(), connPeer,
+                            "I/O exception while attempting to receive data from the peer"
+                        );
+                        closeConnection(currentKey, true);
+                    }
+                }
+                else
+                if ((ops & OP_ACCEPT) != 0)
+                {
+                    try
+                    {
+                        acceptConnection(currentKey);
+                    }
+                    catch (ClosedChannelException closeExc)
+                    {
+                        // May be thrown by accept() if the server socket is closed
+                        // Attempt to reinitialize to recover
+                        reinitialize();
+                        // Break out of iterating over keys, because those are all
+                        // invalid after reinitialization, and the set of keys may have
+                        // been modified too
+                        break;
+                    }
+                    catch (NotYetBoundException unboundExc)
+                    {
+                        // Generated if accept() is invoked on an unbound server socket
+                        // This should not happen, unless there is an
+                        // implementation error somewhere.
+                        // Attempt to reinitialize to recover
+                        reinitialize();
+                        // Break out of iterating over keys, because those are all
+                        // invalid after reinitialization, and the set of keys may have
+                        // been modified too
+                        break;
+                    }
+                    catch (ClosedSelectorException closeExc)
+                    {
+                        // Throw by accept() if the selector is closed
+                        // Attempt to reinitialize to recover
+                        reinitialize();
+                        // Break out of iterating over keys, because those are all
+                        // invalid after reinitialization, and the set of keys may have
+                        // been modified too
+                        break;
+                    }
+                    catch (IOException ioExc)
+                    {
+                        errorReporter.reportError(
+                            Level.TRACE, ioExc, null, null,
+                            "I/O exception while attempting to accept a peer connection"
+                        );
+                    }
+                }
+                else
+                if ((ops & OP_WRITE) != 0)
+                {
+                    TcpConnectorPeer connPeer = null;
+                    try
+                    {
+                        connPeer = (TcpConnectorPeer) currentKey.attachment();
+                        connPeer.write((SocketChannel) currentKey.channel());
+                    }
+                    catch (NotYetConnectedException connExc)
+                    {
+                        // This might possibly happen if an outbound connection is
+                        // marked as WRITE interested before establishing the connection
+                        // is finished; if the Selector would even report it as ready
+                        // in this case.
+                        // Anyway, the reason would be an implementation flaw of some
+                        // kind, therefore, log this error and then treat the connection's
+                        // state as a protocol error and close the connection.
+                        errorReporter.reportError(new ImplementationError(connExc));
+                        closeConnection(currentKey, true);
+                    }
+                    catch (IllegalMessageStateException msgStateExc)
+                    {
+                        errorReporter.reportError(
+                            new ImplementationError(
+                                "A message object with an illegal state was registered " +
+                                "as the target of an I/O write operation",
+                                msgStateExc
+                            )
+                        );
+                        closeConnection(currentKey, true);
+                    }
+                    catch (IOException ioExc)
+                    {
+                        // Protocol error - I/O error while writing a message
+                        // Close channel / disconnect peer, invalidate SelectionKey
+                        // Close the connection
+                        errorReporter.reportError(
+                            Level.TRACE, ioExc, connPeer.getAccessContext(), connPeer,
+                            "I/O exception while attempting to send data to the peer"
+                        );
+                        closeConnection(currentKey, true);
+                    }
+                }
+                else
+                if ((ops & OP_CONNECT) != 0)
+                {
+                    TcpConnectorPeer connPeer = null;
+                    try
+                    {
+                        connPeer = (TcpConnectorPeer) currentKey.attachment();
+                        establishConnection(currentKey);
+                    }
+                    catch (IOException ioExc)
+                    {
+                        AccessContext peerAccCtx = null;
+                        if (connPeer != null)
                         {
-                            errorReporter.reportError(
-                                new ImplementationError(
-                                    "Unhandled IllegalStateException",
-                                    illState
-                                ),
-                                null,
-                                (Peer) currentKey.attachment(),
-                                null
-                            );
-                            closeConnection(currentKey, true);
+                            peerAccCtx = connPeer.getAccessContext();
                         }
+                        errorReporter.reportError(
+                            Level.TRACE, ioExc, peerAccCtx, connPeer,
+                            "I/O exception while attempting to connect to the peer"
+                        );
                     }
                 }
             }
-            catch (ClosedSelectorException selectExc)
-            {
-                // Selector became inoperative. Log error and attempt to reinitialize.
-                errorReporter.reportError(selectExc);
-                reinitialize();
-            }
-            catch (IOException ioExc)
+            catch (CancelledKeyException keyExc)
             {
-                // I/O error while selecting (likely), or an uncaught I/O error
-                // while performing I/O on a channel (should not happen)
-                // Log error and attempt to reinitialize.
-                errorReporter.logDebug("IOException: %s", ioExc.getLocalizedMessage());
-                errorReporter.reportError(Level.TRACE, ioExc);
-                reinitialize();
-            }
-            catch (Exception exc)
-            {
-                // Uncaught exception. Log error and shut down.
-                errorReporter.reportError(exc);
-                break;
+                if (currentKey != null)
+                {
+                    closeConnection(currentKey, true);
+                }
             }
-            catch (ImplementationError implErr)
+            catch (IllegalStateException illState)
             {
-                // Uncaught exception. Log error and shut down.
-                errorReporter.reportError(implErr);
-                break;
+                if (currentKey != null)
+                {
+                    errorReporter.reportError(
+                        new ImplementationError(
+                            "Unhandled IllegalStateException",
+                            illState
+                        ),
+                        null,
+                        (Peer) currentKey.attachment(),
+                        null
+                    );
+                    closeConnection(currentKey, true);
+                }
             }
         }
-        uninitialize();
-
-        synchronized (this)
-        {
-            selectorLoopThread = null;
-        }
     }
 
+
     private void acceptConnection(SelectionKey currentKey)
         throws IOException
     {
@@ -813,43 +991,58 @@ public class TcpConnectorService implements Runnable, TcpConnector
                         {
                             String peerId = inetAddr.getHostAddress() + ":" + inetSockAddr.getPort();
 
-                            // Register the accepted connection with the selector loop
-                            SelectionKey connKey = null;
-                            try
+                            // Register the accepted connection with the selector loop that performs its I/O.
+                            // The connection must be attached to its peer object before that loop can select it.
+                            SelectorLoop ioLoop = nextIoLoop();
+                            synchronized (ioLoop.syncObj)
                             {
-                                connKey = newSocket.register(serverSelector, SelectionKey.OP_READ);
-                            }
-                            catch (IllegalSelectorException illSelExc)
-                            {
-                                // Thrown by register() if the selector is from another I/O provider
-                                // than the channel that is being registered
-                                errorReporter.reportError(
-                                    new ImplementationError(
-                                        "Registration of the channel with the selector failed, " +
-                                        "because the channel was created by another type of " +
-                                        "I/O provider",
-                                        illSelExc
-                                    )
-                                );
-                                // Connection was not accepted and will be closed in the finally block
-                            }
-                            catch (IllegalArgumentException illArg)
-                            {
-                                // Generated if a bit in the I/O operations specified
-                                // in register() does not correspond with a supported I/O operation
-                                // Should not happen; log the error.
-                                // Connection was not accepted and will be closed in the finally block
-                                errorReporter.reportError(illArg);
-                            }
+                                if (ioLoop != mainLoop)
+                                {
+                                    ioLoop.selector.wakeup();
+                                }
+                                SelectionKey connKey = null;
+                                try
+                                {
+                                    connKey = newSocket.register(ioLoop.selector, SelectionKey.OP_READ);
+                                }
+                                catch (IllegalSelectorException illSelExc)
+                                {
+                                    // Thrown by register() if the selector is from another I/O provider
+                                    // than the channel that is being registered
+                                    errorReporter.reportError(
+                                        new ImplementationError(
+                                            "Registration of the channel with the selector failed, " +
+                                            "because the channel was created by another type of " +
+                                            "I/O provider",
+                                            illSelExc
+                                        )
+                                    );
+                                    // Connection was not accepted and will be closed in the finally block
+                                }
+                                catch (IllegalArgumentException illArg)
+                                {
+                                    // Generated if a bit in the I/O operations specified
+                                    // in register() does not correspond with a supported I/O operation
+                                    // Should not happen; log the error.
+                                    // Connection was not accepted and will be closed in the finally block
+                                    errorReporter.reportError(illArg);
+                                }
+                                catch (ClosedSelectorException closedSelExc)
+                                {
+                                    // Thrown by register() if the selector of an I/O thread is being reinitialized
+                                    // Connection was not accepted and will be closed in the finally block
+                                    errorReporter.reportError(Level.TRACE, closedSelExc);
+                                }
 
-                            if (connKey != null)
-                            {
-                                // Prepare the peer object and message
-                                TcpConnectorPeer connPeer = createTcpConnectorPeer(peerId, connKey, null);
-                                connKey.attach(connPeer);
-                                connPeer.connectionEstablished();
-                                connObserver.inboundConnectionEstablished(connPeer);
-                                accepted = true;
+                                if (connKey != null)
+                                {
+                                    // Prepare the peer object and message
+                                    TcpConnectorPeer connPeer = createTcpConnectorPeer(peerId, connKey, null);
+                                    connKey.attach(connPeer);
+                                    connPeer.connectionEstablished();
+                                    connObserver.inboundConnectionEstablished(connPeer);
+                                    accepted = true;
+                                }
                             }
                         }
                         else
@@ -947,7 +1140,20 @@ public class TcpConnectorService implements Runnable, TcpConnector
     @Override
     public void wakeup()
     {
-        serverSelector.wakeup();
+        wakeupAll();
+    }
+
+    private void wakeupAll()
+    {
+        Selector srvSel = serverSelector;
+        if (srvSel != null)
+        {
+            srvSel.wakeup();
+        }
+        for (SelectorLoop loop : ioLoops)
+        {
+            loop.selector.wakeup();
+        }
     }
 
     protected void establishConnection(SelectionKey currentKey)
@@ -1029,17 +1235,17 @@ public class TcpConnectorService implements Runnable, TcpConnector
         currentKey.cancel();
     }
 
-    private void closeAllConnections()
+    private void closeAllConnections(Selector selector)
     {
         try
         {
-            if (serverSelector != null)
+            if (selector != null)
             {
-                for (SelectionKey currentKey : serverSelector.keys())
+                for (SelectionKey currentKey : selector.keys())
                 {
                     closeConnection(currentKey, false, true);
                 }
-                serverSelector.close();
+                selector.close();
             }
         }
         catch (ClosedSelectorException selectExc)
@@ -1075,6 +1281,7 @@ public class TcpConnectorService implements Runnable, TcpConnector
     public void initialize() throws IOException
     {
         serverSelector = Selector.open();
+        mainLoop.selector = serverSelector;
 
         if (bindAddress != null)
         {
@@ -1275,11 +1482,12 @@ public class TcpConnectorService implements Runnable, TcpConnector
 
     private void uninitialize()
     {
-        closeAllConnections();
+        closeAllConnections(serverSelector);
         closeServerSocket();
 
         serverSocket    = null;
         serverSelector  = null;
+        mainLoop.selector = null;
     }
 
     private synchronized void reinitialize()
@@ -1346,6 +1554,28 @@ public class TcpConnectorService implements Runnable, TcpConnector
         {
             selectorLoopThread.setName(serviceInstanceName.getDisplayName());
         }
+        SelectorLoop[] loops = ioLoops;
+        for (int idx = 0; idx < loops.length; ++idx)
+        {
+            loops[idx].thread.setName(getIoThreadName(idx));
+        }
+    }
+
+    /**
+     * State of a thread that selects and performs I/O operations on its own selector
+     */
+    private static class SelectorLoop
+    {
+        // Held while registering a channel with the selector, so that select() does not block the registration
+        // and the channel's selection key is attached to its peer before it can be selected
+        final Object syncObj = new Object();
+
+        volatile Selector selector;
+
+        // Peers with received messages that remain to be processed
+        final LinkedList<Peer> peersWithFinishedMessages = new LinkedList<>();
+
+        Thread thread;
     }
 
     private static class SafeConnectionObserver implements ConnectionObserver
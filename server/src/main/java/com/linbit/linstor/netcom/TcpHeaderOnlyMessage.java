@@ -1,5 +1,7 @@
 package com.linbit.linstor.netcom;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import com.linbit.ImplementationError;
 
@@ -23,12 +25,36 @@ public class TcpHeaderOnlyMessage implements Message
         return DATA;
     }
 
+    @Override
+    public InputStream getDataInputStream()
+    {
+        return new ByteArrayInputStream(DATA);
+    }
+
     @Override
     public void setData(byte[] data)
     {
         throw new ImplementationError("Cannot set Data of TcpHeaderOnlyMessage", null);
     }
 
+    @Override
+    public void setCompressedData(byte[] compressedData, int uncompressedSize)
+    {
+        throw new ImplementationError("Cannot set Data of TcpHeaderOnlyMessage", null);
+    }
+
+    @Override
+    public void initReceiveBuffer(int size)
+    {
+        throw new ImplementationError("Cannot receive Data into TcpHeaderOnlyMessage", null);
+    }
+
+    @Override
+    public void release()
+    {
+        // no-op, nothing is pooled
+    }
+
     @Override
     public int getType() throws IllegalMessageStateException
     {
@@ -72,7 +72,7 @@ public class SslTcpConnectorPeer extends TcpConnectorPeer
             socketChannel ->
             {
                 nextInMessage(); // prepare the next messages
-                if (msgOut != null)
+                if (hasPendingOutMessages())
                 {
                     setOpInterest(SelectionKey.OP_WRITE | SelectionKey.OP_READ);
                 }
@@ -307,6 +307,7 @@ public class SslTcpConnectorPeer extends TcpConnectorPeer
             handshaker.doHandshake(outChannel, sslEngine);
         }
         else
+        if (msgOut != null || fetchOutMessage())
         {
             /*
              * copy the not yet consumed bytes to the beginning of the buffer
@@ -347,7 +348,7 @@ public class SslTcpConnectorPeer extends TcpConnectorPeer
             // we just (partially?) encrypted data into the encrytpedWriteBuffer
             // try to send it
             encryptedWriteBuffer.flip(); // make ready to send
-            outChannel.write(encryptedWriteBuffer);
+            countWrite(outChannel.write(encryptedWriteBuffer));
 
             if (state == WriteState.FINISHED)
             {
@@ -355,6 +356,11 @@ public class SslTcpConnectorPeer extends TcpConnectorPeer
                 currentWritePhase = Phase.HEADER; // prepare for next write
             }
         }
+        else
+        {
+            // No outbound messages left
+            outQueueDrained();
+        }
         return state;
     }
 
@@ -0,0 +1,448 @@
+package com.linbit.linstor.propscon;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Map with {@link String} keys in natural order, used by the {@link PropsContainer} for the properties and
+ * sub-containers of a single namespace.
+ *
+ * Most namespaces only hold a handful of entries, so as long as the map is small, keys and values are kept in two
+ * sorted arrays and looked up by binary search. Once the map grows beyond {@link #MAX_ARRAY_SIZE} entries, it is
+ * converted into a {@link TreeMap}. Iteration order is the same as the one of a {@link TreeMap} in either case.
+ *
+ * Not thread safe.
+ */
+class CompactSortedMap<V> extends AbstractMap<String, V>
+{
+    static final int MAX_ARRAY_SIZE = 32;
+    private static final int INITIAL_ARRAY_SIZE = 4;
+
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    private String[] keys = EMPTY_KEYS;
+    private Object[] values = EMPTY_VALUES;
+    private int size;
+    private int modCount;
+
+    /**
+     * Only set once the map outgrew the arrays
+     */
+    private TreeMap<String, V> treeMap;
+
+    private Set<Map.Entry<String, V>> entrySetAccessor;
+
+    @Override
+    public int size()
+    {
+        return treeMap == null ? size : treeMap.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        boolean contains;
+        if (treeMap == null)
+        {
+            contains = key instanceof String && indexOf((String) key) >= 0;
+        }
+        else
+        {
+            contains = treeMap.containsKey(key);
+        }
+        return contains;
+    }
+
+    @Override
+    public boolean containsValue(Object value)
+    {
+        boolean contains = false;
+        if (treeMap == null)
+        {
+            for (int idx = 0; idx < size && !contains; ++idx)
+            {
+                contains = Objects.equals(values[idx], value);
+            }
+        }
+        else
+        {
+            contains = treeMap.containsValue(value);
+        }
+        return contains;
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        V value = null;
+        if (treeMap == null)
+        {
+            if (key instanceof String)
+            {
+                int idx = indexOf((String) key);
+                if (idx >= 0)
+                {
+                    value = valueAt(idx);
+                }
+            }
+        }
+        else
+        {
+            value = treeMap.get(key);
+        }
+        return value;
+    }
+
+    @Override
+    public V put(String key, V value)
+    {
+        V oldValue;
+        if (treeMap == null)
+        {
+            int idx = indexOf(Objects.requireNonNull(key));
+            if (idx >= 0)
+            {
+                oldValue = valueAt(idx);
+                values[idx] = value;
+            }
+            else
+            {
+                oldValue = null;
+                if (size < MAX_ARRAY_SIZE)
+                {
+                    insertAt(-(idx + 1), key, value);
+                }
+                else
+                {
+                    convertToTree();
+                    treeMap.put(key, value);
+                }
+                ++modCount;
+            }
+        }
+        else
+        {
+            oldValue = treeMap.put(key, value);
+        }
+        return oldValue;
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        V oldValue = null;
+        if (treeMap == null)
+        {
+            if (key instanceof String)
+            {
+                int idx = indexOf((String) key);
+                if (idx >= 0)
+                {
+                    oldValue = valueAt(idx);
+                    removeAt(idx);
+                }
+            }
+        }
+        else
+        {
+            oldValue = treeMap.remove(key);
+        }
+        return oldValue;
+    }
+
+    @Override
+    public void clear()
+    {
+        // drop the arrays or the tree, an emptied namespace is usually removed shortly afterwards anyways
+        keys = EMPTY_KEYS;
+        values = EMPTY_VALUES;
+        size = 0;
+        treeMap = null;
+        ++modCount;
+    }
+
+    @Override
+    public Set<Map.Entry<String, V>> entrySet()
+    {
+        if (entrySetAccessor == null)
+        {
+            entrySetAccessor = new EntrySet();
+        }
+        return entrySetAccessor;
+    }
+
+    private int indexOf(String key)
+    {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int idx)
+    {
+        return (V) values[idx];
+    }
+
+    private void insertAt(int idx, String key, V value)
+    {
+        if (size == keys.length)
+        {
+            int newLength = Math.min(Math.max(INITIAL_ARRAY_SIZE, size * 2), MAX_ARRAY_SIZE);
+            keys = Arrays.copyOf(keys, newLength);
+            values = Arrays.copyOf(values, newLength);
+        }
+        System.arraycopy(keys, idx, keys, idx + 1, size - idx);
+        System.arraycopy(values, idx, values, idx + 1, size - idx);
+        keys[idx] = key;
+        values[idx] = value;
+        ++size;
+    }
+
+    private void removeAt(int idx)
+    {
+        --size;
+        System.arraycopy(keys, idx + 1, keys, idx, size - idx);
+        System.arraycopy(values, idx + 1, values, idx, size - idx);
+        keys[size] = null;
+        values[size] = null;
+        if (size == 0)
+        {
+            keys = EMPTY_KEYS;
+            values = EMPTY_VALUES;
+        }
+        ++modCount;
+    }
+
+    private void convertToTree()
+    {
+        TreeMap<String, V> tree = new TreeMap<>();
+        for (int idx = 0; idx < size; ++idx)
+        {
+            tree.put(keys[idx], valueAt(idx));
+        }
+        keys = EMPTY_KEYS;
+        values = EMPTY_VALUES;
+        size = 0;
+        treeMap = tree;
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<String, V>>
+    {
+        @Override
+        public Iterator<Map.Entry<String, V>> iterator()
+        {
+            return treeMap == null ? new ArrayEntryIterator() : new TreeEntryIterator(treeMap);
+        }
+
+        @Override
+        public int size()
+        {
+            return CompactSortedMap.this.size();
+        }
+
+        @Override
+        public void clear()
+        {
+            CompactSortedMap.this.clear();
+        }
+    }
+
+    /**
+     * Delegates to the iterator of the {@link TreeMap}, but calls {@link CompactSortedMap#remove(Object)} instead of
+     * {@link Iterator#remove()} in case the map has been cleared in the meantime
+     */
+    private class TreeEntryIterator implements Iterator<Map.Entry<String, V>>
+    {
+        private final TreeMap<String, V> iteratedTree;
+        private final Iterator<Map.Entry<String, V>> treeIterator;
+
+        TreeEntryIterator(TreeMap<String, V> treeRef)
+        {
+            iteratedTree = treeRef;
+            treeIterator = treeRef.entrySet().iterator();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            checkTree();
+            return treeIterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, V> next()
+        {
+            checkTree();
+            return treeIterator.next();
+        }
+
+        @Override
+        public void remove()
+        {
+            checkTree();
+            treeIterator.remove();
+        }
+
+        private void checkTree()
+        {
+            if (treeMap != iteratedTree)
+            {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private class ArrayEntryIterator implements Iterator<Map.Entry<String, V>>
+    {
+        private int nextIdx = 0;
+        private int lastIdx = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext()
+        {
+            checkModCount();
+            return nextIdx < size;
+        }
+
+        @Override
+        public Map.Entry<String, V> next()
+        {
+            checkModCount();
+            if (nextIdx >= size)
+            {
+                throw new NoSuchElementException();
+            }
+            lastIdx = nextIdx++;
+            return new ArrayEntry(lastIdx);
+        }
+
+        @Override
+        public void remove()
+        {
+            if (lastIdx < 0)
+            {
+                throw new IllegalStateException();
+            }
+            checkModCount();
+            removeAt(lastIdx);
+            nextIdx = lastIdx;
+            lastIdx = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkModCount()
+        {
+            if (modCount != expectedModCount || treeMap != null)
+            {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Entry backed by the arrays. Just like the entries of a {@link TreeMap}, {@link #getValue()} returns the current
+     * value of the key in the map, also if the value was replaced by a {@link CompactSortedMap#put} after the entry
+     * was created. Only once the key was removed from the map, the last value seen by the entry is returned.
+     */
+    private class ArrayEntry implements Map.Entry<String, V>
+    {
+        private final String entryKey;
+        private final int entryIdx;
+        private final int entryModCount;
+        private V entryValue;
+
+        ArrayEntry(int idx)
+        {
+            entryKey = keys[idx];
+            entryIdx = idx;
+            entryModCount = modCount;
+            entryValue = valueAt(idx);
+        }
+
+        @Override
+        public String getKey()
+        {
+            return entryKey;
+        }
+
+        @Override
+        public V getValue()
+        {
+            if (treeMap == null)
+            {
+                // without structural modifications, the key is still stored at the same index
+                int idx = modCount == entryModCount ? entryIdx : indexOf(entryKey);
+                if (idx >= 0)
+                {
+                    entryValue = valueAt(idx);
+                }
+            }
+            else
+            if (treeMap.containsKey(entryKey))
+            {
+                entryValue = treeMap.get(entryKey);
+            }
+            return entryValue;
+        }
+
+        @Override
+        public V setValue(V value)
+        {
+            V oldValue = getValue();
+            if (treeMap == null)
+            {
+                int idx = indexOf(entryKey);
+                if (idx < 0)
+                {
+                    throw new IllegalStateException("Entry was removed from the map");
+                }
+                values[idx] = value;
+            }
+            else
+            {
+                treeMap.replace(entryKey, value);
+            }
+            entryValue = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            boolean eq = false;
+            if (obj instanceof Map.Entry)
+            {
+                Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+                eq = entryKey.equals(other.getKey()) && Objects.equals(getValue(), other.getValue());
+            }
+            return eq;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return entryKey.hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString()
+        {
+            return entryKey + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.linbit.linstor.propscon;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link PropsIndex} that does not index anything. Used where no prop-filtered list calls are answered, so that
+ * the containers do not have to keep an index that is never searched.
+ */
+@Singleton
+public class NoOpPropsIndex extends PropsIndex
+{
+    @Inject
+    public NoOpPropsIndex()
+    {
+    }
+
+    @Override
+    void update(String instanceName, String key, @Nullable String oldValue, @Nullable String newValue)
+    {
+        // no-op
+    }
+
+    @Override
+    void addAll(String instanceName, Map<String, String> props)
+    {
+        // no-op
+    }
+
+    @Override
+    Set<String> find(String instanceNamePrefix, List<String> propFilters)
+    {
+        return Collections.emptySet();
+    }
+}
@@ -63,6 +63,17 @@ public interface Props extends TransactionObject, Iterable<Map.Entry<String, Str
     Optional<Props> getNamespace(String namespace);
     Iterator<String> iterateNamespaces();
 
+    /**
+     * Returns a value that changes whenever a property of this container (or of the container hierarchy it
+     * belongs to) is modified. Used to detect whether results that were resolved from these props are outdated.
+     *
+     * @return A positive stamp, or 0 if the implementation does not track modifications
+     */
+    default long getModificationStamp()
+    {
+        return 0;
+    }
+
     /**
      * Checks if all propFilters (key value pairs e.g 'prop=value') are present in the given Props container.
      * It is also possible to just check if a property is set at all.
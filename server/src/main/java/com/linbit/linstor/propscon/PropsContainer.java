@@ -15,10 +15,12 @@ import com.linbit.linstor.dbdrivers.DatabaseException;
 import com.linbit.linstor.dbdrivers.interfaces.PropsConDatabaseDriver;
 import com.linbit.linstor.security.AccessDeniedException;
 import com.linbit.linstor.transaction.AbsTransactionObject;
+import com.linbit.linstor.transaction.ChangeGeneration;
 import com.linbit.linstor.transaction.TransactionObject;
 import com.linbit.linstor.transaction.manager.TransactionMgr;
 import com.linbit.utils.StringUtils;
 
+import javax.annotation.Nullable;
 import javax.inject.Provider;
 
 import java.util.ArrayList;
@@ -26,6 +28,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -55,10 +58,10 @@ public class PropsContainer extends AbsTransactionObject implements Props
 {
     private static final String PATH_STOR_POOL                = "/storPoolConf/";
     private static final String PATH_STOR_POOL_DFN            = "/storPoolDfnConf/";
-    private static final String PATH_NODES                    = "/nodes/";
-    private static final String PATH_RESOURCE_DEFINITIONS     = "/resourcedefinitions/";
+    static final String PATH_NODES                            = "/nodes/";
+    static final String PATH_RESOURCE_DEFINITIONS             = "/resourcedefinitions/";
     private static final String PATH_RESOURCE_GROUPS          = "/resourcegroups/";
-    private static final String PATH_RESOURCES                = "/resources/";
+    static final String PATH_RESOURCES                        = "/resources/";
     private static final String PATH_VOLUME_DEFINITIONS       = "/volumedefinitions/";
     private static final String PATH_VOLUME_GROUPS            = "/volumegroups/";
     private static final String PATH_VOLUMES                  = "/volumes/";
@@ -77,6 +80,11 @@ public class PropsContainer extends AbsTransactionObject implements Props
     private PropsContainer parentContainer;
     private String containerKey;
     private int itemCount;
+    /*
+     * Most namespaces only contain a few entries, which is why CompactSortedMaps are used instead of TreeMaps.
+     * The keys of both maps are interned, as the same keys (i.e. "DrbdOptions", "Net", ...) are repeated in the
+     * props of almost every object.
+     */
     private Map<String, String> propMap;
     private Map<String, PropsContainer> containerMap;
 
@@ -91,8 +99,17 @@ public class PropsContainer extends AbsTransactionObject implements Props
     protected final PropsConDatabaseDriver dbDriver;
     protected Provider<TransactionMgr> transMgrProvider;
     private Map<String, String> cachedPropMap;
+    /**
+     * Only used in root containers. Incremented whenever a property of the container hierarchy changes. Volatile, as
+     * the stamp is compared by readers that do not hold the locks of the object owning the container
+     */
+    private volatile long modificationStamp = 1;
 
     protected String instanceName;
+    /**
+     * Only set for root containers. Null if the properties of this container are not indexed
+     */
+    @Nullable PropsIndex propsIndex;
 
     PropsContainer(
         String key,
@@ -124,14 +141,14 @@ public class PropsContainer extends AbsTransactionObject implements Props
             ErrorCheck.ctorNotNull(PropsContainer.class, String.class, key);
 
             checkKey(key);
-            containerKey = key;
+            containerKey = key.intern();
 
             rootContainer = parent.getRoot();
             parentContainer = parent;
             cachedPropMap = null;
         }
-        propMap = new TreeMap<>();
-        containerMap = new TreeMap<>();
+        propMap = new CompactSortedMap<>();
+        containerMap = new CompactSortedMap<>();
 
         keySetAccessor = null;
         entrySetAccessor = null;
@@ -252,13 +269,14 @@ public class PropsContainer extends AbsTransactionObject implements Props
         String actualKey = pathElements[PATH_KEY];
         checkKey(actualKey);
         PropsContainer con = ensureNamespaceExists(pathElements[PATH_NAMESPACE]);
-        String oldValue = con.propMap.put(actualKey, value);
+        String oldValue = con.propMap.put(actualKey.intern(), value);
         if (oldValue == null)
         {
             con.modifySize(1);
         }
         if (!value.equals(oldValue))
         {
+            modified();
             dbPersist(con.getPath() + actualKey, value, oldValue);
         }
         return oldValue;
@@ -322,6 +340,7 @@ public class PropsContainer extends AbsTransactionObject implements Props
                 {
                     con.modifySize(-1);
                     con.removeCleanup();
+                    modified();
                     dbRemove(con.getPath() + actualKey, value);
                 }
             }
@@ -418,12 +437,17 @@ public class PropsContainer extends AbsTransactionObject implements Props
                     targetContainer = ensureNamespaceExists(key.substring(0, idx));
                 }
                 String actualKey = key.substring(idx + 1);
-                String oldValue = targetContainer.getRawPropMap().put(actualKey, value);
+                String oldValue = targetContainer.getRawPropMap().put(actualKey.intern(), value);
                 if (oldValue == null)
                 {
                     targetContainer.modifySize(1);
                 }
             }
+            modified();
+            if (propsIndex != null)
+            {
+                propsIndex.addAll(instanceName, loadedProps);
+            }
         }
         catch (InvalidKeyException invalidKeyExc)
         {
@@ -446,6 +470,9 @@ public class PropsContainer extends AbsTransactionObject implements Props
     @Override
     public void clear() throws DatabaseException
     {
+        // the entries have to be cached before they are cleared, otherwise neither a rollback nor the commit
+        // (which updates the PropsIndex) would know about them
+        cacheAll();
         containerMap.clear();
         propMap.clear();
         dbRemoveAll();
@@ -455,6 +482,7 @@ public class PropsContainer extends AbsTransactionObject implements Props
         }
         removeCleanup();
         itemCount = 0;
+        modified();
     }
 
     /**
@@ -718,7 +746,7 @@ public class PropsContainer extends AbsTransactionObject implements Props
                 StringTokenizer tokens = new StringTokenizer(namespace, PATH_SEPARATOR);
                 while (tokens.hasMoreTokens())
                 {
-                    String key = tokens.nextToken();
+                    String key = tokens.nextToken().intern();
                     PropsContainer subCon = con.containerMap.get(key);
                     if (subCon == null)
                     {
@@ -771,6 +799,54 @@ public class PropsContainer extends AbsTransactionObject implements Props
         return rootContainer;
     }
 
+    /**
+     * Returns the kinds of API data the properties of this container hierarchy belong to
+     */
+    public Set<ChangeGeneration.Kind> getChangeKinds()
+    {
+        String name = rootContainer.instanceName;
+        Set<ChangeGeneration.Kind> kinds;
+        if (name == null)
+        {
+            kinds = EnumSet.allOf(ChangeGeneration.Kind.class);
+        }
+        else
+        if (name.startsWith(PATH_NODES) || name.startsWith(PATH_NODE_CON_DEFINITIONS))
+        {
+            kinds = EnumSet.of(ChangeGeneration.Kind.NODES);
+        }
+        else
+        if (name.startsWith(PATH_RESOURCE_DEFINITIONS) || name.startsWith(PATH_RESOURCE_GROUPS) ||
+            name.startsWith(PATH_VOLUME_DEFINITIONS) || name.startsWith(PATH_VOLUME_GROUPS))
+        {
+            kinds = EnumSet.of(ChangeGeneration.Kind.RSC_DFNS);
+        }
+        else
+        if (name.startsWith(PATH_RESOURCES) || name.startsWith(PATH_VOLUMES) ||
+            name.startsWith(PATH_RESOURCE_CON_DEFINITIONS) || name.startsWith(PATH_VOLUME_CON_DEFINITIONS))
+        {
+            kinds = EnumSet.of(ChangeGeneration.Kind.RSCS);
+        }
+        else
+        if (name.startsWith(PATH_STOR_POOL) || name.startsWith(PATH_STOR_POOL_DFN))
+        {
+            kinds = EnumSet.of(ChangeGeneration.Kind.STOR_POOLS);
+        }
+        else
+        if (name.startsWith(PATH_SNAPSHOTS) || name.startsWith(PATH_SNAPSHOT_VOLUMES) ||
+            name.startsWith(PATH_SNAPSHOT_DEFINITIONS) || name.startsWith(PATH_SNAPSHOT_VOLUME_DEFINITIONS) ||
+            name.startsWith(PATH_KVS))
+        {
+            kinds = EnumSet.noneOf(ChangeGeneration.Kind.class);
+        }
+        else
+        {
+            // controller / satellite configuration
+            kinds = EnumSet.allOf(ChangeGeneration.Kind.class);
+        }
+        return kinds;
+    }
+
     private void removeCleanup()
     {
         if (propMap.isEmpty() && containerMap.isEmpty())
@@ -881,7 +957,35 @@ public class PropsContainer extends AbsTransactionObject implements Props
     @Override
     public void commitImpl()
     {
-        rootContainer.cachedPropMap.clear();
+        PropsContainer root = rootContainer;
+        if (root.propsIndex != null)
+        {
+            // the cache contains the committed values from before this transaction, which are the values
+            // that are currently indexed
+            for (Entry<String, String> entry : root.cachedPropMap.entrySet())
+            {
+                String key = entry.getKey();
+                String oldValue = entry.getValue();
+                String newValue;
+                try
+                {
+                    newValue = root.getProp(key, null);
+                }
+                catch (InvalidKeyException exc)
+                {
+                    // cannot happen, the key was already used to modify this container
+                    throw new ImplementationError(
+                        "Committing propsContainer threw an exception.",
+                        exc
+                    );
+                }
+                if (!Objects.equals(oldValue, newValue))
+                {
+                    root.propsIndex.update(root.instanceName, key, oldValue, newValue);
+                }
+            }
+        }
+        root.cachedPropMap.clear();
     }
 
     @Override
@@ -912,7 +1016,7 @@ public class PropsContainer extends AbsTransactionObject implements Props
                 }
                 else
                 {
-                    oldValue = targetContainer.propMap.put(relativeKey, value);
+                    oldValue = targetContainer.propMap.put(relativeKey.intern(), value);
                 }
                 if (oldValue == null)
                 {
@@ -929,6 +1033,18 @@ public class PropsContainer extends AbsTransactionObject implements Props
             }
         }
         root.cachedPropMap.clear();
+        modified();
+    }
+
+    @Override
+    public long getModificationStamp()
+    {
+        return rootContainer.modificationStamp;
+    }
+
+    private void modified()
+    {
+        ++rootContainer.modificationStamp;
     }
 
     private void dbPersist(String key, String value, String oldValue) throws DatabaseException
@@ -967,14 +1083,19 @@ public class PropsContainer extends AbsTransactionObject implements Props
         }
     }
 
-    private void dbRemoveAll() throws DatabaseException
+    private void cacheAll()
     {
-        rootContainer.activateTransMgr();
         Set<Entry<String, String>> entrySet = rootContainer.entrySet();
         for (Entry<String, String> entry : entrySet)
         {
             cache(entry.getKey(), entry.getValue());
         }
+    }
+
+    private void dbRemoveAll() throws DatabaseException
+    {
+        rootContainer.activateTransMgr();
+        cacheAll();
 
         if (dbDriver != null)
         {
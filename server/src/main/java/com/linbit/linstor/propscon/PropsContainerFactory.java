@@ -6,6 +6,7 @@ import com.linbit.linstor.dbdrivers.interfaces.PropsConDatabaseDriver;
 import com.linbit.linstor.security.AccessDeniedException;
 import com.linbit.linstor.transaction.manager.TransactionMgr;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Provider;
 
@@ -13,15 +14,30 @@ public class PropsContainerFactory
 {
     private final PropsConDatabaseDriver dbDriver;
     private final Provider<TransactionMgr> transMgrProvider;
+    private final @Nullable PropsIndex propsIndex;
 
-    @Inject
     public PropsContainerFactory(
         PropsConDatabaseDriver dbDriverRef,
         Provider<TransactionMgr> transMgrProviderRef
     )
+    {
+        this(dbDriverRef, transMgrProviderRef, null);
+    }
+
+    /**
+     * @param propsIndexRef if not null, the properties of the containers created by this factory are indexed, as far
+     *     as they belong to an object type that can be searched through the index (see {@link PropsIndex#isIndexed})
+     */
+    @Inject
+    public PropsContainerFactory(
+        PropsConDatabaseDriver dbDriverRef,
+        Provider<TransactionMgr> transMgrProviderRef,
+        @Nullable PropsIndex propsIndexRef
+    )
     {
         dbDriver = dbDriverRef;
         transMgrProvider = transMgrProviderRef;
+        propsIndex = propsIndexRef;
     }
 
     public PropsContainer getInstance(String instanceName) throws DatabaseException
@@ -57,6 +73,10 @@ public class PropsContainerFactory
             );
         }
         container.instanceName = instanceName;
+        if (PropsIndex.isIndexed(instanceName))
+        {
+            container.propsIndex = propsIndex;
+        }
 
         return container;
     }
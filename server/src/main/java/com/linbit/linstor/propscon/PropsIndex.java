@@ -0,0 +1,283 @@
+package com.linbit.linstor.propscon;
+
+import com.linbit.linstor.LinstorParsingUtils;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.ResourceName;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index of the properties of the node, resource definition and resource {@link PropsContainer}s created
+ * by the {@link PropsContainerFactory}
+ *
+ * The index maps every property key as well as every "key=value" pair to the instance names of the containers
+ * having that property set. A container only updates the index when its changes are committed (or when it is
+ * loaded from the database), so uncommitted or rolled back changes are never visible through the index.
+ *
+ * The list API calls use the index to find the objects matching the given property filters without having to look
+ * at the properties of every object. As the index is only a shortcut, callers should still check the filters
+ * against the actual properties of the objects they found.
+ */
+@Singleton
+public class PropsIndex
+{
+    private static final String FILTER_SEPARATOR = "=";
+
+    private final Map<String, Set<String>> keyIndex;
+    private final Map<String, Map<String, Set<String>>> keyValueIndex;
+    private final ReadWriteLock indexLock;
+
+    @Inject
+    public PropsIndex()
+    {
+        keyIndex = new HashMap<>();
+        keyValueIndex = new HashMap<>();
+        indexLock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Returns whether the containers of the given instance name should be indexed. Only the properties of
+     * nodes, resource definitions and resources are indexed, as no other object type is ever searched through the
+     * index, so indexing their containers would only cost memory and slow down their commits.
+     */
+    static boolean isIndexed(@Nullable String instanceName)
+    {
+        return instanceName != null && (
+            instanceName.startsWith(PropsContainer.PATH_NODES) ||
+            instanceName.startsWith(PropsContainer.PATH_RESOURCE_DEFINITIONS) ||
+            instanceName.startsWith(PropsContainer.PATH_RESOURCES)
+        );
+    }
+
+    /**
+     * Replaces the old value of the given property of the given container with the new value
+     *
+     * @param oldValue null if the property was not set before
+     * @param newValue null if the property was removed
+     */
+    void update(String instanceName, String key, @Nullable String oldValue, @Nullable String newValue)
+    {
+        indexLock.writeLock().lock();
+        try
+        {
+            if (oldValue != null)
+            {
+                remove(instanceName, key, oldValue);
+            }
+            if (newValue != null)
+            {
+                add(instanceName, key, newValue);
+            }
+        }
+        finally
+        {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds all given properties of the given container, e.g. after the container was loaded from the database
+     */
+    void addAll(String instanceName, Map<String, String> props)
+    {
+        indexLock.writeLock().lock();
+        try
+        {
+            for (Map.Entry<String, String> entry : props.entrySet())
+            {
+                add(instanceName, entry.getKey(), entry.getValue());
+            }
+        }
+        finally
+        {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the names of all nodes whose properties match all of the given filters, sorted by name
+     *
+     * @param propFilters filters in the same format as for {@link Props#contains(List)}
+     */
+    public Set<NodeName> findNodes(List<String> propFilters)
+    {
+        Set<NodeName> nodeNames = new TreeSet<>();
+        for (String name : find(PropsContainer.PATH_NODES, propFilters))
+        {
+            nodeNames.add(LinstorParsingUtils.asNodeName(name));
+        }
+        return nodeNames;
+    }
+
+    /**
+     * Returns the names of all resource definitions whose properties match all of the given filters,
+     * sorted by name
+     *
+     * @param propFilters filters in the same format as for {@link Props#contains(List)}
+     */
+    public Set<ResourceName> findResourceDefinitions(List<String> propFilters)
+    {
+        Set<ResourceName> rscNames = new TreeSet<>();
+        for (String name : find(PropsContainer.PATH_RESOURCE_DEFINITIONS, propFilters))
+        {
+            rscNames.add(LinstorParsingUtils.asRscName(name));
+        }
+        return rscNames;
+    }
+
+    /**
+     * Returns the resources whose properties match all of the given filters as a map of resource names to the
+     * names of the nodes the matching resources are deployed on. Both are sorted by name.
+     *
+     * @param propFilters filters in the same format as for {@link Props#contains(List)}
+     */
+    public Map<ResourceName, Set<NodeName>> findResources(List<String> propFilters)
+    {
+        Map<ResourceName, Set<NodeName>> rscs = new TreeMap<>();
+        for (String name : find(PropsContainer.PATH_RESOURCES, propFilters))
+        {
+            // see PropsContainer.buildPath(NodeName, ResourceName)
+            String[] names = name.split(Props.PATH_SEPARATOR, 2);
+            rscs.computeIfAbsent(LinstorParsingUtils.asRscName(names[1]), ignored -> new TreeSet<>())
+                .add(LinstorParsingUtils.asNodeName(names[0]));
+        }
+        return rscs;
+    }
+
+    /**
+     * Returns the instance names of all containers that start with the given prefix and whose properties match
+     * all of the given filters. The prefix is stripped from the returned instance names.
+     */
+    Set<String> find(String instanceNamePrefix, List<String> propFilters)
+    {
+        Set<String> result = new HashSet<>();
+        if (!propFilters.isEmpty())
+        {
+            indexLock.readLock().lock();
+            try
+            {
+                List<Set<String>> matchingSets = new ArrayList<>(propFilters.size());
+                Set<String> smallestSet = null;
+                for (String propFilter : propFilters)
+                {
+                    Set<String> matchingSet = lookup(propFilter);
+                    if (smallestSet == null || matchingSet.size() < smallestSet.size())
+                    {
+                        smallestSet = matchingSet;
+                    }
+                    matchingSets.add(matchingSet);
+                }
+
+                for (String instanceName : smallestSet)
+                {
+                    if (instanceName.startsWith(instanceNamePrefix) && containedInAll(instanceName, matchingSets))
+                    {
+                        result.add(instanceName.substring(instanceNamePrefix.length()));
+                    }
+                }
+            }
+            finally
+            {
+                indexLock.readLock().unlock();
+            }
+        }
+        return result;
+    }
+
+    private Set<String> lookup(String propFilter)
+    {
+        String[] split = propFilter.split(FILTER_SEPARATOR, 2);
+        String key = normalizeKey(split[0]);
+        Set<String> matchingSet;
+        if (split.length > 1)
+        {
+            matchingSet = keyValueIndex.getOrDefault(key, Collections.emptyMap())
+                .getOrDefault(split[1], Collections.emptySet());
+        }
+        else
+        {
+            matchingSet = keyIndex.getOrDefault(key, Collections.emptySet());
+        }
+        return matchingSet;
+    }
+
+    private static boolean containedInAll(String instanceName, List<Set<String>> sets)
+    {
+        boolean contained = true;
+        for (Set<String> set : sets)
+        {
+            if (!set.contains(instanceName))
+            {
+                contained = false;
+                break;
+            }
+        }
+        return contained;
+    }
+
+    /**
+     * Props accept keys with a leading path separator, the index only stores the keys relative to the root
+     * container
+     */
+    private static String normalizeKey(String key)
+    {
+        String normalizedKey = key;
+        while (normalizedKey.startsWith(Props.PATH_SEPARATOR))
+        {
+            normalizedKey = normalizedKey.substring(Props.PATH_SEPARATOR.length());
+        }
+        return normalizedKey;
+    }
+
+    private void add(String instanceName, String key, String value)
+    {
+        keyIndex.computeIfAbsent(key, ignored -> new HashSet<>()).add(instanceName);
+        keyValueIndex.computeIfAbsent(key, ignored -> new HashMap<>())
+            .computeIfAbsent(value, ignored -> new HashSet<>())
+            .add(instanceName);
+    }
+
+    private void remove(String instanceName, String key, String value)
+    {
+        Set<String> keySet = keyIndex.get(key);
+        if (keySet != null)
+        {
+            keySet.remove(instanceName);
+            if (keySet.isEmpty())
+            {
+                keyIndex.remove(key);
+            }
+        }
+        Map<String, Set<String>> valueMap = keyValueIndex.get(key);
+        if (valueMap != null)
+        {
+            Set<String> valueSet = valueMap.get(value);
+            if (valueSet != null)
+            {
+                valueSet.remove(instanceName);
+                if (valueSet.isEmpty())
+                {
+                    valueMap.remove(value);
+                }
+            }
+            if (valueMap.isEmpty())
+            {
+                keyValueIndex.remove(key);
+            }
+        }
+    }
+}
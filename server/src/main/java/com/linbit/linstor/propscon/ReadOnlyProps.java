@@ -214,6 +214,12 @@ public class ReadOnlyProps implements Props
         return propsMap.iterateNamespaces();
     }
 
+    @Override
+    public long getModificationStamp()
+    {
+        return propsMap.getModificationStamp();
+    }
+
     @Override
     public void setConnection(TransactionMgr transMgr)
     {
@@ -38,12 +38,14 @@ import javax.inject.Singleton;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import com.google.common.io.ByteStreams;
 import com.google.protobuf.InvalidProtocolBufferException;
 import org.slf4j.event.Level;
 import reactor.core.publisher.EmitterProcessor;
@@ -197,6 +199,11 @@ public class CommonMessageProcessor implements MessageProcessor
                     }
                     break;
             }
+            if (msgType != MessageTypes.DATA)
+            {
+                // only data messages are processed later on, see doProcessMessage
+                msg.release();
+            }
         }
         catch (IllegalMessageStateException exc)
         {
@@ -219,7 +226,11 @@ public class CommonMessageProcessor implements MessageProcessor
             peer.isConnected(false) ?
                 this.doProcessInOrderMessage(msg, connector, peer, peerSeq) :
                 Flux.empty()
-        ));
+            )
+            // the API call reads the data straight from the pooled receive buffer, which is therefore only given
+            // back to the pool once the API call is finished
+            .doFinally(ignored -> msg.release())
+        );
     }
 
     /**
@@ -232,15 +243,27 @@ public class CommonMessageProcessor implements MessageProcessor
         Flux<?> flux = Flux.empty();
         try
         {
-            flux = handleDataMessage(msg, connector, peer, peerSeq)
-                .doOnError(exc -> errorLog.reportError(
-                    Level.ERROR,
-                    exc,
-                    peer.getAccessContext(),
-                    peer,
-                    null
-                ))
-                .onErrorResume(ignored -> Flux.empty());
+            // checked in order with the processing of the authentication, which negotiates the compression
+            if (isCompressed(msg) && peer.getCompressionThreshold() <= 0)
+            {
+                errorLog.logError(
+                    "Peer %s sent a compressed message without negotiating compression, closing the connection",
+                    peer
+                );
+                peer.closeConnection();
+            }
+            else
+            {
+                flux = handleDataMessage(msg, connector, peer, peerSeq)
+                    .doOnError(exc -> errorLog.reportError(
+                        Level.ERROR,
+                        exc,
+                        peer.getAccessContext(),
+                        peer,
+                        null
+                    ))
+                    .onErrorResume(ignored -> Flux.empty());
+            }
         }
         catch (Exception | ImplementationError exc)
         {
@@ -255,6 +278,11 @@ public class CommonMessageProcessor implements MessageProcessor
         return flux;
     }
 
+    private static boolean isCompressed(Message msg)
+    {
+        return (msg.getHeaderBuffer().getInt(Message.FLAGS_FIELD_OFFSET) & Message.FLAG_COMPRESSED) != 0;
+    }
+
     private Flux<?> handleDataMessage(
         final Message msg,
         final TcpConnector connector,
@@ -265,8 +293,8 @@ public class CommonMessageProcessor implements MessageProcessor
     {
         Flux<?> flux = Flux.empty();
 
-        byte[] msgData = msg.getData();
-        ByteArrayInputStream msgDataIn = new ByteArrayInputStream(msgData);
+        // chunked messages are streamed into the deserializer instead of being assembled into a single array
+        InputStream msgDataIn = msg.getDataInputStream();
 
         MsgHeaderOuterClass.MsgHeader header = MsgHeaderOuterClass.MsgHeader.parseDelimitedFrom(msgDataIn);
         if (header != null)
@@ -315,11 +343,17 @@ public class CommonMessageProcessor implements MessageProcessor
     private void handleAnswer(
         Peer peer,
         MsgHeaderOuterClass.MsgHeader header,
-        ByteArrayInputStream msgDataIn,
+        InputStream msgStreamIn,
         long peerSeq
     )
         throws IOException
     {
+        // answers are handed to the caller as ByteArrayInputStream and are read after the message was released,
+        // so this is the only path where the data is copied out of the receive buffer
+        ByteArrayInputStream msgDataIn = msgStreamIn instanceof ByteArrayInputStream ?
+            (ByteArrayInputStream) msgStreamIn :
+            new ByteArrayInputStream(ByteStreams.toByteArray(msgStreamIn));
+
         long apiCallId = getApiCallId(header);
         errorLog.logTrace("Peer %s, API call %d answer received (seq %d)", peer, apiCallId, peerSeq);
 
@@ -367,7 +401,7 @@ public class CommonMessageProcessor implements MessageProcessor
         TcpConnector connector,
         Peer peer,
         MsgHeaderOuterClass.MsgHeader header,
-        ByteArrayInputStream msgDataIn,
+        InputStream msgDataIn,
         boolean respond,
         long peerSeq
     )
@@ -486,7 +520,7 @@ public class CommonMessageProcessor implements MessageProcessor
         ApiEntry apiMapEntry,
         String apiCallName,
         Long apiCallId,
-        ByteArrayInputStream msgDataIn,
+        InputStream msgDataIn,
         boolean respond
     )
     {
@@ -519,7 +553,7 @@ public class CommonMessageProcessor implements MessageProcessor
         return flux;
     }
 
-    private Flux<byte[]> executeNonReactive(ApiCall apiObj, ByteArrayInputStream msgDataIn)
+    private Flux<byte[]> executeNonReactive(ApiCall apiObj, InputStream msgDataIn)
         throws Exception
     {
         apiObj.execute(msgDataIn);
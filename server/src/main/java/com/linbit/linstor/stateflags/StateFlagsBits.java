@@ -64,6 +64,11 @@ public class StateFlagsBits<PRIMARY_KEY, FLAG extends Flags> extends AbsTransact
         persistence = persistenceRef;
     }
 
+    public PRIMARY_KEY getPrimaryKey()
+    {
+        return pk;
+    }
+
     private void requireAccess(AccessContext accCtx, AccessType accessType)
         throws AccessDeniedException
     {
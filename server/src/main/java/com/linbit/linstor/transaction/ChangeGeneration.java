@@ -0,0 +1,146 @@
+package com.linbit.linstor.transaction;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Monotonically increasing counter that changes whenever data visible through the API may have changed
+ *
+ * The generation is incremented for every committed transaction that contained changes, as well as for
+ * changes of volatile data that is not persisted through transactions (e.g. the connection status of a
+ * peer or the state reported by a satellite).
+ * Additionally, a separate generation is kept for every {@link Kind} of data, so readers only depending on
+ * some kinds of data do not have to consider unrelated changes.
+ * Readers may use the generation to decide whether previously assembled data is still up to date.
+ * As the generation starts at 0 again after a restart, generations are only comparable within the same
+ * {@link #getEpoch() epoch}.
+ */
+@Singleton
+public class ChangeGeneration
+{
+    public enum Kind
+    {
+        NODES,
+        RSC_DFNS,
+        RSCS,
+        STOR_POOLS,
+        SATELLITE_STATES
+    }
+
+    /**
+     * Notified after the generation was incremented
+     */
+    @FunctionalInterface
+    public interface Listener
+    {
+        /**
+         * Called by the thread that incremented the generation, which may still hold locks. Implementations must
+         * therefore only record the change and must neither block nor take any locks of the core objects.
+         */
+        void changed(Kind... kinds);
+    }
+
+    private static final Kind[] ALL_KINDS = Kind.values();
+
+    private final long epoch;
+    private final AtomicLong generation;
+    private final AtomicLongArray kindGenerations;
+    private final List<Listener> listeners;
+
+    @Inject
+    public ChangeGeneration()
+    {
+        epoch = System.currentTimeMillis();
+        generation = new AtomicLong();
+        kindGenerations = new AtomicLongArray(ALL_KINDS.length);
+        listeners = new CopyOnWriteArrayList<>();
+    }
+
+    public void addListener(Listener listener)
+    {
+        listeners.add(listener);
+    }
+
+    /**
+     * Returns the time (in milliseconds since the unix epoch) this counter was created
+     */
+    public long getEpoch()
+    {
+        return epoch;
+    }
+
+    public long get()
+    {
+        return generation.get();
+    }
+
+    /**
+     * Returns the generation of the given kind of data
+     */
+    public long get(Kind kind)
+    {
+        return kindGenerations.get(kind.ordinal());
+    }
+
+    /**
+     * Returns the sum of the generations of the given kinds of data. As every generation only increases,
+     * the sum changes whenever any of the given kinds changed
+     */
+    public long get(Kind... kinds)
+    {
+        long sum = 0;
+        for (Kind kind : kinds)
+        {
+            sum += kindGenerations.get(kind.ordinal());
+        }
+        return sum;
+    }
+
+    /**
+     * Increments the generation as well as the generations of all kinds
+     *
+     * @return the new generation
+     */
+    public long increment()
+    {
+        return increment(ALL_KINDS);
+    }
+
+    /**
+     * Increments the generation as well as the generations of the given kinds
+     *
+     * @return the new generation
+     */
+    public long increment(Kind... kinds)
+    {
+        // the kind generations are incremented first, so that a reader that has seen the new overall generation
+        // will also see the new kind generations
+        for (Kind kind : kinds)
+        {
+            kindGenerations.incrementAndGet(kind.ordinal());
+        }
+        long newGeneration = generation.incrementAndGet();
+        for (Listener listener : listeners)
+        {
+            listener.changed(kinds);
+        }
+        return newGeneration;
+    }
+
+    /**
+     * Same as {@link #increment(Kind...)}. The generation is also incremented if the given collection is empty,
+     * for changes that only affect data not covered by any kind
+     *
+     * @return the new generation
+     */
+    public long increment(Collection<Kind> kinds)
+    {
+        return increment(kinds.toArray(new Kind[0]));
+    }
+}
@@ -0,0 +1,119 @@
+package com.linbit.linstor.transaction;
+
+import com.linbit.linstor.core.objects.KeyValueStore;
+import com.linbit.linstor.core.objects.NetInterface;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.core.objects.NodeConnection;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.core.objects.ResourceConnection;
+import com.linbit.linstor.core.objects.ResourceDefinition;
+import com.linbit.linstor.core.objects.ResourceGroup;
+import com.linbit.linstor.core.objects.Snapshot;
+import com.linbit.linstor.core.objects.SnapshotDefinition;
+import com.linbit.linstor.core.objects.SnapshotVolume;
+import com.linbit.linstor.core.objects.SnapshotVolumeDefinition;
+import com.linbit.linstor.core.objects.StorPool;
+import com.linbit.linstor.core.objects.StorPoolDefinition;
+import com.linbit.linstor.core.objects.Volume;
+import com.linbit.linstor.core.objects.VolumeConnection;
+import com.linbit.linstor.core.objects.VolumeDefinition;
+import com.linbit.linstor.core.objects.VolumeGroup;
+import com.linbit.linstor.propscon.PropsContainer;
+import com.linbit.linstor.stateflags.StateFlagsBits;
+import com.linbit.linstor.storage.interfaces.categories.resource.AbsRscLayerObject;
+import com.linbit.linstor.storage.interfaces.categories.resource.RscDfnLayerObject;
+import com.linbit.linstor.storage.interfaces.categories.resource.VlmDfnLayerObject;
+import com.linbit.linstor.storage.interfaces.categories.resource.VlmProviderObject;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Determines which {@link ChangeGeneration.Kind}s of API data are affected by a modified {@link TransactionObject}
+ *
+ * Wrapper objects (simple objects, collections, flags) are classified by the object owning them, maps by the
+ * values that were changed. Objects that cannot be classified are assumed to affect every kind of data.
+ */
+public final class ChangeKindClassifier
+{
+    private ChangeKindClassifier()
+    {
+    }
+
+    public static void addKinds(Object obj, Set<ChangeGeneration.Kind> kinds)
+    {
+        if (obj instanceof TransactionSimpleObject)
+        {
+            addKinds(((TransactionSimpleObject<?, ?>) obj).getParent(), kinds);
+        }
+        else
+        if (obj instanceof TransactionSet)
+        {
+            addKinds(((TransactionSet<?, ?>) obj).getParent(), kinds);
+        }
+        else
+        if (obj instanceof TransactionList)
+        {
+            addKinds(((TransactionList<?, ?>) obj).getParent(), kinds);
+        }
+        else
+        if (obj instanceof StateFlagsBits)
+        {
+            addKinds(((StateFlagsBits<?, ?>) obj).getPrimaryKey(), kinds);
+        }
+        else
+        if (obj instanceof TransactionMap)
+        {
+            boolean empty = true;
+            for (TransactionObject value : ((TransactionMap<?, ?>) obj).getChangedValues())
+            {
+                addKinds(value, kinds);
+                empty = false;
+            }
+            if (empty)
+            {
+                kinds.addAll(EnumSet.allOf(ChangeGeneration.Kind.class));
+            }
+        }
+        else
+        if (obj instanceof PropsContainer)
+        {
+            kinds.addAll(((PropsContainer) obj).getChangeKinds());
+        }
+        else
+        if (obj instanceof Snapshot || obj instanceof SnapshotVolume || obj instanceof SnapshotDefinition ||
+            obj instanceof SnapshotVolumeDefinition || obj instanceof KeyValueStore)
+        {
+            // not part of any kind of data
+        }
+        else
+        if (obj instanceof Node || obj instanceof NetInterface || obj instanceof NodeConnection)
+        {
+            kinds.add(ChangeGeneration.Kind.NODES);
+        }
+        else
+        if (obj instanceof ResourceDefinition || obj instanceof VolumeDefinition ||
+            obj instanceof ResourceGroup || obj instanceof VolumeGroup ||
+            obj instanceof RscDfnLayerObject || obj instanceof VlmDfnLayerObject)
+        {
+            kinds.add(ChangeGeneration.Kind.RSC_DFNS);
+        }
+        else
+        if (obj instanceof Resource || obj instanceof Volume ||
+            obj instanceof ResourceConnection || obj instanceof VolumeConnection ||
+            obj instanceof AbsRscLayerObject || obj instanceof VlmProviderObject)
+        {
+            kinds.add(ChangeGeneration.Kind.RSCS);
+        }
+        else
+        if (obj instanceof StorPool || obj instanceof StorPoolDefinition)
+        {
+            kinds.add(ChangeGeneration.Kind.STOR_POOLS);
+        }
+        else
+        {
+            // e.g. object protections, free space managers
+            kinds.addAll(EnumSet.allOf(ChangeGeneration.Kind.class));
+        }
+    }
+}
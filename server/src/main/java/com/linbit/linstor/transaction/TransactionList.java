@@ -43,6 +43,11 @@ public class TransactionList<PARENT, VALUE>
         immutableBackingList = Collections.unmodifiableList(backingList);
     }
 
+    public PARENT getParent()
+    {
+        return parent;
+    }
+
     @Override
     protected void postSetConnection(TransactionMgr transMgrRef)
     {
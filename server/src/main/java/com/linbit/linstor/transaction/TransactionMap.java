@@ -8,6 +8,7 @@ import com.linbit.linstor.transaction.manager.TransactionMgr;
 
 import javax.inject.Provider;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -87,6 +88,27 @@ public class TransactionMap<KEY, VALUE extends TransactionObject>
         return !oldValues.isEmpty();
     }
 
+    /**
+     * Returns the values that were added, replaced or removed since the last commit or rollback
+     */
+    public Collection<VALUE> getChangedValues()
+    {
+        Collection<VALUE> changed = new ArrayList<>();
+        for (Entry<KEY, VALUE> entry : oldValues.entrySet())
+        {
+            if (entry.getValue() != null)
+            {
+                changed.add(entry.getValue());
+            }
+            VALUE current = map.get(entry.getKey());
+            if (current != null && current != entry.getValue())
+            {
+                changed.add(current);
+            }
+        }
+        return changed;
+    }
+
     @Override
     public int size()
     {
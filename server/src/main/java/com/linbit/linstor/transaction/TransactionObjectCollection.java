@@ -2,6 +2,7 @@ package com.linbit.linstor.transaction;
 
 import com.linbit.ImplementationError;
 
+import java.util.EnumSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -75,6 +76,22 @@ public class TransactionObjectCollection
         return dirty;
     }
 
+    /**
+     * Returns the {@link ChangeGeneration.Kind}s of API data affected by the dirty transaction objects
+     */
+    public Set<ChangeGeneration.Kind> getDirtyKinds()
+    {
+        Set<ChangeGeneration.Kind> kinds = EnumSet.noneOf(ChangeGeneration.Kind.class);
+        for (TransactionObject transObj : transObjects)
+        {
+            if (transObj.isDirty())
+            {
+                ChangeKindClassifier.addKinds(transObj, kinds);
+            }
+        }
+        return kinds;
+    }
+
     public int sizeObjects()
     {
         return transObjects.size();
@@ -39,6 +39,11 @@ public class TransactionSet<PARENT, VALUE extends TransactionObject>
         dbDriver = dbDriverRef == null ? new NoOpCollectionDatabaseDriver<>() : dbDriverRef;
     }
 
+    public PARENT getParent()
+    {
+        return parent;
+    }
+
     @Override
     protected void postSetConnection(TransactionMgr transMgrRef)
     {
@@ -38,6 +38,11 @@ public class TransactionSimpleObject<PARENT, ELEMENT> extends AbsTransactionObje
         }
     }
 
+    public PARENT getParent()
+    {
+        return parent;
+    }
+
     public ELEMENT set(ELEMENT obj) throws DatabaseException
     {
         if (!Objects.equals(obj, cachedObject))
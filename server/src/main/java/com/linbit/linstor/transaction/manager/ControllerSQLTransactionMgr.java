@@ -1,23 +1,41 @@
 package com.linbit.linstor.transaction.manager;
 
 import com.linbit.linstor.ControllerSQLDatabase;
+import com.linbit.linstor.dbdrivers.DatabaseException;
+import com.linbit.linstor.transaction.ChangeGeneration;
 import com.linbit.linstor.transaction.TransactionException;
 import com.linbit.linstor.transaction.TransactionObject;
 import com.linbit.linstor.transaction.TransactionObjectCollection;
 
+import javax.annotation.Nullable;
+
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Set;
 
 public class ControllerSQLTransactionMgr implements TransactionMgrSQL
 {
     private final ControllerSQLDatabase controllerDatabase;
     private final Connection dbCon;
+    private final SQLWriteBatcher writeBatcher;
     private final TransactionObjectCollection transactionObjectCollection;
+    private final @Nullable ChangeGeneration changeGeneration;
 
     public ControllerSQLTransactionMgr(ControllerSQLDatabase controllerDatabaseRef) throws SQLException
+    {
+        this(controllerDatabaseRef, null);
+    }
+
+    public ControllerSQLTransactionMgr(
+        ControllerSQLDatabase controllerDatabaseRef,
+        @Nullable ChangeGeneration changeGenerationRef
+    )
+        throws SQLException
     {
         controllerDatabase = controllerDatabaseRef;
+        changeGeneration = changeGenerationRef;
         dbCon = controllerDatabaseRef.getConnection();
+        writeBatcher = new SQLWriteBatcher(dbCon);
         transactionObjectCollection = new TransactionObjectCollection();
     }
 
@@ -30,10 +48,17 @@ public class ControllerSQLTransactionMgr implements TransactionMgrSQL
     @Override
     public void commit() throws TransactionException
     {
+        boolean changed = transactionObjectCollection.areAnyDirty();
+        Set<ChangeGeneration.Kind> changedKinds = transactionObjectCollection.getDirtyKinds();
         try
         {
+            writeBatcher.flush();
             dbCon.commit();
         }
+        catch (DatabaseException dbExc)
+        {
+            throw new TransactionException("Executing the pending database writes failed.", dbExc);
+        }
         catch (SQLException sqlExc)
         {
             throw new TransactionException("Database commit failed.", sqlExc);
@@ -42,6 +67,11 @@ public class ControllerSQLTransactionMgr implements TransactionMgrSQL
         transactionObjectCollection.commitAll();
 
         clearTransactionObjects();
+
+        if (changed && changeGeneration != null)
+        {
+            changeGeneration.increment(changedKinds);
+        }
     }
 
 
@@ -49,6 +79,7 @@ public class ControllerSQLTransactionMgr implements TransactionMgrSQL
     public void rollback() throws TransactionException
     {
         transactionObjectCollection.rollbackAll();
+        writeBatcher.discard();
 
         try
         {
@@ -83,12 +114,33 @@ public class ControllerSQLTransactionMgr implements TransactionMgrSQL
     @Override
     public Connection getConnection()
     {
+        try
+        {
+            writeBatcher.flush();
+        }
+        catch (DatabaseException dbExc)
+        {
+            throw new TransactionException("Executing the pending database writes failed.", dbExc);
+        }
         return dbCon;
     }
 
+    @Override
+    public void flushWrites() throws DatabaseException
+    {
+        writeBatcher.flush();
+    }
+
+    @Override
+    public SQLWriteBatcher getWriteBatcher()
+    {
+        return writeBatcher;
+    }
+
     @Override
     public void returnConnection()
     {
+        writeBatcher.close();
         controllerDatabase.returnConnection(dbCon);
 
         clearTransactionObjects();
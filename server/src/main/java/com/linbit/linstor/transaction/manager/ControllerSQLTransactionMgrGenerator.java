@@ -2,6 +2,7 @@ package com.linbit.linstor.transaction.manager;
 
 import com.linbit.linstor.ControllerDatabase;
 import com.linbit.linstor.ControllerSQLDatabase;
+import com.linbit.linstor.transaction.ChangeGeneration;
 import com.linbit.linstor.transaction.TransactionException;
 
 import javax.inject.Inject;
@@ -12,11 +13,16 @@ import java.sql.SQLException;
 public class ControllerSQLTransactionMgrGenerator implements TransactionMgrGenerator
 {
     private final ControllerSQLDatabase controllerDatabase;
+    private final ChangeGeneration changeGeneration;
 
     @Inject
-    public ControllerSQLTransactionMgrGenerator(ControllerDatabase controllerDatabaseRef)
+    public ControllerSQLTransactionMgrGenerator(
+        ControllerDatabase controllerDatabaseRef,
+        ChangeGeneration changeGenerationRef
+    )
     {
         controllerDatabase = (ControllerSQLDatabase) controllerDatabaseRef;
+        changeGeneration = changeGenerationRef;
     }
 
     @Override
@@ -25,7 +31,7 @@ public class ControllerSQLTransactionMgrGenerator implements TransactionMgrGener
         ControllerSQLTransactionMgr controllerSQLTransactionMgr;
         try
         {
-            controllerSQLTransactionMgr = new ControllerSQLTransactionMgr(controllerDatabase);
+            controllerSQLTransactionMgr = new ControllerSQLTransactionMgr(controllerDatabase, changeGeneration);
         }
         catch (SQLException sqlExc)
         {
@@ -0,0 +1,190 @@
+package com.linbit.linstor.transaction.manager;
+
+import com.linbit.linstor.dbdrivers.DatabaseException;
+
+import javax.annotation.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the INSERT, UPDATE and DELETE statements of a transaction and sends consecutive executions of the
+ * same statement to the database as a single JDBC batch.
+ *
+ * Statements are executed in the same order as they were added, only runs of the same statement are grouped,
+ * so foreign key constraints are not affected. The {@link PreparedStatement}s are kept open until the batcher is
+ * closed, so every statement is only prepared once per transaction.
+ *
+ * Pending statements have to be {@link #flush() flushed} before the connection is used for anything else,
+ * which {@link ControllerSQLTransactionMgr} does on {@link ControllerSQLTransactionMgr#getConnection()} and before
+ * committing.
+ *
+ * A statement that fails when the batch is executed (e.g. due to a constraint violation) is reported as a
+ * {@link DatabaseException} by the method that flushed the batch. This can be a later {@link #prepare(String)} or
+ * {@link #addBatch(PreparedStatement)} of the same transaction.
+ */
+public class SQLWriteBatcher
+{
+    /**
+     * Upper limit of statements sent in a single batch
+     */
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private final Connection dbCon;
+    private final Map<String, PreparedStatement> statements;
+    private final List<Runnable> pendingCallbacks;
+
+    private @Nullable PreparedStatement pendingStmt;
+    private int pendingCount;
+
+    SQLWriteBatcher(Connection dbConRef)
+    {
+        dbCon = dbConRef;
+        statements = new HashMap<>();
+        pendingCallbacks = new ArrayList<>();
+    }
+
+    /**
+     * Returns the prepared statement for the given SQL. The caller has to set all parameters and then call
+     * {@link #addBatch(PreparedStatement)}. Pending executions of a different statement are flushed first.
+     */
+    public PreparedStatement prepare(String sql) throws DatabaseException
+    {
+        PreparedStatement stmt = statements.get(sql);
+        if (stmt == null)
+        {
+            flush();
+            try
+            {
+                stmt = dbCon.prepareStatement(sql);
+            }
+            catch (SQLException sqlExc)
+            {
+                throw new DatabaseException(sqlExc);
+            }
+            statements.put(sql, stmt);
+        }
+        else
+        if (stmt != pendingStmt)
+        {
+            flush();
+        }
+        return stmt;
+    }
+
+    /**
+     * Queues the execution of the given statement with its currently set parameters
+     */
+    public void addBatch(PreparedStatement stmt) throws DatabaseException
+    {
+        addBatch(stmt, null);
+    }
+
+    /**
+     * Like {@link #addBatch(PreparedStatement)}, but additionally runs the given callback (usually a log message)
+     * once the statement was executed successfully
+     */
+    public void addBatch(PreparedStatement stmt, @Nullable Runnable afterExecution) throws DatabaseException
+    {
+        try
+        {
+            stmt.addBatch();
+        }
+        catch (SQLException sqlExc)
+        {
+            throw new DatabaseException(sqlExc);
+        }
+        pendingStmt = stmt;
+        ++pendingCount;
+        if (afterExecution != null)
+        {
+            pendingCallbacks.add(afterExecution);
+        }
+        if (pendingCount >= MAX_BATCH_SIZE)
+        {
+            flush();
+        }
+    }
+
+    /**
+     * Executes all queued statements
+     *
+     * @throws DatabaseException if any of the queued statements failed. The remaining statements of the batch are
+     *     dropped, the transaction has to be rolled back.
+     */
+    public void flush() throws DatabaseException
+    {
+        if (pendingStmt != null)
+        {
+            PreparedStatement stmt = pendingStmt;
+            pendingStmt = null;
+            pendingCount = 0;
+            List<Runnable> callbacks = new ArrayList<>(pendingCallbacks);
+            pendingCallbacks.clear();
+            try
+            {
+                stmt.executeBatch();
+            }
+            catch (SQLException sqlExc)
+            {
+                clearBatch(stmt);
+                throw new DatabaseException(sqlExc);
+            }
+            for (Runnable callback : callbacks)
+            {
+                callback.run();
+            }
+        }
+    }
+
+    /**
+     * Drops all queued statements without executing them
+     */
+    public void discard()
+    {
+        if (pendingStmt != null)
+        {
+            clearBatch(pendingStmt);
+            pendingStmt = null;
+            pendingCount = 0;
+            pendingCallbacks.clear();
+        }
+    }
+
+    /**
+     * Drops all queued statements and closes the prepared statements
+     */
+    public void close()
+    {
+        discard();
+        for (PreparedStatement stmt : statements.values())
+        {
+            try
+            {
+                stmt.close();
+            }
+            catch (SQLException ignored)
+            {
+                // the connection is returned or closed anyways
+            }
+        }
+        statements.clear();
+    }
+
+    private static void clearBatch(PreparedStatement stmt)
+    {
+        try
+        {
+            stmt.clearBatch();
+        }
+        catch (SQLException ignored)
+        {
+            // the statement will be rolled back or closed anyways
+        }
+    }
+}
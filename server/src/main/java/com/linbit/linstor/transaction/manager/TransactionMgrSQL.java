@@ -1,8 +1,23 @@
 package com.linbit.linstor.transaction.manager;
 
+import com.linbit.linstor.dbdrivers.DatabaseException;
+
 import java.sql.Connection;
 
 public interface TransactionMgrSQL extends TransactionMgr
 {
+    /**
+     * Returns the connection of this transaction. Writes queued in the {@link #getWriteBatcher() write batcher}
+     * are executed before the connection is returned.
+     */
     Connection getConnection();
+
+    SQLWriteBatcher getWriteBatcher();
+
+    /**
+     * Executes the writes queued in the {@link #getWriteBatcher() write batcher}. Drivers call this before using
+     * the {@link #getConnection() connection} directly, so that a failed queued write is reported to them as
+     * {@link DatabaseException}.
+     */
+    void flushWrites() throws DatabaseException;
 }
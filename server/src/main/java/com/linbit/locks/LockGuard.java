@@ -1,5 +1,9 @@
 package com.linbit.locks;
 
+import com.linbit.locks.LockStatistics.LockTimeStats;
+
+import javax.annotation.Nullable;
+
 import java.util.concurrent.locks.Lock;
 
 public class LockGuard implements AutoCloseable
@@ -10,6 +14,13 @@ public class LockGuard implements AutoCloseable
 
     private final Lock[] lockBundle;
 
+    private final @Nullable LockStatistics statistics;
+    private final @Nullable LockTimeStats[] lockStats;
+    private @Nullable LockTimeStats apiCallStats;
+    private final @Nullable long[] lockTimestamps;
+    private String apiCallName = LockStatistics.UNSCOPED;
+    private long acquiredTimestamp;
+
     /**
      * Constructs a new LockGuard instance
      *
@@ -27,8 +38,30 @@ public class LockGuard implements AutoCloseable
      * @param locksRef array of locks to be managed by the new LockGuard instance
      */
     LockGuard(final boolean deferred, final Lock... locksRef)
+    {
+        this(deferred, null, null, locksRef);
+    }
+
+    /**
+     * Constructs a new LockGuard instance that records wait and hold times of its locks
+     *
+     * @param deferred control flag for the immediate or deferred acquisition of the specified locks
+     * @param statisticsRef statistics to record the times of the whole LockGuard per API call name
+     * @param lockStatsRef statistics to record the times of the single locks, must have the same order
+     *     as {@code locksRef}
+     * @param locksRef array of locks to be managed by the new LockGuard instance
+     */
+    LockGuard(
+        final boolean deferred,
+        final @Nullable LockStatistics statisticsRef,
+        final @Nullable LockTimeStats[] lockStatsRef,
+        final Lock... locksRef
+    )
     {
         lockBundle = locksRef;
+        statistics = statisticsRef;
+        lockStats = lockStatsRef;
+        lockTimestamps = lockStatsRef == null ? null : new long[lockStatsRef.length];
         if (!deferred)
         {
             lock();
@@ -45,11 +78,20 @@ public class LockGuard implements AutoCloseable
     {
         // Attempt to acquire all locks
         int idx = 0;
+        final long startTimestamp = System.nanoTime();
+        long lockTimestamp = startTimestamp;
         try
         {
             while (idx < lockBundle.length)
             {
                 lockBundle[idx].lock();
+                if (lockStats != null)
+                {
+                    long now = System.nanoTime();
+                    lockStats[idx].acquired(now - lockTimestamp);
+                    lockTimestamps[idx] = now;
+                    lockTimestamp = now;
+                }
                 ++idx;
             }
         }
@@ -61,6 +103,7 @@ public class LockGuard implements AutoCloseable
             // to attempt to release the current lock nonetheless, even though it may not have been
             // locked in the first place.
             // This behavior can be controlled by configuring the constant EXC_UNLOCK_CURRENT
+            recordRelease(idx, System.nanoTime());
             if (!EXC_UNLOCK_CURRENT)
             {
                 --idx;
@@ -81,6 +124,21 @@ public class LockGuard implements AutoCloseable
             throw exc;
         }
         acquired = true;
+        if (statistics != null)
+        {
+            acquiredTimestamp = lockTimestamp;
+            apiCallStats = statistics.getApiCallStats(apiCallName);
+            apiCallStats.acquired(lockTimestamp - startTimestamp);
+        }
+    }
+
+    /**
+     * Sets the name of the API call on whose behalf the locks are acquired. This is only used for the
+     * lock statistics and must be set before the locks are acquired.
+     */
+    public void setApiCallName(final String apiCallNameRef)
+    {
+        apiCallName = apiCallNameRef;
     }
 
     /**
@@ -121,6 +179,12 @@ public class LockGuard implements AutoCloseable
                 }
             }
             acquired = false;
+            if (statistics != null)
+            {
+                long now = System.nanoTime();
+                recordRelease(lockBundle.length, now);
+                apiCallStats.released(now - acquiredTimestamp);
+            }
             // Rethrow a saved exception to avoid hiding implementation errors
             if (savedExc != null)
             {
@@ -129,6 +193,20 @@ public class LockGuard implements AutoCloseable
         }
     }
 
+    /**
+     * Records the release of the first {@code lockCount} locks in the lock statistics
+     */
+    private void recordRelease(final int lockCount, final long now)
+    {
+        if (lockStats != null)
+        {
+            for (int idx = 0; idx < lockCount; ++idx)
+            {
+                lockStats[idx].released(now - lockTimestamps[idx]);
+            }
+        }
+    }
+
     /**
      * Constructs and returns a new LockGuard instance and acquires the specified locks immediately
      *
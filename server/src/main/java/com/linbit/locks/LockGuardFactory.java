@@ -2,9 +2,15 @@ package com.linbit.locks;
 
 import com.linbit.ImplementationError;
 import com.linbit.linstor.core.CoreModule;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.locks.LockStatistics.LockTimeStats;
+
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
 import java.util.concurrent.locks.Lock;
@@ -25,6 +31,30 @@ public class LockGuardFactory
 
         LockGuardBuilder lock(LockObj lockId, LockType lockType);
 
+        /**
+         * Locks only the entries of the {@link LockObj#NODES_MAP} with the specified names.
+         * The map itself is locked for reading, therefore nodes must not be created or deleted.
+         */
+        LockGuardBuilder writeNode(NodeName... nodeNames);
+
+        /**
+         * Locks only the entries of the {@link LockObj#NODES_MAP} with the specified names for reading.
+         */
+        LockGuardBuilder readNode(NodeName... nodeNames);
+
+        /**
+         * Locks only the entries of the {@link LockObj#RSC_DFN_MAP} with the specified names.
+         * The map itself is locked for reading, therefore resource definitions must not be created or deleted.
+         */
+        LockGuardBuilder writeRscDfn(ResourceName... rscNames);
+
+        /**
+         * Locks only the entries of the {@link LockObj#RSC_DFN_MAP} with the specified names for reading.
+         */
+        LockGuardBuilder readRscDfn(ResourceName... rscNames);
+
+        LockGuardBuilder lockEntry(LockObj lockId, Object entryKey, LockType lockType);
+
         LockGuard build();
 
         default LockGuard buildDeferred()
@@ -58,23 +88,25 @@ public class LockGuardFactory
         WRITE
     }
 
-    private final ReadWriteLock nodesMapLock;
-    private final ReadWriteLock rscDfnMapLock;
+    private final StripedReadWriteLock nodesMapLock;
+    private final StripedReadWriteLock rscDfnMapLock;
     private final ReadWriteLock storPoolDfnMapLock;
     private final ReadWriteLock ctrlConfigLock;
     private final ReadWriteLock reconfigurationLock;
     private final ReadWriteLock kvsMapLock;
     private final ReadWriteLock rscGrpMapLock;
+    private final LockStatistics lockStatistics;
 
     @Inject
     public LockGuardFactory(
         @Named(CoreModule.RECONFIGURATION_LOCK) ReadWriteLock reconfigurationLockRef,
-        @Named(CoreModule.NODES_MAP_LOCK) ReadWriteLock nodesMapLockRef,
-        @Named(CoreModule.RSC_DFN_MAP_LOCK) ReadWriteLock rscDfnMapLockRef,
+        @Named(CoreModule.NODES_MAP_LOCK) StripedReadWriteLock nodesMapLockRef,
+        @Named(CoreModule.RSC_DFN_MAP_LOCK) StripedReadWriteLock rscDfnMapLockRef,
         @Named(CoreModule.STOR_POOL_DFN_MAP_LOCK) ReadWriteLock storPoolDfnMapLockRef,
         @Named(CoreModule.CTRL_CONF_LOCK) ReadWriteLock ctrlConfigLockRef,
         @Named(CoreModule.KVS_MAP_LOCK) ReadWriteLock kvsMapLockRef,
-        @Named(CoreModule.RSC_GROUP_MAP_LOCK) ReadWriteLock rscGrpMapLockRef
+        @Named(CoreModule.RSC_GROUP_MAP_LOCK) ReadWriteLock rscGrpMapLockRef,
+        LockStatistics lockStatisticsRef
     )
     {
         reconfigurationLock = reconfigurationLockRef;
@@ -84,6 +116,7 @@ public class LockGuardFactory
         ctrlConfigLock = ctrlConfigLockRef;
         kvsMapLock = kvsMapLockRef;
         rscGrpMapLock = rscGrpMapLockRef;
+        lockStatistics = lockStatisticsRef;
     }
 
     public LockGuardBuilder create()
@@ -157,15 +190,39 @@ public class LockGuardFactory
         return lock;
     }
 
+    private StripedReadWriteLock lockObjToStripedLock(LockObj lockId)
+    {
+        StripedReadWriteLock lock;
+        switch (lockId)
+        {
+            case NODES_MAP:
+                lock = nodesMapLock;
+                break;
+            case RSC_DFN_MAP:
+                lock = rscDfnMapLock;
+                break;
+            case RECONFIGURATION: // fall-through
+            case STOR_POOL_DFN_MAP: // fall-through
+            case CTRL_CONFIG: // fall-through
+            case KVS_MAP: // fall-through
+            case RSC_GRP_MAP: // fall-through
+            default:
+                throw new ImplementationError("Lock identifier " + lockId.name() + " does not support entry locks");
+        }
+        return lock;
+    }
+
     private class LockGuardBuilderImpl implements LockGuardBuilder
     {
         private final TreeMap<LockObj, LockType> locks;
+        private final Map<LockObj, TreeMap<Integer, LockType>> entryLocks;
 
         private boolean defer = false;
 
         private LockGuardBuilderImpl()
         {
             locks = new TreeMap<>((lock1st, lock2nd) -> Integer.compare(lock1st.lockIdx, lock2nd.lockIdx));
+            entryLocks = new EnumMap<>(LockObj.class);
         }
 
         private LockGuardBuilderImpl(boolean deferRef)
@@ -208,6 +265,56 @@ public class LockGuardFactory
             return this;
         }
 
+        @Override
+        public LockGuardBuilder writeNode(NodeName... nodeNames)
+        {
+            for (NodeName nodeName : nodeNames)
+            {
+                lockEntry(LockObj.NODES_MAP, nodeName, LockType.WRITE);
+            }
+            return this;
+        }
+
+        @Override
+        public LockGuardBuilder readNode(NodeName... nodeNames)
+        {
+            for (NodeName nodeName : nodeNames)
+            {
+                lockEntry(LockObj.NODES_MAP, nodeName, LockType.READ);
+            }
+            return this;
+        }
+
+        @Override
+        public LockGuardBuilder writeRscDfn(ResourceName... rscNames)
+        {
+            for (ResourceName rscName : rscNames)
+            {
+                lockEntry(LockObj.RSC_DFN_MAP, rscName, LockType.WRITE);
+            }
+            return this;
+        }
+
+        @Override
+        public LockGuardBuilder readRscDfn(ResourceName... rscNames)
+        {
+            for (ResourceName rscName : rscNames)
+            {
+                lockEntry(LockObj.RSC_DFN_MAP, rscName, LockType.READ);
+            }
+            return this;
+        }
+
+        @Override
+        public LockGuardBuilder lockEntry(LockObj lockId, Object entryKey, LockType type)
+        {
+            int stripeIdx = lockObjToStripedLock(lockId).getStripeIdx(entryKey);
+            // a write lock request for the same stripe supersedes a read lock request
+            entryLocks.computeIfAbsent(lockId, ignored -> new TreeMap<>())
+                .merge(stripeIdx, type, (prevType, newType) -> prevType == LockType.WRITE ? prevType : newType);
+            return this;
+        }
+
         @Override
         public LockGuard buildDeferred()
         {
@@ -218,28 +325,60 @@ public class LockGuardFactory
         @Override
         public LockGuard build()
         {
+            // entry locks are only relevant if the whole map is not already locked
+            for (Entry<LockObj, TreeMap<Integer, LockType>> entry : entryLocks.entrySet())
+            {
+                LockObj lockObj = entry.getKey();
+                LockType mapLockType = locks.get(lockObj);
+                if (mapLockType == null)
+                {
+                    locks.put(lockObj, LockType.READ);
+                }
+                else
+                if (mapLockType == LockType.READ)
+                {
+                    // all stripes are locked for reading, only upgrade the requested stripes
+                    TreeMap<Integer, LockType> stripeLockTypes = entry.getValue();
+                    int stripeCount = lockObjToStripedLock(lockObj).getStripeCount();
+                    for (int stripeIdx = 0; stripeIdx < stripeCount; ++stripeIdx)
+                    {
+                        stripeLockTypes.putIfAbsent(stripeIdx, LockType.READ);
+                    }
+                }
+            }
+
             if (!locks.isEmpty() && !locks.containsKey(LockObj.RECONFIGURATION))
             {
                 locks.put(LockObj.RECONFIGURATION, LockType.READ);
             }
 
             Lock[] lockArr = new Lock[locks.size()];
+            LockTimeStats[] lockStatsArr = new LockTimeStats[locks.size()];
             int lockIdx = 0;
             for (Entry<LockObj, LockType> entry : locks.entrySet())
             {
+                LockObj lockObj = entry.getKey();
+                TreeMap<Integer, LockType> stripeLockTypes = entryLocks.get(lockObj);
                 Lock lock;
-                if (entry.getValue() == LockType.READ)
+                if (entry.getValue() == LockType.WRITE)
+                {
+                    lock = lockObjToLock(lockObj).writeLock();
+                }
+                else
+                if (stripeLockTypes != null)
                 {
-                    lock = lockObjToLock(entry.getKey()).readLock();
+                    lock = lockObjToStripedLock(lockObj).stripedLock(stripeLockTypes);
                 }
                 else
                 {
-                    lock = lockObjToLock(entry.getKey()).writeLock();
+                    lock = lockObjToLock(lockObj).readLock();
                 }
                 lockArr[lockIdx] = lock;
+                // entry locks are recorded with the type of the map lock
+                lockStatsArr[lockIdx] = lockStatistics.getLockStats(lockObj, entry.getValue());
                 ++lockIdx;
             }
-            return new LockGuard(defer, lockArr);
+            return new LockGuard(defer, lockStatistics, lockStatsArr, lockArr);
         }
     }
 }
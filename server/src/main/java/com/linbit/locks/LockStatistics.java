@@ -0,0 +1,179 @@
+package com.linbit.locks;
+
+import com.linbit.locks.LockGuardFactory.LockObj;
+import com.linbit.locks.LockGuardFactory.LockType;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects wait and hold times of the locks managed by {@link LockGuardFactory}
+ *
+ * Times are recorded per {@link LockObj} and {@link LockType} as well as per API call name (for the
+ * whole {@link LockGuard}). Recording is lock-free, so it does not add contention of its own.
+ */
+@Singleton
+public class LockStatistics
+{
+    /**
+     * Name used for lock guards that were not acquired on behalf of an API call
+     */
+    public static final String UNSCOPED = "<unscoped>";
+
+    /**
+     * Upper bounds of the histogram buckets in nanoseconds (100µs, 1ms, 10ms, 100ms, 1s, 10s, +Inf)
+     */
+    public static final long[] BUCKET_BOUNDS_NANOS =
+    {
+        100_000L,
+        1_000_000L,
+        10_000_000L,
+        100_000_000L,
+        1_000_000_000L,
+        10_000_000_000L,
+        Long.MAX_VALUE
+    };
+
+    private final Map<LockObj, Map<LockType, LockTimeStats>> lockObjStats;
+    private final ConcurrentHashMap<String, LockTimeStats> apiCallStats;
+
+    @Inject
+    public LockStatistics()
+    {
+        lockObjStats = new EnumMap<>(LockObj.class);
+        for (LockObj lockObj : LockObj.values())
+        {
+            Map<LockType, LockTimeStats> typeMap = new EnumMap<>(LockType.class);
+            for (LockType lockType : LockType.values())
+            {
+                typeMap.put(lockType, new LockTimeStats());
+            }
+            lockObjStats.put(lockObj, Collections.unmodifiableMap(typeMap));
+        }
+        apiCallStats = new ConcurrentHashMap<>();
+    }
+
+    public LockTimeStats getLockStats(LockObj lockObj, LockType lockType)
+    {
+        return lockObjStats.get(lockObj).get(lockType);
+    }
+
+    public LockTimeStats getApiCallStats(String apiCallName)
+    {
+        return apiCallStats.computeIfAbsent(apiCallName, ignored -> new LockTimeStats());
+    }
+
+    public Map<LockObj, Map<LockType, LockTimeStats>> getLockObjStats()
+    {
+        return Collections.unmodifiableMap(lockObjStats);
+    }
+
+    /**
+     * Returns a sorted snapshot of the currently known API call names and their statistics
+     */
+    public Map<String, LockTimeStats> getApiCallStats()
+    {
+        return new TreeMap<>(apiCallStats);
+    }
+
+    public static class LockTimeStats
+    {
+        private final TimeHistogram waitTime = new TimeHistogram();
+        private final TimeHistogram holdTime = new TimeHistogram();
+        private final AtomicInteger holders = new AtomicInteger();
+
+        void acquired(long waitNanos)
+        {
+            waitTime.record(waitNanos);
+            holders.incrementAndGet();
+        }
+
+        void released(long holdNanos)
+        {
+            holders.decrementAndGet();
+            holdTime.record(holdNanos);
+        }
+
+        public TimeHistogram getWaitTime()
+        {
+            return waitTime;
+        }
+
+        public TimeHistogram getHoldTime()
+        {
+            return holdTime;
+        }
+
+        public int getCurrentHolders()
+        {
+            return holders.get();
+        }
+    }
+
+    public static class TimeHistogram
+    {
+        private final LongAdder[] buckets;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sumNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        TimeHistogram()
+        {
+            buckets = new LongAdder[BUCKET_BOUNDS_NANOS.length];
+            for (int idx = 0; idx < buckets.length; ++idx)
+            {
+                buckets[idx] = new LongAdder();
+            }
+        }
+
+        void record(long nanos)
+        {
+            int idx = 0;
+            while (nanos > BUCKET_BOUNDS_NANOS[idx])
+            {
+                ++idx;
+            }
+            buckets[idx].increment();
+            count.increment();
+            sumNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getCount()
+        {
+            return count.sum();
+        }
+
+        public long getSumNanos()
+        {
+            return sumNanos.sum();
+        }
+
+        public long getMaxNanos()
+        {
+            return maxNanos.get();
+        }
+
+        /**
+         * Returns the number of recorded times per bucket (not cumulative), see {@link #BUCKET_BOUNDS_NANOS}
+         */
+        public long[] getBucketCounts()
+        {
+            long[] counts = new long[buckets.length];
+            for (int idx = 0; idx < buckets.length; ++idx)
+            {
+                counts[idx] = buckets[idx].sum();
+            }
+            return counts;
+        }
+    }
+}
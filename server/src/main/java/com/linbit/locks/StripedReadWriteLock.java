@@ -0,0 +1,265 @@
+package com.linbit.locks;
+
+import com.linbit.ImplementationError;
+import com.linbit.locks.LockGuardFactory.LockType;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ReadWriteLock for one of the core object maps that additionally supports locking of single map entries
+ *
+ * The lock consists of a map lock and a fixed number of stripe locks. Map entries are assigned to stripes
+ * by the hash code of their key.
+ *
+ * Lock protocol:
+ * <ul>
+ *     <li>{@link #writeLock()} acquires the map lock exclusively. This is required for structural changes
+ *         of the map (adding or removing entries) or for changes that may affect any entry.</li>
+ *     <li>{@link #readLock()} acquires the map lock shared and all stripe locks shared. This is required
+ *         for iterating over or reading any entry of the map.</li>
+ *     <li>{@link #stripedLock(SortedMap)} acquires the map lock shared and only the selected stripe locks
+ *         in the requested mode. This allows independent map entries to be read or modified in parallel.</li>
+ * </ul>
+ *
+ * Locks are always acquired in the order map lock, stripes in ascending stripe index, and released in
+ * reverse order. Users of this class that acquire multiple StripedReadWriteLocks must do so in a
+ * defined order as well (see {@link LockGuardFactory.LockObj}).
+ */
+public class StripedReadWriteLock implements ReadWriteLock
+{
+    public static final int DEFAULT_STRIPE_COUNT = 64;
+
+    private final ReentrantReadWriteLock mapLock;
+    private final ReentrantReadWriteLock[] stripes;
+
+    private final Lock fullReadLock;
+
+    public StripedReadWriteLock(final boolean fair)
+    {
+        this(DEFAULT_STRIPE_COUNT, fair);
+    }
+
+    public StripedReadWriteLock(final int stripeCount, final boolean fair)
+    {
+        if (stripeCount < 1)
+        {
+            throw new ImplementationError("Invalid stripe count " + stripeCount);
+        }
+        mapLock = new ReentrantReadWriteLock(fair);
+        stripes = new ReentrantReadWriteLock[stripeCount];
+        Lock[] fullReadArr = new Lock[stripeCount + 1];
+        fullReadArr[0] = mapLock.readLock();
+        for (int idx = 0; idx < stripeCount; ++idx)
+        {
+            stripes[idx] = new ReentrantReadWriteLock(fair);
+            fullReadArr[idx + 1] = stripes[idx].readLock();
+        }
+        fullReadLock = new MultiLock(fullReadArr);
+    }
+
+    /**
+     * Returns a lock that protects read access to all entries of the map
+     */
+    @Override
+    public Lock readLock()
+    {
+        return fullReadLock;
+    }
+
+    /**
+     * Returns a lock that protects write access to the map and all of its entries
+     */
+    @Override
+    public Lock writeLock()
+    {
+        return mapLock.writeLock();
+    }
+
+    /**
+     * Returns a lock that protects the selected stripes only
+     *
+     * @param stripeLockTypes stripe indices (see {@link #getStripeIdx(Object)}) and the respective lock type
+     */
+    public Lock stripedLock(final SortedMap<Integer, LockType> stripeLockTypes)
+    {
+        Lock[] lockArr = new Lock[stripeLockTypes.size() + 1];
+        lockArr[0] = mapLock.readLock();
+        int lockIdx = 1;
+        for (Map.Entry<Integer, LockType> entry : stripeLockTypes.entrySet())
+        {
+            ReentrantReadWriteLock stripe = stripes[entry.getKey()];
+            lockArr[lockIdx] = entry.getValue() == LockType.WRITE ? stripe.writeLock() : stripe.readLock();
+            ++lockIdx;
+        }
+        return new MultiLock(lockArr);
+    }
+
+    /**
+     * Returns the index of the stripe that protects the map entry with the specified key
+     */
+    public int getStripeIdx(final Object key)
+    {
+        int hash = key.hashCode();
+        // spread the higher bits, as GenericName hash codes of similar names tend to differ only in the lower bits
+        hash ^= (hash >>> 16);
+        return (hash & Integer.MAX_VALUE) % stripes.length;
+    }
+
+    public int getStripeCount()
+    {
+        return stripes.length;
+    }
+
+    public ReentrantReadWriteLock getMapLock()
+    {
+        return mapLock;
+    }
+
+    public ReentrantReadWriteLock getStripe(final int stripeIdx)
+    {
+        return stripes[stripeIdx];
+    }
+
+    /**
+     * Lock that acquires multiple locks in array order and releases them in reverse order
+     */
+    private static class MultiLock implements Lock
+    {
+        private final Lock[] lockArr;
+
+        MultiLock(final Lock[] lockArrRef)
+        {
+            lockArr = lockArrRef;
+        }
+
+        @Override
+        public void lock()
+        {
+            int idx = 0;
+            try
+            {
+                while (idx < lockArr.length)
+                {
+                    lockArr[idx].lock();
+                    ++idx;
+                }
+            }
+            catch (RuntimeException exc)
+            {
+                unlockUpTo(idx);
+                throw exc;
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException
+        {
+            int idx = 0;
+            try
+            {
+                while (idx < lockArr.length)
+                {
+                    lockArr[idx].lockInterruptibly();
+                    ++idx;
+                }
+            }
+            catch (InterruptedException | RuntimeException exc)
+            {
+                unlockUpTo(idx);
+                throw exc;
+            }
+        }
+
+        @Override
+        public boolean tryLock()
+        {
+            int idx = 0;
+            while (idx < lockArr.length && lockArr[idx].tryLock())
+            {
+                ++idx;
+            }
+            boolean locked = idx == lockArr.length;
+            if (!locked)
+            {
+                unlockUpTo(idx);
+            }
+            return locked;
+        }
+
+        @Override
+        public boolean tryLock(final long time, final TimeUnit unit) throws InterruptedException
+        {
+            final long deadline = System.nanoTime() + unit.toNanos(time);
+            int idx = 0;
+            try
+            {
+                while (idx < lockArr.length &&
+                    lockArr[idx].tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS))
+                {
+                    ++idx;
+                }
+            }
+            catch (InterruptedException | RuntimeException exc)
+            {
+                unlockUpTo(idx);
+                throw exc;
+            }
+            boolean locked = idx == lockArr.length;
+            if (!locked)
+            {
+                unlockUpTo(idx);
+            }
+            return locked;
+        }
+
+        @Override
+        public void unlock()
+        {
+            unlockUpTo(lockArr.length);
+        }
+
+        /**
+         * Releases the locks with an index lower than {@code count} in reverse order
+         */
+        private void unlockUpTo(final int count)
+        {
+            RuntimeException savedExc = null;
+            for (int idx = count - 1; idx >= 0; --idx)
+            {
+                try
+                {
+                    lockArr[idx].unlock();
+                }
+                catch (RuntimeException rtExc)
+                {
+                    if (savedExc == null)
+                    {
+                        savedExc = rtExc;
+                    }
+                }
+            }
+            if (savedExc != null)
+            {
+                throw savedExc;
+            }
+        }
+
+        /**
+         * Returns a condition of the last lock in the lock order, i.e. of the last stripe (or the map lock if
+         * no stripe is selected). Awaiting the condition only releases that lock, all other locks of this
+         * MultiLock stay held while waiting. As with {@link ReentrantReadWriteLock}, only write locks support
+         * conditions.
+         */
+        @Override
+        public Condition newCondition()
+        {
+            return lockArr[lockArr.length - 1].newCondition();
+        }
+    }
+}
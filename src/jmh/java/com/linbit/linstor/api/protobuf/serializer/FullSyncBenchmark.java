@@ -0,0 +1,98 @@
+package com.linbit.linstor.api.protobuf.serializer;
+
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.interfaces.serializer.CtrlStltSerializer;
+import com.linbit.linstor.core.SyntheticCluster;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.core.objects.Snapshot;
+import com.linbit.linstor.core.objects.StorPool;
+import com.linbit.linstor.security.AccessContext;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of the full sync the controller sends to a satellite after it connected, for a satellite with the
+ * given number of resources (each replicated to two other satellites)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FullSyncBenchmark
+{
+    private static final int NODE_COUNT = 30;
+    private static final int REPLICA_COUNT = 3;
+
+    @Param({"100", "1000"})
+    public int rscsPerNode;
+
+    private CtrlStltSerializer serializer;
+    private Set<Node> nodes;
+    private Set<StorPool> storPools;
+    private Set<Resource> rscs;
+    private long fullSyncId;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        SyntheticCluster cluster = SyntheticCluster.create(
+            NODE_COUNT,
+            2,
+            rscsPerNode * NODE_COUNT / REPLICA_COUNT,
+            REPLICA_COUNT
+        );
+        serializer = cluster.getInstance(CtrlStltSerializer.class);
+        AccessContext sysCtx = cluster.getSystemContext();
+
+        // same selection as CtrlFullSyncApiCallHandler
+        Node satelliteNode = cluster.getNodes().get(0);
+        nodes = new LinkedHashSet<>();
+        storPools = new LinkedHashSet<>();
+        rscs = new LinkedHashSet<>();
+        nodes.add(satelliteNode);
+        Iterator<Resource> rscIt = satelliteNode.iterateResources(sysCtx);
+        while (rscIt.hasNext())
+        {
+            Resource rsc = rscIt.next();
+            rscs.add(rsc);
+            Iterator<Resource> otherRscIt = rsc.getDefinition().iterateResource(sysCtx);
+            while (otherRscIt.hasNext())
+            {
+                nodes.add(otherRscIt.next().getNode());
+            }
+        }
+        Iterator<StorPool> storPoolIt = satelliteNode.iterateStorPools(sysCtx);
+        while (storPoolIt.hasNext())
+        {
+            storPools.add(storPoolIt.next());
+        }
+    }
+
+    @Benchmark
+    public byte[] fullSync()
+    {
+        Set<Snapshot> snapshots = Collections.emptySet();
+        return serializer.apiCallBuilder(InternalApiConsts.API_FULL_SYNC_DATA, 0L)
+            .fullSync(nodes, storPools, rscs, snapshots, ++fullSyncId, 0L)
+            .build();
+    }
+}
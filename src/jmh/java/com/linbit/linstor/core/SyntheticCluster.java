@@ -0,0 +1,260 @@
+package com.linbit.linstor.core;
+
+import com.linbit.linstor.core.apicallhandler.controller.FreeCapacityFetcher;
+import com.linbit.linstor.core.identifier.FreeSpaceMgrName;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.core.identifier.StorPoolName;
+import com.linbit.linstor.core.identifier.VolumeNumber;
+import com.linbit.linstor.core.objects.FreeSpaceMgr;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.core.objects.Resource;
+import com.linbit.linstor.core.objects.ResourceDefinition;
+import com.linbit.linstor.core.objects.ResourceGroup;
+import com.linbit.linstor.core.objects.StorPool;
+import com.linbit.linstor.core.objects.StorPoolDefinition;
+import com.linbit.linstor.core.objects.VolumeDefinition;
+import com.linbit.linstor.layer.LayerPayload;
+import com.linbit.linstor.netcom.PeerOffline;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.security.GenericDbBase;
+import com.linbit.linstor.storage.interfaces.layers.drbd.DrbdRscDfnObject.TransportType;
+import com.linbit.linstor.storage.kinds.DeviceLayerKind;
+import com.linbit.linstor.storage.kinds.DeviceProviderKind;
+import com.linbit.linstor.storage.kinds.ExtTools;
+import com.linbit.linstor.storage.kinds.ExtToolsInfo;
+
+import javax.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.inject.Injector;
+import com.google.inject.testing.fieldbinder.Bind;
+import org.mockito.Mock;
+
+/**
+ * Controller with a generated cluster of satellites, storage pools and resources, backed by the in-memory test
+ * database
+ *
+ * Every satellite gets a peer that reports to be connected and to support all layers and providers, so the
+ * autoplacer and the full sync consider all generated objects. The scope of the test database stays entered, the
+ * benchmark has to run on the thread that created the cluster.
+ */
+public class SyntheticCluster extends ApiTestBase
+{
+    public static final long STOR_POOL_CAPACITY = 10L * 1024 * 1024 * 1024; // 10 TiB in KiB
+    public static final long VLM_SIZE = 1024 * 1024; // 1 GiB in KiB
+
+    private static final List<DeviceLayerKind> LAYER_STACK = Collections.singletonList(DeviceLayerKind.STORAGE);
+    private static final int TCP_PORT_START = 7000;
+    private static final int MINOR_START = 1000;
+    // commit after this many created objects to keep the transactions reasonably small
+    private static final int COMMIT_INTERVAL = 500;
+
+    // not needed by the benchmarks, but the injector can not be created without binding it
+    @Bind @Mock
+    protected FreeCapacityFetcher freeCapacityFetcher;
+
+    @Inject
+    protected Injector injector;
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final List<StorPool> storPools = new ArrayList<>();
+    private final List<ResourceDefinition> rscDfns = new ArrayList<>();
+
+    private int uncommittedCount;
+
+    private SyntheticCluster()
+    {
+    }
+
+    /**
+     * Creates the given number of satellites, each with the given number of LVM storage pools. The resource
+     * definitions have one volume and are deployed diskful on <code>replicaCount</code> consecutive satellites.
+     */
+    public static SyntheticCluster create(
+        int nodeCount,
+        int storPoolsPerNode,
+        int rscDfnCount,
+        int replicaCount
+    )
+        throws Exception
+    {
+        GenericDbBase.setUpBeforeClass();
+        SyntheticCluster cluster = new SyntheticCluster();
+        cluster.seedDefaultPeerRule.setDefaultPeerAccessContext(BOB_ACC_CTX);
+        cluster.setUp();
+        cluster.generate(nodeCount, storPoolsPerNode, rscDfnCount, replicaCount);
+        return cluster;
+    }
+
+    public <T> T getInstance(Class<T> clazz)
+    {
+        return injector.getInstance(clazz);
+    }
+
+    public AccessContext getSystemContext()
+    {
+        return SYS_CTX;
+    }
+
+    public List<Node> getNodes()
+    {
+        return nodes;
+    }
+
+    public List<StorPool> getStorPools()
+    {
+        return storPools;
+    }
+
+    public List<ResourceDefinition> getResourceDefinitions()
+    {
+        return rscDfns;
+    }
+
+    private void generate(int nodeCount, int storPoolsPerNode, int rscDfnCount, int replicaCount)
+        throws Exception
+    {
+        ResourceGroup rscGrp = createDefaultResourceGroup(BOB_ACC_CTX);
+
+        List<StorPoolDefinition> storPoolDfns = new ArrayList<>();
+        for (int spIdx = 0; spIdx < storPoolsPerNode; ++spIdx)
+        {
+            StorPoolDefinition storPoolDfn = storPoolDefinitionFactory.create(
+                BOB_ACC_CTX,
+                new StorPoolName(String.format("pool%02d", spIdx))
+            );
+            storPoolDfnMap.put(storPoolDfn.getName(), storPoolDfn);
+            storPoolDfns.add(storPoolDfn);
+        }
+
+        for (int nodeIdx = 0; nodeIdx < nodeCount; ++nodeIdx)
+        {
+            Node node = nodeFactory.create(
+                BOB_ACC_CTX,
+                new NodeName(String.format("node%04d", nodeIdx)),
+                Node.Type.SATELLITE,
+                null
+            );
+            node.setPeer(SYS_CTX, new ConnectedPeer(node));
+            nodesMap.put(node.getName(), node);
+            nodes.add(node);
+
+            for (StorPoolDefinition storPoolDfn : storPoolDfns)
+            {
+                FreeSpaceMgr freeSpaceMgr = freeSpaceMgrFactory.getInstance(
+                    BOB_ACC_CTX,
+                    new FreeSpaceMgrName(node.getName(), storPoolDfn.getName())
+                );
+                StorPool storPool = storPoolFactory.create(
+                    BOB_ACC_CTX,
+                    node,
+                    storPoolDfn,
+                    DeviceProviderKind.LVM,
+                    freeSpaceMgr
+                );
+                storPool.getFreeSpaceTracker().setCapacityInfo(SYS_CTX, STOR_POOL_CAPACITY, STOR_POOL_CAPACITY);
+                storPools.add(storPool);
+            }
+            created(1 + storPoolsPerNode);
+        }
+
+        for (int rscIdx = 0; rscIdx < rscDfnCount; ++rscIdx)
+        {
+            ResourceDefinition rscDfn = resourceDefinitionFactory.create(
+                BOB_ACC_CTX,
+                new ResourceName(String.format("rsc%05d", rscIdx)),
+                null,
+                TCP_PORT_START + rscIdx,
+                null,
+                "secret",
+                TransportType.IP,
+                LAYER_STACK,
+                null,
+                rscGrp
+            );
+            rscDfnMap.put(rscDfn.getName(), rscDfn);
+            rscDfns.add(rscDfn);
+
+            VolumeDefinition vlmDfn = volumeDefinitionFactory.create(
+                BOB_ACC_CTX,
+                rscDfn,
+                new VolumeNumber(0),
+                MINOR_START + rscIdx,
+                VLM_SIZE,
+                null
+            );
+
+            for (int replicaIdx = 0; replicaIdx < replicaCount; ++replicaIdx)
+            {
+                Node node = nodes.get((rscIdx + replicaIdx) % nodeCount);
+                StorPool storPool = node.getStorPool(
+                    SYS_CTX,
+                    storPoolDfns.get(rscIdx % storPoolsPerNode).getName()
+                );
+                Resource rsc = resourceFactory.create(
+                    BOB_ACC_CTX,
+                    rscDfn,
+                    node,
+                    new LayerPayload(),
+                    null,
+                    LAYER_STACK
+                );
+                volumeFactory.create(
+                    BOB_ACC_CTX,
+                    rsc,
+                    vlmDfn,
+                    null,
+                    Collections.singletonMap("", storPool)
+                );
+            }
+            created(1 + replicaCount);
+        }
+        commitAndCleanUp(true);
+        enterScope();
+    }
+
+    private void created(int count) throws Exception
+    {
+        uncommittedCount += count;
+        if (uncommittedCount >= COMMIT_INTERVAL)
+        {
+            commitAndCleanUp(true);
+            enterScope();
+            uncommittedCount = 0;
+        }
+    }
+
+    /**
+     * Peer of a satellite that is always connected and supports all layers and providers
+     */
+    private static class ConnectedPeer extends PeerOffline
+    {
+        ConnectedPeer(Node node)
+        {
+            super("synthetic:" + node.getName().displayValue, node);
+
+            List<ExtToolsInfo> infoList = new ArrayList<>();
+            for (ExtTools tool : ExtTools.values())
+            {
+                infoList.add(new ExtToolsInfo(tool, true, 9, 0, 0, Collections.emptyList()));
+            }
+            getExtToolsManager().updateExternalToolsInfo(infoList);
+        }
+
+        @Override
+        public boolean isConnected()
+        {
+            return true;
+        }
+
+        @Override
+        public boolean isConnected(boolean ensureAuthenticated)
+        {
+            return true;
+        }
+    }
+}
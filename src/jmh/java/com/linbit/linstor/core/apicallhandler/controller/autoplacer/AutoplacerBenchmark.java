@@ -0,0 +1,79 @@
+package com.linbit.linstor.core.apicallhandler.controller.autoplacer;
+
+import com.linbit.linstor.api.pojo.AutoSelectFilterPojo;
+import com.linbit.linstor.core.SyntheticCluster;
+import com.linbit.linstor.core.objects.StorPool;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Selection of storage pools for a new resource by the {@link Autoplacer}, in clusters with 10 storage pools per
+ * satellite, up to 1000 satellites and 10000 storage pools
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AutoplacerBenchmark
+{
+    private static final int STOR_POOLS_PER_NODE = 10;
+
+    @Param({"100", "1000"})
+    public int nodeCount;
+
+    @Param({"3"})
+    public int placeCount;
+
+    private Autoplacer autoplacer;
+    private AutoSelectFilterPojo selectFilter;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        // about one resource per storage pool, so the autoplacer has to weigh differently filled pools
+        SyntheticCluster cluster = SyntheticCluster.create(
+            nodeCount,
+            STOR_POOLS_PER_NODE,
+            nodeCount * STOR_POOLS_PER_NODE / placeCount,
+            placeCount
+        );
+        autoplacer = cluster.getInstance(Autoplacer.class);
+        selectFilter = new AutoSelectFilterPojo(
+            placeCount,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null
+        );
+    }
+
+    @Benchmark
+    public Optional<Set<StorPool>> autoPlace()
+    {
+        return autoplacer.autoPlace(selectFilter, null, SyntheticCluster.VLM_SIZE);
+    }
+}
@@ -0,0 +1,103 @@
+package com.linbit.linstor.layer.drbd.drbdstate;
+
+import com.linbit.linstor.core.CoreModule;
+import com.linbit.linstor.testutils.EmptyErrorReporter;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Processing of 'drbdsetup events2' lines by the {@link DrbdEventsMonitor} of a satellite that already knows the
+ * given number of 3-way replicated resources, e.g. while resyncs are running
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DrbdEventsMonitorBenchmark
+{
+    private static final int PEER_COUNT = 2;
+    private static final int MINOR_START = 1000;
+
+    @Param({"100", "1000"})
+    public int rscCount;
+
+    private DrbdEventsMonitor eventsMonitor;
+    private String[] changeEvents;
+    private int eventIdx;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        eventsMonitor = new DrbdEventsMonitor(
+            new DrbdStateTracker(),
+            new EmptyErrorReporter(),
+            new CoreModule.ResourceDefinitionMapImpl(SatelliteTransactionMgr::new)
+        );
+
+        for (int rscIdx = 0; rscIdx < rscCount; ++rscIdx)
+        {
+            String rscName = rscName(rscIdx);
+            eventsMonitor.receiveEvent(
+                "exists resource name:" + rscName + " role:Secondary suspended:no write-ordering:flush"
+            );
+            eventsMonitor.receiveEvent(
+                "exists device name:" + rscName + " volume:0 minor:" + (MINOR_START + rscIdx) +
+                    " disk:UpToDate client:no quorum:yes"
+            );
+            for (int peerId = 1; peerId <= PEER_COUNT; ++peerId)
+            {
+                eventsMonitor.receiveEvent(
+                    "exists connection name:" + rscName + " peer-node-id:" + peerId + " conn-name:node" + peerId +
+                        " connection:Connected role:Secondary"
+                );
+                eventsMonitor.receiveEvent(
+                    "exists peer-device name:" + rscName + " peer-node-id:" + peerId + " conn-name:node" + peerId +
+                        " volume:0 replication:Established peer-disk:UpToDate peer-client:no resync-suspended:no"
+                );
+            }
+        }
+        eventsMonitor.receiveEvent("exists -");
+
+        List<String> events = new ArrayList<>();
+        for (int rscIdx = 0; rscIdx < rscCount; ++rscIdx)
+        {
+            String rscName = rscName(rscIdx);
+            String peerDevice = "change peer-device name:" + rscName + " peer-node-id:1 conn-name:node1 volume:0";
+            events.add(peerDevice + " replication:SyncSource peer-disk:Inconsistent");
+            events.add(peerDevice + " done:50.00");
+            events.add(peerDevice + " replication:Established peer-disk:UpToDate");
+            events.add("change resource name:" + rscName + " role:Primary");
+            events.add("change resource name:" + rscName + " role:Secondary");
+        }
+        changeEvents = events.toArray(new String[0]);
+    }
+
+    private static String rscName(int rscIdx)
+    {
+        return "rsc" + rscIdx;
+    }
+
+    @Benchmark
+    public void receiveEvent() throws Exception
+    {
+        eventsMonitor.receiveEvent(changeEvents[eventIdx]);
+        eventIdx = (eventIdx + 1) % changeEvents.length;
+    }
+}
@@ -0,0 +1,75 @@
+package com.linbit.linstor.numberpool;
+
+import com.linbit.ExhaustedPoolException;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Allocation of minor numbers / TCP ports from a {@link BitmapPool} that is already filled to the given percentage.
+ * Every allocated number is released again, so the fill level stays constant over all invocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BitmapPoolBenchmark
+{
+    // default range of DRBD minor numbers
+    private static final int RANGE_START = 1000;
+    private static final int RANGE_END = 49999;
+
+    @Param({"10", "50", "99"})
+    public int fillPercent;
+
+    private BitmapPool pool;
+    private int offset;
+
+    @Setup
+    public void setUp()
+    {
+        pool = new BitmapPool(RANGE_END + 1);
+
+        // fixed seed, so every run benchmarks the same allocation pattern
+        Random random = new Random(42);
+        int rangeSize = RANGE_END - RANGE_START + 1;
+        for (int nr = RANGE_START; nr <= RANGE_END; ++nr)
+        {
+            if (random.nextInt(100) < fillPercent)
+            {
+                pool.allocate(nr);
+            }
+        }
+        offset = RANGE_START + rangeSize / 2;
+    }
+
+    @Benchmark
+    public int autoAllocate() throws ExhaustedPoolException
+    {
+        int nr = pool.autoAllocate(RANGE_START, RANGE_END);
+        pool.deallocate(nr);
+        return nr;
+    }
+
+    @Benchmark
+    public int autoAllocateFromOffset() throws ExhaustedPoolException
+    {
+        int nr = pool.autoAllocateFromOffset(RANGE_START, RANGE_END, offset);
+        pool.deallocate(nr);
+        return nr;
+    }
+}
@@ -0,0 +1,121 @@
+package com.linbit.linstor.propscon;
+
+import com.linbit.linstor.dbdrivers.SatellitePropDriver;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Lookups, updates and namespace iteration on a {@link PropsContainer} filled with keys shaped like the ones
+ * LINSTOR stores on its objects (DrbdOptions/..., StorDriver/..., Aux/...)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropsContainerBenchmark
+{
+    private static final String[] NAMESPACES = {
+        "DrbdOptions/Net",
+        "DrbdOptions/Disk",
+        "DrbdOptions/Resource",
+        "DrbdOptions/PeerDevice",
+        "StorDriver",
+        "Aux"
+    };
+
+    @Param({"16", "256"})
+    public int propCount;
+
+    private TransactionMgr transMgr;
+    private PropsContainer props;
+    private String[] keys;
+    private int keyIdx;
+    private int valueCounter;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        transMgr = new SatelliteTransactionMgr();
+        PropsContainerFactory factory = new PropsContainerFactory(new SatellitePropDriver(), () -> transMgr);
+        props = factory.getInstance("/benchmark");
+
+        List<String> keyList = new ArrayList<>(propCount);
+        for (int idx = 0; idx < propCount; ++idx)
+        {
+            String key = NAMESPACES[idx % NAMESPACES.length] + "/option-" + idx;
+            props.setProp(key, "value-" + idx);
+            keyList.add(key);
+        }
+        transMgr.commit();
+        keys = keyList.toArray(new String[0]);
+    }
+
+    private String nextKey()
+    {
+        keyIdx = (keyIdx + 1) % keys.length;
+        return keys[keyIdx];
+    }
+
+    @Benchmark
+    public String getProp() throws Exception
+    {
+        return props.getProp(nextKey());
+    }
+
+    @Benchmark
+    public String getPropInNamespace() throws Exception
+    {
+        String key = nextKey();
+        int separatorIdx = key.lastIndexOf('/');
+        return props.getProp(key.substring(separatorIdx + 1), key.substring(0, separatorIdx));
+    }
+
+    @Benchmark
+    public String setPropAndCommit() throws Exception
+    {
+        String oldValue = props.setProp(nextKey(), "value-" + (valueCounter++ & 0xFF));
+        transMgr.commit();
+        return oldValue;
+    }
+
+    @Benchmark
+    public void iterateNamespace(Blackhole blackhole)
+    {
+        Props namespace = props.getNamespace(NAMESPACES[keyIdx++ % NAMESPACES.length]).get();
+        for (Map.Entry<String, String> entry : namespace.map().entrySet())
+        {
+            blackhole.consume(entry.getValue());
+        }
+    }
+
+    @Benchmark
+    public void iterateAll(Blackhole blackhole)
+    {
+        Iterator<Map.Entry<String, String>> iterator = props.iterator();
+        while (iterator.hasNext())
+        {
+            blackhole.consume(iterator.next());
+        }
+    }
+}
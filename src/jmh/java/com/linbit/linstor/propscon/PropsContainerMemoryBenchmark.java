@@ -0,0 +1,232 @@
+package com.linbit.linstor.propscon;
+
+import com.linbit.linstor.dbdrivers.SatellitePropDriver;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import javax.inject.Provider;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Retained heap of many {@link PropsContainer}s filled with props shaped like the ones of a LINSTOR resource.
+ *
+ * The time of a run is not the interesting part, the result is the secondary metric <code>bytesPerContainer</code>.
+ * <code>treeMapBaseline</code> stores the same props in {@link LegacyPropsContainer}s, a copy of the fields of the
+ * {@link PropsContainer} before it switched to {@link CompactSortedMap}s: one container object per namespace, linked to
+ * its parent and root, with {@link TreeMap}s for the props and sub-containers, non-interned keys and the (committed,
+ * therefore empty) cached prop map of the root container.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PropsContainerMemoryBenchmark
+{
+    private static final String[][] PROPS = {
+        {"DrbdOptions/Net/max-buffers", "10000"},
+        {"DrbdOptions/Net/protocol", "C"},
+        {"DrbdOptions/Net/allow-two-primaries", "yes"},
+        {"DrbdOptions/Disk/on-io-error", "detach"},
+        {"DrbdOptions/Disk/al-extents", "6007"},
+        {"DrbdOptions/Resource/on-no-quorum", "io-error"},
+        {"DrbdOptions/Resource/quorum", "majority"},
+        {"DrbdOptions/PeerDevice/c-max-rate", "4194304"},
+        {"DrbdOptions/auto-quorum", "io-error"},
+        {"StorPoolName", "pool_ssd"},
+        {"StorDriver/LvmVg", "vg_ssd"},
+        {"Aux/rsc-origin", "csi"},
+        {"Aux/csi-volume-annotations", "{}"},
+        {"Satellite/Device/Symlinks/1", "/dev/drbd/by-res/rsc/0"},
+    };
+
+    @State(Scope.Thread)
+    public static class Params
+    {
+        @Param({"100000"})
+        public int containerCount;
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint
+    {
+        public long bytesPerContainer;
+    }
+
+    /**
+     * Same instance fields as the {@link PropsContainer} (including the ones of its transaction object base class)
+     * had before the namespaces were stored in {@link CompactSortedMap}s
+     */
+    static final class LegacyPropsContainer
+    {
+        // fields of AbsTransactionObject
+        private final Object transMgrProvider;
+        private Object activeTransMgr = null;
+        private boolean inCommit = false;
+        private boolean inRollback = false;
+        private StackTraceElement[] dbgActivationStackstrace;
+
+        private final LegacyPropsContainer rootContainer;
+        private final LegacyPropsContainer parentContainer;
+        private final String containerKey;
+        private int itemCount;
+        private final Map<String, String> propMap;
+        private final Map<String, LegacyPropsContainer> containerMap;
+
+        // lazily created accessors, never used by the benchmark
+        private Map<String, String> mapAccessor;
+        private Set<String> keySetAccessor;
+        private Set<Map.Entry<String, String>> entrySetAccessor;
+        private Collection<String> valuesCollectionAccessor;
+
+        private final Object dbDriver;
+        private final Map<String, String> cachedPropMap;
+        private String instanceName;
+
+        LegacyPropsContainer(
+            String key,
+            LegacyPropsContainer parent,
+            Object dbDriverRef,
+            Object transMgrProviderRef
+        )
+        {
+            transMgrProvider = transMgrProviderRef;
+            dbDriver = dbDriverRef;
+            if (parent == null)
+            {
+                containerKey = "/";
+                rootContainer = this;
+                parentContainer = null;
+                cachedPropMap = new HashMap<>();
+            }
+            else
+            {
+                containerKey = key;
+                rootContainer = parent.rootContainer;
+                parentContainer = parent;
+                cachedPropMap = null;
+            }
+            propMap = new TreeMap<>();
+            containerMap = new TreeMap<>();
+        }
+
+        void setProp(String key, String value)
+        {
+            LegacyPropsContainer con = this;
+            StringTokenizer tokens = new StringTokenizer(key, "/");
+            String actualKey = tokens.nextToken();
+            while (tokens.hasMoreTokens())
+            {
+                LegacyPropsContainer subCon = con.containerMap.get(actualKey);
+                if (subCon == null)
+                {
+                    subCon = new LegacyPropsContainer(actualKey, con, dbDriver, transMgrProvider);
+                    con.containerMap.put(actualKey, subCon);
+                }
+                con = subCon;
+                actualKey = tokens.nextToken();
+            }
+            if (con.propMap.put(actualKey, value) == null)
+            {
+                for (LegacyPropsContainer sizeCon = con; sizeCon != null; sizeCon = sizeCon.parentContainer)
+                {
+                    ++sizeCon.itemCount;
+                }
+            }
+            // the old value was cached until the commit cleared the map again
+            rootContainer.cachedPropMap.putIfAbsent(key, value);
+        }
+
+        void commit()
+        {
+            cachedPropMap.clear();
+        }
+    }
+
+    private TransactionMgr transMgr;
+    private PropsContainerFactory factory;
+
+    @Setup
+    public void setUp()
+    {
+        transMgr = new SatelliteTransactionMgr();
+        factory = new PropsContainerFactory(new SatellitePropDriver(), () -> transMgr);
+    }
+
+    @Benchmark
+    public List<PropsContainer> propsContainer(Params params, Footprint footprint) throws Exception
+    {
+        long usedBefore = usedHeap();
+        List<PropsContainer> containers = new ArrayList<>(params.containerCount);
+        for (int idx = 0; idx < params.containerCount; ++idx)
+        {
+            PropsContainer props = factory.getInstance("/resources/node" + idx + "/rsc" + idx);
+            for (String[] prop : PROPS)
+            {
+                // copy the keys, as the ones received from the database or a client are not shared either
+                props.setProp(new String(prop[0]), prop[1] + idx);
+            }
+            transMgr.commit();
+            containers.add(props);
+        }
+        footprint.bytesPerContainer = (usedHeap() - usedBefore) / params.containerCount;
+        return containers;
+    }
+
+    @Benchmark
+    public List<LegacyPropsContainer> treeMapBaseline(Params params, Footprint footprint)
+    {
+        Object dbDriver = new SatellitePropDriver();
+        Object transMgrProvider = (Provider<TransactionMgr>) () -> transMgr;
+        long usedBefore = usedHeap();
+        List<LegacyPropsContainer> containers = new ArrayList<>(params.containerCount);
+        for (int idx = 0; idx < params.containerCount; ++idx)
+        {
+            LegacyPropsContainer props = new LegacyPropsContainer(null, null, dbDriver, transMgrProvider);
+            props.instanceName = "/resources/node" + idx + "/rsc" + idx;
+            for (String[] prop : PROPS)
+            {
+                props.setProp(new String(prop[0]), prop[1] + idx);
+            }
+            props.commit();
+            containers.add(props);
+        }
+        footprint.bytesPerContainer = (usedHeap() - usedBefore) / params.containerCount;
+        return containers;
+    }
+
+    private static long usedHeap()
+    {
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        for (int idx = 0; idx < 3; ++idx)
+        {
+            System.gc();
+        }
+        return memoryBean.getHeapMemoryUsage().getUsed();
+    }
+}
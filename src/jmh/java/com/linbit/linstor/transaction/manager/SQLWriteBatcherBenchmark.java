@@ -0,0 +1,169 @@
+package com.linbit.linstor.transaction.manager;
+
+import com.linbit.linstor.dbdrivers.DatabaseException;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One transaction that creates, updates the flags of and deletes <code>volumeCount</code> rows of a table shaped like
+ * LINSTOR's volume table, once with one execution per statement (as before) and once through the
+ * {@link SQLWriteBatcher}.
+ *
+ * Runs against an in-memory H2 database by default. Other databases can be used with JMH parameters, i.e.
+ * <pre>
+ * ./gradlew jmh -Pjmh.includes=SQLWriteBatcher \
+ *     -Pjmh.args="-p jdbcUrl=jdbc:postgresql://localhost/linstor_bench -p dbUser=linstor -p dbPassword=linstor"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SQLWriteBatcherBenchmark
+{
+    private static final String TABLE = "BENCH_VOLUMES";
+    private static final String INSERT = "INSERT INTO " + TABLE +
+        " (NODE_NAME, RESOURCE_NAME, VLM_NR, VLM_FLAGS) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_FLAGS = "UPDATE " + TABLE +
+        " SET VLM_FLAGS = ? WHERE NODE_NAME = ? AND RESOURCE_NAME = ? AND VLM_NR = ?";
+    private static final String DELETE = "DELETE FROM " + TABLE +
+        " WHERE NODE_NAME = ? AND RESOURCE_NAME = ? AND VLM_NR = ?";
+
+    @Param({"jdbc:h2:mem:batchbench;DB_CLOSE_DELAY=-1"})
+    public String jdbcUrl;
+
+    @Param({"linstor"})
+    public String dbUser;
+
+    @Param({"linstor"})
+    public String dbPassword;
+
+    @Param({"10", "1000"})
+    public int volumeCount;
+
+    private Connection dbCon;
+
+    @Setup
+    public void setUp() throws SQLException
+    {
+        dbCon = DriverManager.getConnection(jdbcUrl, dbUser, dbPassword);
+        try (Statement stmt = dbCon.createStatement())
+        {
+            stmt.execute("DROP TABLE IF EXISTS " + TABLE);
+            stmt.execute(
+                "CREATE TABLE " + TABLE + " (" +
+                    "NODE_NAME VARCHAR(255) NOT NULL, " +
+                    "RESOURCE_NAME VARCHAR(48) NOT NULL, " +
+                    "VLM_NR INT NOT NULL, " +
+                    "VLM_FLAGS BIGINT NOT NULL, " +
+                    "PRIMARY KEY (NODE_NAME, RESOURCE_NAME, VLM_NR))"
+            );
+        }
+        dbCon.setAutoCommit(false);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException
+    {
+        try (Statement stmt = dbCon.createStatement())
+        {
+            stmt.execute("DROP TABLE " + TABLE);
+        }
+        dbCon.commit();
+        dbCon.close();
+    }
+
+    @Benchmark
+    public void executeEach() throws SQLException
+    {
+        for (int vlmNr = 0; vlmNr < volumeCount; ++vlmNr)
+        {
+            try (PreparedStatement stmt = dbCon.prepareStatement(INSERT))
+            {
+                setKey(stmt, 1, vlmNr);
+                stmt.setLong(4, 0);
+                stmt.executeUpdate();
+            }
+        }
+        for (int vlmNr = 0; vlmNr < volumeCount; ++vlmNr)
+        {
+            try (PreparedStatement stmt = dbCon.prepareStatement(UPDATE_FLAGS))
+            {
+                stmt.setLong(1, 1);
+                setKey(stmt, 2, vlmNr);
+                stmt.executeUpdate();
+            }
+        }
+        for (int vlmNr = 0; vlmNr < volumeCount; ++vlmNr)
+        {
+            try (PreparedStatement stmt = dbCon.prepareStatement(DELETE))
+            {
+                setKey(stmt, 1, vlmNr);
+                stmt.executeUpdate();
+            }
+        }
+        dbCon.commit();
+    }
+
+    @Benchmark
+    public void writeBatcher() throws SQLException, DatabaseException
+    {
+        SQLWriteBatcher writeBatcher = new SQLWriteBatcher(dbCon);
+        try
+        {
+            for (int vlmNr = 0; vlmNr < volumeCount; ++vlmNr)
+            {
+                PreparedStatement stmt = writeBatcher.prepare(INSERT);
+                setKey(stmt, 1, vlmNr);
+                stmt.setLong(4, 0);
+                writeBatcher.addBatch(stmt);
+            }
+            for (int vlmNr = 0; vlmNr < volumeCount; ++vlmNr)
+            {
+                PreparedStatement stmt = writeBatcher.prepare(UPDATE_FLAGS);
+                stmt.setLong(1, 1);
+                setKey(stmt, 2, vlmNr);
+                writeBatcher.addBatch(stmt);
+            }
+            for (int vlmNr = 0; vlmNr < volumeCount; ++vlmNr)
+            {
+                PreparedStatement stmt = writeBatcher.prepare(DELETE);
+                setKey(stmt, 1, vlmNr);
+                writeBatcher.addBatch(stmt);
+            }
+            writeBatcher.flush();
+            dbCon.commit();
+        }
+        finally
+        {
+            writeBatcher.close();
+        }
+    }
+
+    private static void setKey(PreparedStatement stmt, int startIdx, int vlmNr) throws SQLException
+    {
+        stmt.setString(startIdx, "NODE-" + (vlmNr % 16));
+        stmt.setString(startIdx + 1, "RSC-" + (vlmNr / 16));
+        stmt.setInt(startIdx + 2, vlmNr);
+    }
+}
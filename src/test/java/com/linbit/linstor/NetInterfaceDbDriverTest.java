@@ -19,6 +19,7 @@ import com.linbit.linstor.core.types.TcpPortNumber;
 import com.linbit.linstor.dbdrivers.DatabaseException;
 import com.linbit.linstor.dbdrivers.interfaces.updater.SingleColumnDatabaseDriver;
 import com.linbit.linstor.security.GenericDbBase;
+import com.linbit.linstor.transaction.TransactionException;
 
 import javax.inject.Inject;
 
@@ -129,6 +130,8 @@ public class NetInterfaceDbDriverTest extends GenericDbBase
         try
         {
             dbDriver.create(niData);
+            // the inserts are batched, the duplicate is detected once the queued writes are executed
+            transMgrProvider.get().flushWrites();
             fail("driver persisted same object twice - exception expected");
         }
         catch (DatabaseException exc)
@@ -137,6 +140,39 @@ public class NetInterfaceDbDriverTest extends GenericDbBase
         }
     }
 
+    @Test
+    public void testPersistDuplicateReportedByNextDriverAccess() throws Exception
+    {
+        dbDriver.create(niData);
+        dbDriver.create(niData);
+        try
+        {
+            // the props driver uses the connection directly and therefore executes the queued writes first
+            node.getProps(SYS_CTX).setProp("key", "value");
+            fail("duplicate net interface was not reported - exception expected");
+        }
+        catch (DatabaseException exc)
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void testPersistDuplicateReportedByCommit() throws Exception
+    {
+        dbDriver.create(niData);
+        dbDriver.create(niData);
+        try
+        {
+            commit();
+            fail("duplicate net interface was committed - exception expected");
+        }
+        catch (TransactionException exc)
+        {
+            assertTrue(exc.getCause() instanceof DatabaseException);
+        }
+    }
+
     @Test
     public void testPersistGetInstance() throws Exception
     {
@@ -2,12 +2,16 @@ package com.linbit.linstor.api;
 
 import com.linbit.ImplementationError;
 import com.linbit.InvalidNameException;
+import com.linbit.linstor.InternalApiConsts;
 import com.linbit.linstor.api.interfaces.AutoSelectFilterApi;
+import com.linbit.linstor.api.pojo.AutoSelectFilterPojo;
+import com.linbit.linstor.api.pojo.RscGrpSpawnPojo;
 import com.linbit.linstor.api.utils.AbsApiCallTester;
 import com.linbit.linstor.core.ApiTestBase;
 import com.linbit.linstor.core.LinStor;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlRscAutoPlaceApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.CtrlRscCrtApiHelper;
+import com.linbit.linstor.core.apicallhandler.controller.CtrlRscGrpApiCallHandler;
 import com.linbit.linstor.core.apicallhandler.controller.FreeCapacityFetcher;
 import com.linbit.linstor.core.identifier.FreeSpaceMgrName;
 import com.linbit.linstor.core.identifier.NodeName;
@@ -94,6 +98,7 @@ public class RscAutoPlaceApiTest extends ApiTestBase
 
     @Inject private CtrlRscAutoPlaceApiCallHandler rscAutoPlaceApiCallHandler;
     @Inject private CtrlRscCrtApiHelper ctrlRscCrtApiHelper;
+    @Inject private CtrlRscGrpApiCallHandler rscGrpApiCallHandler;
 
     private static final StorPoolName DFLT_DISKLESS_STOR_POOL_NAME;
 
@@ -1843,6 +1848,55 @@ public class RscAutoPlaceApiTest extends ApiTestBase
         assertEquals("stlt5", deployedRscs.get(1).getNode().getName().displayValue);
     }
 
+    @Test
+    public void bulkSpawnOnSameNodesTest() throws Exception
+    {
+        /*
+         * Both spawned resource definitions are placed on the same two satellites. Their resources are deployed
+         * together, i.e. every satellite only receives a single update for both resource definitions.
+         */
+        createBulkSpawnSatellites();
+
+        executeSpawnBulk(bulkSpawn("BulkRsc1", 2), bulkSpawn("BulkRsc2", 2));
+
+        expectDeployed("pool", "BulkRsc1", "stlt1", "stlt2");
+        expectDeployed("pool", "BulkRsc2", "stlt1", "stlt2");
+        for (String stltNameStr : Arrays.asList("stlt1", "stlt2"))
+        {
+            Peer stltPeer = nodesMap.get(new NodeName(stltNameStr)).getPeer(SYS_CTX);
+            Mockito.verify(stltPeer, Mockito.times(1)).apiCall(Mockito.eq(InternalApiConsts.API_CHANGED_RSC), any());
+        }
+    }
+
+    @Test
+    public void bulkSpawnPartialFailureTest() throws Exception
+    {
+        /*
+         * The second resource definition cannot be placed on three of the two satellites. The whole bulk spawn fails,
+         * neither resource definition is created and no satellite is contacted.
+         */
+        createBulkSpawnSatellites();
+
+        ApiCallRc rc = executeSpawnBulk(bulkSpawn("BulkRsc1", 2), bulkSpawn("BulkRsc2", 3));
+
+        assertTrue(
+            rc.getEntries().stream().anyMatch(
+                entry -> (entry.getReturnCode() & ApiConsts.FAIL_NOT_ENOUGH_NODES) == ApiConsts.FAIL_NOT_ENOUGH_NODES
+            )
+        );
+        assertNull(rscDfnMap.get(new ResourceName("BulkRsc1")));
+        assertNull(rscDfnMap.get(new ResourceName("BulkRsc2")));
+        for (String stltNameStr : Arrays.asList("stlt1", "stlt2"))
+        {
+            Node stlt = nodesMap.get(new NodeName(stltNameStr));
+            assertEquals(
+                Collections.singletonList(TEST_RSC_NAME).size() - 1,
+                streamResources(stlt).count()
+            );
+            Mockito.verify(stlt.getPeer(SYS_CTX), Mockito.never()).apiCall(anyString(), any());
+        }
+    }
+
     private void expectDeployed(
         String storPoolNameStr,
         String rscNameStr,
@@ -1889,6 +1943,58 @@ public class RscAutoPlaceApiTest extends ApiTestBase
     }
 
 
+    private void createBulkSpawnSatellites() throws Exception
+    {
+        new RscAutoPlaceApiCall(TEST_RSC_NAME, 2, true)
+            .stltBuilder("stlt1")
+                .addStorPool("pool", 100 * GB)
+                .build()
+            .stltBuilder("stlt2")
+                .addStorPool("pool", 100 * GB)
+                .build();
+
+        // every spawned resource definition needs its own TCP port and minor number
+        AtomicInteger tcpPorts = new AtomicInteger(TEST_TCP_PORT_NR + 100);
+        Mockito.when(tcpPortPoolMock.autoAllocate()).thenAnswer(ignored -> tcpPorts.incrementAndGet());
+        Mockito.when(minorNrPoolMock.autoAllocate()).thenAnswer(ignored -> MINOR_GEN.incrementAndGet());
+    }
+
+    private RscGrpSpawnPojo bulkSpawn(String rscNameStr, int placeCount)
+    {
+        return new RscGrpSpawnPojo(
+            rscNameStr,
+            null,
+            Collections.singletonList(1 * GB),
+            new AutoSelectFilterPojo(
+                placeCount,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                Arrays.asList(DRBD, STORAGE),
+                null,
+                null,
+                null,
+                null
+            ),
+            true,
+            false
+        );
+    }
+
+    private ApiCallRc executeSpawnBulk(RscGrpSpawnPojo... spawns)
+    {
+        ApiCallRcImpl apiCallRc = new ApiCallRcImpl();
+        rscGrpApiCallHandler.spawnBulk(dfltRscGrp.getName().displayValue, Arrays.asList(spawns))
+            .subscriberContext(subscriberContext())
+            .toStream()
+            .forEach(apiCallRc::addEntries);
+        return apiCallRc;
+    }
+
     private ResourceDefinition createRscDfn(String rscNameStr, int tcpPort)
         throws Exception
     {
@@ -0,0 +1,116 @@
+package com.linbit.linstor.api.rest.v1;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+public class RequestHelperTest
+{
+    @Test
+    public void ifNoneMatch()
+    {
+        EntityTag entityTag = new EntityTag("1a2b-5-c3d4", true);
+
+        assertFalse(RequestHelper.isNotModified(null, entityTag));
+        assertFalse(RequestHelper.isNotModified("", entityTag));
+        assertFalse(RequestHelper.isNotModified("W/\"1a2b-4-c3d4\"", entityTag));
+
+        assertTrue(RequestHelper.isNotModified("W/\"1a2b-5-c3d4\"", entityTag));
+        // weak comparison, so a strong tag with the same value also matches
+        assertTrue(RequestHelper.isNotModified("\"1a2b-5-c3d4\"", entityTag));
+        assertTrue(RequestHelper.isNotModified("W/\"1a2b-4-c3d4\", W/\"1a2b-5-c3d4\"", entityTag));
+        assertTrue(RequestHelper.isNotModified("*", entityTag));
+    }
+
+    @Test
+    public void jsonArrayResponse() throws Exception
+    {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        assertEquals("[]", write(RequestHelper.jsonArrayResponse(objectMapper, Stream.empty())));
+        assertEquals(
+            "[{\"name\":\"a\"},{\"name\":\"b\"}]",
+            write(RequestHelper.jsonArrayResponse(
+                objectMapper,
+                Stream.of("a", "b").map(name -> Collections.singletonMap("name", name))
+            ))
+        );
+        // same result as serializing the whole list at once
+        assertEquals(
+            objectMapper.writeValueAsString(Arrays.asList(1, 2, 3)),
+            write(RequestHelper.jsonArrayResponse(objectMapper, Stream.of(1, 2, 3)))
+        );
+    }
+
+    @Test
+    public void chunkedJsonArrayResponse() throws Exception
+    {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Integer> elements = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+        List<Integer> requestedCounts = new ArrayList<>();
+        RequestHelper.ChunkSource<Integer> source = (lastElement, maxCount) ->
+        {
+            requestedCounts.add(maxCount);
+            int start = lastElement == null ? 0 : lastElement + 1;
+            return elements.subList(start, Math.min(start + maxCount, elements.size()));
+        };
+
+        assertEquals(
+            objectMapper.writeValueAsString(elements),
+            write(RequestHelper.jsonArrayResponse(objectMapper, source, Function.identity(), 0, 0, 3))
+        );
+        // the last chunk is shorter than requested, which ends the list
+        assertEquals(Arrays.asList(3, 3, 3, 3), requestedCounts);
+
+        requestedCounts.clear();
+        assertEquals(
+            "[\"4\",\"5\",\"6\"]",
+            write(RequestHelper.jsonArrayResponse(objectMapper, source, String::valueOf, 3, 4, 3))
+        );
+        // never fetches more elements than required for the offset and limit
+        assertEquals(Arrays.asList(3, 3, 1), requestedCounts);
+
+        // the offset is ignored without limit
+        assertEquals(
+            objectMapper.writeValueAsString(elements),
+            write(RequestHelper.jsonArrayResponse(objectMapper, source, Function.identity(), 0, 4, 100))
+        );
+        assertEquals(
+            "[]",
+            write(RequestHelper.jsonArrayResponse(
+                objectMapper,
+                (lastElement, maxCount) -> Collections.emptyList(),
+                Function.identity(),
+                0,
+                0,
+                3
+            ))
+        );
+    }
+
+    private static String write(Response response) throws Exception
+    {
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(outputStream);
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
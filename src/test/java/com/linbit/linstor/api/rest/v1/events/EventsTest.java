@@ -0,0 +1,286 @@
+package com.linbit.linstor.api.rest.v1.events;
+
+import com.linbit.linstor.api.rest.v1.RequestHelper;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.core.identifier.VolumeNumber;
+import com.linbit.linstor.event.GenericEvent;
+import com.linbit.linstor.event.ObjectIdentifier;
+import com.linbit.linstor.event.common.ConnectionStateEvent;
+import com.linbit.linstor.event.common.ResourceState;
+import com.linbit.linstor.event.common.ResourceStateEvent;
+import com.linbit.linstor.event.common.VolumeDiskStateEvent;
+import com.linbit.linstor.logging.ErrorReporter;
+
+import javax.ws.rs.core.Response;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.glassfish.jersey.media.sse.EventOutput;
+import org.glassfish.jersey.media.sse.OutboundEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Streams the signals of the resource, volume disk and connection state events to a client, like the satellites
+ * trigger them on the controller
+ */
+public class EventsTest
+{
+    private static final NodeName NODE_1 = nodeName("node1");
+    private static final NodeName NODE_2 = nodeName("node2");
+    private static final ResourceName RSC_1 = rscName("rsc1");
+    private static final ResourceName RSC_2 = rscName("rsc2");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Scheduler writeScheduler;
+    private ErrorReporter errorReporter;
+    private ResourceStateEvent resourceStateEvent;
+    private VolumeDiskStateEvent volumeDiskStateEvent;
+    private ConnectionStateEvent connectionStateEvent;
+    private EventOutput clientOutput;
+    private List<OutboundEvent> written;
+    private Events events;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() throws Exception
+    {
+        writeScheduler = Schedulers.newSingle("EventsTest-writer");
+        errorReporter = mock(ErrorReporter.class);
+        resourceStateEvent = new ResourceStateEvent(new GenericEvent<>(Schedulers.immediate()));
+        volumeDiskStateEvent = new VolumeDiskStateEvent(new GenericEvent<>(Schedulers.immediate()));
+        connectionStateEvent = new ConnectionStateEvent(new GenericEvent<>(Schedulers.immediate()));
+
+        written = Collections.synchronizedList(new ArrayList<>());
+        clientOutput = mock(EventOutput.class);
+        doAnswer(
+            invocation ->
+            {
+                written.add(invocation.getArgument(0));
+                return null;
+            }
+        ).when(clientOutput).write(any());
+
+        RequestHelper requestHelper = mock(RequestHelper.class);
+        when(requestHelper.doInScope(any(), any(), anyBoolean())).thenAnswer(
+            invocation -> ((Callable<Response>) invocation.getArgument(1)).call()
+        );
+
+        // the resource creates its own EventOutput, the client output of this test takes its place
+        EventHandlerBridge eventHandlerBridge = new EventHandlerBridge(errorReporter, null, writeScheduler);
+        EventHandlerBridge bridgeToClient = mock(EventHandlerBridge.class);
+        doAnswer(
+            invocation ->
+            {
+                eventHandlerBridge.registerEventClient(
+                    clientOutput,
+                    invocation.getArgument(1),
+                    invocation.getArgument(2),
+                    invocation.getArgument(3),
+                    invocation.getArgument(4)
+                );
+                return null;
+            }
+        ).when(bridgeToClient).registerEventClient(any(), any(), any(), any(), any());
+
+        events = new Events(
+            requestHelper,
+            bridgeToClient,
+            resourceStateEvent,
+            volumeDiskStateEvent,
+            connectionStateEvent
+        );
+    }
+
+    @After
+    public void tearDown()
+    {
+        writeScheduler.dispose();
+    }
+
+    @Test
+    public void resourceState() throws Exception
+    {
+        // the current state is replayed to new clients
+        resourceStateEvent.get().triggerEvent(
+            ObjectIdentifier.resource(NODE_1, RSC_1),
+            new ResourceState(true, false, true, 10, true)
+        );
+        events.resourceStateEvents(null, Collections.emptyList(), Collections.singletonList("rsc1"));
+        resourceStateEvent.get().triggerEvent(
+            ObjectIdentifier.resource(NODE_2, RSC_2),
+            new ResourceState(true, true, true, 10, false)
+        );
+        resourceStateEvent.get().triggerEvent(
+            ObjectIdentifier.resource(NODE_2, RSC_1),
+            new ResourceState(false, false, false, null, null)
+        );
+        resourceStateEvent.get().closeStream(ObjectIdentifier.resource(NODE_1, RSC_1));
+
+        List<JsonNode> data = awaitEvents("resource-state", 3);
+        assertEquals(
+            "{\"node_name\":\"node1\",\"resource_name\":\"rsc1\",\"ready\":true,\"in_use\":false," +
+                "\"up_to_date\":true,\"promotion_score\":10,\"may_promote\":true}",
+            data.get(0).toString()
+        );
+        assertEquals("node2", data.get(1).get("node_name").asText());
+        assertFalse(data.get(1).get("ready").asBoolean());
+        assertFalse(data.get(1).has("promotion_score"));
+        // the state is no longer known once the stream is closed
+        assertEquals("{\"node_name\":\"node1\",\"resource_name\":\"rsc1\"}", data.get(2).toString());
+    }
+
+    @Test
+    public void volumeDiskState() throws Exception
+    {
+        events.volumeDiskStateEvents(null, Collections.singletonList("node1"), Collections.emptyList());
+        volumeDiskStateEvent.get().triggerEvent(
+            ObjectIdentifier.volume(NODE_2, RSC_1, new VolumeNumber(0)),
+            "UpToDate"
+        );
+        volumeDiskStateEvent.get().triggerEvent(
+            ObjectIdentifier.volume(NODE_1, RSC_1, new VolumeNumber(1)),
+            "Inconsistent"
+        );
+        volumeDiskStateEvent.get().triggerEvent(
+            ObjectIdentifier.volume(NODE_1, RSC_1, new VolumeNumber(1)),
+            "UpToDate"
+        );
+
+        List<JsonNode> data = awaitEvents("volume-disk-state", 2);
+        assertEquals(
+            "{\"node_name\":\"node1\",\"resource_name\":\"rsc1\",\"volume_number\":1,\"disk_state\":\"Inconsistent\"}",
+            data.get(0).toString()
+        );
+        assertEquals("UpToDate", data.get(1).get("disk_state").asText());
+    }
+
+    @Test
+    public void connectionState() throws Exception
+    {
+        // a watch for every combination of the given node and resource names
+        events.connectionStateEvents(null, Arrays.asList("node1", "node2"), Collections.singletonList("rsc1"));
+        connectionStateEvent.get().triggerEvent(ObjectIdentifier.connection(NODE_1, NODE_2, RSC_1), "Connected");
+        connectionStateEvent.get().triggerEvent(ObjectIdentifier.connection(NODE_1, NODE_2, RSC_2), "Connected");
+        connectionStateEvent.get().triggerEvent(ObjectIdentifier.connection(NODE_2, NODE_1, RSC_1), "Connecting");
+
+        List<JsonNode> data = awaitEvents("connection-state", 2);
+        assertEquals(
+            "{\"node_name\":\"node1\",\"peer_node_name\":\"node2\",\"resource_name\":\"rsc1\"," +
+                "\"connection_state\":\"Connected\"}",
+            data.get(0).toString()
+        );
+        assertEquals("node2", data.get(1).get("node_name").asText());
+        assertEquals("Connecting", data.get(1).get("connection_state").asText());
+    }
+
+    @Test
+    public void slowClientIsDisconnected() throws Exception
+    {
+        CountDownLatch firstWriteBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWrite = new CountDownLatch(1);
+        List<Thread> writingThreads = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(
+            invocation ->
+            {
+                writingThreads.add(Thread.currentThread());
+                firstWriteBlocked.countDown();
+                releaseWrite.await();
+                return null;
+            }
+        ).when(clientOutput).write(any());
+
+        events.volumeDiskStateEvents(null, Collections.emptyList(), Collections.emptyList());
+        ObjectIdentifier vlmObjId = ObjectIdentifier.volume(NODE_1, RSC_1, new VolumeNumber(0));
+        volumeDiskStateEvent.get().triggerEvent(vlmObjId, "Inconsistent");
+        assertTrue(firstWriteBlocked.await(10, TimeUnit.SECONDS));
+
+        // the signals are emitted in this thread, a blocked client must not block it
+        for (int idx = 0; idx <= EventHandlerBridge.MAX_PENDING_EVENTS + 1; ++idx)
+        {
+            volumeDiskStateEvent.get().triggerEvent(vlmObjId, "UpToDate");
+        }
+        releaseWrite.countDown();
+
+        verify(clientOutput, timeout(10_000)).close();
+        assertTrue(writingThreads.size() < EventHandlerBridge.MAX_PENDING_EVENTS);
+        assertNotEquals(Thread.currentThread(), writingThreads.get(0));
+        verify(errorReporter).logWarning(any(), any());
+    }
+
+    /**
+     * Waits until the client received the given number of events and returns their data
+     */
+    private List<JsonNode> awaitEvents(String eventName, int count) throws Exception
+    {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (written.size() < count && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(10);
+        }
+        // no other events expected either
+        Thread.sleep(100);
+        assertEquals(count, written.size());
+
+        List<JsonNode> data = new ArrayList<>();
+        for (OutboundEvent event : written)
+        {
+            assertEquals(eventName, event.getName());
+            data.add(objectMapper.readTree((String) event.getData()));
+        }
+        return data;
+    }
+
+    private static NodeName nodeName(String nodeNameStr)
+    {
+        NodeName nodeName;
+        try
+        {
+            nodeName = new NodeName(nodeNameStr);
+        }
+        catch (Exception exc)
+        {
+            throw new RuntimeException(exc);
+        }
+        return nodeName;
+    }
+
+    private static ResourceName rscName(String rscNameStr)
+    {
+        ResourceName rscName;
+        try
+        {
+            rscName = new ResourceName(rscNameStr);
+        }
+        catch (Exception exc)
+        {
+            throw new RuntimeException(exc);
+        }
+        return rscName;
+    }
+}
@@ -0,0 +1,131 @@
+package com.linbit.linstor.core.apicallhandler.controller;
+
+import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceList;
+import com.linbit.linstor.core.apis.NodeApi;
+import com.linbit.linstor.core.apis.StorPoolApi;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.satellitestate.SatelliteState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class CtrlApiSnapshotTest
+{
+    @Test
+    public void propFilters()
+    {
+        Map<String, String> props = new HashMap<>();
+        props.put("Aux/site", "A");
+        props.put("Aux/rack", "1");
+
+        assertTrue(CtrlApiSnapshot.matchesPropFilters(props, Collections.emptyList()));
+        assertTrue(CtrlApiSnapshot.matchesPropFilters(props, Arrays.asList("Aux/site")));
+        assertTrue(CtrlApiSnapshot.matchesPropFilters(props, Arrays.asList("Aux/site=A", "Aux/rack=1")));
+        assertFalse(CtrlApiSnapshot.matchesPropFilters(props, Arrays.asList("Aux/site=B")));
+        assertFalse(CtrlApiSnapshot.matchesPropFilters(props, Arrays.asList("Aux/site=A", "Aux/row")));
+        // keys are normalized like Props.getProp does
+        assertTrue(CtrlApiSnapshot.matchesPropFilters(props, Arrays.asList("/Aux/site=A")));
+        assertTrue(CtrlApiSnapshot.matchesPropFilters(props, Arrays.asList("Aux//rack=1")));
+    }
+
+    @Test
+    public void filtersDoNotModifySnapshot()
+    {
+        List<NodeApi> nodes = new ArrayList<>();
+        nodes.add(mockNode("alpha", "A"));
+        nodes.add(mockNode("bravo", "B"));
+        List<StorPoolApi> storPools = new ArrayList<>();
+        storPools.add(mockStorPool("alpha", "pool1"));
+        storPools.add(mockStorPool("bravo", "pool1"));
+        storPools.add(mockStorPool("bravo", "pool2"));
+
+        CtrlApiSnapshot snapshot = new CtrlApiSnapshot(
+            42L,
+            () -> new ArrayList<>(nodes),
+            Collections::emptyList,
+            Collections::emptyList,
+            Collections::emptyMap,
+            () -> storPools
+        );
+        assertEquals(2, snapshot.listNodes(Collections.emptyList(), Collections.emptyList()).size());
+        // later changes of the source lists are not visible in the snapshot once it was accessed
+        nodes.clear();
+
+        assertEquals(42L, snapshot.getGeneration());
+        assertEquals(2, snapshot.listNodes(Collections.emptyList(), Collections.emptyList()).size());
+        assertEquals(
+            "bravo",
+            snapshot.listNodes(Collections.emptyList(), Arrays.asList("Aux/site=B")).get(0).getName()
+        );
+        // names are compared case insensitive, like the names of the core objects
+        assertEquals(1, snapshot.listNodes(Arrays.asList("ALPHA"), Collections.emptyList()).size());
+
+        assertEquals(2, snapshot.listStorPools(Arrays.asList("bravo"), Collections.emptyList(),
+            Collections.emptyList()).size());
+        assertEquals(2, snapshot.listStorPools(Collections.emptyList(), Arrays.asList("pool1"),
+            Collections.emptyList()).size());
+        assertEquals(3, snapshot.listStorPools(Collections.emptyList(), Collections.emptyList(),
+            Collections.emptyList()).size());
+    }
+
+    @Test
+    public void satelliteStatesFilteredByNode() throws Exception
+    {
+        Map<NodeName, SatelliteState> satelliteStates = new HashMap<>();
+        satelliteStates.put(new NodeName("alpha"), new SatelliteState());
+        satelliteStates.put(new NodeName("bravo"), new SatelliteState());
+
+        CtrlApiSnapshot snapshot = new CtrlApiSnapshot(
+            1L,
+            Collections::emptyList,
+            Collections::emptyList,
+            Collections::emptyList,
+            () -> satelliteStates,
+            Collections::emptyList
+        );
+
+        ResourceList rscList = snapshot.listVlms(
+            Arrays.asList("bravo"),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.emptyList()
+        );
+        assertEquals(Collections.singleton(new NodeName("bravo")), rscList.getSatelliteStates().keySet());
+
+        rscList = snapshot.listVlms(
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.emptyList()
+        );
+        assertEquals(2, rscList.getSatelliteStates().size());
+    }
+
+    private static NodeApi mockNode(String name, String site)
+    {
+        NodeApi nodeApi = Mockito.mock(NodeApi.class);
+        Mockito.when(nodeApi.getName()).thenReturn(name);
+        Mockito.when(nodeApi.getProps()).thenReturn(Collections.singletonMap("Aux/site", site));
+        return nodeApi;
+    }
+
+    private static StorPoolApi mockStorPool(String nodeName, String storPoolName)
+    {
+        StorPoolApi storPoolApi = Mockito.mock(StorPoolApi.class);
+        Mockito.when(storPoolApi.getNodeName()).thenReturn(nodeName);
+        Mockito.when(storPoolApi.getStorPoolName()).thenReturn(storPoolName);
+        Mockito.when(storPoolApi.getStorPoolProps()).thenReturn(Collections.emptyMap());
+        return storPoolApi;
+    }
+}
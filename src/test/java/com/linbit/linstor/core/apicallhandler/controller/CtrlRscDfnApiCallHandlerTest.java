@@ -0,0 +1,141 @@
+package com.linbit.linstor.core.apicallhandler.controller;
+
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.locks.LockGuard;
+import com.linbit.locks.LockGuardFactory;
+import com.linbit.locks.LockStatistics;
+import com.linbit.locks.StripedReadWriteLock;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.linbit.locks.LockGuardFactory.LockObj.NODES_MAP;
+import static com.linbit.locks.LockGuardFactory.LockObj.RSC_DFN_MAP;
+import static com.linbit.locks.LockGuardFactory.LockObj.STOR_POOL_DFN_MAP;
+import static com.linbit.locks.LockGuardFactory.LockType.WRITE;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Modifying only the properties of a resource definition reads the nodes and only locks the modified resource
+ * definition for writing. These tests check that this still excludes every change of a node.
+ */
+public class CtrlRscDfnApiCallHandlerTest
+{
+    private StripedReadWriteLock nodesMapLock;
+    private LockGuardFactory lockGuardFactory;
+    private ExecutorService otherThreads;
+
+    @Before
+    public void setUp()
+    {
+        nodesMapLock = new StripedReadWriteLock(true);
+        lockGuardFactory = new LockGuardFactory(
+            new ReentrantReadWriteLock(true),
+            nodesMapLock,
+            new StripedReadWriteLock(true),
+            new ReentrantReadWriteLock(true),
+            new ReentrantReadWriteLock(true),
+            new ReentrantReadWriteLock(true),
+            new ReentrantReadWriteLock(true),
+            new LockStatistics()
+        );
+        // a lock guard that could not be acquired stays blocked until the test releases its locks
+        otherThreads = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown()
+    {
+        otherThreads.shutdownNow();
+    }
+
+    @Test
+    public void propsOnlyModifyExcludesNodeChanges() throws Exception
+    {
+        try (LockGuard lockGuard = propsLockGuard("rsc1"))
+        {
+            lockGuard.lock();
+
+            // every node change takes the whole nodes map for writing
+            assertFalse(tryLockInOtherThread(nodesMapLock.writeLock()));
+            // modifying any resource definition in the conventional way is excluded as well
+            assertFalse(tryLockInOtherThread(lockGuardFactory.buildDeferred(WRITE, NODES_MAP, RSC_DFN_MAP)));
+            // reading the nodes is still possible
+            assertTrue(tryLockInOtherThread(nodesMapLock.readLock()));
+        }
+    }
+
+    @Test
+    public void propsOnlyModifyOfUnrelatedRscDfnsRunsConcurrently() throws Exception
+    {
+        try (LockGuard lockGuard = propsLockGuard("rsc1"))
+        {
+            lockGuard.lock();
+
+            assertTrue(tryLockInOtherThread(propsLockGuard("rsc2")));
+            assertFalse(tryLockInOtherThread(propsLockGuard("rsc1")));
+            assertFalse(
+                tryLockInOtherThread(lockGuardFactory.buildDeferred(WRITE, NODES_MAP, RSC_DFN_MAP, STOR_POOL_DFN_MAP))
+            );
+        }
+    }
+
+    private LockGuard propsLockGuard(String rscNameStr) throws Exception
+    {
+        return CtrlRscDfnApiCallHandler.createModifyPropsLockGuard(lockGuardFactory, new ResourceName(rscNameStr));
+    }
+
+    /**
+     * Tries to acquire the given lock from a different thread and releases it again if successful
+     */
+    private boolean tryLockInOtherThread(Lock otherLock) throws Exception
+    {
+        return otherThreads.submit(
+            () ->
+            {
+                boolean locked = otherLock.tryLock();
+                if (locked)
+                {
+                    otherLock.unlock();
+                }
+                return locked;
+            }
+        ).get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Acquires the given lock guard from a different thread, waiting at most one second, and releases it again if
+     * successful
+     */
+    private boolean tryLockInOtherThread(LockGuard otherLockGuard) throws Exception
+    {
+        boolean locked;
+        Future<?> future = otherThreads.submit(
+            () ->
+            {
+                otherLockGuard.lock();
+                otherLockGuard.unlock();
+            }
+        );
+        try
+        {
+            future.get(1, TimeUnit.SECONDS);
+            locked = true;
+        }
+        catch (TimeoutException ignored)
+        {
+            locked = false;
+        }
+        return locked;
+    }
+}
@@ -0,0 +1,69 @@
+package com.linbit.linstor.core.apicallhandler.controller.helpers;
+
+import com.linbit.linstor.LinstorParsingUtils;
+import com.linbit.linstor.core.apicallhandler.response.ApiRcException;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.ResourceName;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ListCursorTest
+{
+    @Test
+    public void noCursor()
+    {
+        assertNull(parse(null));
+        assertNull(parse(""));
+    }
+
+    @Test(expected = ApiRcException.class)
+    public void invalidCursor()
+    {
+        parse("rsc1");
+    }
+
+    @Test
+    public void position()
+    {
+        ListCursor<ResourceName, NodeName> cursor = parse("rsc2:node2");
+
+        assertTrue(cursor.isBefore(rscName("rsc1")));
+        assertFalse(cursor.isBefore(rscName("rsc2")));
+        assertFalse(cursor.isBefore(rscName("rsc3")));
+
+        assertTrue(cursor.isAtOrBefore(rscName("rsc1"), nodeName("node3")));
+        assertTrue(cursor.isAtOrBefore(rscName("rsc2"), nodeName("node1")));
+        // names are compared case insensitive
+        assertTrue(cursor.isAtOrBefore(rscName("RSC2"), nodeName("NODE2")));
+        assertFalse(cursor.isAtOrBefore(rscName("rsc2"), nodeName("node3")));
+        assertFalse(cursor.isAtOrBefore(rscName("rsc3"), nodeName("node1")));
+    }
+
+    @Test
+    public void format()
+    {
+        String cursorStr = ListCursor.format(rscName("Rsc1"), nodeName("Node1"));
+        assertEquals("Rsc1:Node1", cursorStr);
+        assertTrue(parse(cursorStr).isAtOrBefore(rscName("rsc1"), nodeName("node1")));
+    }
+
+    private static ListCursor<ResourceName, NodeName> parse(String cursorStr)
+    {
+        return ListCursor.parse(cursorStr, LinstorParsingUtils::asRscName, LinstorParsingUtils::asNodeName);
+    }
+
+    private static ResourceName rscName(String name)
+    {
+        return LinstorParsingUtils.asRscName(name);
+    }
+
+    private static NodeName nodeName(String name)
+    {
+        return LinstorParsingUtils.asNodeName(name);
+    }
+}
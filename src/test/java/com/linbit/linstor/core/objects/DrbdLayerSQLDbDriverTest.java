@@ -0,0 +1,267 @@
+package com.linbit.linstor.core.objects;
+
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.core.identifier.VolumeNumber;
+import com.linbit.linstor.dbdrivers.GeneratedDatabaseTables;
+import com.linbit.linstor.dbdrivers.sql.SQLEngine;
+import com.linbit.linstor.dbdrivers.sql.SQLRow;
+import com.linbit.linstor.security.GenericDbBase;
+import com.linbit.linstor.security.ObjectProtection;
+import com.linbit.linstor.storage.data.adapter.drbd.DrbdRscDfnData;
+import com.linbit.linstor.storage.data.adapter.drbd.DrbdVlmDfnData;
+import com.linbit.linstor.storage.interfaces.layers.drbd.DrbdRscDfnObject.TransportType;
+import com.linbit.linstor.storage.kinds.DeviceLayerKind;
+
+import javax.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The DRBD layer driver joins the prefetched resource and volume definition rows itself. These tests compare the
+ * joined rows and the loaded layer data with the result of the SQL join.
+ */
+public class DrbdLayerSQLDbDriverTest extends GenericDbBase
+{
+    private static final List<DeviceLayerKind> DRBD_STACK = Arrays.asList(
+        DeviceLayerKind.DRBD,
+        DeviceLayerKind.STORAGE
+    );
+
+    @Inject private DrbdLayerSQLDbDriver driver;
+    @Inject private ResourceDefinitionDbDriver rscDfnDriver;
+    @Inject private VolumeDefinitionDbDriver vlmDfnDriver;
+    @Inject private SQLEngine sqlEngine;
+
+    private ResourceGroup dfltRscGrp;
+    private List<ResourceDefinition> rscDfns;
+
+    @SuppressWarnings("checkstyle:magicnumber")
+    @Before
+    public void setUp() throws Exception
+    {
+        super.setUpAndEnterScope();
+        dfltRscGrp = createDefaultResourceGroup(SYS_CTX);
+        rscDfns = new ArrayList<>();
+
+        ResourceDefinition rscDfnWithVlms = createRscDfn("RscWithVolumes", 9001, (short) 7);
+        createVlmDfn(rscDfnWithVlms, 0, 1000);
+        createVlmDfn(rscDfnWithVlms, 1, 1001);
+        createRscDfn("RscWithoutVolumes", 9002, (short) 3);
+        commit();
+    }
+
+    @After
+    public void clearPrefetched()
+    {
+        sqlEngine.clearPrefetched();
+    }
+
+    @Test
+    public void testPrefetchedJoinMatchesQuery() throws Exception
+    {
+        List<SQLRow> queriedRows = driver.selectAllRscDfnAndVlmDfn();
+        prefetchDrbdDfnTables();
+        List<SQLRow> joinedRows = driver.selectAllRscDfnAndVlmDfn();
+
+        // one row per volume definition, and one for the resource definition without volumes
+        assertEquals(3, queriedRows.size());
+        assertEquals(toComparable(queriedRows), toComparable(joinedRows));
+    }
+
+    @Test
+    public void testPrefetchedJoinKeepsRscDfnWithoutVolumes() throws Exception
+    {
+        prefetchDrbdDfnTables();
+
+        SQLRow rscDfnRow = null;
+        for (SQLRow row : driver.selectAllRscDfnAndVlmDfn())
+        {
+            if ("RSCWITHOUTVOLUMES".equals(row.getString("RD_RESOURCE_NAME")))
+            {
+                rscDfnRow = row;
+            }
+        }
+        assertNotNull(rscDfnRow);
+        assertEquals(Integer.valueOf(9002), rscDfnRow.getInt("RD_TCP_PORT"));
+        assertNull(rscDfnRow.getInt("VD_VLM_NR"));
+        assertNull(rscDfnRow.getInt("VD_VLM_MINOR_NR"));
+    }
+
+    @Test
+    public void testLoadLayerDataFromPrefetchedRows() throws Exception
+    {
+        Map<ResourceName, ResourceDefinition> queriedRscDfns = copyRscDfnsWithoutLayerData();
+        driver.loadLayerData(queriedRscDfns, Collections.emptyMap());
+        driver.clearLoadCache();
+
+        prefetchDrbdDfnTables();
+        Map<ResourceName, ResourceDefinition> prefetchedRscDfns = copyRscDfnsWithoutLayerData();
+        driver.loadLayerData(prefetchedRscDfns, Collections.emptyMap());
+        driver.clearLoadCache();
+
+        assertEquals(describeLayerData(queriedRscDfns), describeLayerData(prefetchedRscDfns));
+        assertEquals(
+            Arrays.asList(
+                "RSCWITHOUTVOLUMES port 9002 slots 3 IP secret",
+                "RSCWITHVOLUMES port 9001 slots 7 IP secret",
+                "RSCWITHVOLUMES vlm 0 minor 1000",
+                "RSCWITHVOLUMES vlm 1 minor 1001"
+            ),
+            describeLayerData(prefetchedRscDfns)
+        );
+    }
+
+    private ResourceDefinition createRscDfn(String rscNameStr, int port, short peerSlots) throws Exception
+    {
+        ResourceDefinition rscDfn = resourceDefinitionFactory.create(
+            SYS_CTX,
+            new ResourceName(rscNameStr),
+            null,
+            port,
+            null,
+            "secret",
+            TransportType.IP,
+            DRBD_STACK,
+            peerSlots,
+            dfltRscGrp
+        );
+        rscDfns.add(rscDfn);
+        return rscDfn;
+    }
+
+    @SuppressWarnings("checkstyle:magicnumber")
+    private void createVlmDfn(ResourceDefinition rscDfn, int vlmNr, int minor) throws Exception
+    {
+        volumeDefinitionFactory.create(
+            SYS_CTX,
+            rscDfn,
+            new VolumeNumber(vlmNr),
+            minor,
+            1_000_000L,
+            new VolumeDefinition.Flags[0]
+        );
+    }
+
+    private void prefetchDrbdDfnTables()
+    {
+        sqlEngine.prefetch(
+            Arrays.asList(
+                GeneratedDatabaseTables.LAYER_DRBD_RESOURCE_DEFINITIONS,
+                GeneratedDatabaseTables.LAYER_DRBD_VOLUME_DEFINITIONS
+            )
+        );
+    }
+
+    /**
+     * Creates in-memory copies of the persisted resource and volume definitions without any layer data, as they
+     * are before the layer data is loaded
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    private Map<ResourceName, ResourceDefinition> copyRscDfnsWithoutLayerData() throws Exception
+    {
+        Map<ResourceName, ResourceDefinition> copies = new TreeMap<>();
+        for (ResourceDefinition rscDfn : rscDfns)
+        {
+            ResourceDefinition copy = TestFactory.createResourceDefinition(
+                randomUUID(),
+                createTestObjectProtection(SYS_CTX, ObjectProtection.buildPath(rscDfn.getName())),
+                rscDfn.getName(),
+                null,
+                0,
+                DRBD_STACK,
+                rscDfnDriver,
+                propsContainerFactory,
+                transObjFactory,
+                transMgrProvider,
+                new TreeMap<>(),
+                new TreeMap<>(),
+                new TreeMap<>(),
+                new TreeMap<>(),
+                dfltRscGrp
+            );
+            for (VolumeDefinition vlmDfn : rscDfn.streamVolumeDfn(SYS_CTX).toArray(VolumeDefinition[]::new))
+            {
+                copy.putVolumeDefinition(
+                    SYS_CTX,
+                    TestFactory.VolumeDefinition(
+                        randomUUID(),
+                        copy,
+                        vlmDfn.getVolumeNumber(),
+                        1_000_000L,
+                        0,
+                        vlmDfnDriver,
+                        propsContainerFactory,
+                        transObjFactory,
+                        transMgrProvider,
+                        new TreeMap<>(),
+                        new TreeMap<>()
+                    )
+                );
+            }
+            copies.put(copy.getName(), copy);
+        }
+        return copies;
+    }
+
+    private List<String> describeLayerData(Map<ResourceName, ResourceDefinition> rscDfns) throws Exception
+    {
+        List<String> descriptions = new ArrayList<>();
+        for (ResourceDefinition rscDfn : rscDfns.values())
+        {
+            DrbdRscDfnData<Resource> drbdRscDfnData = rscDfn.getLayerData(SYS_CTX, DeviceLayerKind.DRBD, "");
+            descriptions.add(
+                rscDfn.getName().value +
+                    " port " + drbdRscDfnData.getTcpPort().value +
+                    " slots " + drbdRscDfnData.getPeerSlots() +
+                    " " + drbdRscDfnData.getTransportType() +
+                    " " + drbdRscDfnData.getSecret()
+            );
+            for (VolumeDefinition vlmDfn : rscDfn.streamVolumeDfn(SYS_CTX).toArray(VolumeDefinition[]::new))
+            {
+                DrbdVlmDfnData<Resource> drbdVlmDfnData = vlmDfn.getLayerData(SYS_CTX, DeviceLayerKind.DRBD, "");
+                descriptions.add(
+                    rscDfn.getName().value +
+                        " vlm " + vlmDfn.getVolumeNumber().value +
+                        " minor " + drbdVlmDfnData.getMinorNr().value
+                );
+            }
+        }
+        Collections.sort(descriptions);
+        return descriptions;
+    }
+
+    /**
+     * The column values of the rows, independent of their order. Numbers are compared by their value, as the JDBC
+     * driver might return a different integer type for the join than for the single tables.
+     */
+    private static Set<Map<String, Object>> toComparable(List<SQLRow> rows)
+    {
+        Set<Map<String, Object>> ret = new HashSet<>();
+        for (SQLRow row : rows)
+        {
+            Map<String, Object> values = new TreeMap<>();
+            for (String column : row.getColumnNames())
+            {
+                Object value = row.get(column);
+                values.put(column, value instanceof Number ? (Object) ((Number) value).longValue() : value);
+            }
+            ret.add(values);
+        }
+        return ret;
+    }
+}
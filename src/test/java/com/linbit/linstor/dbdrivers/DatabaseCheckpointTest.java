@@ -0,0 +1,295 @@
+package com.linbit.linstor.dbdrivers;
+
+import com.linbit.linstor.api.LinStorScope;
+import com.linbit.linstor.core.cfg.CtrlConfig;
+import com.linbit.linstor.dbdrivers.DatabaseCheckpoint.Checkpoint;
+import com.linbit.linstor.dbdrivers.DatabaseCheckpoint.TableRows;
+import com.linbit.linstor.dbdrivers.DatabaseDriverInfo.DatabaseType;
+import com.linbit.linstor.dbdrivers.DatabaseTable.Column;
+import com.linbit.linstor.dbdrivers.interfaces.PropsConDatabaseDriver;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.transaction.manager.TransactionMgrGenerator;
+import com.linbit.linstor.transaction.manager.TransactionMgrSQL;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class DatabaseCheckpointTest
+{
+    private static final String DB_URL = "jdbc:h2:mem:test";
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Path checkpointFile;
+    private DbEngine dbEngine;
+    private PropsConDatabaseDriver propsDriver;
+    private TransactionMgrGenerator transMgrGenerator;
+    private Map<String, String> revisionProps;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        checkpointFile = testFolder.getRoot().toPath().resolve("checkpoint");
+        dbEngine = Mockito.mock(DbEngine.class);
+        Mockito.when(dbEngine.getType()).thenReturn(DatabaseType.SQL);
+        Mockito.when(dbEngine.readRawRows(Mockito.any())).thenReturn(Collections.emptyList());
+        propsDriver = Mockito.mock(PropsConDatabaseDriver.class);
+        revisionProps = new HashMap<>();
+        Mockito.when(propsDriver.loadAll(DatabaseCheckpoint.REVISION_INSTANCE)).thenReturn(revisionProps);
+        transMgrGenerator = Mockito.mock(TransactionMgrGenerator.class);
+        Mockito.when(transMgrGenerator.startTransaction()).thenReturn(Mockito.mock(TransactionMgrSQL.class));
+    }
+
+    @Test
+    public void testWriteAndReadFile() throws IOException
+    {
+        Timestamp timestamp = new Timestamp(1_600_000_000_123L);
+        timestamp.setNanos(123_456_789);
+        char[] longValue = new char[100_000];
+        Arrays.fill(longValue, 'x');
+
+        Map<String, Object> row = new TreeMap<>();
+        row.put("STR", "node1");
+        row.put("INT", 7000);
+        row.put("BIG", Long.MAX_VALUE);
+        row.put("SMALL", (short) 3);
+        row.put("BOOL", true);
+        row.put("BLOB", new byte[] {1, 2, 3});
+        row.put("TIME", timestamp);
+        row.put("DEC", new BigDecimal("12.5"));
+        row.put("LONG_STR", new String(longValue));
+        row.put("NULL", null);
+        List<String> columns = Arrays.asList(
+            "STR", "INT", "BIG", "SMALL", "BOOL", "BLOB", "TIME", "DEC", "LONG_STR", "NULL"
+        );
+
+        Path file = testFolder.getRoot().toPath().resolve("checkpoint");
+        DatabaseCheckpoint.writeFile(
+            file,
+            new Checkpoint(
+                "revision",
+                "buildId",
+                "jdbc:h2:mem:test",
+                Arrays.asList(
+                    new TableRows("TABLE", columns, Collections.singletonList(row)),
+                    new TableRows("EMPTY_TABLE", Collections.singletonList("COL"), Collections.emptyList())
+                )
+            )
+        );
+        assertFalse(Files.exists(file.resolveSibling("checkpoint.tmp")));
+
+        Checkpoint checkpoint = DatabaseCheckpoint.readFile(file);
+        assertEquals("revision", checkpoint.revision);
+        assertEquals("buildId", checkpoint.buildId);
+        assertEquals("jdbc:h2:mem:test", checkpoint.dbConnectionUrl);
+        assertEquals(2, checkpoint.tables.size());
+
+        TableRows table = checkpoint.tables.get(0);
+        assertEquals("TABLE", table.tableName);
+        assertEquals(columns, table.columns);
+        assertEquals(1, table.rows.size());
+        Map<String, Object> readRow = table.rows.get(0);
+        assertEquals("node1", readRow.get("STR"));
+        assertEquals(7000, readRow.get("INT"));
+        assertEquals(Long.MAX_VALUE, readRow.get("BIG"));
+        assertEquals((short) 3, readRow.get("SMALL"));
+        assertEquals(true, readRow.get("BOOL"));
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) readRow.get("BLOB"));
+        assertEquals(timestamp, readRow.get("TIME"));
+        assertEquals(new BigDecimal("12.5"), readRow.get("DEC"));
+        assertEquals(new String(longValue), readRow.get("LONG_STR"));
+        assertNull(readRow.get("NULL"));
+
+        assertEquals("EMPTY_TABLE", checkpoint.tables.get(1).tableName);
+        assertEquals(0, checkpoint.tables.get(1).rows.size());
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedFile() throws IOException
+    {
+        Path file = testFolder.getRoot().toPath().resolve("checkpoint");
+        DatabaseCheckpoint.writeFile(
+            file,
+            new Checkpoint("revision", "buildId", "url", Collections.emptyList())
+        );
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length / 2));
+
+        DatabaseCheckpoint.readFile(file);
+    }
+
+    @Test
+    public void testRestoreMatchingRevision() throws Exception
+    {
+        revisionProps.put(DatabaseCheckpoint.REVISION_KEY, "rev1");
+        writeCheckpoint("rev1", DatabaseCheckpoint.getBuildId(), DB_URL, false);
+
+        createCheckpoint(checkpointFile.toString()).restore();
+
+        Mockito.verify(dbEngine).setPrefetched(Mockito.eq(GeneratedDatabaseTables.NODES), Mockito.any());
+        Mockito.verify(dbEngine).setPrefetched(Mockito.eq(GeneratedDatabaseTables.LAYER_DRBD_VOLUMES), Mockito.any());
+        Mockito.verify(propsDriver).setPrefetched(Mockito.any());
+        // a crash after this start must not leave a valid checkpoint behind
+        Mockito.verify(propsDriver).removeAll(DatabaseCheckpoint.REVISION_INSTANCE);
+        assertFalse(Files.exists(checkpointFile));
+    }
+
+    @Test
+    public void testRestoreMissingRevision() throws Exception
+    {
+        writeCheckpoint("rev1", DatabaseCheckpoint.getBuildId(), DB_URL, false);
+
+        createCheckpoint(checkpointFile.toString()).restore();
+
+        assertFallback();
+    }
+
+    @Test
+    public void testRestoreStaleRevision() throws Exception
+    {
+        revisionProps.put(DatabaseCheckpoint.REVISION_KEY, "rev2");
+        writeCheckpoint("rev1", DatabaseCheckpoint.getBuildId(), DB_URL, false);
+
+        createCheckpoint(checkpointFile.toString()).restore();
+
+        assertFallback();
+    }
+
+    @Test
+    public void testRestoreBuildIdMismatch() throws Exception
+    {
+        revisionProps.put(DatabaseCheckpoint.REVISION_KEY, "rev1");
+        writeCheckpoint("rev1", "otherBuildId", DB_URL, false);
+
+        createCheckpoint(checkpointFile.toString()).restore();
+
+        assertFallback();
+    }
+
+    @Test
+    public void testRestoreConnectionUrlMismatch() throws Exception
+    {
+        revisionProps.put(DatabaseCheckpoint.REVISION_KEY, "rev1");
+        writeCheckpoint("rev1", DatabaseCheckpoint.getBuildId(), "jdbc:h2:mem:other", false);
+
+        createCheckpoint(checkpointFile.toString()).restore();
+
+        assertFallback();
+    }
+
+    @Test
+    public void testRestoreColumnMismatch() throws Exception
+    {
+        revisionProps.put(DatabaseCheckpoint.REVISION_KEY, "rev1");
+        writeCheckpoint("rev1", DatabaseCheckpoint.getBuildId(), DB_URL, true);
+
+        createCheckpoint(checkpointFile.toString()).restore();
+
+        assertFallback();
+    }
+
+    @Test
+    public void testRestoreDisabledRemovesRevision() throws Exception
+    {
+        revisionProps.put(DatabaseCheckpoint.REVISION_KEY, "rev1");
+
+        createCheckpoint(null).restore();
+
+        Mockito.verify(propsDriver).removeAll(DatabaseCheckpoint.REVISION_INSTANCE);
+        Mockito.verify(dbEngine, Mockito.never()).setPrefetched(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testWriteStoresRevision() throws Exception
+    {
+        TransactionMgrSQL transMgr = Mockito.mock(TransactionMgrSQL.class);
+        Mockito.when(transMgrGenerator.startTransaction()).thenReturn(transMgr);
+
+        createCheckpoint(checkpointFile.toString()).write();
+
+        Checkpoint checkpoint = DatabaseCheckpoint.readFile(checkpointFile);
+        assertEquals(DatabaseCheckpoint.CHECKPOINT_TABLES.size(), checkpoint.tables.size());
+        Mockito.verify(propsDriver).persist(
+            DatabaseCheckpoint.REVISION_INSTANCE,
+            DatabaseCheckpoint.REVISION_KEY,
+            checkpoint.revision
+        );
+        Mockito.verify(transMgr).commit();
+    }
+
+    @Test
+    public void testWriteDisabled() throws Exception
+    {
+        createCheckpoint(null).write();
+
+        Mockito.verify(transMgrGenerator, Mockito.never()).startTransaction();
+        Mockito.verify(propsDriver, Mockito.never()).persist(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    private DatabaseCheckpoint createCheckpoint(String checkpointFileStr)
+    {
+        CtrlConfig ctrlCfg = Mockito.mock(CtrlConfig.class);
+        Mockito.when(ctrlCfg.getDbCheckpointFile()).thenReturn(checkpointFileStr);
+        Mockito.when(ctrlCfg.getDbConnectionUrl()).thenReturn(DB_URL);
+        return new DatabaseCheckpoint(
+            Mockito.mock(ErrorReporter.class),
+            dbEngine,
+            propsDriver,
+            ctrlCfg,
+            Mockito.mock(LinStorScope.class),
+            transMgrGenerator
+        );
+    }
+
+    private void writeCheckpoint(String revision, String buildId, String dbUrl, boolean changeColumns)
+        throws IOException
+    {
+        List<TableRows> tables = new ArrayList<>();
+        for (DatabaseTable table : DatabaseCheckpoint.CHECKPOINT_TABLES)
+        {
+            List<String> columns = new ArrayList<>();
+            for (Column column : table.values())
+            {
+                columns.add(column.getName());
+            }
+            if (changeColumns && table == GeneratedDatabaseTables.NODES)
+            {
+                columns.remove(columns.size() - 1);
+            }
+            tables.add(new TableRows(table.getName(), columns, Collections.emptyList()));
+        }
+        DatabaseCheckpoint.writeFile(checkpointFile, new Checkpoint(revision, buildId, dbUrl, tables));
+    }
+
+    /**
+     * The tables are read from the database by {@link DatabaseLoader#loadAll()} and the outdated file is deleted
+     */
+    private void assertFallback()
+    {
+        Mockito.verify(dbEngine, Mockito.never()).setPrefetched(Mockito.any(), Mockito.any());
+        Mockito.verify(propsDriver, Mockito.never()).setPrefetched(Mockito.any());
+        assertFalse(Files.exists(checkpointFile));
+    }
+}
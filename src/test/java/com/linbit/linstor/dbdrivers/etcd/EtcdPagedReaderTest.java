@@ -0,0 +1,334 @@
+package com.linbit.linstor.dbdrivers.etcd;
+
+import com.linbit.linstor.dbdrivers.GeneratedDatabaseTables;
+import com.linbit.linstor.dbdrivers.GeneratedDatabaseTables.StorPoolDefinitions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.protobuf.ByteString;
+import com.ibm.etcd.api.KeyValue;
+import com.ibm.etcd.api.RangeResponse;
+import com.ibm.etcd.api.ResponseHeader;
+import com.ibm.etcd.client.kv.KvClient;
+import com.ibm.etcd.client.kv.KvClient.FluentRangeRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.ibm.etcd.client.KeyUtils.bs;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reads tables page by page from a fake ETCD that keeps every revision of its keys
+ */
+public class EtcdPagedReaderTest
+{
+    private static final String TABLE_PREFIX = "/LINSTOR/STOR_POOL_DEFINITIONS/";
+
+    private String prevLinstorPrefix;
+    private FakeKv fakeKv;
+
+    @Before
+    public void setUp()
+    {
+        prevLinstorPrefix = EtcdUtils.LINSTOR_PREFIX;
+        EtcdUtils.LINSTOR_PREFIX = "/LINSTOR/";
+        fakeKv = new FakeKv();
+        // keys of other tables around the table prefix must never be returned
+        fakeKv.put("/LINSTOR/SEC_CONFIGURATION/KEY/VALUE", "other");
+        fakeKv.put("/LINSTOR/STOR_POOL_DEFINITIONS_OTHER/KEY/VALUE", "other");
+    }
+
+    @After
+    public void tearDown()
+    {
+        EtcdUtils.LINSTOR_PREFIX = prevLinstorPrefix;
+    }
+
+    @Test
+    public void pagesCoverAllKeysInOrder()
+    {
+        for (String key : Arrays.asList("e", "a", "d", "b", "c"))
+        {
+            fakeKv.put(TABLE_PREFIX + key, key);
+        }
+        EtcdPagedReader reader = new EtcdPagedReader(fakeKv.kvClient, TABLE_PREFIX, 2);
+
+        List<List<String>> pages = new ArrayList<>();
+        while (reader.hasMorePages())
+        {
+            pages.add(keys(reader.nextPage()));
+        }
+
+        assertEquals(
+            Arrays.asList(
+                Arrays.asList(TABLE_PREFIX + "a", TABLE_PREFIX + "b"),
+                Arrays.asList(TABLE_PREFIX + "c", TABLE_PREFIX + "d"),
+                Arrays.asList(TABLE_PREFIX + "e")
+            ),
+            pages
+        );
+        // every page starts right after the last key of the previous page
+        assertEquals(
+            Arrays.asList(TABLE_PREFIX, TABLE_PREFIX + "b\0", TABLE_PREFIX + "d\0"),
+            fakeKv.requestedKeys
+        );
+        assertEquals(Arrays.asList(2L, 2L, 2L), fakeKv.requestedLimits);
+    }
+
+    @Test
+    public void lastFullPageEndsReading()
+    {
+        for (String key : Arrays.asList("a", "b", "c", "d"))
+        {
+            fakeKv.put(TABLE_PREFIX + key, key);
+        }
+        EtcdPagedReader reader = new EtcdPagedReader(fakeKv.kvClient, TABLE_PREFIX, 2);
+
+        assertEquals(2, reader.nextPage().size());
+        assertTrue(reader.hasMorePages());
+        assertEquals(2, reader.nextPage().size());
+        assertFalse(reader.hasMorePages());
+        assertEquals(2, fakeKv.requestedKeys.size());
+    }
+
+    @Test
+    public void emptyPrefix()
+    {
+        EtcdPagedReader reader = new EtcdPagedReader(fakeKv.kvClient, TABLE_PREFIX, 2);
+
+        assertTrue(reader.nextPage().isEmpty());
+        assertFalse(reader.hasMorePages());
+    }
+
+    @Test
+    public void pagesArePinnedToTheFirstRevision()
+    {
+        for (String key : Arrays.asList("a", "b", "c", "d"))
+        {
+            fakeKv.put(TABLE_PREFIX + key, "old " + key);
+        }
+        long firstRevision = fakeKv.currentRevision();
+        EtcdPagedReader reader = new EtcdPagedReader(fakeKv.kvClient, TABLE_PREFIX, 2);
+
+        assertEquals(Arrays.asList("old a", "old b"), values(reader.nextPage()));
+
+        // modifications after the first page are not visible to the following pages
+        fakeKv.put(TABLE_PREFIX + "bb", "new bb");
+        fakeKv.put(TABLE_PREFIX + "c", "new c");
+        fakeKv.delete(TABLE_PREFIX + "d");
+
+        List<String> remaining = new ArrayList<>();
+        while (reader.hasMorePages())
+        {
+            remaining.addAll(values(reader.nextPage()));
+        }
+        assertEquals(Arrays.asList("old c", "old d"), remaining);
+        assertEquals(Arrays.asList(0L, firstRevision), fakeKv.requestedRevisions);
+    }
+
+    @Test
+    public void rowsAreGroupedAcrossPages()
+    {
+        putStorPoolDfn("POOL1", "Pool1", "uuid1");
+        putStorPoolDfn("POOL2", "Pool2", "uuid2");
+        putStorPoolDfn("POOL3", "Pool3", "uuid3");
+
+        for (int pageSize = 1; pageSize <= 7; ++pageSize)
+        {
+            fakeKv.requestedKeys.clear();
+            List<Map<String, Object>> rows = readRows(pageSize);
+
+            assertEquals(
+                Arrays.asList(
+                    storPoolDfnRow("POOL1", "Pool1", "uuid1"),
+                    storPoolDfnRow("POOL2", "Pool2", "uuid2"),
+                    storPoolDfnRow("POOL3", "Pool3", "uuid3")
+                ),
+                rows
+            );
+            // 6 keys, only the last page may contain less than pageSize keys
+            assertEquals((6 + pageSize - 1) / pageSize, fakeKv.requestedKeys.size());
+        }
+    }
+
+    @Test
+    public void noRows()
+    {
+        ETCDEngine.RowIterator rowIterator = new ETCDEngine.RowIterator(
+            GeneratedDatabaseTables.STOR_POOL_DEFINITIONS,
+            new EtcdPagedReader(fakeKv.kvClient, TABLE_PREFIX, 2)
+        );
+
+        assertFalse(rowIterator.hasNext());
+        try
+        {
+            rowIterator.next();
+            fail("next() returned a row of an empty table");
+        }
+        catch (NoSuchElementException expected)
+        {
+            // expected
+        }
+    }
+
+    private List<Map<String, Object>> readRows(int pageSize)
+    {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        new ETCDEngine.RowIterator(
+            GeneratedDatabaseTables.STOR_POOL_DEFINITIONS,
+            new EtcdPagedReader(fakeKv.kvClient, TABLE_PREFIX, pageSize)
+        ).forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private void putStorPoolDfn(String poolName, String poolDspName, String uuid)
+    {
+        fakeKv.put(EtcdUtils.buildKey(StorPoolDefinitions.POOL_DSP_NAME, poolName), poolDspName);
+        fakeKv.put(EtcdUtils.buildKey(StorPoolDefinitions.UUID, poolName), uuid);
+    }
+
+    private static Map<String, Object> storPoolDfnRow(String poolName, String poolDspName, String uuid)
+    {
+        Map<String, Object> row = new TreeMap<>();
+        row.put(StorPoolDefinitions.POOL_NAME.getName(), poolName);
+        row.put(StorPoolDefinitions.POOL_DSP_NAME.getName(), poolDspName);
+        row.put(StorPoolDefinitions.UUID.getName(), uuid);
+        return row;
+    }
+
+    private static List<String> keys(List<KeyValue> kvs)
+    {
+        return kvs.stream().map(kv -> kv.getKey().toStringUtf8()).collect(Collectors.toList());
+    }
+
+    private static List<String> values(List<KeyValue> kvs)
+    {
+        return kvs.stream().map(kv -> kv.getValue().toStringUtf8()).collect(Collectors.toList());
+    }
+
+    /**
+     * Answers range requests like ETCD, from any revision of its keys, and records the requests
+     */
+    private static class FakeKv
+    {
+        private final List<NavigableMap<String, String>> revisions = new ArrayList<>();
+        private final KvClient kvClient = mock(KvClient.class);
+
+        private final List<String> requestedKeys = new ArrayList<>();
+        private final List<Long> requestedRevisions = new ArrayList<>();
+        private final List<Long> requestedLimits = new ArrayList<>();
+
+        FakeKv()
+        {
+            revisions.add(new TreeMap<>());
+            when(kvClient.get(any(ByteString.class))).thenAnswer(
+                invocation -> rangeRequest(invocation.getArgument(0))
+            );
+        }
+
+        long currentRevision()
+        {
+            // revisions start at 1, the first entry is the empty initial state
+            return revisions.size() - 1;
+        }
+
+        void put(String key, String value)
+        {
+            NavigableMap<String, String> nextRevision = new TreeMap<>(revisions.get(revisions.size() - 1));
+            nextRevision.put(key, value);
+            revisions.add(nextRevision);
+        }
+
+        void delete(String key)
+        {
+            NavigableMap<String, String> nextRevision = new TreeMap<>(revisions.get(revisions.size() - 1));
+            nextRevision.remove(key);
+            revisions.add(nextRevision);
+        }
+
+        /**
+         * The fluent setters of the request only record their arguments, the range is read once the request is sent
+         */
+        private FluentRangeRequest rangeRequest(ByteString key)
+        {
+            ByteString[] rangeEnd = new ByteString[1];
+            long[] limit = new long[1];
+            long[] revision = new long[1];
+            return mock(
+                FluentRangeRequest.class,
+                invocation ->
+                {
+                    Object ret;
+                    switch (invocation.getMethod().getName())
+                    {
+                        case "rangeEnd":
+                            rangeEnd[0] = invocation.getArgument(0);
+                            ret = invocation.getMock();
+                            break;
+                        case "limit":
+                            limit[0] = ((Number) invocation.getArgument(0)).longValue();
+                            ret = invocation.getMock();
+                            break;
+                        case "revision":
+                            revision[0] = ((Number) invocation.getArgument(0)).longValue();
+                            ret = invocation.getMock();
+                            break;
+                        case "async":
+                            ret = Futures.immediateFuture(range(key, rangeEnd[0], limit[0], revision[0]));
+                            break;
+                        default:
+                            // backoffRetry and other settings that do not change the result
+                            ret = invocation.getMethod().getReturnType().isInstance(invocation.getMock()) ?
+                                invocation.getMock() :
+                                null;
+                            break;
+                    }
+                    return ret;
+                }
+            );
+        }
+
+        private RangeResponse range(ByteString key, ByteString rangeEnd, long limit, long revision)
+        {
+            requestedKeys.add(key.toStringUtf8());
+            requestedRevisions.add(revision);
+            requestedLimits.add(limit);
+
+            long readRevision = revision == 0 ? currentRevision() : revision;
+            List<Map.Entry<String, String>> entries = new ArrayList<>(
+                revisions.get((int) readRevision)
+                    .subMap(key.toStringUtf8(), true, rangeEnd.toStringUtf8(), false)
+                    .entrySet()
+            );
+            boolean more = limit > 0 && entries.size() > limit;
+            if (more)
+            {
+                entries = entries.subList(0, (int) limit);
+            }
+
+            RangeResponse.Builder rsp = RangeResponse.newBuilder()
+                .setHeader(ResponseHeader.newBuilder().setRevision(readRevision))
+                .setMore(more);
+            for (Map.Entry<String, String> entry : entries)
+            {
+                rsp.addKvs(KeyValue.newBuilder().setKey(bs(entry.getKey())).setValue(bs(entry.getValue())));
+            }
+            return rsp.build();
+        }
+    }
+}
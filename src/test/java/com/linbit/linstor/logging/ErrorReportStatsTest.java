@@ -0,0 +1,52 @@
+package com.linbit.linstor.logging;
+
+import com.linbit.linstor.core.objects.Node;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ErrorReportStatsTest
+{
+    @Test
+    public void countsPerNodeAndModule()
+    {
+        ErrorReportStats stats = new ErrorReportStats();
+        stats.reportWritten("ctrl", Node.Type.CONTROLLER, new Date(1000));
+        stats.reportWritten("ctrl", Node.Type.CONTROLLER, new Date(3000));
+        // reports are not necessarily written in order
+        stats.reportWritten("ctrl", Node.Type.CONTROLLER, new Date(2000));
+        stats.reportWritten("alpha", Node.Type.SATELLITE, new Date(5000));
+
+        List<ErrorReportStats.Entry> entries = stats.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals("alpha", entries.get(0).getNodeName());
+        assertEquals(1, entries.get(0).getCount());
+        assertEquals("ctrl", entries.get(1).getNodeName());
+        assertEquals(Node.Type.CONTROLLER, entries.get(1).getModule());
+        assertEquals(3, entries.get(1).getCount());
+        assertEquals(new Date(3000), entries.get(1).getLastReportTime());
+    }
+
+    @Test
+    public void deletedReportsAreSubtracted()
+    {
+        ErrorReportStats stats = new ErrorReportStats();
+        stats.set(new ErrorReportStats.Entry("alpha", Node.Type.SATELLITE, 5, new Date(5000)));
+
+        stats.reportsDeleted("alpha", Node.Type.SATELLITE, 2);
+        assertEquals(3, stats.getEntries().get(0).getCount());
+        assertEquals(new Date(5000), stats.getEntries().get(0).getLastReportTime());
+
+        // unknown entries are ignored
+        stats.reportsDeleted("bravo", Node.Type.SATELLITE, 2);
+        assertEquals(1, stats.getEntries().size());
+
+        stats.reportsDeleted("alpha", Node.Type.SATELLITE, 3);
+        assertTrue(stats.getEntries().isEmpty());
+    }
+}
@@ -0,0 +1,71 @@
+package com.linbit.linstor.netcom;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ByteBufferPoolTest
+{
+    @Test
+    public void testSizeClasses()
+    {
+        ByteBufferPool pool = new ByteBufferPool(1L << 30);
+
+        ByteBuffer small = pool.acquire(1);
+        assertTrue(small.isDirect());
+        assertEquals(4096, small.capacity());
+        assertEquals(1, small.limit());
+        assertEquals(0, small.position());
+
+        assertEquals(8192, pool.acquire(4097).capacity());
+        assertEquals(8192, pool.acquire(8192).capacity());
+        assertEquals(Message.DEFAULT_MAX_DATA_SIZE, pool.acquire(Message.DEFAULT_MAX_DATA_SIZE).capacity());
+
+        ByteBuffer oversize = pool.acquire(Message.DEFAULT_MAX_DATA_SIZE + 1);
+        assertFalse(oversize.isDirect());
+        assertEquals(1, pool.getOversizeCount());
+    }
+
+    @Test
+    public void testReuse()
+    {
+        ByteBufferPool pool = new ByteBufferPool(1L << 30);
+
+        ByteBuffer buffer = pool.acquire(5000);
+        buffer.put((byte) 1);
+        pool.release(buffer);
+        assertEquals(8192, pool.getPooledBytes());
+
+        ByteBuffer reused = pool.acquire(6000);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(6000, reused.limit());
+        assertEquals(0, pool.getPooledBytes());
+
+        assertEquals(1, pool.getHitCount());
+        assertEquals(1, pool.getMissCount());
+        assertEquals(50.0, pool.getHitRate(), 0.001);
+    }
+
+    @Test
+    public void testPoolLimit()
+    {
+        ByteBufferPool pool = new ByteBufferPool(4096);
+
+        ByteBuffer first = pool.acquire(100);
+        ByteBuffer second = pool.acquire(100);
+        pool.release(first);
+        // exceeds the limit, dropped
+        pool.release(second);
+        assertEquals(4096, pool.getPooledBytes());
+
+        assertSame(first, pool.acquire(100));
+        assertNotSame(second, pool.acquire(100));
+    }
+}
@@ -0,0 +1,106 @@
+package com.linbit.linstor.netcom;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ChunkedMessageDataTest
+{
+    @Test
+    public void testReassemble() throws Exception
+    {
+        byte[] data = createData(1000);
+        ByteBuffer lastHeader = new DataChunkMessage(MessageTypes.DATA, ByteBuffer.wrap(data, 900, 100).slice(), 0, 0)
+            .getHeaderBuffer();
+        List<byte[]> chunks = Arrays.asList(
+            Arrays.copyOfRange(data, 0, 400),
+            Arrays.copyOfRange(data, 400, 900),
+            Arrays.copyOfRange(data, 900, 1000)
+        );
+
+        Message msg = new ChunkedMessageData(lastHeader, chunks);
+        assertEquals(MessageTypes.DATA, msg.getType());
+        assertArrayEquals(data, readAll(msg.getDataInputStream()));
+        assertArrayEquals(data, msg.getData());
+    }
+
+    @Test
+    public void testReassembleCompressed() throws Exception
+    {
+        byte[] data = createData(100_000);
+        byte[] compressed = new MessageCompressor().compress(data);
+        int split = compressed.length / 2;
+        ByteBuffer lastHeader = new DataChunkMessage(
+            MessageTypes.DATA,
+            ByteBuffer.wrap(compressed, split, compressed.length - split).slice(),
+            Message.FLAG_COMPRESSED,
+            data.length
+        )
+            .getHeaderBuffer();
+        List<byte[]> chunks = Arrays.asList(
+            Arrays.copyOfRange(compressed, 0, split),
+            Arrays.copyOfRange(compressed, split, compressed.length)
+        );
+
+        assertArrayEquals(data, readAll(new ChunkedMessageData(lastHeader, chunks).getDataInputStream()));
+        assertArrayEquals(data, new ChunkedMessageData(lastHeader, chunks).getData());
+    }
+
+    @Test(expected = IOException.class)
+    public void testCompressedSizeMismatch() throws Exception
+    {
+        byte[] data = createData(100_000);
+        byte[] compressed = new MessageCompressor().compress(data);
+        ByteBuffer lastHeader = new DataChunkMessage(
+            MessageTypes.DATA,
+            ByteBuffer.wrap(compressed),
+            Message.FLAG_COMPRESSED,
+            data.length - 1
+        )
+            .getHeaderBuffer();
+
+        // the stream must not produce more data than announced by the header
+        readAll(new ChunkedMessageData(lastHeader, Arrays.asList(compressed)).getDataInputStream());
+    }
+
+    @Test
+    public void testChunkFrame() throws Exception
+    {
+        byte[] data = createData(1000);
+        Message chunk = new DataChunkMessage(MessageTypes.DATA_CHUNK, ByteBuffer.wrap(data, 200, 300).slice(), 0, 0);
+
+        assertEquals(MessageTypes.DATA_CHUNK, chunk.getHeaderBuffer().getInt(Message.TYPE_FIELD_OFFSET));
+        assertEquals(300, chunk.getHeaderBuffer().getInt(Message.LENGTH_FIELD_OFFSET));
+        assertArrayEquals(Arrays.copyOfRange(data, 200, 500), chunk.getData());
+    }
+
+    private static byte[] createData(int size)
+    {
+        byte[] data = new byte[size];
+        for (int idx = 0; idx < size; ++idx)
+        {
+            data[idx] = (byte) (idx % 251);
+        }
+        return data;
+    }
+
+    private static byte[] readAll(InputStream dataIn) throws Exception
+    {
+        ByteArrayOutputStream dataOut = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int len;
+        while ((len = dataIn.read(buffer)) != -1)
+        {
+            dataOut.write(buffer, 0, len);
+        }
+        return dataOut.toByteArray();
+    }
+}
@@ -0,0 +1,82 @@
+package com.linbit.linstor.netcom;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MessageCompressorTest
+{
+    @Test
+    public void testRoundTrip() throws Exception
+    {
+        MessageCompressor compressor = new MessageCompressor();
+        byte[] data = new byte[100_000];
+        Arrays.fill(data, (byte) 'x');
+
+        byte[] compressed = compressor.compress(data);
+        assertNotNull(compressed);
+        assertTrue(compressed.length < data.length);
+        assertArrayEquals(data, compressor.decompress(compressed, data.length));
+
+        assertEquals(1, compressor.getCompressedMessageCount());
+        assertEquals(1, compressor.getDecompressedMessageCount());
+        assertEquals(data.length, compressor.getUncompressedBytes());
+        assertEquals(compressed.length, compressor.getCompressedBytes());
+    }
+
+    @Test
+    public void testUncompressibleData()
+    {
+        MessageCompressor compressor = new MessageCompressor();
+        byte[] data = new byte[100_000];
+        new Random(42).nextBytes(data);
+
+        assertNull(compressor.compress(data));
+        assertEquals(1, compressor.getUncompressibleMessageCount());
+    }
+
+    @Test(expected = IllegalMessageStateException.class)
+    public void testSizeMismatch() throws Exception
+    {
+        MessageCompressor compressor = new MessageCompressor();
+        byte[] data = new byte[100_000];
+
+        compressor.decompress(compressor.compress(data), data.length - 1);
+    }
+
+    @Test(expected = IllegalMessageStateException.class)
+    public void testClaimedSizeTooLarge() throws Exception
+    {
+        MessageCompressor compressor = new MessageCompressor();
+        byte[] data = new byte[100_000];
+
+        // must fail without allocating a buffer of the claimed size
+        compressor.decompress(compressor.compress(data), MessageCompressor.MAX_UNCOMPRESSED_SIZE);
+    }
+
+    @Test
+    public void testReceiveCompressedMessage() throws Exception
+    {
+        byte[] data = new byte[100_000];
+        Arrays.fill(data, (byte) 'y');
+        Message sentMsg = new MessageData(true, new ByteBufferPool(0));
+        sentMsg.setCompressedData(MessageCompressor.getInstance().compress(data), data.length);
+
+        // simulates the TcpConnectorPeer reading the message from the network
+        Message recvMsg = new MessageData(false, new ByteBufferPool(0));
+        recvMsg.getHeaderBuffer().put(sentMsg.getHeaderBuffer());
+        recvMsg.initReceiveBuffer(recvMsg.getHeaderBuffer().getInt(Message.LENGTH_FIELD_OFFSET));
+        ByteBuffer recvBuffer = recvMsg.getDataBuffer();
+        recvBuffer.put(sentMsg.getDataBuffer());
+
+        assertArrayEquals(data, recvMsg.getData());
+    }
+}
@@ -0,0 +1,85 @@
+package com.linbit.linstor.netcom;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class MessageDataTest
+{
+    @Test
+    public void testStreamFromPooledBuffer() throws Exception
+    {
+        byte[] data = new byte[100_000];
+        new Random(42).nextBytes(data);
+        Message sentMsg = new MessageData(true, new ByteBufferPool(0));
+        sentMsg.setData(data);
+
+        Message recvMsg = receive(sentMsg);
+        assertArrayEquals(data, readAll(recvMsg.getDataInputStream()));
+        // the stream does not consume the buffer
+        assertArrayEquals(data, readAll(recvMsg.getDataInputStream()));
+    }
+
+    @Test
+    public void testCompressedStreamFromPooledBuffer() throws Exception
+    {
+        byte[] data = new byte[100_000];
+        Arrays.fill(data, (byte) 'z');
+        Message sentMsg = new MessageData(true, new ByteBufferPool(0));
+        sentMsg.setCompressedData(MessageCompressor.getInstance().compress(data), data.length);
+
+        assertArrayEquals(data, readAll(receive(sentMsg).getDataInputStream()));
+    }
+
+    @Test
+    public void testStreamAfterRelease() throws Exception
+    {
+        Message sentMsg = new MessageData(true, new ByteBufferPool(0));
+        sentMsg.setData(new byte[] {1, 2, 3});
+
+        Message recvMsg = receive(sentMsg);
+        InputStream dataIn = recvMsg.getDataInputStream();
+        assertEquals(1, dataIn.read());
+        recvMsg.release();
+        try
+        {
+            dataIn.read();
+            throw new AssertionError("Released data must not be readable");
+        }
+        catch (IOException expected)
+        {
+            // expected
+        }
+    }
+
+    /**
+     * Simulates the TcpConnectorPeer reading the message from the network
+     */
+    private static Message receive(Message sentMsg) throws Exception
+    {
+        Message recvMsg = new MessageData(false, new ByteBufferPool(1 << 20));
+        recvMsg.getHeaderBuffer().put(sentMsg.getHeaderBuffer());
+        recvMsg.initReceiveBuffer(recvMsg.getHeaderBuffer().getInt(Message.LENGTH_FIELD_OFFSET));
+        recvMsg.getDataBuffer().put(sentMsg.getDataBuffer());
+        return recvMsg;
+    }
+
+    private static byte[] readAll(InputStream dataIn) throws Exception
+    {
+        ByteArrayOutputStream dataOut = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int len;
+        while ((len = dataIn.read(buffer)) != -1)
+        {
+            dataOut.write(buffer, 0, len);
+        }
+        return dataOut.toByteArray();
+    }
+}
@@ -0,0 +1,77 @@
+package com.linbit.linstor.netcom;
+
+import com.linbit.linstor.logging.ErrorReporter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Receiving chunked messages, as seen by a satellite whose controller sends a full sync that exceeds the size of a
+ * single message
+ */
+public class TcpConnectorPeerTest
+{
+    private TcpConnectorPeer controllerPeer;
+
+    @Before
+    public void setUp()
+    {
+        controllerPeer = new TcpConnectorPeer(
+            Mockito.mock(ErrorReporter.class),
+            null,
+            "controller",
+            null,
+            Mockito.mock(SelectionKey.class),
+            null,
+            null
+        );
+    }
+
+    @Test
+    public void chunkedFullSyncRightAfterAuthentication() throws Exception
+    {
+        // CtrlAuth marks the controller peer as authenticated before it sends the answer, so the controller's chunked
+        // full sync is accepted even if its frames arrive right after the answer was sent
+        controllerPeer.setAuthenticated(true);
+
+        byte[] data = createData(1000);
+        controllerPeer.addToQueue(
+            new DataChunkMessage(MessageTypes.DATA_CHUNK, ByteBuffer.wrap(data, 0, 600).slice(), 0, 0)
+        );
+        assertFalse(controllerPeer.hasNextMsgIn());
+
+        controllerPeer.addToQueue(
+            new DataChunkMessage(MessageTypes.DATA, ByteBuffer.wrap(data, 600, 400).slice(), 0, 0)
+        );
+        assertTrue(controllerPeer.hasNextMsgIn());
+        assertArrayEquals(data, controllerPeer.nextCurrentMsgIn().getData());
+    }
+
+    @Test(expected = IOException.class)
+    public void chunkedMessageBeforeAuthentication() throws Exception
+    {
+        byte[] data = createData(1000);
+        controllerPeer.addToQueue(
+            new DataChunkMessage(MessageTypes.DATA_CHUNK, ByteBuffer.wrap(data, 0, 600).slice(), 0, 0)
+        );
+    }
+
+    private static byte[] createData(int size)
+    {
+        byte[] data = new byte[size];
+        for (int idx = 0; idx < size; ++idx)
+        {
+            data[idx] = (byte) (idx % 251);
+        }
+        return data;
+    }
+}
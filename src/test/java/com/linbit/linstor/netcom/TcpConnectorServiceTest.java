@@ -0,0 +1,195 @@
+package com.linbit.linstor.netcom;
+
+import com.linbit.ImplementationError;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.security.AccessContext;
+import com.linbit.linstor.security.DummySecurityInitializer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Connections that are distributed across several I/O selector loops. Every message is echoed back to its client
+ * while it is processed, so the echoed messages show the order in which the messages of a client were processed.
+ */
+public class TcpConnectorServiceTest
+{
+    private static final int IO_THREADS = 3;
+    private static final int CLIENTS = 2 * IO_THREADS;
+    private static final int MESSAGES_PER_CLIENT = 500;
+
+    private final Map<Peer, Set<Thread>> processingThreads = new ConcurrentHashMap<>();
+
+    private TcpConnectorService tcpConnectorService;
+    private InetSocketAddress address;
+    private ExecutorService clientThreads;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        address = new InetSocketAddress(InetAddress.getLoopbackAddress(), findFreePort());
+        AccessContext sysCtx = DummySecurityInitializer.getSystemAccessContext();
+        tcpConnectorService = new TcpConnectorService(
+            mock(ErrorReporter.class),
+            null,
+            this::echoMessage,
+            address,
+            sysCtx,
+            sysCtx,
+            mock(ConnectionObserver.class)
+        );
+        tcpConnectorService.setIoThreadCount(IO_THREADS);
+        tcpConnectorService.start();
+        clientThreads = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        clientThreads.shutdownNow();
+        tcpConnectorService.shutdown();
+        tcpConnectorService.awaitShutdown(10_000);
+    }
+
+    @Test
+    public void messagesOfEachPeerStayInOrder() throws Exception
+    {
+        // connections are assigned to the I/O loops in the order they are accepted
+        List<SocketChannel> clients = new ArrayList<>();
+        for (int clientIdx = 0; clientIdx < CLIENTS; ++clientIdx)
+        {
+            clients.add(SocketChannel.open(address));
+        }
+
+        List<Future<List<String>>> echoed = new ArrayList<>();
+        for (int clientIdx = 0; clientIdx < CLIENTS; ++clientIdx)
+        {
+            SocketChannel client = clients.get(clientIdx);
+            List<String> messages = createMessages(clientIdx);
+            echoed.add(clientThreads.submit(() -> sendAndReceive(client, messages)));
+        }
+
+        for (int clientIdx = 0; clientIdx < CLIENTS; ++clientIdx)
+        {
+            assertEquals(createMessages(clientIdx), echoed.get(clientIdx).get(30, TimeUnit.SECONDS));
+            clients.get(clientIdx).close();
+        }
+
+        // all messages of a peer are processed by the I/O thread of its connection
+        assertEquals(CLIENTS, processingThreads.size());
+        Set<Thread> ioThreads = new HashSet<>();
+        for (Set<Thread> threads : processingThreads.values())
+        {
+            assertEquals(1, threads.size());
+            ioThreads.addAll(threads);
+        }
+        assertEquals(IO_THREADS, ioThreads.size());
+        for (Thread ioThread : ioThreads)
+        {
+            assertTrue(ioThread.getName(), ioThread.getName().contains("-IO"));
+        }
+    }
+
+    private void echoMessage(Message msg, TcpConnector connector, Peer peer)
+    {
+        processingThreads.computeIfAbsent(peer, ignored -> ConcurrentHashMap.newKeySet())
+            .add(Thread.currentThread());
+        try
+        {
+            peer.sendMessage(msg.getData());
+        }
+        catch (IllegalMessageStateException msgStateExc)
+        {
+            throw new ImplementationError(msgStateExc);
+        }
+    }
+
+    private static List<String> createMessages(int clientIdx)
+    {
+        List<String> messages = new ArrayList<>();
+        for (int msgIdx = 0; msgIdx < MESSAGES_PER_CLIENT; ++msgIdx)
+        {
+            messages.add("client " + clientIdx + " message " + msgIdx);
+        }
+        return messages;
+    }
+
+    /**
+     * Sends all messages and returns the messages that the server echoed
+     */
+    private static List<String> sendAndReceive(SocketChannel client, List<String> messages) throws IOException
+    {
+        for (String message : messages)
+        {
+            byte[] data = message.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocate(Message.HEADER_SIZE + data.length);
+            buffer.putInt(Message.TYPE_FIELD_OFFSET, MessageTypes.DATA);
+            buffer.putInt(Message.LENGTH_FIELD_OFFSET, data.length);
+            buffer.position(Message.HEADER_SIZE);
+            buffer.put(data);
+            buffer.flip();
+            while (buffer.hasRemaining())
+            {
+                client.write(buffer);
+            }
+        }
+
+        List<String> echoed = new ArrayList<>();
+        while (echoed.size() < messages.size())
+        {
+            ByteBuffer header = readFully(client, Message.HEADER_SIZE);
+            ByteBuffer data = readFully(client, header.getInt(Message.LENGTH_FIELD_OFFSET));
+            if (header.getInt(Message.TYPE_FIELD_OFFSET) == MessageTypes.DATA)
+            {
+                echoed.add(new String(data.array(), StandardCharsets.UTF_8));
+            }
+        }
+        return echoed;
+    }
+
+    private static ByteBuffer readFully(SocketChannel client, int size) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining())
+        {
+            if (client.read(buffer) < 0)
+            {
+                throw new IOException("Connection closed by the server");
+            }
+        }
+        return buffer;
+    }
+
+    private static int findFreePort() throws IOException
+    {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress()))
+        {
+            port = socket.getLocalPort();
+        }
+        return port;
+    }
+}
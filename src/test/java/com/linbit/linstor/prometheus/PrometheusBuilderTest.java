@@ -6,16 +6,23 @@ import com.linbit.linstor.api.pojo.RscDfnPojo;
 import com.linbit.linstor.api.pojo.RscGrpPojo;
 import com.linbit.linstor.core.apicallhandler.controller.helpers.ResourceList;
 import com.linbit.linstor.core.apis.NodeApi;
+import com.linbit.linstor.core.apis.ResourceApi;
 import com.linbit.linstor.core.apis.ResourceDefinitionApi;
+import com.linbit.linstor.core.objects.Node;
+import com.linbit.linstor.logging.ErrorReportStats;
 import com.linbit.linstor.logging.StderrErrorReporter;
+import com.linbit.locks.LockStatistics;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.UUID;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 public class PrometheusBuilderTest {
 
@@ -31,6 +38,7 @@ public class PrometheusBuilderTest {
                 new ResourceList(),
                 null,
                 null,
+                null,
                 1,
                 start);
         Assert.assertNotNull(promText);
@@ -90,6 +98,7 @@ public class PrometheusBuilderTest {
             new ResourceList(),
             null,
             null,
+            null,
             1,
             start);
         Assert.assertNotNull(promText);
@@ -97,4 +106,101 @@ public class PrometheusBuilderTest {
         Assert.assertTrue(promText.contains("linstor_node_state"));
         Assert.assertTrue(promText.contains("linstor_resource_definition_count 1.0"));
     }
+
+    @Test
+    public void testPreRenderedObjectMetrics() throws IOException {
+        long start = System.currentTimeMillis();
+        StderrErrorReporter errReporter = new StderrErrorReporter("Test");
+        PrometheusBuilder pmb = new PrometheusBuilder(errReporter);
+
+        final String objectMetrics = pmb.buildNodeMetrics(null, Collections.emptyList()) +
+            pmb.buildResourceMetrics(new ResourceList()) +
+            pmb.buildStorPoolMetrics(Collections.emptyList());
+        Assert.assertTrue(objectMetrics.contains("linstor_resource_definition_count 0.0"));
+        Assert.assertTrue(objectMetrics.contains("# TYPE linstor_volume_state gauge"));
+        Assert.assertTrue(objectMetrics.contains("# TYPE linstor_storage_pool_capacity_free_bytes gauge"));
+
+        final String promText = pmb.build(objectMetrics, null, null, 1, start);
+        int infoIdx = promText.indexOf("linstor_info");
+        int objectIdx = promText.indexOf(objectMetrics);
+        int scrapeIdx = promText.indexOf("linstor_scrape_requests_count");
+        Assert.assertTrue(infoIdx >= 0 && infoIdx < objectIdx);
+        Assert.assertTrue(objectIdx < scrapeIdx);
+    }
+
+    @Test
+    public void testSeparatelyRenderedResourceSamples() {
+        StderrErrorReporter errReporter = new StderrErrorReporter("Test");
+        PrometheusBuilder pmb = new PrometheusBuilder(errReporter);
+
+        ResourceList rl = new ResourceList();
+        PrometheusBuilder.ResourceSamples alphaSamples =
+            pmb.buildResourceSamples(rl, Collections.singletonList(mockRsc("rsc1", "alpha")));
+        PrometheusBuilder.ResourceSamples bravoSamples =
+            pmb.buildResourceSamples(rl, Collections.singletonList(mockRsc("rsc1", "bravo")));
+
+        final String rscMetrics = pmb.buildResourceMetrics(Arrays.asList(alphaSamples, bravoSamples));
+        String[] lines = rscMetrics.split("\n");
+        // every metric family is only started once, the samples of both nodes follow its header
+        Assert.assertEquals(1, Arrays.stream(lines).filter("# TYPE linstor_resource_state gauge"::equals).count());
+        int headerIdx = Arrays.asList(lines).indexOf("# TYPE linstor_resource_state gauge");
+        Assert.assertTrue(lines[headerIdx + 1].startsWith("linstor_resource_state{"));
+        Assert.assertTrue(lines[headerIdx + 1].contains("node=\"alpha\""));
+        Assert.assertTrue(lines[headerIdx + 2].contains("node=\"bravo\""));
+        Assert.assertTrue(rscMetrics.contains("# TYPE linstor_volume_allocated_size_bytes gauge"));
+    }
+
+    private static ResourceApi mockRsc(String rscName, String nodeName) {
+        ResourceApi rscApi = Mockito.mock(ResourceApi.class);
+        Mockito.when(rscApi.getName()).thenReturn(rscName);
+        Mockito.when(rscApi.getNodeName()).thenReturn(nodeName);
+        Mockito.doReturn(Collections.emptyList()).when(rscApi).getVlmList();
+        return rscApi;
+    }
+
+    @Test
+    public void testErrorReportMetrics() throws IOException {
+        long start = System.currentTimeMillis();
+        StderrErrorReporter errReporter = new StderrErrorReporter("Test");
+        PrometheusBuilder pmb = new PrometheusBuilder(errReporter);
+
+        final String promText = pmb.build(
+            "",
+            Arrays.asList(
+                new ErrorReportStats.Entry("ctrl", Node.Type.CONTROLLER, 3, new Date(2000)),
+                new ErrorReportStats.Entry("alpha", Node.Type.SATELLITE, 2, new Date(5000))
+            ),
+            null,
+            1,
+            start);
+        Assert.assertTrue(promText.contains("linstor_error_reports_count 5.0"));
+        Assert.assertTrue(Arrays.stream(promText.split("\n")).anyMatch(line ->
+            line.startsWith("linstor_error_reports_count{") && line.contains("hostname=\"alpha\"") &&
+                line.endsWith(" 2.0")));
+        Assert.assertTrue(promText.contains("# TYPE linstor_error_reports_last_timestamp_seconds gauge"));
+    }
+
+    @Test
+    public void testLockMetrics() throws IOException {
+        long start = System.currentTimeMillis();
+        StderrErrorReporter errReporter = new StderrErrorReporter("Test");
+        PrometheusBuilder pmb = new PrometheusBuilder(errReporter);
+
+        LockStatistics lockStatistics = new LockStatistics();
+        lockStatistics.getApiCallStats("ListNode");
+
+        final String promText = pmb.build(
+            null,
+            null,
+            null,
+            null,
+            null,
+            lockStatistics,
+            1,
+            start);
+        Assert.assertTrue(promText.contains("# TYPE linstor_lock_wait_seconds histogram"));
+        Assert.assertTrue(promText.contains("linstor_lock_wait_seconds_bucket{"));
+        Assert.assertTrue(promText.contains("le=\"+Inf\""));
+        Assert.assertTrue(promText.contains("linstor_api_call_lock_hold_seconds_count{api_call=\"ListNode\"} 0.0"));
+    }
 }
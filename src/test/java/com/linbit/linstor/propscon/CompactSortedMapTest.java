@@ -0,0 +1,121 @@
+package com.linbit.linstor.propscon;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompactSortedMapTest
+{
+    private static final int KEY_RANGE = CompactSortedMap.MAX_ARRAY_SIZE * 3;
+
+    @Test
+    public void testSameBehaviorAsTreeMap()
+    {
+        Random random = new Random(42);
+        CompactSortedMap<String> compactMap = new CompactSortedMap<>();
+        TreeMap<String, String> treeMap = new TreeMap<>();
+
+        for (int run = 0; run < 10_000; ++run)
+        {
+            String key = "key" + random.nextInt(KEY_RANGE);
+            String value = "value" + run;
+            switch (random.nextInt(4))
+            {
+                case 0:
+                case 1:
+                    assertEquals(treeMap.put(key, value), compactMap.put(key, value));
+                    break;
+                case 2:
+                    assertEquals(treeMap.remove(key), compactMap.remove(key));
+                    break;
+                default:
+                    assertEquals(treeMap.get(key), compactMap.get(key));
+                    assertEquals(treeMap.containsKey(key), compactMap.containsKey(key));
+                    break;
+            }
+            assertEquals(treeMap.size(), compactMap.size());
+            if (run % 100 == 0)
+            {
+                assertEquals(new ArrayList<>(treeMap.entrySet()), new ArrayList<>(compactMap.entrySet()));
+                assertEquals(treeMap, compactMap);
+            }
+            if (run % 3000 == 0)
+            {
+                treeMap.clear();
+                compactMap.clear();
+            }
+        }
+    }
+
+    @Test
+    public void testIteratorRemoveAndSetValue()
+    {
+        for (int count : new int[] {CompactSortedMap.MAX_ARRAY_SIZE / 2, CompactSortedMap.MAX_ARRAY_SIZE * 2})
+        {
+            CompactSortedMap<String> map = new CompactSortedMap<>();
+            for (int idx = 0; idx < count; ++idx)
+            {
+                map.put(String.format("key%03d", idx), "value" + idx);
+            }
+
+            List<String> expectedKeys = new ArrayList<>();
+            Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
+            int idx = 0;
+            while (iterator.hasNext())
+            {
+                Map.Entry<String, String> entry = iterator.next();
+                if (idx % 2 == 0)
+                {
+                    iterator.remove();
+                }
+                else
+                {
+                    assertEquals("value" + idx, entry.setValue("changed"));
+                    expectedKeys.add(entry.getKey());
+                }
+                ++idx;
+            }
+
+            assertEquals(expectedKeys, new ArrayList<>(map.keySet()));
+            for (String value : map.values())
+            {
+                assertEquals("changed", value);
+            }
+            assertNull(map.get("key000"));
+            assertTrue(map.containsValue("changed"));
+        }
+    }
+
+    @Test
+    public void testEntryReflectsLaterPut()
+    {
+        for (int count : new int[] {CompactSortedMap.MAX_ARRAY_SIZE / 2, CompactSortedMap.MAX_ARRAY_SIZE * 2})
+        {
+            CompactSortedMap<String> map = new CompactSortedMap<>();
+            for (int idx = 0; idx < count; ++idx)
+            {
+                map.put(String.format("key%03d", idx), "value" + idx);
+            }
+            Map.Entry<String, String> entry = map.entrySet().iterator().next();
+
+            map.put("key000", "changed");
+            assertEquals("changed", entry.getValue());
+
+            // structural modification in front of the entry
+            map.put("a", "first");
+            assertEquals("changed", entry.getValue());
+
+            map.remove("key000");
+            assertEquals("changed", entry.getValue());
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class PriorityPropsTests extends GenericDbBase
 {
@@ -70,4 +71,25 @@ public class PriorityPropsTests extends GenericDbBase
         assertEquals("8", map.get("a/1"));
         assertEquals(4, map.size());
     }
+
+    @Test
+    public void cachedLookupsSeeModificationsTest() throws Exception
+    {
+        assertEquals("1", prioProps.getProp("/a/1"));
+        assertEquals("2", prioProps.renderRelativeMap("b").get("1"));
+
+        prop1.removeProp("/a/1");
+        prop1.setProp("/b/1", "10");
+        assertEquals("4", prioProps.getProp("/a/1"));
+        assertEquals("10", prioProps.renderRelativeMap("b").get("1"));
+
+        // a second instance with the same props shares the cached view
+        PriorityProps otherPrioProps = new PriorityProps(prop1, prop2, prop3);
+        assertEquals("4", otherPrioProps.getProp("/a/1"));
+
+        prop1.setProp("/a/1", "11");
+        assertEquals("11", otherPrioProps.getProp("/a/1"));
+        assertEquals("11", prioProps.getProp("/a/1"));
+        assertNull(new PriorityProps(prop3).getProp("/a/1"));
+    }
 }
@@ -0,0 +1,174 @@
+package com.linbit.linstor.propscon;
+
+import com.linbit.linstor.LinstorParsingUtils;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.dbdrivers.SatellitePropDriver;
+import com.linbit.linstor.transaction.manager.SatelliteTransactionMgr;
+import com.linbit.linstor.transaction.manager.TransactionMgr;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PropsIndexTest
+{
+    private TransactionMgr transactionMgr;
+    private PropsIndex propsIndex;
+    private PropsContainerFactory propsContainerFactory;
+
+    @Before
+    public void setUp()
+    {
+        transactionMgr = new SatelliteTransactionMgr();
+        propsIndex = new PropsIndex();
+        propsContainerFactory = new PropsContainerFactory(
+            new SatellitePropDriver(),
+            () -> transactionMgr,
+            propsIndex
+        );
+    }
+
+    @Test
+    public void onlyCommittedChangesAreIndexed() throws Exception
+    {
+        PropsContainer alphaProps = nodeProps("alpha");
+        PropsContainer bravoProps = nodeProps("bravo");
+
+        alphaProps.setProp("Aux/site", "A");
+        bravoProps.setProp("Aux/site", "B");
+        assertTrue(propsIndex.findNodes(Arrays.asList("Aux/site")).isEmpty());
+
+        transactionMgr.commit();
+        assertEquals(nodeNames("alpha", "bravo"), propsIndex.findNodes(Arrays.asList("Aux/site")));
+        assertEquals(nodeNames("bravo"), propsIndex.findNodes(Arrays.asList("Aux/site=B")));
+        // leading path separators are accepted by the props, so also by the index
+        assertEquals(nodeNames("bravo"), propsIndex.findNodes(Arrays.asList("/Aux/site=B")));
+
+        bravoProps.setProp("Aux/site", "A");
+        transactionMgr.rollback();
+        assertEquals(nodeNames("bravo"), propsIndex.findNodes(Arrays.asList("Aux/site=B")));
+
+        bravoProps.setProp("Aux/site", "A");
+        transactionMgr.commit();
+        assertTrue(propsIndex.findNodes(Arrays.asList("Aux/site=B")).isEmpty());
+        assertEquals(nodeNames("alpha", "bravo"), propsIndex.findNodes(Arrays.asList("Aux/site=A")));
+    }
+
+    @Test
+    public void allFiltersMustMatch() throws Exception
+    {
+        nodeProps("alpha").setProp("Aux/site", "A");
+        PropsContainer bravoProps = nodeProps("bravo");
+        bravoProps.setProp("Aux/site", "A");
+        bravoProps.setProp("Aux/rack", "1");
+        transactionMgr.commit();
+
+        assertEquals(nodeNames("bravo"), propsIndex.findNodes(Arrays.asList("Aux/site=A", "Aux/rack")));
+        assertTrue(propsIndex.findNodes(Arrays.asList("Aux/site=A", "Aux/rack=2")).isEmpty());
+        assertTrue(propsIndex.findNodes(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void deletedContainersAreRemoved() throws Exception
+    {
+        PropsContainer alphaProps = nodeProps("alpha");
+        alphaProps.setProp("Aux/site", "A");
+        transactionMgr.commit();
+
+        alphaProps.delete();
+        transactionMgr.commit();
+        assertTrue(propsIndex.findNodes(Arrays.asList("Aux/site")).isEmpty());
+    }
+
+    @Test
+    public void clearedContainersAreRestoredByRollback() throws Exception
+    {
+        PropsContainer alphaProps = nodeProps("alpha");
+        alphaProps.setProp("Aux/site", "A");
+        transactionMgr.commit();
+
+        alphaProps.clear();
+        transactionMgr.rollback();
+        assertEquals("A", alphaProps.getProp("Aux/site"));
+        assertEquals(nodeNames("alpha"), propsIndex.findNodes(Arrays.asList("Aux/site=A")));
+
+        alphaProps.clear();
+        transactionMgr.commit();
+        assertNull(alphaProps.getProp("Aux/site"));
+        assertTrue(propsIndex.findNodes(Arrays.asList("Aux/site")).isEmpty());
+    }
+
+    @Test
+    public void noOpIndexFindsNothing() throws Exception
+    {
+        propsIndex = new NoOpPropsIndex();
+        propsContainerFactory = new PropsContainerFactory(
+            new SatellitePropDriver(),
+            () -> transactionMgr,
+            propsIndex
+        );
+        nodeProps("alpha").setProp("Aux/site", "A");
+        transactionMgr.commit();
+
+        assertTrue(propsIndex.findNodes(Arrays.asList("Aux/site")).isEmpty());
+    }
+
+    @Test
+    public void objectTypesAreSeparated() throws Exception
+    {
+        NodeName nodeName = LinstorParsingUtils.asNodeName("alpha");
+        ResourceName rscName = LinstorParsingUtils.asRscName("rsc1");
+        propsContainerFactory.getInstance(PropsContainer.buildPath(nodeName)).setProp("Aux/site", "A");
+        propsContainerFactory.getInstance(PropsContainer.buildPath(rscName)).setProp("Aux/site", "A");
+        propsContainerFactory.getInstance(PropsContainer.buildPath(nodeName, rscName)).setProp("Aux/site", "A");
+        transactionMgr.commit();
+
+        assertEquals(nodeNames("alpha"), propsIndex.findNodes(Arrays.asList("Aux/site")));
+        assertEquals(
+            Collections.singleton(rscName),
+            propsIndex.findResourceDefinitions(Arrays.asList("Aux/site"))
+        );
+        Map<ResourceName, Set<NodeName>> rscs = propsIndex.findResources(Arrays.asList("Aux/site"));
+        assertEquals(Collections.singletonMap(rscName, Collections.singleton(nodeName)), rscs);
+    }
+
+    @Test
+    public void onlySearchableObjectTypesAreIndexed() throws Exception
+    {
+        PropsContainer kvsProps = propsContainerFactory.getInstance("/keyvaluestores/kvs1");
+        kvsProps.setProp("Aux/site", "A");
+        nodeProps("alpha").setProp("Aux/site", "A");
+        transactionMgr.commit();
+
+        assertNull(kvsProps.propsIndex);
+        assertTrue(propsIndex.find("/keyvaluestores/", Arrays.asList("Aux/site")).isEmpty());
+        assertEquals(nodeNames("alpha"), propsIndex.findNodes(Arrays.asList("Aux/site")));
+    }
+
+    private PropsContainer nodeProps(String nodeName) throws Exception
+    {
+        return propsContainerFactory.getInstance(
+            PropsContainer.buildPath(LinstorParsingUtils.asNodeName(nodeName))
+        );
+    }
+
+    private static Set<NodeName> nodeNames(String... names)
+    {
+        Set<NodeName> nodeNames = new TreeSet<>();
+        for (String name : names)
+        {
+            nodeNames.add(LinstorParsingUtils.asNodeName(name));
+        }
+        return nodeNames;
+    }
+}
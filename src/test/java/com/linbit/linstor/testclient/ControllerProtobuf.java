@@ -73,7 +73,7 @@ public class ControllerProtobuf extends ProtobufIO
                 InternalApiConsts.API_AUTH,
                 getNextApiCallId()
             )
-            .authMessage(nodeUuid, nodeName, sharedSecret)
+            .authMessage(nodeUuid, nodeName, sharedSecret, 0)
             .build()
         );
     }
@@ -0,0 +1,397 @@
+package com.linbit.linstor.testclient;
+
+import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.rest.v1.serializer.JsonGenTypes;
+import com.linbit.linstor.core.objects.Node;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import picocli.CommandLine;
+
+/**
+ * Scale benchmark of a running controller against {@link FakeSatellite}s
+ *
+ * Starts the given number of fake satellites in this JVM, registers them as nodes with one LVM storage pool each
+ * through the REST API of the controller and measures the throughput and latency of the following workloads:
+ * <ul>
+ *     <li>node-create: creation of the nodes, including the connection, authentication and full sync</li>
+ *     <li>rsc-create: creation of a resource definition, its volume definition and autoplacing it</li>
+ *     <li>list: listing all resources with <code>v1/view/resources</code></li>
+ *     <li>rsc-delete: deletion of the resource definitions</li>
+ * </ul>
+ * The controller should run with an empty (e.g. in-memory) database, as the benchmark creates its objects with fixed
+ * names. The nodes are deleted again at the end unless <code>--keep-nodes</code> is given.
+ *
+ *   ./gradlew scaleBenchmark -Pscale.args="--satellites 500 --resource-definitions 25000 --place-count 2"
+ */
+@CommandLine.Command(
+    name = "controller-scale-benchmark",
+    description = "Measures the controller with fake satellites running in this JVM",
+    mixinStandardHelpOptions = true
+)
+public class ControllerScaleBenchmark implements Callable<Object>
+{
+    private static final String NODE_NAME_FORMAT = "fake%04d";
+    private static final String RSC_NAME_FORMAT = "scale%06d";
+    private static final String STOR_POOL_NAME = "fakepool";
+    private static final int HTTP_TIMEOUT_MILLIS = 10 * 60 * 1000;
+    private static final int MAX_REPORTED_ERRORS = 10;
+
+    @CommandLine.Option(names = {"--controller"}, description = "URL of the REST API of the controller")
+    private String controllerUrl = "http://localhost:3370";
+
+    @CommandLine.Option(names = {"--satellites"}, description = "Number of fake satellites")
+    private int satelliteCount = 10;
+
+    @CommandLine.Option(names = {"--first-port"}, description = "Port of the first fake satellite")
+    private int firstPort = 13366;
+
+    @CommandLine.Option(names = {"--capacity"}, description = "Capacity of every storage pool in KiB")
+    private long storPoolCapacity = 10L * 1024 * 1024 * 1024;
+
+    @CommandLine.Option(names = {"--resource-definitions"}, description = "Number of resource definitions")
+    private int rscDfnCount = 100;
+
+    @CommandLine.Option(names = {"--place-count"}, description = "Replicas per resource definition")
+    private int placeCount = 2;
+
+    @CommandLine.Option(names = {"--volume-size"}, description = "Size of every volume in KiB")
+    private long vlmSize = 100L * 1024;
+
+    @CommandLine.Option(names = {"--list-requests"}, description = "Number of list requests")
+    private int listRequestCount = 20;
+
+    @CommandLine.Option(names = {"--clients"}, description = "Number of concurrent REST clients")
+    private int clientCount = 8;
+
+    @CommandLine.Option(names = {"--keep-nodes"}, description = "Do not delete the nodes at the end")
+    private boolean keepNodes;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger reportedErrors = new AtomicInteger();
+
+    public static void main(String[] args)
+    {
+        new CommandLine(new ControllerScaleBenchmark()).parseWithHandler(new CommandLine.RunLast(), args);
+    }
+
+    @Override
+    public Object call() throws Exception
+    {
+        FakeSatelliteCluster cluster = FakeSatelliteCluster.start(satelliteCount, firstPort, storPoolCapacity);
+        ExecutorService executor = Executors.newFixedThreadPool(clientCount);
+        List<WorkloadResult> results = new ArrayList<>();
+        try
+        {
+            results.add(run(executor, "node-create", satelliteCount, this::createNode));
+            results.add(run(executor, "rsc-create", rscDfnCount, this::createResource));
+            results.add(run(executor, "list", listRequestCount, ignored -> listResources()));
+            results.add(run(executor, "rsc-delete", rscDfnCount, this::deleteResource));
+            if (!keepNodes)
+            {
+                run(executor, "node-delete", satelliteCount, this::deleteNode);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+            cluster.shutdown();
+        }
+
+        System.out.printf(
+            "%d satellites, %d resource definitions with %d replicas, %d clients%n%n",
+            satelliteCount,
+            rscDfnCount,
+            placeCount,
+            clientCount
+        );
+        System.out.printf(
+            "%-12s %8s %8s %10s %10s %10s %10s %10s%n",
+            "workload", "ops", "errors", "ops/s", "p50 ms", "p95 ms", "p99 ms", "max ms"
+        );
+        for (WorkloadResult result : results)
+        {
+            result.print();
+        }
+        System.out.printf(
+            "%nMessages received by the satellites: %d, resources applied: %d, deleted: %d%n",
+            cluster.getReceivedMessageCount(),
+            cluster.getAppliedResourceCount(),
+            cluster.getDeletedResourceCount()
+        );
+        return null;
+    }
+
+    private WorkloadResult run(ExecutorService executor, String name, int opCount, Operation operation)
+        throws Exception
+    {
+        long[] latencies = new long[opCount];
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(opCount);
+
+        long start = System.nanoTime();
+        for (int idx = 0; idx < opCount; ++idx)
+        {
+            final int opIdx = idx;
+            futures.add(executor.submit(() ->
+            {
+                long opStart = System.nanoTime();
+                try
+                {
+                    if (!operation.execute(opIdx))
+                    {
+                        errors.incrementAndGet();
+                    }
+                }
+                catch (IOException ioExc)
+                {
+                    reportError(name + " #" + opIdx + ": " + ioExc);
+                    errors.incrementAndGet();
+                }
+                latencies[opIdx] = System.nanoTime() - opStart;
+            }));
+        }
+        for (Future<?> future : futures)
+        {
+            future.get();
+        }
+        return new WorkloadResult(name, latencies, errors.get(), System.nanoTime() - start);
+    }
+
+    private boolean createNode(int idx) throws IOException
+    {
+        JsonGenTypes.NetInterface netIf = new JsonGenTypes.NetInterface();
+        netIf.name = "default";
+        netIf.address = "127.0.0.1";
+        netIf.satellite_port = firstPort + idx;
+        netIf.satellite_encryption_type = ApiConsts.VAL_NETCOM_TYPE_PLAIN;
+
+        JsonGenTypes.Node node = new JsonGenTypes.Node();
+        node.name = nodeName(idx);
+        node.type = Node.Type.SATELLITE.name();
+        node.net_interfaces = Collections.singletonList(netIf);
+
+        JsonGenTypes.StoragePool storPool = new JsonGenTypes.StoragePool();
+        storPool.storage_pool_name = STOR_POOL_NAME;
+        storPool.provider_kind = "LVM";
+        storPool.props = Collections.singletonMap(
+            ApiConsts.NAMESPC_STORAGE_DRIVER + "/" + ApiConsts.KEY_STOR_POOL_VOLUME_GROUP,
+            "fakevg"
+        );
+
+        return post("/v1/nodes", node) &&
+            post("/v1/nodes/" + node.name + "/storage-pools", storPool);
+    }
+
+    private boolean deleteNode(int idx) throws IOException
+    {
+        return delete("/v1/nodes/" + nodeName(idx));
+    }
+
+    private boolean createResource(int idx) throws IOException
+    {
+        String rscName = rscName(idx);
+
+        JsonGenTypes.ResourceDefinitionCreate rscDfn = new JsonGenTypes.ResourceDefinitionCreate();
+        rscDfn.resource_definition.name = rscName;
+
+        JsonGenTypes.VolumeDefinitionCreate vlmDfn = new JsonGenTypes.VolumeDefinitionCreate();
+        vlmDfn.volume_definition.size_kib = vlmSize;
+
+        JsonGenTypes.AutoPlaceRequest autoPlace = new JsonGenTypes.AutoPlaceRequest();
+        autoPlace.select_filter.place_count = placeCount;
+        autoPlace.select_filter.storage_pool = STOR_POOL_NAME;
+
+        return post("/v1/resource-definitions", rscDfn) &&
+            post("/v1/resource-definitions/" + rscName + "/volume-definitions", vlmDfn) &&
+            post("/v1/resource-definitions/" + rscName + "/autoplace", autoPlace);
+    }
+
+    private boolean deleteResource(int idx) throws IOException
+    {
+        return delete("/v1/resource-definitions/" + rscName(idx));
+    }
+
+    private boolean listResources() throws IOException
+    {
+        HttpResponse response = request("GET", "/v1/view/resources", null);
+        boolean success = response.status < HttpURLConnection.HTTP_BAD_REQUEST;
+        if (!success)
+        {
+            reportError("GET /v1/view/resources: HTTP " + response.status);
+        }
+        return success;
+    }
+
+    private boolean post(String path, Object body) throws IOException
+    {
+        return checkApiCallRcs("POST " + path, request("POST", path, body));
+    }
+
+    private boolean delete(String path) throws IOException
+    {
+        return checkApiCallRcs("DELETE " + path, request("DELETE", path, null));
+    }
+
+    private boolean checkApiCallRcs(String description, HttpResponse response) throws IOException
+    {
+        boolean success = response.status < HttpURLConnection.HTTP_BAD_REQUEST;
+        if (response.body.length > 0)
+        {
+            for (JsonGenTypes.ApiCallRc apiCallRc :
+                objectMapper.readValue(response.body, JsonGenTypes.ApiCallRc[].class))
+            {
+                if (apiCallRc.ret_code != null && (apiCallRc.ret_code & ApiConsts.MASK_ERROR) == ApiConsts.MASK_ERROR)
+                {
+                    reportError(description + ": " + apiCallRc.message);
+                    success = false;
+                }
+            }
+        }
+        else
+        if (!success)
+        {
+            reportError(description + ": HTTP " + response.status);
+        }
+        return success;
+    }
+
+    private HttpResponse request(String method, String path, Object body) throws IOException
+    {
+        HttpURLConnection conn = (HttpURLConnection) new URL(controllerUrl + path).openConnection();
+        try
+        {
+            conn.setRequestMethod(method);
+            conn.setConnectTimeout(HTTP_TIMEOUT_MILLIS);
+            conn.setReadTimeout(HTTP_TIMEOUT_MILLIS);
+            conn.setRequestProperty("Accept", "application/json");
+            if (body != null)
+            {
+                conn.setDoOutput(true);
+                conn.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream out = conn.getOutputStream())
+                {
+                    out.write(objectMapper.writeValueAsBytes(body));
+                }
+            }
+
+            int status = conn.getResponseCode();
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (InputStream in = status < HttpURLConnection.HTTP_BAD_REQUEST ?
+                conn.getInputStream() : conn.getErrorStream())
+            {
+                if (in != null)
+                {
+                    byte[] buffer = new byte[8192];
+                    int read;
+                    while ((read = in.read(buffer)) != -1)
+                    {
+                        baos.write(buffer, 0, read);
+                    }
+                }
+            }
+            return new HttpResponse(status, baos.toByteArray());
+        }
+        finally
+        {
+            conn.disconnect();
+        }
+    }
+
+    private void reportError(String msg)
+    {
+        if (reportedErrors.incrementAndGet() <= MAX_REPORTED_ERRORS)
+        {
+            System.err.println(msg);
+        }
+    }
+
+    private static String nodeName(int idx)
+    {
+        return String.format(NODE_NAME_FORMAT, idx);
+    }
+
+    private static String rscName(int idx)
+    {
+        return String.format(RSC_NAME_FORMAT, idx);
+    }
+
+    private interface Operation
+    {
+        /**
+         * Returns <code>false</code> if the controller reported an error
+         */
+        boolean execute(int idx) throws IOException;
+    }
+
+    private static class HttpResponse
+    {
+        private final int status;
+        private final byte[] body;
+
+        HttpResponse(int statusRef, byte[] bodyRef)
+        {
+            status = statusRef;
+            body = bodyRef;
+        }
+    }
+
+    private static class WorkloadResult
+    {
+        private final String name;
+        private final long[] sortedLatencies;
+        private final int errors;
+        private final long durationNanos;
+
+        WorkloadResult(String nameRef, long[] latenciesRef, int errorsRef, long durationNanosRef)
+        {
+            name = nameRef;
+            sortedLatencies = latenciesRef.clone();
+            Arrays.sort(sortedLatencies);
+            errors = errorsRef;
+            durationNanos = durationNanosRef;
+        }
+
+        private double percentileMillis(double percentile)
+        {
+            double millis = 0;
+            if (sortedLatencies.length > 0)
+            {
+                int idx = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+                millis = sortedLatencies[Math.max(0, idx)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+            }
+            return millis;
+        }
+
+        void print()
+        {
+            System.out.printf(
+                "%-12s %8d %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                name,
+                sortedLatencies.length,
+                errors,
+                sortedLatencies.length / (durationNanos / (double) TimeUnit.SECONDS.toNanos(1)),
+                percentileMillis(50),
+                percentileMillis(95),
+                percentileMillis(99),
+                percentileMillis(100)
+            );
+        }
+    }
+}
@@ -0,0 +1,750 @@
+package com.linbit.linstor.testclient;
+
+import com.linbit.InvalidNameException;
+import com.linbit.ValueOutOfRangeException;
+import com.linbit.linstor.InternalApiConsts;
+import com.linbit.linstor.api.ApiCallRcImpl;
+import com.linbit.linstor.api.ApiConsts;
+import com.linbit.linstor.api.interfaces.serializer.CommonSerializer;
+import com.linbit.linstor.api.protobuf.ProtoDeserializationUtils;
+import com.linbit.linstor.api.protobuf.serializer.ProtoCommonSerializer;
+import com.linbit.linstor.core.LinStor;
+import com.linbit.linstor.core.identifier.NodeName;
+import com.linbit.linstor.core.identifier.ResourceName;
+import com.linbit.linstor.core.identifier.VolumeNumber;
+import com.linbit.linstor.event.EventIdentifier;
+import com.linbit.linstor.event.ObjectIdentifier;
+import com.linbit.linstor.event.common.ResourceState;
+import com.linbit.linstor.logging.ErrorReporter;
+import com.linbit.linstor.logging.StderrErrorReporter;
+import com.linbit.linstor.netcom.Message;
+import com.linbit.linstor.netcom.MessageTypes;
+import com.linbit.linstor.proto.MsgHeaderOuterClass.MsgHeader;
+import com.linbit.linstor.proto.common.RscLayerDataOuterClass.RscLayerData;
+import com.linbit.linstor.proto.common.RscOuterClass.Rsc;
+import com.linbit.linstor.proto.common.StorPoolFreeSpaceOuterClass.StorPoolFreeSpace;
+import com.linbit.linstor.proto.common.StorPoolOuterClass.StorPool;
+import com.linbit.linstor.proto.common.StorageRscOuterClass.StorageVlm;
+import com.linbit.linstor.proto.common.VlmDfnOuterClass.VlmDfn;
+import com.linbit.linstor.proto.common.VlmOuterClass.Vlm;
+import com.linbit.linstor.proto.javainternal.IntObjectIdOuterClass.IntObjectId;
+import com.linbit.linstor.proto.javainternal.c2s.IntRscOuterClass.IntOtherRsc;
+import com.linbit.linstor.proto.javainternal.c2s.IntRscOuterClass.IntRsc;
+import com.linbit.linstor.proto.javainternal.c2s.IntStorPoolOuterClass.IntStorPool;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyDeletedRscOuterClass.MsgIntApplyDeletedRsc;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyDeletedStorPoolOuterClass.MsgIntApplyDeletedStorPool;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyFullSyncOuterClass.MsgIntApplyFullSync;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyRscOuterClass.MsgIntApplyRsc;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntApplyStorPoolOuterClass.MsgIntApplyStorPool;
+import com.linbit.linstor.proto.javainternal.c2s.MsgIntAuthOuterClass.MsgIntAuth;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntApplyStorPoolSuccessOuterClass.MsgIntApplyStorPoolSuccess;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntFreeSpaceOuterClass.MsgIntFreeSpace;
+import com.linbit.linstor.proto.javainternal.s2c.MsgIntFullSyncResponseOuterClass.MsgIntFullSyncResponse;
+import com.linbit.linstor.storage.kinds.DeviceProviderKind;
+import com.linbit.linstor.storage.kinds.ExtTools;
+import com.linbit.linstor.storage.kinds.ExtToolsInfo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.protobuf.MessageLite;
+
+/**
+ * Satellite that speaks the controller / satellite protocol without managing any storage or DRBD resources
+ *
+ * The fake satellite listens on a plain TCP port and answers the controller the way a real satellite does:
+ * <ul>
+ *     <li>{@link InternalApiConsts#API_AUTH} is always accepted, all layers and providers are reported as supported</li>
+ *     <li>{@link InternalApiConsts#API_FULL_SYNC_DATA} is applied and answered with the free space of the pools</li>
+ *     <li>{@link InternalApiConsts#API_CHANGED_RSC} and {@link InternalApiConsts#API_CHANGED_STOR_POOL} request the
+ *         changed objects from the controller and are answered once the objects were applied</li>
+ *     <li>{@link InternalApiConsts#API_REQUEST_THIN_FREE_SPACE} is answered with the free space of the thin pools</li>
+ *     <li>every applied resource gets the resource state, volume disk state and connection state events of a
+ *         healthy, UpToDate DRBD resource</li>
+ * </ul>
+ * All other API calls are completed without an answer. The free space of a storage pool is its configured capacity
+ * minus the size of the volumes that are deployed in that pool.
+ *
+ * One thread per satellite accepts the connection of the controller and processes all its messages, so the state of
+ * the satellite is only modified by that thread.
+ */
+public class FakeSatellite
+{
+    private static final int WATCH_ID = 0;
+    private static final int EXT_TOOLS_VERSION_MAJOR = 9;
+    private static final String DISK_STATE_UP_TO_DATE = "UpToDate";
+    private static final String CONNECTION_STATE_CONNECTED = "Connected";
+    private static final String FLAG_DELETE = "DELETE";
+
+    private final InetSocketAddress address;
+    private final long storPoolCapacity;
+    private final ErrorReporter errorReporter;
+    private final CommonSerializer serializer;
+
+    private final Map<String, FakeStorPool> storPools = new HashMap<>();
+    private final Map<String, FakeResource> resources = new HashMap<>();
+    private final List<PendingUpdate> pendingUpdates = new ArrayList<>();
+
+    private final AtomicLong receivedMsgCount = new AtomicLong();
+    private final AtomicLong appliedRscCount = new AtomicLong();
+    private final AtomicLong deletedRscCount = new AtomicLong();
+
+    private ServerSocket serverSocket;
+    private Thread thread;
+    private volatile boolean shutdown;
+    private volatile NodeName nodeName;
+    private long nextFullSyncId = 1;
+
+    private OutputStream outputStream;
+
+    /**
+     * @param addressRef The address the satellite listens on, has to be used as the address of the net interface
+     *     of the node on the controller
+     * @param storPoolCapacityRef Capacity in KiB of every storage pool that is created on this satellite
+     */
+    public FakeSatellite(InetSocketAddress addressRef, long storPoolCapacityRef)
+    {
+        address = addressRef;
+        storPoolCapacity = storPoolCapacityRef;
+        errorReporter = new StderrErrorReporter("FakeSatellite-" + addressRef.getPort());
+        serializer = new ProtoCommonSerializer(errorReporter, null);
+    }
+
+    public void start() throws IOException
+    {
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(address);
+
+        shutdown = false;
+        thread = new Thread(this::run, "FakeSatellite-" + address.getPort());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void shutdown() throws IOException
+    {
+        shutdown = true;
+        serverSocket.close();
+        thread.interrupt();
+    }
+
+    public InetSocketAddress getAddress()
+    {
+        return address;
+    }
+
+    /**
+     * Returns the node name the controller authenticated this satellite with, or <code>null</code> if the controller
+     * did not connect yet
+     */
+    public NodeName getNodeName()
+    {
+        return nodeName;
+    }
+
+    public long getReceivedMessageCount()
+    {
+        return receivedMsgCount.get();
+    }
+
+    public long getAppliedResourceCount()
+    {
+        return appliedRscCount.get();
+    }
+
+    public long getDeletedResourceCount()
+    {
+        return deletedRscCount.get();
+    }
+
+    private void run()
+    {
+        while (!shutdown)
+        {
+            try (Socket socket = serverSocket.accept())
+            {
+                socket.setTcpNoDelay(true);
+                outputStream = socket.getOutputStream();
+                processMessages(new DataInputStream(socket.getInputStream()));
+            }
+            catch (EOFException eofExc)
+            {
+                // controller closed the connection, wait for the reconnect
+            }
+            catch (IOException ioExc)
+            {
+                if (!shutdown)
+                {
+                    errorReporter.reportError(ioExc);
+                }
+            }
+            finally
+            {
+                // a reconnecting controller starts with authentication and a full sync again
+                pendingUpdates.clear();
+                outputStream = null;
+            }
+        }
+    }
+
+    private void processMessages(DataInputStream inputStream) throws IOException
+    {
+        byte[] header = new byte[Message.HEADER_SIZE];
+        ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+        while (!shutdown)
+        {
+            inputStream.readFully(header);
+            int msgType = headerBuffer.getInt(Message.TYPE_FIELD_OFFSET);
+            byte[] data = new byte[headerBuffer.getInt(Message.LENGTH_FIELD_OFFSET)];
+            inputStream.readFully(data);
+            receivedMsgCount.incrementAndGet();
+
+            switch (msgType)
+            {
+                case MessageTypes.DATA:
+                    processData(new ByteArrayInputStream(data));
+                    break;
+                case MessageTypes.PING:
+                    send(MessageTypes.PONG, new byte[0]);
+                    break;
+                case MessageTypes.PONG: // fall-through
+                default:
+                    // we never send pings
+                    break;
+            }
+        }
+    }
+
+    private void processData(InputStream msgDataIn) throws IOException
+    {
+        MsgHeader msgHeader = MsgHeader.parseDelimitedFrom(msgDataIn);
+        String apiCall = msgHeader.getMsgContent();
+        switch (msgHeader.getMsgType())
+        {
+            case API_CALL:
+                processApiCall(apiCall, msgHeader.getApiCallId(), msgDataIn);
+                break;
+            case ONEWAY:
+                processOneway(apiCall, msgDataIn);
+                break;
+            case ANSWER: // fall-through
+            case COMPLETE: // fall-through
+            default:
+                // the fake satellite does not call any APIs of the controller that would be answered
+                break;
+        }
+    }
+
+    private void processApiCall(String apiCall, long apiCallId, InputStream msgDataIn) throws IOException
+    {
+        switch (apiCall)
+        {
+            case InternalApiConsts.API_AUTH:
+                authenticate(apiCallId, MsgIntAuth.parseDelimitedFrom(msgDataIn));
+                break;
+            case InternalApiConsts.API_FULL_SYNC_DATA:
+                applyFullSync(apiCallId, MsgIntApplyFullSync.parseDelimitedFrom(msgDataIn));
+                break;
+            case InternalApiConsts.API_CHANGED_RSC:
+                changedObjects(apiCallId, msgDataIn, InternalApiConsts.API_REQUEST_RSC, true);
+                break;
+            case InternalApiConsts.API_CHANGED_STOR_POOL:
+                changedObjects(apiCallId, msgDataIn, InternalApiConsts.API_REQUEST_STOR_POOL, false);
+                break;
+            case InternalApiConsts.API_REQUEST_THIN_FREE_SPACE:
+                MsgIntFreeSpace.Builder freeSpaceBuilder = MsgIntFreeSpace.newBuilder();
+                for (FakeStorPool storPool : storPools.values())
+                {
+                    if (storPool.thin)
+                    {
+                        freeSpaceBuilder.addFreeSpaces(buildFreeSpace(storPool));
+                    }
+                }
+                answer(apiCallId, InternalApiConsts.API_REQUEST_THIN_FREE_SPACE, freeSpaceBuilder.build());
+                complete(apiCallId);
+                break;
+            default:
+                // nothing to do for a satellite without devices, e.g. changed nodes or controller properties
+                complete(apiCallId);
+                break;
+        }
+    }
+
+    private void processOneway(String apiCall, InputStream msgDataIn) throws IOException
+    {
+        switch (apiCall)
+        {
+            case InternalApiConsts.API_APPLY_RSC:
+                applyResource(MsgIntApplyRsc.parseDelimitedFrom(msgDataIn).getRsc());
+                break;
+            case InternalApiConsts.API_APPLY_RSC_DELETED:
+                deleteResource(MsgIntApplyDeletedRsc.parseDelimitedFrom(msgDataIn).getRscName());
+                break;
+            case InternalApiConsts.API_APPLY_STOR_POOL:
+                applyStorPool(MsgIntApplyStorPool.parseDelimitedFrom(msgDataIn).getStorPool());
+                break;
+            case InternalApiConsts.API_APPLY_STOR_POOL_DELETED:
+                String storPoolName = MsgIntApplyDeletedStorPool.parseDelimitedFrom(msgDataIn).getStorPoolName();
+                storPools.remove(storPoolName.toUpperCase());
+                updateApplied(storPoolName, false);
+                break;
+            default:
+                // e.g. crypt keys or primary requests, which do not change anything on a fake satellite
+                break;
+        }
+    }
+
+    private void authenticate(long apiCallId, MsgIntAuth msgAuth) throws IOException
+    {
+        try
+        {
+            nodeName = new NodeName(msgAuth.getNodeName());
+        }
+        catch (InvalidNameException invalidNameExc)
+        {
+            throw new IOException("Controller sent an invalid node name", invalidNameExc);
+        }
+
+        List<ExtToolsInfo> extToolsList = new ArrayList<>();
+        for (ExtTools tool : ExtTools.values())
+        {
+            extToolsList.add(
+                new ExtToolsInfo(tool, true, EXT_TOOLS_VERSION_MAJOR, 0, 0, Collections.emptyList())
+            );
+        }
+        send(
+            serializer.answerBuilder(InternalApiConsts.API_AUTH_RESPONSE, apiCallId)
+                .authSuccess(
+                    nextFullSyncId,
+                    LinStor.VERSION_INFO_PROVIDER.getSemanticVersion(),
+                    nodeName.displayValue,
+                    extToolsList,
+                    ApiCallRcImpl.singleApiCallRc(ApiConsts.CREATED, "Fake satellite authenticated"),
+                    "",
+                    false,
+                    false,
+                    "",
+                    "INFO",
+                    null,
+                    null,
+                    false,
+                    null,
+                    address.getHostString(),
+                    address.getPort(),
+                    ApiConsts.VAL_NETCOM_TYPE_PLAIN,
+                    0
+                )
+                .build()
+        );
+        complete(apiCallId);
+    }
+
+    private void applyFullSync(long apiCallId, MsgIntApplyFullSync fullSync) throws IOException
+    {
+        storPools.clear();
+        resources.clear();
+        for (IntStorPool intStorPool : fullSync.getStorPoolsList())
+        {
+            putStorPool(intStorPool.getStorPool());
+        }
+        for (IntRsc intRsc : fullSync.getRscsList())
+        {
+            putResource(intRsc);
+        }
+        nextFullSyncId = fullSync.getFullSyncTimestamp() + 1;
+
+        MsgIntFullSyncResponse.Builder builder = MsgIntFullSyncResponse.newBuilder().setSuccess(true);
+        for (FakeStorPool storPool : storPools.values())
+        {
+            if (!storPool.thin)
+            {
+                builder.addFreeSpace(buildFreeSpace(storPool));
+            }
+        }
+        answer(apiCallId, InternalApiConsts.API_FULL_SYNC_RESPONSE, builder.build());
+        complete(apiCallId);
+
+        for (FakeResource rsc : resources.values())
+        {
+            sendResourceEvents(rsc);
+        }
+    }
+
+    /**
+     * Requests every object of a changed message from the controller. The API call is answered once the controller
+     * sent all of them.
+     */
+    private void changedObjects(long apiCallId, InputStream msgDataIn, String requestApiCall, boolean isRsc)
+        throws IOException
+    {
+        PendingUpdate update = new PendingUpdate(apiCallId, isRsc);
+        IntObjectId objId = IntObjectId.parseDelimitedFrom(msgDataIn);
+        while (objId != null)
+        {
+            update.remaining.add(objId.getName().toUpperCase());
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            if (isRsc)
+            {
+                IntObjectId.newBuilder()
+                    .setName(nodeName.displayValue)
+                    .build()
+                    .writeDelimitedTo(baos);
+            }
+            objId.writeDelimitedTo(baos);
+            send(serializer.onewayBuilder(requestApiCall).bytes(baos.toByteArray()).build());
+
+            objId = IntObjectId.parseDelimitedFrom(msgDataIn);
+        }
+        if (update.remaining.isEmpty())
+        {
+            complete(apiCallId);
+        }
+        else
+        {
+            pendingUpdates.add(update);
+        }
+    }
+
+    private void updateApplied(String objName, boolean isRsc) throws IOException
+    {
+        String upperName = objName.toUpperCase();
+        Iterator<PendingUpdate> updateIt = pendingUpdates.iterator();
+        while (updateIt.hasNext())
+        {
+            PendingUpdate update = updateIt.next();
+            if (update.isRsc == isRsc && update.remaining.remove(upperName))
+            {
+                update.applied.add(objName);
+                if (update.remaining.isEmpty())
+                {
+                    updateIt.remove();
+                    ApiCallRcImpl apiCallRc = new ApiCallRcImpl();
+                    for (String appliedName : update.applied)
+                    {
+                        apiCallRc.addEntry(
+                            ApiCallRcImpl.simpleEntry(
+                                ApiConsts.MODIFIED,
+                                (isRsc ? "Resource '" : "Storage pool '") + appliedName + "' applied."
+                            )
+                        );
+                    }
+                    send(
+                        serializer.answerBuilder(ApiConsts.API_REPLY, update.apiCallId)
+                            .apiCallRcSeries(apiCallRc)
+                            .build()
+                    );
+                    complete(update.apiCallId);
+                }
+            }
+        }
+    }
+
+    private void applyResource(IntRsc intRsc) throws IOException
+    {
+        Rsc localRsc = intRsc.getLocalRsc();
+        if (localRsc.getRscFlagsList().contains(FLAG_DELETE))
+        {
+            deleteResource(localRsc.getName());
+        }
+        else
+        {
+            FakeResource rsc = putResource(intRsc);
+            appliedRscCount.incrementAndGet();
+            updateApplied(rsc.name.displayValue, true);
+            sendResourceEvents(rsc);
+        }
+    }
+
+    private void deleteResource(String rscNameStr) throws IOException
+    {
+        FakeResource rsc = resources.remove(rscNameStr.toUpperCase());
+        if (rsc != null)
+        {
+            deletedRscCount.incrementAndGet();
+            sendResourceEvents(rsc, InternalApiConsts.EVENT_STREAM_CLOSE_REMOVED);
+        }
+        updateApplied(rscNameStr, true);
+    }
+
+    private FakeResource putResource(IntRsc intRsc) throws IOException
+    {
+        Rsc localRsc = intRsc.getLocalRsc();
+        FakeResource rsc;
+        try
+        {
+            rsc = new FakeResource(new ResourceName(localRsc.getName()));
+            for (Vlm vlm : localRsc.getVlmsList())
+            {
+                rsc.vlmNrs.add(new VolumeNumber(vlm.getVlmNr()));
+            }
+            for (IntOtherRsc otherRsc : intRsc.getOtherResourcesList())
+            {
+                rsc.peerNodeNames.add(new NodeName(otherRsc.getNode().getName()));
+            }
+        }
+        catch (InvalidNameException | ValueOutOfRangeException exc)
+        {
+            throw new IOException("Controller sent an invalid resource", exc);
+        }
+
+        Map<Integer, Long> vlmSizes = new HashMap<>();
+        for (VlmDfn vlmDfn : intRsc.getRscDfn().getVlmDfnsList())
+        {
+            vlmSizes.put(vlmDfn.getVlmNr(), vlmDfn.getVlmSize());
+        }
+        collectAllocations(localRsc.getLayerObject(), vlmSizes, rsc.allocatedPerStorPool);
+
+        resources.put(localRsc.getName().toUpperCase(), rsc);
+        return rsc;
+    }
+
+    private static void collectAllocations(
+        RscLayerData layerData,
+        Map<Integer, Long> vlmSizes,
+        Map<String, Long> allocatedPerStorPool
+    )
+    {
+        if (layerData.hasStorage())
+        {
+            for (StorageVlm storageVlm : layerData.getStorage().getStorageVlmsList())
+            {
+                Long vlmSize = vlmSizes.get(storageVlm.getVlmNr());
+                if (!storageVlm.hasDiskless() && vlmSize != null)
+                {
+                    allocatedPerStorPool.merge(
+                        storageVlm.getStoragePool().getStorPoolName().toUpperCase(),
+                        vlmSize,
+                        Long::sum
+                    );
+                }
+            }
+        }
+        for (RscLayerData child : layerData.getChildrenList())
+        {
+            collectAllocations(child, vlmSizes, allocatedPerStorPool);
+        }
+    }
+
+    private void applyStorPool(IntStorPool intStorPool) throws IOException
+    {
+        FakeStorPool storPool = putStorPool(intStorPool.getStorPool());
+        send(
+            serializer.onewayBuilder(InternalApiConsts.API_NOTIFY_STOR_POOL_APPLIED)
+                .bytes(
+                    toBytes(
+                        MsgIntApplyStorPoolSuccess.newBuilder()
+                            .setStorPoolName(storPool.name)
+                            .setFreeSpace(buildFreeSpace(storPool))
+                            .setSupportsSnapshots(storPool.thin)
+                            .build()
+                    )
+                )
+                .build()
+        );
+        updateApplied(storPool.name, false);
+    }
+
+    private FakeStorPool putStorPool(StorPool protoStorPool)
+    {
+        DeviceProviderKind kind = ProtoDeserializationUtils.parseDeviceProviderKind(
+            protoStorPool.getProviderKind()
+        );
+        FakeStorPool storPool = new FakeStorPool(
+            protoStorPool.getStorPoolUuid(),
+            protoStorPool.getStorPoolName(),
+            kind.usesThinProvisioning(),
+            kind == DeviceProviderKind.DISKLESS
+        );
+        storPools.put(storPool.name.toUpperCase(), storPool);
+        return storPool;
+    }
+
+    private StorPoolFreeSpace buildFreeSpace(FakeStorPool storPool)
+    {
+        long freeCapacity;
+        long totalCapacity;
+        if (storPool.diskless)
+        {
+            freeCapacity = Long.MAX_VALUE;
+            totalCapacity = Long.MAX_VALUE;
+        }
+        else
+        {
+            long allocated = 0;
+            String upperName = storPool.name.toUpperCase();
+            for (FakeResource rsc : resources.values())
+            {
+                allocated += rsc.allocatedPerStorPool.getOrDefault(upperName, 0L);
+            }
+            freeCapacity = Math.max(0, storPoolCapacity - allocated);
+            totalCapacity = storPoolCapacity;
+        }
+        return StorPoolFreeSpace.newBuilder()
+            .setStorPoolUuid(storPool.uuid)
+            .setStorPoolName(storPool.name)
+            .setFreeCapacity(freeCapacity)
+            .setTotalCapacity(totalCapacity)
+            .build();
+    }
+
+    private void sendResourceEvents(FakeResource rsc) throws IOException
+    {
+        sendResourceEvents(rsc, InternalApiConsts.EVENT_STREAM_VALUE);
+    }
+
+    private void sendResourceEvents(FakeResource rsc, String eventAction) throws IOException
+    {
+        boolean isValue = eventAction.equals(InternalApiConsts.EVENT_STREAM_VALUE);
+        for (VolumeNumber vlmNr : rsc.vlmNrs)
+        {
+            CommonSerializer.CommonSerializerBuilder builder = serializer.onewayBuilder(ApiConsts.API_EVENT)
+                .event(
+                    WATCH_ID,
+                    EventIdentifier.volume(InternalApiConsts.EVENT_VOLUME_DISK_STATE, nodeName, rsc.name, vlmNr),
+                    eventAction
+                );
+            if (isValue)
+            {
+                builder.volumeDiskState(DISK_STATE_UP_TO_DATE);
+            }
+            send(builder.build());
+        }
+        for (NodeName peerNodeName : rsc.peerNodeNames)
+        {
+            CommonSerializer.CommonSerializerBuilder builder = serializer.onewayBuilder(ApiConsts.API_EVENT)
+                .event(
+                    WATCH_ID,
+                    new EventIdentifier(
+                        InternalApiConsts.EVENT_CONNECTION_STATE,
+                        ObjectIdentifier.connection(nodeName, peerNodeName, rsc.name)
+                    ),
+                    eventAction
+                );
+            if (isValue)
+            {
+                builder.connectionState(CONNECTION_STATE_CONNECTED);
+            }
+            send(builder.build());
+        }
+        CommonSerializer.CommonSerializerBuilder builder = serializer.onewayBuilder(ApiConsts.API_EVENT)
+            .event(
+                WATCH_ID,
+                EventIdentifier.resource(InternalApiConsts.EVENT_RESOURCE_STATE, nodeName, rsc.name),
+                eventAction
+            );
+        if (isValue)
+        {
+            builder.resourceStateEvent(new ResourceState(true, false, true, null, null));
+        }
+        send(builder.build());
+    }
+
+    private void answer(long apiCallId, String apiCall, MessageLite msg) throws IOException
+    {
+        send(serializer.answerBuilder(apiCall, apiCallId).bytes(toBytes(msg)).build());
+    }
+
+    private void complete(long apiCallId) throws IOException
+    {
+        send(serializer.completionBuilder(apiCallId).build());
+    }
+
+    private static byte[] toBytes(MessageLite msg) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        msg.writeDelimitedTo(baos);
+        return baos.toByteArray();
+    }
+
+    private void send(byte[] data) throws IOException
+    {
+        send(MessageTypes.DATA, data);
+    }
+
+    private void send(int msgType, byte[] data) throws IOException
+    {
+        byte[] header = new byte[Message.HEADER_SIZE];
+        ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+        headerBuffer.putInt(Message.TYPE_FIELD_OFFSET, msgType);
+        headerBuffer.putInt(Message.LENGTH_FIELD_OFFSET, data.length);
+
+        outputStream.write(header);
+        outputStream.write(data);
+    }
+
+    /**
+     * Creates a satellite listening on the given port of the loopback address
+     */
+    public static FakeSatellite onLoopback(int port, long storPoolCapacity)
+    {
+        return new FakeSatellite(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), storPoolCapacity);
+    }
+
+    private static class FakeStorPool
+    {
+        private final String uuid;
+        private final String name;
+        private final boolean thin;
+        private final boolean diskless;
+
+        FakeStorPool(String uuidRef, String nameRef, boolean thinRef, boolean disklessRef)
+        {
+            uuid = uuidRef;
+            name = nameRef;
+            thin = thinRef;
+            diskless = disklessRef;
+        }
+    }
+
+    private static class FakeResource
+    {
+        private final ResourceName name;
+        private final List<VolumeNumber> vlmNrs = new ArrayList<>();
+        private final List<NodeName> peerNodeNames = new ArrayList<>();
+        private final Map<String, Long> allocatedPerStorPool = new HashMap<>();
+
+        FakeResource(ResourceName nameRef)
+        {
+            name = nameRef;
+        }
+    }
+
+    /**
+     * {@link InternalApiConsts#API_CHANGED_RSC} or {@link InternalApiConsts#API_CHANGED_STOR_POOL} call that is
+     * waiting for the controller to send the changed objects
+     */
+    private static class PendingUpdate
+    {
+        private final long apiCallId;
+        private final boolean isRsc;
+        private final Set<String> remaining = new TreeSet<>();
+        private final List<String> applied = new ArrayList<>();
+
+        PendingUpdate(long apiCallIdRef, boolean isRscRef)
+        {
+            apiCallId = apiCallIdRef;
+            isRsc = isRscRef;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.linbit.linstor.testclient;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Group of {@link FakeSatellite}s listening on consecutive ports of the loopback address, all running in the
+ * current JVM
+ */
+public class FakeSatelliteCluster
+{
+    private final List<FakeSatellite> satellites;
+
+    private FakeSatelliteCluster(List<FakeSatellite> satellitesRef)
+    {
+        satellites = Collections.unmodifiableList(satellitesRef);
+    }
+
+    /**
+     * Starts <code>count</code> satellites on the ports <code>firstPort</code> to
+     * <code>firstPort + count - 1</code>. Already started satellites are shut down again if one of the ports can
+     * not be bound.
+     */
+    public static FakeSatelliteCluster start(int count, int firstPort, long storPoolCapacity)
+        throws IOException
+    {
+        List<FakeSatellite> satellites = new ArrayList<>(count);
+        try
+        {
+            for (int idx = 0; idx < count; ++idx)
+            {
+                FakeSatellite satellite = FakeSatellite.onLoopback(firstPort + idx, storPoolCapacity);
+                satellite.start();
+                satellites.add(satellite);
+            }
+        }
+        catch (IOException ioExc)
+        {
+            new FakeSatelliteCluster(satellites).shutdown();
+            throw ioExc;
+        }
+        return new FakeSatelliteCluster(satellites);
+    }
+
+    public List<FakeSatellite> getSatellites()
+    {
+        return satellites;
+    }
+
+    public long getReceivedMessageCount()
+    {
+        long count = 0;
+        for (FakeSatellite satellite : satellites)
+        {
+            count += satellite.getReceivedMessageCount();
+        }
+        return count;
+    }
+
+    public long getAppliedResourceCount()
+    {
+        long count = 0;
+        for (FakeSatellite satellite : satellites)
+        {
+            count += satellite.getAppliedResourceCount();
+        }
+        return count;
+    }
+
+    public long getDeletedResourceCount()
+    {
+        long count = 0;
+        for (FakeSatellite satellite : satellites)
+        {
+            count += satellite.getDeletedResourceCount();
+        }
+        return count;
+    }
+
+    public void shutdown()
+    {
+        for (FakeSatellite satellite : satellites)
+        {
+            try
+            {
+                satellite.shutdown();
+            }
+            catch (IOException ignored)
+            {
+                // shutting down anyway
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.linbit.linstor.transaction;
+
+import com.linbit.linstor.transaction.EtcdGroupCommitter.PendingCommit;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import com.ibm.etcd.api.DeleteRangeRequest;
+import com.ibm.etcd.api.PutRequest;
+import com.ibm.etcd.api.RequestOp;
+import com.ibm.etcd.api.TxnRequest;
+import com.ibm.etcd.client.KeyUtils;
+import org.junit.Test;
+
+import static com.ibm.etcd.client.KeyUtils.bs;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EtcdGroupCommitterTest
+{
+    @Test
+    public void testDisjointCommitsAreMerged()
+    {
+        PendingCommit first = commit(put("/LINSTOR/NODES/A/FLAGS"));
+        PendingCommit second = commit(put("/LINSTOR/NODES/B/FLAGS"), put("/LINSTOR/NODES/B/TYPE"));
+        Deque<PendingCommit> queue = new ArrayDeque<>(Arrays.asList(first, second));
+
+        List<PendingCommit> batch = EtcdGroupCommitter.takeBatch(queue, 128);
+
+        assertEquals(Arrays.asList(first, second), batch);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testOverlappingCommitsKeepTheirOrder()
+    {
+        PendingCommit first = commit(deletePrefix("/LINSTOR/NODES/A/"));
+        PendingCommit second = commit(put("/LINSTOR/NODES/A/FLAGS"));
+        // disjoint from the first commit, but must not overtake the second one
+        PendingCommit third = commit(put("/LINSTOR/NODES/A/FLAGS"), put("/LINSTOR/NODES/B/FLAGS"));
+        PendingCommit fourth = commit(put("/LINSTOR/NODES/C/FLAGS"));
+        Deque<PendingCommit> queue = new ArrayDeque<>(Arrays.asList(first, second, third, fourth));
+
+        assertEquals(Arrays.asList(first, fourth), EtcdGroupCommitter.takeBatch(queue, 128));
+        assertEquals(Arrays.asList(second), EtcdGroupCommitter.takeBatch(queue, 128));
+        assertEquals(Arrays.asList(third), EtcdGroupCommitter.takeBatch(queue, 128));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testOperationLimit()
+    {
+        PendingCommit first = commit(put("/LINSTOR/NODES/A/FLAGS"), put("/LINSTOR/NODES/A/TYPE"));
+        PendingCommit second = commit(put("/LINSTOR/NODES/B/FLAGS"), put("/LINSTOR/NODES/B/TYPE"));
+        PendingCommit third = commit(put("/LINSTOR/NODES/C/FLAGS"));
+        Deque<PendingCommit> queue = new ArrayDeque<>(Arrays.asList(first, second, third));
+
+        assertEquals(Arrays.asList(first, third), EtcdGroupCommitter.takeBatch(queue, 3));
+        assertEquals(Arrays.asList(second), EtcdGroupCommitter.takeBatch(queue, 3));
+    }
+
+    private static PendingCommit commit(RequestOp... ops)
+    {
+        return new PendingCommit(TxnRequest.newBuilder().addAllSuccess(Arrays.asList(ops)).build());
+    }
+
+    private static RequestOp put(String key)
+    {
+        return RequestOp.newBuilder()
+            .setRequestPut(PutRequest.newBuilder().setKey(bs(key)).setValue(bs("value")))
+            .build();
+    }
+
+    private static RequestOp deletePrefix(String key)
+    {
+        return RequestOp.newBuilder()
+            .setRequestDeleteRange(
+                DeleteRangeRequest.newBuilder().setKey(bs(key)).setRangeEnd(KeyUtils.plusOne(bs(key)))
+            )
+            .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.linbit.linstor.transaction.manager;
+
+import com.linbit.linstor.dbdrivers.DatabaseException;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SQLWriteBatcherTest
+{
+    private static final String INSERT = "INSERT INTO TEST_ENTRIES (ENTRY_KEY, ENTRY_VALUE) VALUES (?, ?)";
+    private static final String DELETE = "DELETE FROM TEST_ENTRIES WHERE ENTRY_KEY = ?";
+    private static final String SELECT = "SELECT ENTRY_VALUE FROM TEST_ENTRIES WHERE ENTRY_KEY = ?";
+
+    private Connection dbCon;
+    private SQLWriteBatcher writeBatcher;
+    private List<String> executed;
+
+    @Before
+    public void setUp() throws SQLException
+    {
+        dbCon = DriverManager.getConnection("jdbc:h2:mem:SQLWriteBatcherTest");
+        dbCon.setAutoCommit(false);
+        try (Statement stmt = dbCon.createStatement())
+        {
+            stmt.executeUpdate(
+                "CREATE TABLE TEST_ENTRIES (ENTRY_KEY VARCHAR(32) NOT NULL PRIMARY KEY, ENTRY_VALUE INT NOT NULL)"
+            );
+        }
+        dbCon.commit();
+        writeBatcher = new SQLWriteBatcher(dbCon);
+        executed = new ArrayList<>();
+    }
+
+    @After
+    public void tearDown() throws SQLException
+    {
+        writeBatcher.close();
+        dbCon.rollback();
+        try (Statement stmt = dbCon.createStatement())
+        {
+            stmt.executeUpdate("DROP TABLE TEST_ENTRIES");
+        }
+        dbCon.close();
+    }
+
+    @Test
+    public void writesAreExecutedInOrderOnFlush() throws Exception
+    {
+        insert("a", 1);
+        insert("b", 2);
+        delete("a");
+        insert("a", 3);
+        // preparing a different statement executes the previous run of statements, only the last insert is pending
+        assertEquals(Arrays.asList("insert a", "insert b", "delete a"), executed);
+
+        writeBatcher.flush();
+
+        assertEquals(Arrays.asList("insert a", "insert b", "delete a", "insert a"), executed);
+        assertEquals(3, selectValue("a"));
+        assertEquals(2, selectValue("b"));
+    }
+
+    @Test
+    public void duplicateKeyIsReportedByFlush() throws Exception
+    {
+        insert("a", 1);
+        insert("a", 2);
+        try
+        {
+            writeBatcher.flush();
+            fail("duplicate key was not reported");
+        }
+        catch (DatabaseException expected)
+        {
+            assertTrue(expected.getCause() instanceof SQLException);
+        }
+        // the failed batch is dropped, the callbacks of its statements are not run
+        assertTrue(executed.isEmpty());
+        writeBatcher.flush();
+    }
+
+    @Test
+    public void duplicateKeyIsReportedByNextStatement() throws Exception
+    {
+        insert("a", 1);
+        insert("a", 2);
+        try
+        {
+            // preparing a different statement flushes the pending inserts
+            writeBatcher.prepare(DELETE);
+            fail("duplicate key was not reported");
+        }
+        catch (DatabaseException expected)
+        {
+            assertTrue(expected.getCause() instanceof SQLException);
+        }
+        assertTrue(executed.isEmpty());
+    }
+
+    @Test
+    public void discardDropsPendingWrites() throws Exception
+    {
+        insert("a", 1);
+        writeBatcher.discard();
+        writeBatcher.flush();
+
+        assertTrue(executed.isEmpty());
+        assertEquals(-1, selectValue("a"));
+    }
+
+    private void insert(String key, int value) throws Exception
+    {
+        PreparedStatement stmt = writeBatcher.prepare(INSERT);
+        stmt.setString(1, key);
+        stmt.setInt(2, value);
+        writeBatcher.addBatch(stmt, () -> executed.add("insert " + key));
+    }
+
+    private void delete(String key) throws Exception
+    {
+        PreparedStatement stmt = writeBatcher.prepare(DELETE);
+        stmt.setString(1, key);
+        writeBatcher.addBatch(stmt, () -> executed.add("delete " + key));
+    }
+
+    private int selectValue(String key) throws SQLException
+    {
+        int value = -1;
+        try (PreparedStatement stmt = dbCon.prepareStatement(SELECT))
+        {
+            stmt.setString(1, key);
+            try (ResultSet resultSet = stmt.executeQuery())
+            {
+                if (resultSet.next())
+                {
+                    value = resultSet.getInt(1);
+                }
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,182 @@
+package com.linbit.locks;
+
+import com.linbit.locks.LockGuardFactory.LockType;
+
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StripedReadWriteLockTest
+{
+    private static final int STRIPE_COUNT = 8;
+
+    private StripedReadWriteLock lock;
+    private ExecutorService otherThread;
+
+    @Before
+    public void setUp()
+    {
+        lock = new StripedReadWriteLock(STRIPE_COUNT, true);
+        otherThread = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown()
+    {
+        otherThread.shutdownNow();
+    }
+
+    @Test
+    public void independentStripesWriteConcurrently() throws Exception
+    {
+        Lock stripe0 = stripeLock(0, LockType.WRITE);
+        stripe0.lock();
+        try
+        {
+            assertTrue(tryLockInOtherThread(stripeLock(1, LockType.WRITE)));
+            assertFalse(tryLockInOtherThread(stripeLock(0, LockType.WRITE)));
+            assertFalse(tryLockInOtherThread(stripeLock(0, LockType.READ)));
+        }
+        finally
+        {
+            stripe0.unlock();
+        }
+    }
+
+    @Test
+    public void stripeWriteBlocksFullRead() throws Exception
+    {
+        Lock stripe = stripeLock(STRIPE_COUNT - 1, LockType.WRITE);
+        stripe.lock();
+        try
+        {
+            assertFalse(tryLockInOtherThread(lock.readLock()));
+            assertFalse(tryLockInOtherThread(lock.writeLock()));
+        }
+        finally
+        {
+            stripe.unlock();
+        }
+        assertTrue(tryLockInOtherThread(lock.readLock()));
+    }
+
+    @Test
+    public void mapWriteBlocksStripes() throws Exception
+    {
+        lock.writeLock().lock();
+        try
+        {
+            assertFalse(tryLockInOtherThread(stripeLock(0, LockType.READ)));
+            assertFalse(tryLockInOtherThread(lock.readLock()));
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+        assertTrue(tryLockInOtherThread(stripeLock(0, LockType.WRITE)));
+    }
+
+    @Test
+    public void fullReadAllowsStripeRead() throws Exception
+    {
+        lock.readLock().lock();
+        try
+        {
+            assertTrue(tryLockInOtherThread(stripeLock(3, LockType.READ)));
+            assertFalse(tryLockInOtherThread(stripeLock(3, LockType.WRITE)));
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Test
+    public void stripeIdxInRange()
+    {
+        for (Object key : new Object[] {"rsc1", "RSC1", Integer.MIN_VALUE, Integer.MAX_VALUE, -1})
+        {
+            int stripeIdx = lock.getStripeIdx(key);
+            assertTrue(stripeIdx >= 0);
+            assertTrue(stripeIdx < STRIPE_COUNT);
+            assertEquals(stripeIdx, lock.getStripeIdx(key));
+        }
+    }
+
+    @Test
+    public void stripeWriteConditionSignalsWaiter() throws Exception
+    {
+        Lock stripe = stripeLock(2, LockType.WRITE);
+        Condition condition = stripe.newCondition();
+        stripe.lock();
+        try
+        {
+            Future<Boolean> signalled = otherThread.submit(
+                () ->
+                {
+                    stripe.lock();
+                    try
+                    {
+                        condition.signalAll();
+                    }
+                    finally
+                    {
+                        stripe.unlock();
+                    }
+                    return true;
+                }
+            );
+            // awaiting releases the stripe, so the other thread can acquire it and signal the condition
+            assertTrue(condition.await(10, TimeUnit.SECONDS));
+            assertTrue(lock.getStripe(2).isWriteLockedByCurrentThread());
+            assertTrue(signalled.get(10, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            stripe.unlock();
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void stripeReadConditionUnsupported()
+    {
+        stripeLock(2, LockType.READ).newCondition();
+    }
+
+    private Lock stripeLock(int stripeIdx, LockType type)
+    {
+        TreeMap<Integer, LockType> stripes = new TreeMap<>();
+        stripes.put(stripeIdx, type);
+        return lock.stripedLock(stripes);
+    }
+
+    /**
+     * Tries to acquire the given lock from a different thread and releases it again if successful
+     */
+    private boolean tryLockInOtherThread(Lock otherLock) throws Exception
+    {
+        return otherThread.submit(
+            () ->
+            {
+                boolean locked = otherLock.tryLock();
+                if (locked)
+                {
+                    otherLock.unlock();
+                }
+                return locked;
+            }
+        ).get(10, TimeUnit.SECONDS);
+    }
+}